@@ -0,0 +1,58 @@
+package br.com.fplbr.pilot.aisweb.application.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MeteoDecoderService} contra a implementação anterior ({@link MeteoDecoderLegado}),
+ * sobre as mensagens METAR/TAF do {@link MeteoDecoderServiceTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeteoDecoderBenchmark {
+
+    private final MeteoDecoderService decoder = MeteoDecoderServiceTest.novoDecoder();
+    private final MeteoDecoderLegado legado = new MeteoDecoderLegado();
+
+    @Benchmark
+    public void metarLegado(Blackhole bh) {
+        for (String metar : MeteoDecoderServiceTest.METARS) {
+            bh.consume(legado.decodeMetar(metar));
+        }
+    }
+
+    @Benchmark
+    public void metar(Blackhole bh) {
+        for (String metar : MeteoDecoderServiceTest.METARS) {
+            bh.consume(decoder.decodeMetar(metar));
+        }
+    }
+
+    @Benchmark
+    public void tafLegado(Blackhole bh) {
+        for (String taf : MeteoDecoderServiceTest.TAFS) {
+            bh.consume(legado.decodeTaf(taf));
+        }
+    }
+
+    @Benchmark
+    public void taf(Blackhole bh) {
+        for (String taf : MeteoDecoderServiceTest.TAFS) {
+            bh.consume(decoder.decodeTaf(taf));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.fplbr.pilot.flightplan.application.service;
+
+import br.com.fplbr.pilot.flightplan.application.dto.PlanoDeVooDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FplEncoderService} contra a implementação anterior ({@link FplEncoderLegado}),
+ * sobre os planos do {@link FplEncoderServiceTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FplEncoderBenchmark {
+
+    private final FplEncoderService encoder = new FplEncoderService();
+    private final FplEncoderLegado legado = new FplEncoderLegado();
+
+    private List<PlanoDeVooDTO> planos;
+
+    @Setup
+    public void preparar() {
+        planos = new ArrayList<>(FplEncoderServiceTest.planosReais());
+        planos.addAll(FplEncoderServiceTest.casosDeBorda());
+        planos.addAll(FplEncoderServiceTest.planosSorteados(1_000, 25));
+    }
+
+    @Benchmark
+    public void encodeLegado(Blackhole bh) {
+        for (PlanoDeVooDTO plano : planos) {
+            bh.consume(legado.encode(plano));
+        }
+    }
+
+    @Benchmark
+    public void encode(Blackhole bh) {
+        for (PlanoDeVooDTO plano : planos) {
+            bh.consume(encoder.encode(plano));
+        }
+    }
+
+    @Benchmark
+    public List<String> encodeAllLegado() {
+        List<String> mensagens = new ArrayList<>(planos.size());
+        for (PlanoDeVooDTO plano : planos) {
+            mensagens.add(legado.encode(plano));
+        }
+        return mensagens;
+    }
+
+    @Benchmark
+    public List<String> encodeAll() {
+        return encoder.encodeAll(planos);
+    }
+
+    @Benchmark
+    public StringBuilder encodeAllNoDestino() throws IOException {
+        StringBuilder destino = new StringBuilder();
+        encoder.encodeAll(planos, destino);
+        return destino;
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.fplbr.pilot.aisweb.application.annotation;
 
+import jakarta.enterprise.util.Nonbinding;
 import jakarta.interceptor.InterceptorBinding;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Inherited;
@@ -10,7 +11,8 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Annotation to mark methods that should be rate limited.
- * The rate limiting is applied per method and per user (if authenticated).
+ * The rate limiting is applied per method and per client (JWT subject if
+ * authenticated, otherwise remote IP address).
  */
 @InterceptorBinding
 @Retention(RetentionPolicy.RUNTIME)
@@ -20,15 +22,18 @@ public @interface RateLimited {
     /**
      * @return The maximum number of requests allowed within the time window.
      */
+    @Nonbinding
     int limit() default 100;
 
     /**
      * @return The time window in which the limit applies.
      */
+    @Nonbinding
     int duration() default 1;
 
     /**
      * @return The time unit for the duration.
      */
+    @Nonbinding
     TimeUnit timeUnit() default TimeUnit.MINUTES;
 }
@@ -0,0 +1,578 @@
+package br.com.fplbr.pilot.aisweb.application.client;
+
+import br.com.fplbr.pilot.aisweb.infrastructure.ratelimit.LocalRateLimiter;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Governador das chamadas ao {@link AiswebClient}.
+ *
+ * Toda chamada passa por três barreiras antes de sair para o AISWEB:
+ * - um circuit breaker por área: após falhas consecutivas (erro de rede, timeout
+ *   ou 5xx) o circuito abre e as chamadas falham na hora, sem ocupar threads
+ *   esperando um upstream fora do ar; passado o tempo de abertura uma única
+ *   chamada de prova é liberada (meio-aberto) e decide se o circuito fecha;
+ * - um bulkhead por área (rotaer, met, notam...) cujo limite de concorrência se
+ *   adapta (AIMD): cresce devagar enquanto a latência fica estável e cai pela
+ *   metade com 429 ou latência muito acima da média;
+ * - um token bucket local com a cota do contrato, compartilhado por todas as áreas.
+ *
+ * Em rajadas a chamada espera na fila até {@code aisweb.governor.max-wait};
+ * só depois disso falha com 503, sem ter gastado cota no AISWEB.
+ *
+ * {@link #chamarReativo} aplica as mesmas barreiras ao {@link AiswebReactiveClient}
+ * sem bloquear a thread: a espera por vaga é uma fila completada por quem
+ * libera a vaga, e a espera por cota vira timer do Mutiny. Vaga e prova do
+ * circuito são devolvidas uma única vez, seja qual for o fim da chamada
+ * (resposta, falha, timeout ou cancelamento em qualquer etapa).
+ */
+@ApplicationScoped
+public class AiswebGovernor {
+
+    private static final Logger LOG = Logger.getLogger(AiswebGovernor.class);
+
+    private static final String CHAVE_COTA = "aisweb:cota";
+
+    @Inject
+    Config config;
+
+    @Inject
+    LocalRateLimiter rateLimiter;
+
+    @ConfigProperty(name = "aisweb.governor.quota.requests", defaultValue = "600")
+    int cotaRequisicoes;
+
+    @ConfigProperty(name = "aisweb.governor.quota.period", defaultValue = "1m")
+    Duration cotaPeriodo;
+
+    @ConfigProperty(name = "aisweb.governor.max-wait", defaultValue = "2s")
+    Duration esperaMaxima;
+
+    @ConfigProperty(name = "aisweb.circuit.failure-threshold", defaultValue = "5")
+    int limiteFalhas;
+
+    @ConfigProperty(name = "aisweb.circuit.open-duration", defaultValue = "30s")
+    Duration tempoAberto;
+
+    private final Map<String, LimiteAdaptativo> areas = new ConcurrentHashMap<>();
+    private final Map<String, Circuito> circuitos = new ConcurrentHashMap<>();
+    private final LongAdder esperasPorCota = new LongAdder();
+
+    /**
+     * Executa uma chamada ao AISWEB respeitando o circuito, o bulkhead da área e a cota.
+     *
+     * @param area área do AISWEB (ex.: "rotaer", "met")
+     * @param chamada chamada ao {@link AiswebClient}
+     * @return resposta do AISWEB
+     * @throws WebApplicationException 503 se o circuito estiver aberto ou não houver
+     *         vaga/cota dentro da espera máxima
+     */
+    public Response chamar(String area, Supplier<Response> chamada) {
+        Circuito circuito = circuitos.computeIfAbsent(area, a -> new Circuito(limiteFalhas, tempoAberto.toNanos()));
+        if (!circuito.permitir()) {
+            throw indisponivel(area, "circuito aberto");
+        }
+
+        long prazo = System.nanoTime() + esperaMaxima.toNanos();
+        LimiteAdaptativo limite = areas.computeIfAbsent(area, this::criarLimite);
+
+        boolean enviada = false;
+        boolean falhou = true;
+        try {
+            if (!limite.adquirir(prazo)) {
+                throw indisponivel(area, "limite de concorrência");
+            }
+            boolean sobrecarga = false;
+            long inicio = 0;
+            try {
+                aguardarCota(area, prazo);
+                enviada = true;
+                inicio = System.nanoTime();
+                Response response = chamada.get();
+                sobrecarga = response != null && response.getStatus() == 429;
+                falhou = response != null && response.getStatus() >= 500;
+                return response;
+            } catch (AiswebUpstreamException e) {
+                sobrecarga = e.getStatus() == 429;
+                falhou = e.getStatus() >= 500;
+                throw e;
+            } finally {
+                limite.liberar(enviada ? System.nanoTime() - inicio : -1, sobrecarga);
+            }
+        } finally {
+            if (!enviada) {
+                // Rejeitada localmente (fila/cota): não diz nada sobre a saúde do AISWEB
+                circuito.cancelar();
+            } else if (falhou) {
+                if (circuito.registrarFalha()) {
+                    LOG.warnf("🔌 Circuito AISWEB (%s) aberto por %s", area, tempoAberto);
+                }
+            } else if (circuito.registrarSucesso()) {
+                LOG.infof("🔌 Circuito AISWEB (%s) fechado", area);
+            }
+        }
+    }
+
+    /**
+     * Versão não bloqueante de {@link #chamar}, segura para o event loop.
+     *
+     * @param area área do AISWEB (ex.: "rotaer", "met")
+     * @param chamada chamada ao {@link AiswebReactiveClient}, feita só depois das barreiras
+     * @return resultado da chamada; falha com 503 nas mesmas situações de {@link #chamar}
+     */
+    public <T> Uni<T> chamarReativo(String area, Supplier<Uni<T>> chamada) {
+        return Uni.createFrom().deferred(() -> {
+            Circuito circuito = circuitos.computeIfAbsent(area, a -> new Circuito(limiteFalhas, tempoAberto.toNanos()));
+            if (!circuito.permitir()) {
+                return Uni.createFrom().failure(indisponivel(area, "circuito aberto"));
+            }
+            long prazo = System.nanoTime() + esperaMaxima.toNanos();
+            LimiteAdaptativo limite = areas.computeIfAbsent(area, this::criarLimite);
+
+            // Quem terminar primeiro (falha, cancelamento ou resposta) devolve a
+            // vaga e a prova do circuito; os demais caminhos não fazem nada
+            AtomicBoolean finalizada = new AtomicBoolean();
+            AtomicBoolean comVaga = new AtomicBoolean();
+            Runnable desistir = () -> {
+                if (finalizada.compareAndSet(false, true)) {
+                    if (comVaga.get()) {
+                        limite.liberar(-1, false);
+                    }
+                    circuito.cancelar();
+                }
+            };
+
+            return aguardarVagaReativo(area, limite, prazo)
+                .invoke(() -> comVaga.set(true))
+                .chain(() -> aguardarCotaReativo(area, prazo))
+                .onFailure().invoke(e -> desistir.run())
+                .onCancellation().invoke(desistir)
+                .chain(() -> {
+                    long inicio = System.nanoTime();
+                    return chamada.get()
+                        .onItemOrFailure().invoke((item, erro) -> {
+                            if (finalizada.compareAndSet(false, true)) {
+                                registrarResultado(area, circuito, limite, System.nanoTime() - inicio, erro);
+                            }
+                        })
+                        .onCancellation().invoke(() -> {
+                            if (finalizada.compareAndSet(false, true)) {
+                                limite.liberar(System.nanoTime() - inicio, false);
+                                circuito.cancelar();
+                            }
+                        });
+                });
+        });
+    }
+
+    /**
+     * @return true se o circuito da área está aberto (chamadas falham sem sair)
+     */
+    public boolean circuitoAberto(String area) {
+        Circuito circuito = circuitos.get(area);
+        return circuito != null && circuito.aberto();
+    }
+
+    /**
+     * Limite, chamadas em andamento e contadores por área.
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        areas.forEach((area, limite) -> {
+            Map<String, Object> doArea = limite.estatisticas();
+            Circuito circuito = circuitos.get(area);
+            if (circuito != null) {
+                doArea.put("circuito", circuito.estado());
+            }
+            stats.put(area, doArea);
+        });
+        stats.put("esperasPorCota", esperasPorCota.sum());
+        return stats;
+    }
+
+    private void registrarResultado(String area, Circuito circuito, LimiteAdaptativo limite,
+                                    long latenciaNanos, Throwable erro) {
+        boolean sobrecarga = false;
+        boolean falhou = erro != null;
+        if (erro instanceof AiswebUpstreamException upstream) {
+            sobrecarga = upstream.getStatus() == 429;
+            falhou = upstream.getStatus() >= 500;
+        }
+        limite.liberar(latenciaNanos, sobrecarga);
+        if (falhou) {
+            if (circuito.registrarFalha()) {
+                LOG.warnf("🔌 Circuito AISWEB (%s) aberto por %s", area, tempoAberto);
+            }
+        } else if (circuito.registrarSucesso()) {
+            LOG.infof("🔌 Circuito AISWEB (%s) fechado", area);
+        }
+    }
+
+    /**
+     * Vaga no bulkhead sem bloquear: na hora, se houver, ou na fila de espera
+     * da área, completada por {@link LimiteAdaptativo#liberar}. No prazo (ou se
+     * a chamada for cancelada) a espera sai da fila; se a vaga chegou junto,
+     * fica com a chamada.
+     */
+    private Uni<Void> aguardarVagaReativo(String area, LimiteAdaptativo limite, long prazo) {
+        LimiteAdaptativo.Espera espera = limite.reservar();
+        if (espera == null) {
+            return Uni.createFrom().voidItem();
+        }
+        long restante = Math.max(1, prazo - System.nanoTime());
+        return Uni.createFrom().completionStage(espera)
+            .onCancellation().invoke(() -> limite.desistir(espera))
+            .ifNoItem().after(Duration.ofNanos(restante)).recoverWithUni(() -> {
+                limite.desistir(espera);
+                if (espera.isCancelled()) {
+                    limite.rejeitar();
+                    return Uni.createFrom().failure(indisponivel(area, "limite de concorrência"));
+                }
+                // A vaga foi entregue no mesmo instante do prazo: segue com ela
+                return Uni.createFrom().voidItem();
+            });
+    }
+
+    private Uni<Void> aguardarCotaReativo(String area, long prazo) {
+        long esperaMillis = rateLimiter.tryAcquire(CHAVE_COTA, cotaRequisicoes, cotaPeriodo.toMillis());
+        if (esperaMillis == 0) {
+            return Uni.createFrom().voidItem();
+        }
+        if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMillis) - prazo > 0) {
+            return Uni.createFrom().failure(indisponivel(area, "cota"));
+        }
+        esperasPorCota.increment();
+        return Uni.createFrom().voidItem()
+            .onItem().delayIt().by(Duration.ofMillis(esperaMillis))
+            .chain(() -> aguardarCotaReativo(area, prazo));
+    }
+
+    private void aguardarCota(String area, long prazo) {
+        long periodoMillis = cotaPeriodo.toMillis();
+        while (true) {
+            long esperaMillis = rateLimiter.tryAcquire(CHAVE_COTA, cotaRequisicoes, periodoMillis);
+            if (esperaMillis == 0) {
+                return;
+            }
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMillis) - prazo > 0) {
+                throw indisponivel(area, "cota");
+            }
+            esperasPorCota.increment();
+            try {
+                Thread.sleep(esperaMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw indisponivel(area, "cota");
+            }
+        }
+    }
+
+    private WebApplicationException indisponivel(String area, String motivo) {
+        String msg = String.format("AISWEB (%s) sobrecarregado: %s esgotado(a), tente novamente", area, motivo);
+        LOG.warn(msg);
+        return new WebApplicationException(msg, Response.Status.SERVICE_UNAVAILABLE);
+    }
+
+    private LimiteAdaptativo criarLimite(String area) {
+        int maximo = propriedade(area, "max-concurrency", 8);
+        int minimo = Math.min(maximo, propriedade(area, "min-concurrency", 1));
+        return new LimiteAdaptativo(minimo, maximo);
+    }
+
+    private int propriedade(String area, String nome, int padrao) {
+        return config.getOptionalValue("aisweb.governor." + nome + "." + area, Integer.class)
+            .or(() -> config.getOptionalValue("aisweb.governor." + nome, Integer.class))
+            .orElse(padrao);
+    }
+
+    /**
+     * Circuit breaker por contagem de falhas consecutivas.
+     * FECHADO → ABERTO após {@code limiteFalhas}; ABERTO → MEIO_ABERTO após
+     * {@code tempoAbertoNanos}, liberando uma chamada de prova por vez.
+     */
+    static final class Circuito {
+
+        private enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+        private final int limiteFalhas;
+        private final long tempoAbertoNanos;
+        private Estado estado = Estado.FECHADO;
+        private int falhasConsecutivas;
+        private long abertoDesde;
+        private boolean provaEmAndamento;
+
+        Circuito(int limiteFalhas, long tempoAbertoNanos) {
+            this.limiteFalhas = Math.max(1, limiteFalhas);
+            this.tempoAbertoNanos = tempoAbertoNanos;
+        }
+
+        synchronized boolean permitir() {
+            switch (estado) {
+                case FECHADO:
+                    return true;
+                case ABERTO:
+                    if (System.nanoTime() - abertoDesde < tempoAbertoNanos) {
+                        return false;
+                    }
+                    estado = Estado.MEIO_ABERTO;
+                    provaEmAndamento = true;
+                    return true;
+                default:
+                    if (provaEmAndamento) {
+                        return false;
+                    }
+                    provaEmAndamento = true;
+                    return true;
+            }
+        }
+
+        /**
+         * @return true se o circuito acabou de fechar
+         */
+        synchronized boolean registrarSucesso() {
+            falhasConsecutivas = 0;
+            provaEmAndamento = false;
+            if (estado != Estado.FECHADO) {
+                estado = Estado.FECHADO;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return true se o circuito acabou de abrir
+         */
+        synchronized boolean registrarFalha() {
+            provaEmAndamento = false;
+            falhasConsecutivas++;
+            if (estado == Estado.MEIO_ABERTO || (estado == Estado.FECHADO && falhasConsecutivas >= limiteFalhas)) {
+                estado = Estado.ABERTO;
+                abertoDesde = System.nanoTime();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Chamada liberada mas que não chegou a sair: devolve a vaga de prova.
+         */
+        synchronized void cancelar() {
+            provaEmAndamento = false;
+        }
+
+        synchronized boolean aberto() {
+            return estado == Estado.ABERTO && System.nanoTime() - abertoDesde < tempoAbertoNanos;
+        }
+
+        synchronized String estado() {
+            return estado.name();
+        }
+    }
+
+    /**
+     * Bulkhead com limite AIMD. A latência de cada chamada é comparada à média
+     * móvel (EWMA) da área; acima de {@link #TOLERANCIA} vezes a média, ou com 429,
+     * o limite cai pela metade. Caso contrário, se a área estava saturada, o limite
+     * cresce 1/limite por chamada (≈ +1 por "janela" de chamadas).
+     *
+     * Há duas filas de espera: threads bloqueadas em {@link #adquirir} (na
+     * {@code Condition}) e esperas reativas de {@link #reservar}. Ao liberar
+     * uma vaga, as reativas são atendidas primeiro, em ordem de chegada; elas
+     * não prendem thread e são completadas fora do lock.
+     */
+    static final class LimiteAdaptativo {
+
+        private static final double TOLERANCIA = 2.0;
+        private static final double PESO_EWMA = 0.1;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition vagaLiberada = lock.newCondition();
+        private final ArrayDeque<Espera> esperasReativas = new ArrayDeque<>();
+        private final int minimo;
+        private final int maximo;
+        private double limite;
+        private double latenciaMedia;
+        private int emAndamento;
+        private int aguardando;
+        private long reducoes;
+        private long ultimaReducao;
+        private long rejeitadas;
+
+        LimiteAdaptativo(int minimo, int maximo) {
+            this.minimo = Math.max(1, minimo);
+            this.maximo = Math.max(this.minimo, maximo);
+            this.limite = this.maximo;
+        }
+
+        /**
+         * Espera reativa por vaga. Completa quando a vaga é entregue (já
+         * contada em andamento); cancelada, a vaga não é entregue.
+         */
+        static final class Espera extends CompletableFuture<Void> {
+        }
+
+        /**
+         * Ocupa uma vaga na hora, se houver (e ninguém estiver na fila), ou
+         * entra na fila de espera reativa.
+         *
+         * @return {@code null} se a vaga já foi ocupada; senão a espera
+         */
+        Espera reservar() {
+            lock.lock();
+            try {
+                if (esperasReativas.isEmpty() && emAndamento < (int) limite) {
+                    emAndamento++;
+                    return null;
+                }
+                Espera espera = new Espera();
+                esperasReativas.addLast(espera);
+                return espera;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Tira a espera da fila e a cancela, se a vaga ainda não tiver sido
+         * entregue. Depois disso, {@code espera.isCancelled()} diz se a vaga
+         * ficou ou não com o chamador.
+         */
+        void desistir(Espera espera) {
+            lock.lock();
+            try {
+                esperasReativas.remove(espera);
+            } finally {
+                lock.unlock();
+            }
+            espera.cancel(false);
+        }
+
+        void rejeitar() {
+            lock.lock();
+            try {
+                rejeitadas++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean adquirir(long prazo) {
+            lock.lock();
+            try {
+                aguardando++;
+                try {
+                    while (emAndamento >= (int) limite) {
+                        long restante = prazo - System.nanoTime();
+                        if (restante <= 0) {
+                            rejeitadas++;
+                            return false;
+                        }
+                        vagaLiberada.awaitNanos(restante);
+                    }
+                } finally {
+                    aguardando--;
+                }
+                emAndamento++;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejeitadas++;
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @param latenciaNanos duração da chamada, ou negativo se não chegou a sair
+         * @param sobrecarga AISWEB respondeu 429
+         */
+        void liberar(long latenciaNanos, boolean sobrecarga) {
+            List<Espera> entregues = new ArrayList<>(1);
+            lock.lock();
+            try {
+                boolean saturado = emAndamento >= (int) limite;
+                emAndamento--;
+                if (sobrecarga) {
+                    reduzir();
+                } else if (latenciaNanos >= 0) {
+                    if (latenciaMedia == 0) {
+                        latenciaMedia = latenciaNanos;
+                    } else if (latenciaNanos > latenciaMedia * TOLERANCIA) {
+                        reduzir();
+                    } else if (saturado) {
+                        limite = Math.min(maximo, limite + 1.0 / limite);
+                    }
+                    latenciaMedia += PESO_EWMA * (latenciaNanos - latenciaMedia);
+                }
+                while (!esperasReativas.isEmpty() && emAndamento < (int) limite) {
+                    emAndamento++;
+                    entregues.add(esperasReativas.pollFirst());
+                }
+                vagaLiberada.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            // Fora do lock: completar a espera roda a continuação da chamada
+            for (Espera espera : entregues) {
+                if (!espera.complete(null)) {
+                    // Cancelada antes de receber: a vaga volta para o próximo
+                    liberar(-1, false);
+                }
+            }
+        }
+
+        private void reduzir() {
+            // No máximo uma redução por latência média, para que as chamadas que já
+            // estavam em voo quando o AISWEB engasgou não derrubem o limite em cascata
+            long agora = System.nanoTime();
+            if (reducoes > 0 && agora - ultimaReducao < (long) latenciaMedia) {
+                return;
+            }
+            double anterior = limite;
+            limite = Math.max(minimo, limite / 2);
+            if (limite < anterior) {
+                reducoes++;
+                ultimaReducao = agora;
+            }
+        }
+
+        Map<String, Object> estatisticas() {
+            lock.lock();
+            try {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("limite", (int) limite);
+                stats.put("maximo", maximo);
+                stats.put("emAndamento", emAndamento);
+                stats.put("aguardando", aguardando + esperasReativas.size());
+                stats.put("latenciaMediaMs", TimeUnit.NANOSECONDS.toMillis((long) latenciaMedia));
+                stats.put("reducoes", reducoes);
+                stats.put("rejeitadas", rejeitadas);
+                return stats;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
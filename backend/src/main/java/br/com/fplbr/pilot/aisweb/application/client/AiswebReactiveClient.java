@@ -0,0 +1,85 @@
+package br.com.fplbr.pilot.aisweb.application.client;
+
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Cliente REST não bloqueante da API AISWEB.
+ *
+ * Mesmas chamadas do {@link AiswebClient}, mas devolvendo o corpo como
+ * {@code Uni<String>}: a resposta chega no event loop do Vert.x sem ocupar uma
+ * thread de worker. Status >= 400 falham com {@link AiswebUpstreamException}
+ * via {@link AiswebResponseExceptionMapper}. As chamadas devem passar por
+ * {@link AiswebGovernor#chamarReativo}.
+ */
+@RegisterRestClient(configKey = "aisweb-reativo")
+public interface AiswebReactiveClient {
+
+    /**
+     * Busca dados ROTAER para um aeródromo específico.
+     */
+    @GET
+    @Path("/api/")
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<String> getRotaerData(
+        @QueryParam("apiKey") String apiKey,
+        @QueryParam("apiPass") String apiPass,
+        @QueryParam("area") String area,
+        @QueryParam("icaoCode") String icaoCode
+    );
+
+    /**
+     * Busca dados do sol (nascer e pôr do sol) para um aeródromo.
+     */
+    @GET
+    @Path("/api/")
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<String> getSunData(
+        @QueryParam("apiKey") String apiKey,
+        @QueryParam("apiPass") String apiPass,
+        @QueryParam("area") String area,
+        @QueryParam("icaoCode") String icaoCode
+    );
+
+    /**
+     * Busca METAR e TAF (condições meteorológicas) para um aeródromo.
+     */
+    @GET
+    @Path("/api/")
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<String> getMetarData(
+        @QueryParam("apiKey") String apiKey,
+        @QueryParam("apiPass") String apiPass,
+        @QueryParam("area") String area,
+        @QueryParam("icaoCode") String icaoCode
+    );
+
+    /**
+     * Busca informações temporárias para um aeródromo.
+     */
+    @GET
+    @Path("/api/")
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<String> getInfotempData(
+        @QueryParam("apiKey") String apiKey,
+        @QueryParam("apiPass") String apiPass,
+        @QueryParam("area") String area,
+        @QueryParam("icaoCode") String icaoCode,
+        @QueryParam("status") String status
+    );
+
+    /**
+     * Busca NOTAM para um aeródromo.
+     */
+    @GET
+    @Path("/api/")
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<String> getNotamData(
+        @QueryParam("apiKey") String apiKey,
+        @QueryParam("apiPass") String apiPass,
+        @QueryParam("area") String area,
+        @QueryParam("icaocode") String icaoCode
+    );
+}
@@ -15,7 +15,7 @@ public class AiswebResponseExceptionMapper implements ResponseExceptionMapper<Ru
             String errorMsg = String.format("AISWEB API Error - Status: %d, Reason: %s",
                     response.getStatus(), response.getStatusInfo().getReasonPhrase());
             LOG.error(errorMsg);
-            return new RuntimeException(errorMsg);
+            return new AiswebUpstreamException(errorMsg, response.getStatus());
         }
         return null;
     }
@@ -0,0 +1,20 @@
+package br.com.fplbr.pilot.aisweb.application.client;
+
+/**
+ * Erro HTTP devolvido pela API AISWEB, com o status original.
+ */
+public class AiswebUpstreamException extends RuntimeException {
+    private final int status;
+
+    public AiswebUpstreamException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * @return status HTTP devolvido pelo AISWEB
+     */
+    public int getStatus() {
+        return status;
+    }
+}
@@ -15,6 +15,8 @@ public record AerodromoIcaoIataDto(
     String nomeAerodromo,
     String cidadeAerodromo,
     String ufAerodromo,
+    Double latitude,
+    Double longitude,
     LocalDateTime dataAtualizacao,
     LocalDateTime dataPublicacao
 ) {}
@@ -0,0 +1,10 @@
+package br.com.fplbr.pilot.aisweb.application.dto;
+
+/**
+ * Aeródromo resultante de uma busca espacial, com a distância em km até o ponto
+ * (ou até a rota, na busca por corredor)
+ */
+public record AerodromoProximoDto(
+    AerodromoIcaoIataDto aerodromo,
+    double distanciaKm
+) {}
@@ -0,0 +1,24 @@
+package br.com.fplbr.pilot.aisweb.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado (diff) de uma sincronização do catálogo de aeródromos
+ */
+public record SincronizacaoAerodromosDto(
+    int lidos,
+    int inalterados,
+    boolean catalogoCompleto,
+    List<String> novos,
+    List<String> alterados,
+    List<String> removidos,
+    // Linhas que o banco recusou; ficam fora do índice e voltam na próxima sincronização
+    List<String> rejeitados
+) {
+    public String resumo() {
+        return String.format("%d lidos: %d novos, %d alterados, %d removidos, %d inalterados%s%s",
+            lidos, novos.size(), alterados.size(), removidos.size(), inalterados,
+            rejeitados.isEmpty() ? "" : ", " + rejeitados.size() + " rejeitados " + rejeitados,
+            catalogoCompleto ? "" : " (catálogo incompleto, remoções não aplicadas)");
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.fplbr.pilot.aisweb.application.exception;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.Map;
+
+/**
+ * Maps {@link RateLimitExceededException} to 429 with a Retry-After header.
+ */
+@Provider
+public class RateLimitExceededExceptionMapper implements ExceptionMapper<RateLimitExceededException> {
+
+    @Override
+    public Response toResponse(RateLimitExceededException exception) {
+        return Response.status(exception.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, exception.getRetryAfterSeconds())
+                .type(MediaType.APPLICATION_JSON)
+                .entity(Map.of(
+                    "error", "rate_limit_exceeded",
+                    "detail", exception.getMessage(),
+                    "retryAfterSeconds", exception.getRetryAfterSeconds()
+                ))
+                .build();
+    }
+}
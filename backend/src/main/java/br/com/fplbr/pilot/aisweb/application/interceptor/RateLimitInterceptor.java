@@ -2,24 +2,38 @@ package br.com.fplbr.pilot.aisweb.application.interceptor;
 
 import br.com.fplbr.pilot.aisweb.application.annotation.RateLimited;
 import br.com.fplbr.pilot.aisweb.application.exception.RateLimitExceededException;
+import br.com.fplbr.pilot.aisweb.infrastructure.ratelimit.LocalRateLimiter;
+import br.com.fplbr.pilot.aisweb.infrastructure.ratelimit.RateLimiter;
+import br.com.fplbr.pilot.aisweb.infrastructure.ratelimit.RedisRateLimiter;
+import io.quarkus.arc.Arc;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Priority;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
 import jakarta.interceptor.InvocationContext;
-import jakarta.ws.rs.core.Context;
-import jakarta.ws.rs.core.SecurityContext;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.jboss.logging.Logger;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.security.Principal;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Interceptor that enforces rate limiting on methods annotated with @RateLimited.
+ *
+ * Buckets are keyed by endpoint and client. The client is the JWT subject (or
+ * principal name) when authenticated, otherwise the remote IP address; enable
+ * {@code quarkus.http.proxy.proxy-address-forwarding} behind a reverse proxy so
+ * the IP is taken from the forwarded headers.
+ *
+ * With {@code aisweb.rate-limit.mode=redis} limits are enforced across all
+ * replicas; the default {@code local} mode keeps them per instance.
  */
 @Interceptor
 @RateLimited
@@ -27,14 +41,29 @@ import java.util.concurrent.TimeUnit;
 public class RateLimitInterceptor {
     private static final Logger LOG = Logger.getLogger(RateLimitInterceptor.class);
 
-    @Context
-    SecurityContext securityContext;
+    private static final String ANONYMOUS = "anonymous";
+
+    @ConfigProperty(name = "aisweb.rate-limit.mode", defaultValue = "local")
+    String mode;
+
+    @Inject
+    LocalRateLimiter localRateLimiter;
+
+    @Inject
+    RedisRateLimiter redisRateLimiter;
+
+    @Inject
+    Instance<SecurityIdentity> securityIdentity;
 
     @Inject
-    @ConfigProperty(name = "quarkus.http.limits.requests")
-    int globalRateLimit;
+    Instance<CurrentVertxRequest> currentRequest;
 
-    private final Map<String, RequestCounter> requestCounters = new ConcurrentHashMap<>();
+    private RateLimiter rateLimiter;
+
+    @PostConstruct
+    void init() {
+        rateLimiter = "redis".equalsIgnoreCase(mode) ? redisRateLimiter : localRateLimiter;
+    }
 
     @AroundInvoke
     public Object rateLimit(InvocationContext context) throws Exception {
@@ -43,101 +72,64 @@ public class RateLimitInterceptor {
             return context.proceed();
         }
 
-        String clientId = getClientIdentifier();
-        String methodKey = getMethodKey(context, clientId);
-        long now = System.currentTimeMillis();
-
-        // Get or create the request counter for this method and client
-        RequestCounter counter = requestCounters.computeIfAbsent(methodKey, 
-            k -> new RequestCounter(rateLimited.limit(), rateLimited.duration(), rateLimited.timeUnit()));
-
-        // Check if the rate limit is exceeded
-        synchronized (counter) {
-            if (counter.isRateLimited(now)) {
-                long retryAfter = counter.getRetryAfter(now);
-                LOG.warnf("Rate limit exceeded for %s. Retry after %d seconds", 
-                         methodKey, TimeUnit.MILLISECONDS.toSeconds(retryAfter));
-                
-                throw new RateLimitExceededException(
-                    String.format("Rate limit exceeded. Try again in %d seconds", 
-                                TimeUnit.MILLISECONDS.toSeconds(retryAfter)),
-                    TimeUnit.MILLISECONDS.toSeconds(retryAfter));
-            }
-            
-            // Increment the request count
-            counter.increment(now);
-        }
+        String methodKey = getMethodKey(context, getClientIdentifier());
+        long windowMillis = rateLimited.timeUnit().toMillis(rateLimited.duration());
 
-        try {
-            return context.proceed();
-        } catch (Exception e) {
-            throw e;
+        long retryAfter = rateLimiter.tryAcquire(methodKey, rateLimited.limit(), windowMillis);
+        if (retryAfter > 0) {
+            // Round up so clients never retry too early
+            long retryAfterSeconds = Math.max(1, (retryAfter + 999) / 1000);
+            LOG.warnf("Rate limit exceeded for %s. Retry after %d seconds", methodKey, retryAfterSeconds);
+
+            throw new RateLimitExceededException(
+                String.format("Rate limit exceeded. Try again in %d seconds", retryAfterSeconds),
+                retryAfterSeconds);
         }
+
+        return context.proceed();
     }
 
     private RateLimited getRateLimitedAnnotation(InvocationContext context) {
         // Check method first, then class
         RateLimited rateLimited = context.getMethod().getAnnotation(RateLimited.class);
         if (rateLimited == null) {
-            rateLimited = context.getTarget().getClass().getAnnotation(RateLimited.class);
+            rateLimited = context.getMethod().getDeclaringClass().getAnnotation(RateLimited.class);
         }
         return rateLimited;
     }
 
     private String getClientIdentifier() {
-        // Use the authenticated user's name if available, otherwise use the IP address
-        if (securityContext != null && securityContext.getUserPrincipal() != null) {
-            return securityContext.getUserPrincipal().getName();
-        }
-        // In a real application, you might want to get the client IP here
-        return "anonymous";
-    }
-
-    private String getMethodKey(InvocationContext context, String clientId) {
-        return String.format("%s#%s:%s", 
-            context.getTarget().getClass().getSimpleName(),
-            context.getMethod().getName(),
-            clientId);
-    }
-
-    /**
-     * Inner class to track request counts within a time window.
-     */
-    private static class RequestCounter {
-        private final int limit;
-        private final long windowMillis;
-        private int count;
-        private long windowStart;
-
-        public RequestCounter(int limit, int duration, TimeUnit timeUnit) {
-            this.limit = limit;
-            this.windowMillis = timeUnit.toMillis(duration);
-            this.count = 0;
-            this.windowStart = System.currentTimeMillis();
-        }
-
-        public synchronized boolean isRateLimited(long now) {
-            updateWindow(now);
-            return count >= limit;
-        }
-
-        public synchronized void increment(long now) {
-            updateWindow(now);
-            count++;
+        if (!Arc.container().requestContext().isActive()) {
+            return ANONYMOUS;
         }
 
-        public synchronized long getRetryAfter(long now) {
-            long timePassed = now - windowStart;
-            return windowMillis - timePassed;
+        // Use the authenticated subject if available, otherwise the client IP address
+        if (securityIdentity.isResolvable()) {
+            SecurityIdentity identity = securityIdentity.get();
+            if (!identity.isAnonymous()) {
+                Principal principal = identity.getPrincipal();
+                if (principal instanceof JsonWebToken jwt && jwt.getSubject() != null) {
+                    return "sub:" + jwt.getSubject();
+                }
+                return "user:" + principal.getName();
+            }
         }
 
-        private void updateWindow(long now) {
-            long timePassed = now - windowStart;
-            if (timePassed > windowMillis) {
-                // Reset the counter for a new time window
-                count = 0;
-                windowStart = now;
+        if (currentRequest.isResolvable()) {
+            RoutingContext routingContext = currentRequest.get().getCurrent();
+            if (routingContext != null) {
+                SocketAddress address = routingContext.request().remoteAddress();
+                if (address != null && address.host() != null) {
+                    return "ip:" + address.host();
+                }
             }
         }
+        return ANONYMOUS;
+    }
+
+    private String getMethodKey(InvocationContext context, String clientId) {
+        return context.getMethod().getDeclaringClass().getSimpleName()
+            + '#' + context.getMethod().getName()
+            + ':' + clientId;
     }
 }
@@ -1,7 +1,10 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.dto.AerodromoIcaoIataDto;
+import br.com.fplbr.pilot.aisweb.application.dto.SincronizacaoAerodromosDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AerodromoHashIndex;
 import br.com.fplbr.pilot.aisweb.infrastructure.persistence.entity.AerodromoIcaoIataEntity;
+import br.com.fplbr.pilot.aisweb.infrastructure.util.BatchingConsumer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -12,6 +15,7 @@ import java.util.logging.Logger;
 public class AerodromoAsyncService {
     
     private static final Logger LOG = Logger.getLogger(AerodromoAsyncService.class.getName());
+    private static final int TAMANHO_LOTE_FILA = 500;
     
     @Inject
     AerodromoIcaoIataService aerodromoService;
@@ -19,6 +23,9 @@ public class AerodromoAsyncService {
     @Inject
     AerodromoQueueService queueService;
     
+    @Inject
+    AerodromoHashIndex indiceConteudo;
+    
     /**
      * Consulta API AISWEB e adiciona aeródromos na fila para processamento assíncrono
      * Retorna resposta imediata sem aguardar o processamento
@@ -27,21 +34,24 @@ public class AerodromoAsyncService {
         try {
             LOG.info("🔄 Iniciando consulta à API AISWEB (modo assíncrono)...");
             
-            // Consultar API AISWEB (reutilizando método existente)
-            String xmlResponse = aerodromoService.consultarApiAisweb();
-            LOG.info("📡 Resposta da API recebida: " + (xmlResponse != null ? xmlResponse.length() + " caracteres" : "null"));
-            
-            // Parsear XML e extrair dados
-            List<AerodromoIcaoIataEntity> aerodromos = aerodromoService.parsearXmlResponse(xmlResponse);
-            LOG.info("📋 Aeródromos parseados: " + aerodromos.size());
+            // Consultar API AISWEB em streaming e enfileirar apenas novos/alterados, em lotes
+            AerodromoIcaoIataService.ImportacaoCatalogo importacao;
+            FiltroDeltaAerodromos filtro;
+            try (BatchingConsumer<AerodromoIcaoIataEntity> lotes = new BatchingConsumer<>(TAMANHO_LOTE_FILA,
+                    queueService::adicionarAerodromosNaFila)) {
+                filtro = new FiltroDeltaAerodromos(indiceConteudo, lotes);
+                importacao = aerodromoService.importarCatalogo(filtro);
+            }
+            LOG.info("📋 Aeródromos parseados: " + importacao.emitidos());
             
-            // Adicionar na fila Redis para processamento assíncrono
-            queueService.adicionarAerodromosNaFila(aerodromos);
+            List<String> removidos = aerodromoService.aplicarRemocoes(filtro, importacao);
+            SincronizacaoAerodromosDto relatorio = filtro.relatorio(importacao.completo(), removidos);
+            int enfileirados = relatorio.novos().size() + relatorio.alterados().size();
             
             String mensagem = String.format(
-                "✅ %d aeródromos adicionados na fila para processamento assíncrono. " +
-                "O processamento será feito em lotes de 50 aeródromos a cada 5 segundos.", 
-                aerodromos.size()
+                "✅ %d aeródromos adicionados na fila para processamento assíncrono (%s). " +
+                "O processamento é feito em lotes pelas réplicas do consumer group do Redis Stream.", 
+                enfileirados, relatorio.resumo()
             );
             
             LOG.info(mensagem);
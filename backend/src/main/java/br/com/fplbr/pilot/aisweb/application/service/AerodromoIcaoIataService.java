@@ -1,14 +1,23 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.dto.AerodromoIcaoIataDto;
+import br.com.fplbr.pilot.aisweb.application.dto.AerodromoProximoDto;
+import br.com.fplbr.pilot.aisweb.application.dto.SincronizacaoAerodromosDto;
 import br.com.fplbr.pilot.aisweb.domain.enums.AerodromoIcaoIataEnum;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AerodromoCatalogo;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AerodromoHashIndex;
 import br.com.fplbr.pilot.aisweb.infrastructure.persistence.entity.AerodromoIcaoIataEntity;
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.RotaerCatalogoStreamParser;
 import br.com.fplbr.pilot.aisweb.infrastructure.persistence.repository.AerodromoIcaoIataRepository;
+import br.com.fplbr.pilot.aisweb.infrastructure.persistence.repository.AerodromoIcaoIataRepository.ResultadoUpsert;
+import br.com.fplbr.pilot.aisweb.infrastructure.util.BatchingConsumer;
+import br.com.fplbr.pilot.aisweb.infrastructure.util.CompiledXPath;
 import br.com.fplbr.pilot.aisweb.infrastructure.util.XmlUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
@@ -17,12 +26,14 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Serviço para consultar API AISWEB e gerenciar dados de aeródromos ICAO/IATA
@@ -30,6 +41,8 @@ import java.util.List;
 @ApplicationScoped
 public class AerodromoIcaoIataService {
     
+    private static final Logger LOG = Logger.getLogger(AerodromoIcaoIataService.class);
+    
     @Inject
     AerodromoIcaoIataRepository repository;
     
@@ -38,97 +51,222 @@ public class AerodromoIcaoIataService {
     
     @ConfigProperty(name = "aisweb.api.pass")
     String apiPass;
+
+    @Inject
+    RotaerCatalogoStreamParser catalogoParser;
+
+    @Inject
+    AerodromoHashIndex indiceConteudo;
+
+    @Inject
+    AerodromoCatalogo catalogo;
+
+    private static final int TAMANHO_LOTE = 50;
+    private static final double FRACAO_MAXIMA_REMOCAO = 0.5;
     
-    private static final XPath XPATH = XPathFactory.newInstance().newXPath();
+    /**
+     * Resultado da leitura do catálogo; {@code completo} é falso quando a leitura
+     * falhou no meio ou caiu nos dados de exemplo.
+     */
+    public record ImportacaoCatalogo(int emitidos, boolean completo) {}
+    
+    private static final CompiledXPath X_ROTAER = CompiledXPath.of("//rotaer");
+    private static final CompiledXPath X_ITEMS = CompiledXPath.of("//item");
     
     /**
-     * Consulta a API AISWEB e atualiza o banco de dados com todos os aeródromos
+     * Consulta a API AISWEB e atualiza o banco de dados com todos os aeródromos.
+     * Cada lote é gravado em sua própria transação com upsert em lote.
      */
-    @Transactional
     public List<AerodromoIcaoIataDto> consultarEAtualizarAerodromos() {
+        sincronizarCatalogo();
+        return listarTodos();
+    }
+    
+    /**
+     * Sincroniza o catálogo ROTAER com o banco gravando apenas o que mudou.
+     *
+     * Os aeródromos lidos passam pelo {@link AerodromoHashIndex}: só os novos ou
+     * alterados seguem para o upsert, e ICAOs que sumiram do catálogo são
+     * removidos (apenas quando o catálogo foi lido por completo).
+     *
+     * @return diff da sincronização
+     */
+    public SincronizacaoAerodromosDto sincronizarCatalogo() {
         try {
-            System.out.println("🔄 Iniciando consulta à API AISWEB...");
-            
-            // Consultar API AISWEB
-            String xmlResponse = consultarApiAisweb();
-            System.out.println("📡 Resposta da API recebida: " + (xmlResponse != null ? xmlResponse.length() + " caracteres" : "null"));
-            
-            // Parsear XML e extrair dados
-            List<AerodromoIcaoIataEntity> aerodromos = parsearXmlResponse(xmlResponse);
-            System.out.println("📋 Aeródromos parseados: " + aerodromos.size());
+            LOG.info("🔄 Iniciando consulta à API AISWEB...");
+            
+            // Consultar API AISWEB em streaming, gravando em lotes à medida que os itens chegam
+            ResultadoUpsert[] total = {ResultadoUpsert.VAZIO};
+            List<String> rejeitados = new ArrayList<>();
+            ImportacaoCatalogo importacao;
+            FiltroDeltaAerodromos filtro;
+            try (BatchingConsumer<AerodromoIcaoIataEntity> lotes = new BatchingConsumer<>(TAMANHO_LOTE,
+                    lote -> total[0] = total[0].somar(processarAerodromosEmLotes(lote, rejeitados)))) {
+                filtro = new FiltroDeltaAerodromos(indiceConteudo, lotes);
+                importacao = importarCatalogo(filtro);
+            }
+            LOG.infof("📋 Aeródromos parseados: %d", importacao.emitidos());
             
-            // Processar em lotes para evitar problemas de conexão
-            List<AerodromoIcaoIataDto> aerodromosSalvos = processarAerodromosEmLotes(aerodromos);
+            List<String> removidos = aplicarRemocoes(filtro, importacao);
             
-            System.out.println("✅ Total de aeródromos processados: " + aerodromosSalvos.size());
-            return aerodromosSalvos;
+            SincronizacaoAerodromosDto relatorio = filtro.relatorio(importacao.completo(), removidos, rejeitados);
+            if (!relatorio.novos().isEmpty() || !relatorio.alterados().isEmpty() || !removidos.isEmpty()) {
+                catalogo.recarregar();
+            }
+            ResultadoUpsert resultado = total[0];
+            LOG.infof("✅ Sincronização concluída: %s", relatorio.resumo());
+            LOG.infof("💾 Upsert: %d inseridos, %d atualizados, %d inalterados",
+                resultado.inseridos(), resultado.atualizados(), resultado.inalterados());
+            return relatorio;
                     
         } catch (Exception e) {
-            System.err.println("❌ Erro ao consultar e atualizar aeródromos: " + e.getMessage());
-            e.printStackTrace();
+            LOG.errorf(e, "❌ Erro ao consultar e atualizar aeródromos: %s", e.getMessage());
             throw new RuntimeException("Erro ao consultar e atualizar aeródromos: " + e.getMessage(), e);
         }
     }
     
     /**
-     * Processa aeródromos em lotes para evitar problemas de conexão
+     * Remove do banco (e do índice) os aeródromos que sumiram do catálogo, se ele
+     * foi lido por completo.
+     *
+     * @return ICAOs removidos
      */
-    private List<AerodromoIcaoIataDto> processarAerodromosEmLotes(List<AerodromoIcaoIataEntity> aerodromos) {
-        List<AerodromoIcaoIataDto> aerodromosSalvos = new ArrayList<>();
-        int tamanhoLote = 50; // Processar 50 aeródromos por vez
-        
-        for (int i = 0; i < aerodromos.size(); i += tamanhoLote) {
-            int fim = Math.min(i + tamanhoLote, aerodromos.size());
-            List<AerodromoIcaoIataEntity> lote = aerodromos.subList(i, fim);
-            
-            System.out.println("📦 Processando lote " + (i/tamanhoLote + 1) + " (aeródromos " + (i+1) + " a " + fim + ")");
-            
-            try {
-                List<AerodromoIcaoIataDto> loteSalvo = processarLoteAerodromosComTransacao(lote);
-                aerodromosSalvos.addAll(loteSalvo);
-                System.out.println("✅ Lote processado: " + loteSalvo.size() + " aeródromos");
-                
-                // Pequena pausa entre lotes para evitar sobrecarga
-                Thread.sleep(100);
-                
-            } catch (Exception e) {
-                System.err.println("❌ Erro ao processar lote " + (i/tamanhoLote + 1) + ": " + e.getMessage());
-                e.printStackTrace();
-                // Continuar com o próximo lote mesmo se um falhar
+    List<String> aplicarRemocoes(FiltroDeltaAerodromos filtro, ImportacaoCatalogo importacao) {
+        if (!importacao.completo()) {
+            return List.of();
+        }
+        List<String> ausentes = filtro.ausentes();
+        if (ausentes.isEmpty()) {
+            return List.of();
+        }
+        if (ausentes.size() > indiceConteudo.tamanho() * FRACAO_MAXIMA_REMOCAO) {
+            // Proteção contra resposta truncada/vazia da AISWEB apagando o catálogo
+            LOG.warnf("⚠️ %d aeródromos ausentes do catálogo; remoção ignorada por segurança", ausentes.size());
+            return List.of();
+        }
+        removerAerodromos(ausentes);
+        indiceConteudo.remover(ausentes);
+        return ausentes;
+    }
+    
+    /**
+     * Remove do banco os aeródromos informados
+     */
+    @Transactional
+    public long removerAerodromos(Collection<String> icaos) {
+        long removidos = repository.deleteByIcaoIn(icaos);
+        LOG.infof("🗑️ Aeródromos removidos: %d %s", removidos, icaos);
+        return removidos;
+    }
+    
+    /**
+     * Grava um lote de aeródromos; falhas de um lote não interrompem os seguintes.
+     *
+     * Um upsert multi-linha falha inteiro por causa de uma linha só. Nesse caso o
+     * lote é dividido ao meio e cada metade regravada em sua própria transação,
+     * até isolar as linhas inválidas, que vão para {@code rejeitados}. As demais
+     * são gravadas normalmente.
+     */
+    private ResultadoUpsert processarAerodromosEmLotes(List<AerodromoIcaoIataEntity> lote, List<String> rejeitados) {
+        try {
+            ResultadoUpsert resultado = processarLoteAerodromosComTransacao(lote);
+            // Só depois do commit, para que uma falha faça o lote ser reenviado na próxima sincronização
+            indiceConteudo.registrar(lote);
+            LOG.infof("✅ Lote processado: %d inseridos, %d atualizados, %d inalterados",
+                resultado.inseridos(), resultado.atualizados(), resultado.inalterados());
+            return resultado;
+        } catch (Exception e) {
+            if (lote.size() == 1) {
+                String icao = lote.get(0).getIcao();
+                rejeitados.add(icao);
+                LOG.errorf("❌ Aeródromo %s rejeitado: %s", icao, e.getMessage());
+                return ResultadoUpsert.VAZIO;
             }
+            LOG.warnf("⚠️ Erro ao processar lote de %d aeródromos (%s); dividindo o lote para isolar as linhas inválidas",
+                lote.size(), e.getMessage());
+            int meio = lote.size() / 2;
+            return processarAerodromosEmLotes(lote.subList(0, meio), rejeitados)
+                .somar(processarAerodromosEmLotes(lote.subList(meio, lote.size()), rejeitados));
         }
-        
-        return aerodromosSalvos;
     }
     
     /**
      * Processa um lote de aeródromos em uma transação (método público)
      */
     @Transactional
-    public List<AerodromoIcaoIataDto> processarLoteAerodromosComTransacao(List<AerodromoIcaoIataEntity> lote) {
-        return processarLoteAerodromos(lote);
+    public ResultadoUpsert processarLoteAerodromosComTransacao(List<AerodromoIcaoIataEntity> lote) {
+        return repository.upsertEmLote(lote);
     }
     
     /**
-     * Processa um lote de aeródromos em uma transação
+     * Importa o catálogo completo do ROTAER em streaming, entregando um aeródromo
+     * por vez ao destino. O corpo da resposta é lido direto do socket pelo parser
+     * StAX, então o consumo de memória não depende do tamanho do catálogo.
+     *
+     * @param destino consumidor de aeródromos (ex.: {@link BatchingConsumer})
+     * @return quantidade de aeródromos emitidos e se o catálogo veio completo da AISWEB
      */
-    private List<AerodromoIcaoIataDto> processarLoteAerodromos(List<AerodromoIcaoIataEntity> lote) {
-        List<AerodromoIcaoIataDto> aerodromosSalvos = new ArrayList<>();
-        
-        for (AerodromoIcaoIataEntity aerodromo : lote) {
-            try {
-                System.out.println("💾 Processando aeródromo: " + aerodromo.getIcao() + " - " + aerodromo.getNomeAerodromo());
-                AerodromoIcaoIataEntity aerodromoSalvo = salvarOuAtualizarAerodromo(aerodromo);
-                aerodromosSalvos.add(converterParaDto(aerodromoSalvo));
-            } catch (Exception e) {
-                System.err.println("❌ Erro ao salvar aeródromo " + aerodromo.getIcao() + ": " + e.getMessage());
-                // Continuar com o próximo aeródromo mesmo se um falhar
+    public ImportacaoCatalogo importarCatalogo(Consumer<AerodromoIcaoIataEntity> destino) {
+        AtomicInteger emitidos = new AtomicInteger();
+        Consumer<AerodromoIcaoIataEntity> contador = aerodromo -> {
+            emitidos.incrementAndGet();
+            destino.accept(aerodromo);
+        };
+
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            int totalRegistros = consultarTotalRegistros(client);
+            LOG.infof("📊 Total de registros encontrados: %d", totalRegistros);
+
+            if (totalRegistros > 0) {
+                HttpRequest fullRequest = HttpRequest.newBuilder()
+                    .uri(URI.create(urlRotaer(totalRegistros)))
+                    .GET()
+                    .build();
+
+                HttpResponse<InputStream> fullResponse = client.send(fullRequest,
+                    HttpResponse.BodyHandlers.ofInputStream());
+                LOG.infof("📡 Status da resposta (completa): %d", fullResponse.statusCode());
+
+                try (InputStream body = fullResponse.body()) {
+                    int lidos = catalogoParser.parse(body, contador);
+                    return new ImportacaoCatalogo(lidos, fullResponse.statusCode() == 200 && lidos > 0);
+                }
+            }
+            LOG.warn("⚠️ Total de registros inválido, usando dados de exemplo");
+        } catch (Exception e) {
+            LOG.errorf(e, "❌ Erro ao importar catálogo ROTAER: %s", e.getMessage());
+            if (emitidos.get() > 0) {
+                // Parte do catálogo já foi entregue; não misturar com dados de exemplo
+                return new ImportacaoCatalogo(emitidos.get(), false);
             }
         }
-        
-        return aerodromosSalvos;
+
+        // Dados de exemplo para desenvolvimento
+        try {
+            return new ImportacaoCatalogo(catalogoParser.parse(new StringReader(gerarDadosExemplo()), contador), false);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao processar dados de exemplo do ROTAER: " + e.getMessage(), e);
+        }
     }
-    
+
+    private int consultarTotalRegistros(HttpClient client) throws Exception {
+        HttpRequest totalRequest = HttpRequest.newBuilder()
+            .uri(URI.create(urlRotaer(1)))
+            .GET()
+            .build();
+        HttpResponse<String> totalResponse = client.send(totalRequest, HttpResponse.BodyHandlers.ofString());
+        LOG.infof("📡 Status da resposta (total): %d", totalResponse.statusCode());
+        return extrairTotalRegistros(totalResponse.body());
+    }
+
+    private String urlRotaer(int rowEnd) {
+        return String.format(
+            "https://aisweb.decea.mil.br/api/?apiKey=%s&apiPass=%s&area=rotaer&rowstart=0&rowend=%d",
+            apiKey, apiPass, rowEnd
+        );
+    }
+
     /**
      * Consulta a API AISWEB para obter dados de todos os aeródromos
      */
@@ -203,7 +341,7 @@ public class AerodromoIcaoIataService {
             Document doc = XmlUtils.createDocument(cleanXml);
             
             // Buscar o atributo total no elemento rotaer
-            NodeList rotaerNodes = (NodeList) XPATH.evaluate("//rotaer", doc, XPathConstants.NODESET);
+            NodeList rotaerNodes = X_ROTAER.nodes(doc);
             if (rotaerNodes.getLength() > 0) {
                 Element rotaer = (Element) rotaerNodes.item(0);
                 String totalStr = rotaer.getAttribute("total");
@@ -235,7 +373,7 @@ public class AerodromoIcaoIataService {
             System.out.println("🧹 XML limpo: " + cleanXml.length() + " caracteres");
             
             Document doc = XmlUtils.createDocument(cleanXml);
-        NodeList items = (NodeList) XPATH.evaluate("//item", doc, XPathConstants.NODESET);
+        NodeList items = X_ITEMS.nodes(doc);
             
             System.out.println("📦 Itens encontrados no XML: " + items.getLength());
         
@@ -382,68 +520,7 @@ public class AerodromoIcaoIataService {
     }
     
     /**
-     * Salva ou atualiza um aeródromo no banco
-     */
-    private AerodromoIcaoIataEntity salvarOuAtualizarAerodromo(AerodromoIcaoIataEntity aerodromo) {
-        try {
-            // Tentar buscar aeródromo existente
-            AerodromoIcaoIataEntity existente = repository.findByIcao(aerodromo.getIcao());
-            
-            if (existente != null) {
-                // Atualizar aeródromo existente
-                existente.setCiadId(aerodromo.getCiadId());
-                existente.setCiad(aerodromo.getCiad());
-                existente.setTipoAerodromo(aerodromo.getTipoAerodromo());
-                existente.setIata(aerodromo.getIata());
-                existente.setNomeAerodromo(aerodromo.getNomeAerodromo());
-                existente.setCidadeAerodromo(aerodromo.getCidadeAerodromo());
-                existente.setUfAerodromo(aerodromo.getUfAerodromo());
-                existente.setDataPublicacao(aerodromo.getDataPublicacao());
-                existente.setDataAtualizacao(LocalDateTime.now());
-                
-                // Usar merge em vez de persist para atualização
-                return repository.getEntityManager().merge(existente);
-            } else {
-                // Salvar novo aeródromo
-                aerodromo.setDataAtualizacao(LocalDateTime.now());
-                repository.persist(aerodromo);
-                return aerodromo;
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Erro ao salvar/atualizar aeródromo " + aerodromo.getIcao() + ": " + e.getMessage());
-            // Em caso de erro, tentar apenas salvar como novo
-            try {
-                aerodromo.setDataAtualizacao(LocalDateTime.now());
-                repository.persist(aerodromo);
-                return aerodromo;
-            } catch (Exception e2) {
-                System.err.println("❌ Erro crítico ao salvar aeródromo " + aerodromo.getIcao() + ": " + e2.getMessage());
-                throw e2;
-            }
-        }
-    }
-    
-    /**
-     * Converte entidade para DTO
-     */
-    private AerodromoIcaoIataDto converterParaDto(AerodromoIcaoIataEntity entity) {
-        return new AerodromoIcaoIataDto(
-            entity.getId(),
-            entity.getCiadId(),
-            entity.getCiad(),
-            entity.getTipoAerodromo(),
-            entity.getIcao(),
-            entity.getIata(),
-            entity.getNomeAerodromo(),
-            entity.getCidadeAerodromo(),
-            entity.getUfAerodromo(),
-            entity.getDataAtualizacao(),
-            entity.getDataPublicacao()
-        );
-    }
-    
-    /**
-     * Busca aeródromos com filtros opcionais
+     * Busca aeródromos com filtros opcionais, no catálogo em memória
      * @param icao Código ICAO (opcional)
      * @param iata Código IATA (opcional)
      * @param uf Sigla da UF (opcional)
@@ -452,73 +529,125 @@ public class AerodromoIcaoIataService {
     public List<AerodromoIcaoIataDto> buscarAerodromos(String icao, String iata, String uf) {
         if (icao != null && !icao.trim().isEmpty()) {
             // Busca específica por ICAO
-            AerodromoIcaoIataEntity entity = repository.findByIcao(icao.toUpperCase());
-            if (entity != null) {
-                // Validar se o ICAO solicitado corresponde ao ICAO do registro
-                if (icao.toUpperCase().equals(entity.getIcao())) {
-                    return List.of(converterParaDto(entity));
-                } else {
-                    // ICAO não corresponde, retornar null para IATA
-                    AerodromoIcaoIataDto dto = converterParaDto(entity);
-                    // Criar novo DTO com IATA null
-                    return List.of(new AerodromoIcaoIataDto(
-                        dto.id(), dto.ciadId(), dto.ciad(), dto.tipoAerodromo(), 
-                        dto.icao(), null, // IATA = null quando ICAO não corresponde
-                        dto.nomeAerodromo(), dto.cidadeAerodromo(), 
-                        dto.ufAerodromo(), dto.dataAtualizacao(), dto.dataPublicacao()
-                    ));
-                }
-            }
-            return List.of();
+            AerodromoIcaoIataDto dto = catalogo.porIcao(icao);
+            return dto != null ? List.of(dto) : List.of();
         } else if (iata != null && !iata.trim().isEmpty()) {
             // Busca específica por IATA
-            AerodromoIcaoIataEntity entity = repository.findByIata(iata.toUpperCase());
-            return entity != null ? List.of(converterParaDto(entity)) : List.of();
+            AerodromoIcaoIataDto dto = catalogo.porIata(iata);
+            return dto != null ? List.of(dto) : List.of();
         } else if (uf != null && !uf.trim().isEmpty()) {
             // Busca por UF
-            return repository.findByUf(uf.toUpperCase()).stream()
-                    .map(this::converterParaDto)
-                    .toList();
+            return catalogo.porUf(uf);
         } else {
             // Lista todos
-            return repository.listAll().stream()
-                    .map(this::converterParaDto)
-                    .toList();
+            return catalogo.todos();
+        }
+    }
+    
+    /**
+     * Autocomplete por nome, cidade, ICAO ou IATA
+     * @param consulta Texto digitado
+     * @param limite Número máximo de resultados
+     * @return Aeródromos que casam com todos os termos, os mais relevantes primeiro
+     */
+    public List<AerodromoIcaoIataDto> autocompletar(String consulta, int limite) {
+        return catalogo.autocompletar(consulta, limite);
+    }
+
+    /**
+     * Aeródromos mais próximos de um aeródromo (ele mesmo fica de fora), para
+     * sugestão de alternativas
+     * @param icao Código ICAO de referência
+     * @param n Número de aeródromos
+     * @return Aeródromos do mais perto para o mais longe
+     * @throws IllegalArgumentException se o ICAO não existe ou não tem coordenadas
+     */
+    public List<AerodromoProximoDto> maisProximos(String icao, int n) {
+        double[] ponto = coordenadas(icao);
+        String referencia = icao.trim().toUpperCase();
+        return catalogo.maisProximos(ponto[0], ponto[1], n + 1).stream()
+            .filter(p -> !referencia.equals(p.aerodromo().icao()))
+            .limit(n)
+            .toList();
+    }
+    
+    /**
+     * Aeródromos mais próximos de uma coordenada
+     */
+    public List<AerodromoProximoDto> maisProximos(double lat, double lon, int n) {
+        return catalogo.maisProximos(lat, lon, n);
+    }
+    
+    /**
+     * Aeródromos a até {@code raioKm} de uma coordenada
+     */
+    public List<AerodromoProximoDto> noRaio(double lat, double lon, double raioKm) {
+        return catalogo.noRaio(lat, lon, raioKm);
+    }
+    
+    /**
+     * Aeródromos a até {@code raioKm} de um aeródromo (ele mesmo fica de fora)
+     * @throws IllegalArgumentException se o ICAO não existe ou não tem coordenadas
+     */
+    public List<AerodromoProximoDto> noRaio(String icao, double raioKm) {
+        double[] ponto = coordenadas(icao);
+        String referencia = icao.trim().toUpperCase();
+        return catalogo.noRaio(ponto[0], ponto[1], raioKm).stream()
+            .filter(p -> !referencia.equals(p.aerodromo().icao()))
+            .toList();
+    }
+    
+    /**
+     * Aeródromos ao longo de uma rota, ordenados pela distância à rota
+     * @param rota ICAOs na ordem do voo (origem, pontos intermediários, destino)
+     * @param larguraKm Distância máxima até a rota
+     * @throws IllegalArgumentException se algum ICAO não existe ou não tem coordenadas
+     */
+    public List<AerodromoProximoDto> noCorredor(List<String> rota, double larguraKm) {
+        List<double[]> pontos = new ArrayList<>(rota.size());
+        for (String icao : rota) {
+            pontos.add(coordenadas(icao));
+        }
+        return catalogo.noCorredor(pontos, larguraKm);
+    }
+    
+    private double[] coordenadas(String icao) {
+        AerodromoIcaoIataDto aerodromo = catalogo.porIcao(icao);
+        if (aerodromo == null) {
+            throw new IllegalArgumentException("Aeródromo não encontrado: " + icao);
+        }
+        if (aerodromo.latitude() == null || aerodromo.longitude() == null) {
+            throw new IllegalArgumentException("Aeródromo sem coordenadas: " + aerodromo.icao());
         }
+        return new double[]{aerodromo.latitude(), aerodromo.longitude()};
     }
     
     /**
-     * Lista todos os aeródromos do banco
+     * Lista todos os aeródromos
      */
     public List<AerodromoIcaoIataDto> listarTodos() {
-        return repository.listAll().stream()
-                .map(this::converterParaDto)
-                .toList();
+        return catalogo.todos();
     }
     
     /**
      * Busca aeródromo por ICAO
      */
     public AerodromoIcaoIataDto buscarPorIcao(String icao) {
-        AerodromoIcaoIataEntity entity = repository.findByIcao(icao);
-        return entity != null ? converterParaDto(entity) : null;
+        return catalogo.porIcao(icao);
     }
     
     /**
      * Busca aeródromo por IATA
      */
     public AerodromoIcaoIataDto buscarPorIata(String iata) {
-        AerodromoIcaoIataEntity entity = repository.findByIata(iata);
-        return entity != null ? converterParaDto(entity) : null;
+        return catalogo.porIata(iata);
     }
     
     /**
      * Busca aeródromos por UF
      */
     public List<AerodromoIcaoIataDto> buscarPorUf(String uf) {
-        return repository.findByUf(uf).stream()
-                .map(this::converterParaDto)
-                .toList();
+        return catalogo.porUf(uf);
     }
     
     // Métodos auxiliares
@@ -1,217 +1,391 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
-import br.com.fplbr.pilot.aisweb.application.dto.AerodromoIcaoIataDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AerodromoCatalogo;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AerodromoHashIndex;
 import br.com.fplbr.pilot.aisweb.infrastructure.persistence.entity.AerodromoIcaoIataEntity;
 import br.com.fplbr.pilot.aisweb.infrastructure.persistence.repository.AerodromoIcaoIataRepository;
+import br.com.fplbr.pilot.aisweb.infrastructure.persistence.repository.AerodromoIcaoIataRepository.ResultadoUpsert;
+import br.com.fplbr.pilot.common.infrastructure.persistence.FalhaDeBanco;
+import br.com.fplbr.pilot.common.infrastructure.redis.StreamDeadLetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.quarkus.redis.datasource.RedisDataSource;
-import io.quarkus.redis.datasource.list.ListCommands;
+import io.quarkus.redis.datasource.stream.ClaimedMessages;
+import io.quarkus.redis.datasource.stream.StreamCommands;
+import io.quarkus.redis.datasource.stream.StreamMessage;
+import io.quarkus.redis.datasource.stream.XGroupCreateArgs;
+import io.quarkus.redis.datasource.stream.XReadGroupArgs;
 import io.quarkus.scheduler.Scheduled;
+import io.vertx.mutiny.redis.client.Redis;
+import io.vertx.mutiny.redis.client.Request;
+import io.vertx.redis.client.Command;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.Optional;
 
+/**
+ * Fila de aeródromos sobre Redis Streams.
+ *
+ * Produtores fazem XADD em blocos pipelined; cada réplica do backend lê com XREADGROUP
+ * no mesmo consumer group, grava o lote e só então faz XACK (entrega
+ * at-least-once, o upsert é idempotente). Mensagens pendentes de consumidores
+ * que caíram são reivindicadas com XAUTOCLAIM depois de um tempo ocioso.
+ * O tamanho do lote se ajusta ao tempo de gravação observado.
+ *
+ * Se o upsert do lote falhar por causa dos dados, as linhas são regravadas uma
+ * a uma e só as que falharem de novo ficam pendentes; depois de
+ * {@code aerodromo.queue.max-deliveries} entregas vão para o dead-letter
+ * ({@link StreamDeadLetter}). Com o banco indisponível ({@link FalhaDeBanco})
+ * o lote fica pendente sem contar a entrega e a drenagem para até o próximo ciclo.
+ */
 @ApplicationScoped
 public class AerodromoQueueService {
-    
-    private static final Logger LOG = Logger.getLogger(AerodromoQueueService.class.getName());
-    private static final String QUEUE_NAME = "aerodromos_queue";
+
+    private static final Logger LOG = Logger.getLogger(AerodromoQueueService.class);
+    private static final String STREAM_NAME = "aerodromos_stream";
+    private static final String GROUP_NAME = "aerodromos_sync";
+    private static final String CAMPO_AERODROMO = "aerodromo";
     private static final String PROCESSING_STATUS_KEY = "aerodromos_processing_status";
-    
+
     @Inject
     RedisDataSource redisDataSource;
-    
+
+    @Inject
+    Redis redis;
+
     @Inject
     AerodromoIcaoIataRepository repository;
-    
+
     @Inject
     ObjectMapper objectMapper;
-    
+
+    @Inject
+    AerodromoHashIndex indiceConteudo;
+
+    @Inject
+    AerodromoCatalogo catalogo;
+
+    @ConfigProperty(name = "aerodromo.queue.enqueue.chunk", defaultValue = "500")
+    int tamanhoBlocoEnvio;
+
     @ConfigProperty(name = "aerodromo.queue.batch.size", defaultValue = "50")
     int batchSize;
-    
-    private ListCommands<String, String> listCommands;
-    
-    public void init() {
-        if (this.listCommands == null) {
-            this.listCommands = redisDataSource.list(String.class, String.class);
+
+    @ConfigProperty(name = "aerodromo.queue.batch.min", defaultValue = "10")
+    int batchMin;
+
+    @ConfigProperty(name = "aerodromo.queue.batch.max", defaultValue = "1000")
+    int batchMax;
+
+    @ConfigProperty(name = "aerodromo.queue.batch.target", defaultValue = "500ms")
+    Duration tempoAlvoLote;
+
+    @ConfigProperty(name = "aerodromo.queue.drain.max", defaultValue = "4s")
+    Duration tempoMaximoDrenagem;
+
+    @ConfigProperty(name = "aerodromo.queue.reclaim.idle", defaultValue = "60s")
+    Duration ociosidadeParaReivindicar;
+
+    @ConfigProperty(name = "aerodromo.queue.max-deliveries", defaultValue = "5")
+    int maxEntregas;
+
+    @ConfigProperty(name = "aerodromo.queue.consumer")
+    Optional<String> consumerConfigurado;
+
+    private StreamCommands<String, String, String> streamCommands;
+    private ObjectWriter escritorCompacto;
+    private StreamDeadLetter deadLetter;
+    private volatile boolean grupoCriado;
+    private volatile int loteAtual;
+    private String consumer;
+
+    public synchronized void init() {
+        if (this.streamCommands == null) {
+            this.streamCommands = redisDataSource.stream(String.class, String.class, String.class);
+            this.escritorCompacto = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writerFor(AerodromoIcaoIataEntity.class);
+            // pid@host identifica a réplica dentro do consumer group
+            this.consumer = consumerConfigurado.orElseGet(() -> ManagementFactory.getRuntimeMXBean().getName());
+            this.loteAtual = Math.max(batchMin, Math.min(batchSize, batchMax));
+            this.deadLetter = new StreamDeadLetter(streamCommands, STREAM_NAME, GROUP_NAME, maxEntregas);
+        }
+        if (!grupoCriado) {
+            criarGrupo();
         }
     }
-    
+
+    private void criarGrupo() {
+        try {
+            streamCommands.xgroupCreate(STREAM_NAME, GROUP_NAME, "0", new XGroupCreateArgs().mkstream());
+            LOG.infof("🧵 Consumer group %s criado no stream %s", GROUP_NAME, STREAM_NAME);
+        } catch (Exception e) {
+            if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) {
+                throw e;
+            }
+            // Grupo já existe
+        }
+        grupoCriado = true;
+    }
+
     /**
-     * Adiciona aeródromos na fila para processamento assíncrono
+     * Adiciona aeródromos na fila para processamento assíncrono.
+     *
+     * Os aeródromos são enviados em blocos: cada bloco vira uma única lista de
+     * XADD despachada de uma vez na mesma conexão ({@link Redis#batch}), ou seja,
+     * um round trip por bloco em vez de um por aeródromo. O JSON é gerado com um
+     * {@link ObjectWriter} reutilizado que omite campos nulos.
      */
     public void adicionarAerodromosNaFila(List<AerodromoIcaoIataEntity> aerodromos) {
+        if (aerodromos.isEmpty()) {
+            return;
+        }
         init();
-        
+
         try {
-            LOG.info("📦 Adicionando " + aerodromos.size() + " aeródromos na fila Redis");
-            
-            for (AerodromoIcaoIataEntity aerodromo : aerodromos) {
-                String json = objectMapper.writeValueAsString(aerodromo);
-                listCommands.lpush(QUEUE_NAME, json);
+            long inicio = System.nanoTime();
+
+            for (int i = 0; i < aerodromos.size(); i += tamanhoBlocoEnvio) {
+                List<AerodromoIcaoIataEntity> bloco = aerodromos.subList(i, Math.min(i + tamanhoBlocoEnvio, aerodromos.size()));
+                List<Request> comandos = new ArrayList<>(bloco.size());
+                for (AerodromoIcaoIataEntity aerodromo : bloco) {
+                    comandos.add(Request.cmd(Command.XADD)
+                        .arg(STREAM_NAME).arg("*")
+                        .arg(CAMPO_AERODROMO).arg(escritorCompacto.writeValueAsString(aerodromo)));
+                }
+                redis.batch(comandos).await().atMost(Duration.ofSeconds(30));
             }
-            
+
             // Atualizar status do processamento
-            redisDataSource.value(String.class).set(PROCESSING_STATUS_KEY, 
+            redisDataSource.value(String.class).set(PROCESSING_STATUS_KEY,
                 "QUEUED:" + aerodromos.size() + ":" + LocalDateTime.now());
-            
-            LOG.info("✅ Aeródromos adicionados na fila com sucesso");
-            
+
+            LOG.infof("📦 %d aeródromos adicionados no stream Redis em %d ms",
+                aerodromos.size(), Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+
         } catch (Exception e) {
-            LOG.severe("❌ Erro ao adicionar aeródromos na fila: " + e.getMessage());
+            LOG.errorf("❌ Erro ao adicionar aeródromos na fila: %s", e.getMessage());
             throw new RuntimeException("Erro ao adicionar aeródromos na fila", e);
         }
     }
-    
+
     /**
-     * Processa lotes de aeródromos da fila a cada 5 segundos
+     * Drena a fila a cada intervalo: primeiro reivindica pendentes abandonados,
+     * depois lê mensagens novas até a fila esvaziar ou o tempo de drenagem acabar.
      */
-    @Scheduled(every = "5s")
+    @Scheduled(every = "${aerodromo.queue.processing.interval:5s}",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void processarLoteDaFila() {
-        init();
-        
         try {
-            // Verificar se há itens na fila
-            long tamanhoFila = listCommands.llen(QUEUE_NAME);
-            if (tamanhoFila == 0) {
-                return; // Nada para processar
+            init();
+
+            long limite = System.nanoTime() + tempoMaximoDrenagem.toNanos();
+            int processados = reivindicarPendentes();
+
+            while (System.nanoTime() < limite) {
+                List<StreamMessage<String, String, String>> mensagens = streamCommands.xreadgroup(
+                    GROUP_NAME, consumer, STREAM_NAME, ">", new XReadGroupArgs().count(loteAtual));
+                if (mensagens == null || mensagens.isEmpty()) {
+                    break;
+                }
+                processados += processarMensagens(mensagens);
             }
-            
-            LOG.info("📋 Fila tem " + tamanhoFila + " aeródromos. Processando lote de " + batchSize);
-            
-            // Buscar um lote da fila
-            List<AerodromoIcaoIataEntity> lote = buscarLoteDaFila();
-            
-            if (!lote.isEmpty()) {
-                // Processar lote em transação
-                processarLoteAerodromos(lote);
-                
-                // Atualizar status
-                long restante = listCommands.llen(QUEUE_NAME);
-                redisDataSource.value(String.class).set(PROCESSING_STATUS_KEY, 
-                    "PROCESSING:" + lote.size() + ":" + restante + ":" + LocalDateTime.now());
-                
-                LOG.info("✅ Lote de " + lote.size() + " aeródromos processado. Restam: " + restante);
+
+            if (processados > 0) {
+                long restante = streamCommands.xlen(STREAM_NAME);
+                redisDataSource.value(String.class).set(PROCESSING_STATUS_KEY,
+                    "PROCESSING:" + processados + ":" + restante + ":" + LocalDateTime.now());
+                LOG.infof("✅ %d aeródromos processados por %s (lote atual %d). Restam: %d",
+                    processados, consumer, loteAtual, restante);
             }
-            
+
         } catch (Exception e) {
-            LOG.severe("❌ Erro ao processar lote da fila: " + e.getMessage());
-            e.printStackTrace();
+            if (FalhaDeBanco.indisponivel(e)) {
+                LOG.warnf("⚠️ Banco indisponível; aeródromos ficam pendentes no stream (%s)", e.getMessage());
+                return;
+            }
+            LOG.errorf("❌ Erro ao processar lote da fila: %s", e.getMessage());
+            if (e.getMessage() != null && e.getMessage().contains("NOGROUP")) {
+                // Stream/grupo removido (ex.: limparFila em outra réplica)
+                grupoCriado = false;
+            }
         }
     }
-    
+
     /**
-     * Busca um lote de aeródromos da fila Redis
+     * Reivindica mensagens entregues a consumidores que não confirmaram a tempo
      */
-    private List<AerodromoIcaoIataEntity> buscarLoteDaFila() {
-        List<AerodromoIcaoIataEntity> lote = new ArrayList<>();
-        
-        try {
-            for (int i = 0; i < batchSize; i++) {
-                String json = listCommands.rpop(QUEUE_NAME);
-                if (json == null) break; // Fila vazia
-                
-                AerodromoIcaoIataEntity aerodromo = objectMapper.readValue(json, AerodromoIcaoIataEntity.class);
-                lote.add(aerodromo);
+    private int reivindicarPendentes() {
+        int processados = 0;
+        String inicio = "0-0";
+        do {
+            ClaimedMessages<String, String, String> reivindicadas = streamCommands.xautoclaim(
+                STREAM_NAME, GROUP_NAME, consumer, ociosidadeParaReivindicar, inicio, loteAtual);
+            List<StreamMessage<String, String, String>> mensagens = reivindicadas.getMessages();
+            if (!mensagens.isEmpty()) {
+                LOG.infof("♻️ %d mensagens pendentes reivindicadas por %s", mensagens.size(), consumer);
+                processados += processarMensagens(mensagens);
             }
-        } catch (Exception e) {
-            LOG.severe("❌ Erro ao buscar lote da fila: " + e.getMessage());
-        }
-        
-        return lote;
+            inicio = reivindicadas.getId();
+        } while (inicio != null && !"0-0".equals(inicio));
+        return processados;
     }
-    
+
     /**
-     * Processa um lote de aeródromos em uma transação
+     * Grava as mensagens e confirma (XACK + XDEL) as que foram gravadas. Se o
+     * lote falhar por causa dos dados, regrava linha a linha; as que falharem
+     * de novo ficam pendentes (ou vão para o dead-letter, se já estouraram as
+     * entregas). Com o banco indisponível, as não gravadas são devolvidas sem
+     * contar a entrega e a falha sobe para interromper a drenagem.
      */
-    @Transactional
-    public void processarLoteAerodromos(List<AerodromoIcaoIataEntity> lote) {
-        for (AerodromoIcaoIataEntity aerodromo : lote) {
+    private int processarMensagens(List<StreamMessage<String, String, String>> mensagens) {
+        List<AerodromoIcaoIataEntity> lote = new ArrayList<>(mensagens.size());
+        List<StreamMessage<String, String, String>> validas = new ArrayList<>(mensagens.size());
+        for (StreamMessage<String, String, String> mensagem : mensagens) {
+            String json = mensagem.payload().get(CAMPO_AERODROMO);
             try {
-                LOG.info("💾 Processando aeródromo: " + aerodromo.getIcao() + " - " + aerodromo.getNomeAerodromo());
-                salvarOuAtualizarAerodromo(aerodromo);
+                lote.add(objectMapper.readValue(json, AerodromoIcaoIataEntity.class));
+                validas.add(mensagem);
             } catch (Exception e) {
-                LOG.severe("❌ Erro ao salvar aeródromo " + aerodromo.getIcao() + ": " + e.getMessage());
-                // Continuar com o próximo aeródromo mesmo se um falhar
+                // Mensagem inválida nunca vai ser processada; vai direto para o dead-letter
+                deadLetter.descartar(mensagem.id(), mensagem.payload(), "JSON inválido: " + e.getMessage(), 1);
             }
         }
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        List<String> gravadas = new ArrayList<>(lote.size());
+        List<AerodromoIcaoIataEntity> aerodromosGravados = lote;
+        long inicio = System.nanoTime();
+        try {
+            processarLoteAerodromos(lote);
+            ajustarLote(mensagens.size(), Duration.ofNanos(System.nanoTime() - inicio));
+            validas.forEach(m -> gravadas.add(m.id()));
+        } catch (Exception e) {
+            if (FalhaDeBanco.indisponivel(e)) {
+                devolver(validas, 0);
+                throw e;
+            }
+            LOG.warnf("⚠️ Lote de %d aeródromos falhou (%s); gravando um a um", lote.size(), e.getMessage());
+            aerodromosGravados = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                StreamMessage<String, String, String> mensagem = validas.get(i);
+                try {
+                    processarLoteAerodromos(List.of(lote.get(i)));
+                    gravadas.add(mensagem.id());
+                    aerodromosGravados.add(lote.get(i));
+                } catch (Exception erroLinha) {
+                    if (FalhaDeBanco.indisponivel(erroLinha)) {
+                        // O banco caiu no meio: confirma o que gravou e devolve o resto
+                        confirmar(gravadas, aerodromosGravados);
+                        devolver(validas, i);
+                        throw erroLinha;
+                    }
+                    deadLetter.falhou(mensagem.id(), mensagem.payload(), erroLinha.getMessage());
+                }
+            }
+        }
+
+        confirmar(gravadas, aerodromosGravados);
+        return gravadas.size();
     }
-    
+
+    private void confirmar(List<String> gravadas, List<AerodromoIcaoIataEntity> aerodromosGravados) {
+        // Índice de conteúdo só é atualizado depois do commit
+        indiceConteudo.registrar(aerodromosGravados);
+        if (!gravadas.isEmpty()) {
+            catalogo.marcarDesatualizado();
+            String[] ids = gravadas.toArray(String[]::new);
+            streamCommands.xack(STREAM_NAME, GROUP_NAME, ids);
+            streamCommands.xdel(STREAM_NAME, ids);
+        }
+    }
+
     /**
-     * Salva ou atualiza um aeródromo no banco
+     * Devolve ao stream, sem contar a entrega, as mensagens a partir de {@code inicio}.
      */
-    private AerodromoIcaoIataEntity salvarOuAtualizarAerodromo(AerodromoIcaoIataEntity aerodromo) {
-        try {
-            // Tentar buscar aeródromo existente
-            AerodromoIcaoIataEntity existente = repository.findByIcao(aerodromo.getIcao());
-            
-            if (existente != null) {
-                // Atualizar aeródromo existente
-                existente.setCiadId(aerodromo.getCiadId());
-                existente.setCiad(aerodromo.getCiad());
-                existente.setTipoAerodromo(aerodromo.getTipoAerodromo());
-                existente.setIata(aerodromo.getIata());
-                existente.setNomeAerodromo(aerodromo.getNomeAerodromo());
-                existente.setCidadeAerodromo(aerodromo.getCidadeAerodromo());
-                existente.setUfAerodromo(aerodromo.getUfAerodromo());
-                existente.setDataPublicacao(aerodromo.getDataPublicacao());
-                existente.setDataAtualizacao(LocalDateTime.now());
-                
-                return repository.getEntityManager().merge(existente);
-            } else {
-                // Salvar novo aeródromo
-                aerodromo.setDataAtualizacao(LocalDateTime.now());
-                repository.persist(aerodromo);
-                return aerodromo;
-            }
-        } catch (Exception e) {
-            LOG.severe("❌ Erro ao salvar/atualizar aeródromo " + aerodromo.getIcao() + ": " + e.getMessage());
-            throw e;
+    private void devolver(List<StreamMessage<String, String, String>> mensagens, int inicio) {
+        List<String> ids = new ArrayList<>(mensagens.size() - inicio);
+        for (int i = inicio; i < mensagens.size(); i++) {
+            ids.add(mensagens.get(i).id());
         }
+        deadLetter.devolver(consumer, ids);
     }
-    
+
+    /**
+     * Ajusta o tamanho do lote: dobra enquanto lotes cheios gravam bem abaixo
+     * do tempo alvo e reduz à metade quando o tempo alvo é ultrapassado.
+     */
+    private void ajustarLote(int recebidos, Duration duracao) {
+        int anterior = loteAtual;
+        if (duracao.compareTo(tempoAlvoLote) > 0) {
+            loteAtual = Math.max(batchMin, anterior / 2);
+        } else if (recebidos >= anterior && duracao.multipliedBy(2).compareTo(tempoAlvoLote) < 0) {
+            loteAtual = Math.min(batchMax, anterior * 2);
+        }
+        if (loteAtual != anterior) {
+            LOG.debugf("📏 Lote ajustado de %d para %d (%d ms)", anterior, loteAtual, duracao.toMillis());
+        }
+    }
+
+    /**
+     * Processa um lote de aeródromos em uma transação com upsert em lote
+     */
+    @Transactional
+    public ResultadoUpsert processarLoteAerodromos(List<AerodromoIcaoIataEntity> lote) {
+        ResultadoUpsert resultado = repository.upsertEmLote(lote);
+        LOG.infof("💾 Lote gravado: %d inseridos, %d atualizados, %d inalterados",
+            resultado.inseridos(), resultado.atualizados(), resultado.inalterados());
+        return resultado;
+    }
+
     /**
      * Obtém o status atual do processamento
      */
     public String obterStatusProcessamento() {
         try {
             init();
-            
+
             String status = redisDataSource.value(String.class).get(PROCESSING_STATUS_KEY);
-            long tamanhoFila = listCommands.llen(QUEUE_NAME);
-            
-            return String.format("Status: %s | Fila: %d itens", 
-                status != null ? status : "IDLE", tamanhoFila);
-                
+            long tamanhoFila = streamCommands.xlen(STREAM_NAME);
+
+            return String.format("Status: %s | Fila: %d itens | Lote: %d",
+                status != null ? status : "IDLE", tamanhoFila, loteAtual);
+
         } catch (Exception e) {
             return "Erro ao obter status: " + e.getMessage();
         }
     }
-    
+
     /**
      * Limpa a fila (útil para desenvolvimento)
      */
     public void limparFila() {
         init();
-        
+
         try {
-            // Limpar a lista (fila)
-            long tamanhoAntes = listCommands.llen(QUEUE_NAME);
-            listCommands.ltrim(QUEUE_NAME, 1, 0); // Remove todos os itens
-            
+            // Remover o stream (e com ele o consumer group e os pendentes)
+            long tamanhoAntes = streamCommands.xlen(STREAM_NAME);
+            redisDataSource.key().del(STREAM_NAME);
+            grupoCriado = false;
+
             // Limpar status
             redisDataSource.value(String.class).set(PROCESSING_STATUS_KEY, "CLEARED");
-            
-            LOG.info("🧹 Fila limpa: " + tamanhoAntes + " itens removidos");
+
+            LOG.infof("🧹 Fila limpa: %d itens removidos", tamanhoAntes);
         } catch (Exception e) {
-            LOG.severe("❌ Erro ao limpar fila: " + e.getMessage());
+            LOG.errorf("❌ Erro ao limpar fila: %s", e.getMessage());
         }
     }
 }
@@ -2,51 +2,106 @@ package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.dto.*;
 import br.com.fplbr.pilot.aisweb.domain.enums.AerodromoIcaoIataEnum;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.ConteudoObsoleto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.client.Client;
-import jakarta.ws.rs.client.ClientBuilder;
-import jakarta.ws.rs.client.WebTarget;
-import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
- * Service para buscar dados completos do AISWEB usando nossas APIs internas.
+ * Service para buscar dados completos do AISWEB agregando os services de cada área
+ * diretamente no processo (sem chamadas HTTP de volta ao próprio servidor).
+ *
+ * Cada fonte roda como uma etapa assíncrona com timeout próprio; fontes que falham
+ * ou estouram o tempo são devolvidas como null e sinalizadas em "fontes", de modo
+ * que a latência do /full é a da fonte mais lenta, limitada pelo seu timeout.
+ * Fontes respondidas com valor vencido do cache (AISWEB fora) vêm como "STALE",
+ * com a idade em "idadesStaleMs".
  */
 @ApplicationScoped
 public class AiswebFullService {
     private static final Logger LOG = Logger.getLogger(AiswebFullService.class);
 
-    @ConfigProperty(name = "quarkus.http.port", defaultValue = "8080")
-    String serverPort;
+    static final String STATUS_OK = "OK";
+    static final String STATUS_TIMEOUT = "TIMEOUT";
+    static final String STATUS_ERRO = "ERRO";
+    static final String STATUS_STALE = "STALE";
 
     @Inject
     MeteoDecoderService meteoDecoderService;
 
-    // Thread pool para execução paralela
-    private final ExecutorService executor = Executors.newFixedThreadPool(6);
-    private final Client httpClient = ClientBuilder.newClient();
+    @Inject
+    RotaerService rotaerService;
+
+    @Inject
+    InfotempService infotempService;
+
+    @Inject
+    MeteoService meteoService;
+
+    @Inject
+    CartasService cartasService;
+
+    @Inject
+    NotamService notamService;
+
+    @Inject
+    Config config;
+
+    @ConfigProperty(name = "aisweb.virtual-threads.enabled", defaultValue = "false")
+    boolean threadsVirtuais;
+
+    @ConfigProperty(name = "aisweb.full.pool-size", defaultValue = "24")
+    int poolSize;
+
+    @ConfigProperty(name = "aisweb.full.timeout.default", defaultValue = "8000")
+    long timeoutPadraoMs;
+
+    // Executor das etapas: uma thread virtual por etapa, ou o pool fixo antigo.
+    // As etapas passam quase todo o tempo esperando o AISWEB; quem limita a
+    // concorrência de verdade é o AiswebGovernor, não o tamanho do pool.
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        executor = threadsVirtuais
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(poolSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
 
     /**
      * Busca o código IATA do aeródromo no enum
-     * 
+     *
      * @param icao Código ICAO do aeródromo
      * @return Código IATA ou null se não encontrado
      */
     private String buscarIataDoEnum(String icao) {
         try {
             LOG.infof("🔍 [AISWEB-FULL] Buscando IATA para ICAO: %s no enum", icao);
-            
+
             // Buscar IATA no enum
             AerodromoIcaoIataEnum aerodromoEnum = AerodromoIcaoIataEnum.findByIcao(icao);
-            
+
             if (aerodromoEnum != null) {
                 String iata = aerodromoEnum.getIata();
                 LOG.infof("✅ [AISWEB-FULL] IATA encontrado: %s para ICAO: %s", iata, icao);
@@ -55,7 +110,7 @@ public class AiswebFullService {
                 LOG.warnf("⚠️ [AISWEB-FULL] IATA não encontrado no enum para ICAO: %s", icao);
                 return null;
             }
-            
+
         } catch (Exception e) {
             LOG.errorf("❌ [AISWEB-FULL] Erro ao buscar IATA no enum para ICAO %s: %s", icao, e.getMessage(), e);
             return null;
@@ -64,95 +119,57 @@ public class AiswebFullService {
 
     /**
      * Busca dados completos do AISWEB para um aeródromo específico em paralelo.
-     * 
+     *
      * @param icao Código ICAO do aeródromo
      * @return Map com todos os dados do aeródromo
      */
     public Map<String, Object> buscarDadosCompletos(String icao) {
         try {
             LOG.infof("🚀 [AISWEB-FULL] Iniciando busca completa para ICAO: %s", icao);
-            
+
             // 🔍 PRIMEIRO: Buscar dados do aeródromo no enum (incluindo IATA)
-            LOG.infof("🔍 [AISWEB-FULL] Buscando dados do aeródromo no enum...");
             String iata = buscarIataDoEnum(icao);
-            LOG.infof("📋 [AISWEB-FULL] IATA encontrado: %s", iata != null ? iata : "NÃO ENCONTRADO");
-            
-            // Executar todas as chamadas em paralelo usando nossas APIs internas
-            LOG.infof("⚡ [AISWEB-FULL] Iniciando chamadas paralelas...");
-            CompletableFuture<RotaerDto> rotaerFuture = CompletableFuture.supplyAsync(() -> buscarRotaer(icao), executor);
-            CompletableFuture<InfotempDto> infotempFuture = CompletableFuture.supplyAsync(() -> buscarInfotemp(icao), executor);
-            CompletableFuture<Map<String, Object>> meteoFuture = CompletableFuture.supplyAsync(() -> buscarMeteo(icao), executor);
-            CompletableFuture<CartasDto> cartasFuture = CompletableFuture.supplyAsync(() -> buscarCartas(icao), executor);
-            CompletableFuture<NotamDto> notamFuture = CompletableFuture.supplyAsync(() -> buscarNotam(icao), executor);
-            CompletableFuture<SunDto> sunFuture = CompletableFuture.supplyAsync(() -> buscarSun(icao), executor);
-            
-            // Aguardar todos os resultados
-            LOG.infof("📊 [AISWEB-FULL] Coletando resultados...");
+
+            // Disparar todas as etapas em paralelo chamando os services diretamente
+            LOG.infof("⚡ [AISWEB-FULL] Iniciando etapas paralelas...");
+            Map<String, String> fontes = new ConcurrentHashMap<>();
+            Map<String, Long> idadesStale = new ConcurrentHashMap<>();
+            CompletableFuture<RotaerDto> rotaerFuture = etapa("rotaer", icao, fontes, idadesStale, () -> rotaerService.buscar(icao));
+            CompletableFuture<InfotempDto> infotempFuture = etapa("infotemp", icao, fontes, idadesStale, () -> infotempService.buscar(icao));
+            CompletableFuture<Map<String, Object>> meteoFuture = etapa("meteo", icao, fontes, idadesStale, () -> buscarMeteo(icao));
+            CompletableFuture<CartasDto> cartasFuture = etapa("cartas", icao, fontes, idadesStale, () -> cartasService.buscar(icao));
+            CompletableFuture<NotamDto> notamFuture = etapa("notam", icao, fontes, idadesStale, () -> notamService.buscar(icao));
+            CompletableFuture<SunDto> sunFuture = etapa("sun", icao, fontes, idadesStale, () -> meteoService.buscarSol(icao));
+
+            // Cada etapa já tem timeout próprio e nunca completa com exceção
+            CompletableFuture.allOf(rotaerFuture, infotempFuture, meteoFuture, cartasFuture, notamFuture, sunFuture).join();
+
             Map<String, Object> result = new HashMap<>();
-            
+
             // 🔍 Adicionar dados do aeródromo (incluindo IATA)
             result.put("aerodromo", Map.of(
                 "icao", icao,
                 "iata", iata != null ? iata : "N/A",
                 "fonte", "enum"
             ));
-            
-            // Coletar resultados das chamadas paralelas
-            try {
-                RotaerDto rotaer = rotaerFuture.get();
-                result.put("rotaer", rotaer);
-                LOG.infof("✅ [AISWEB-FULL] ROTAER coletado");
-            } catch (Exception e) {
-                LOG.errorf("❌ [AISWEB-FULL] Erro ao coletar ROTAER: %s", e.getMessage());
-                result.put("rotaer", null);
-            }
-            
-            try {
-                InfotempDto infotemp = infotempFuture.get();
-                result.put("infotemp", infotemp);
-                LOG.infof("✅ [AISWEB-FULL] INFOTEMP coletado");
-            } catch (Exception e) {
-                LOG.errorf("❌ [AISWEB-FULL] Erro ao coletar INFOTEMP: %s", e.getMessage());
-                result.put("infotemp", null);
-            }
-            
-            try {
-                Map<String, Object> meteo = meteoFuture.get();
-                result.put("meteo", meteo); // Estrutura correta para o frontend
-                LOG.infof("✅ [AISWEB-FULL] METEO coletado");
-            } catch (Exception e) {
-                LOG.errorf("❌ [AISWEB-FULL] Erro ao coletar METEO: %s", e.getMessage());
-                result.put("meteo", null);
-            }
-            
-            try {
-                CartasDto cartas = cartasFuture.get();
-                result.put("cartas", cartas);
-                LOG.infof("✅ [AISWEB-FULL] CARTAS coletado");
-            } catch (Exception e) {
-                LOG.errorf("❌ [AISWEB-FULL] Erro ao coletar CARTAS: %s", e.getMessage());
-                result.put("cartas", null);
-            }
-            
-            try {
-                NotamDto notam = notamFuture.get();
-                result.put("notam", notam);
-                LOG.infof("✅ [AISWEB-FULL] NOTAM coletado");
-            } catch (Exception e) {
-                LOG.errorf("❌ [AISWEB-FULL] Erro ao coletar NOTAM: %s", e.getMessage());
-                result.put("notam", null);
-            }
-            
-            try {
-                SunDto sun = sunFuture.get();
-                result.put("sun", sun);
-                LOG.infof("✅ [AISWEB-FULL] SUN coletado");
-            } catch (Exception e) {
-                LOG.errorf("❌ [AISWEB-FULL] Erro ao coletar SUN: %s", e.getMessage());
-                result.put("sun", null);
-            }
-            
-            LOG.infof("🎉 [AISWEB-FULL] Busca completa finalizada para ICAO: %s", icao);
+
+            result.put("rotaer", rotaerFuture.join());
+            result.put("infotemp", infotempFuture.join());
+            result.put("meteo", meteoFuture.join()); // Estrutura correta para o frontend
+            result.put("cartas", cartasFuture.join());
+            result.put("notam", notamFuture.join());
+            result.put("sun", sunFuture.join());
+            result.put("fontes", Map.copyOf(fontes));
+            result.put("parcial", fontes.values().stream()
+                .anyMatch(s -> STATUS_TIMEOUT.equals(s) || STATUS_ERRO.equals(s)));
+            result.put("idadesStaleMs", Map.copyOf(idadesStale));
+
+            // Propaga para a thread do recurso a marca de conteúdo obsoleto
+            idadesStale.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .ifPresent(e -> ConteudoObsoleto.marcar(e.getKey(), e.getValue()));
+
+            LOG.infof("🎉 [AISWEB-FULL] Busca completa finalizada para ICAO: %s %s", icao, fontes);
             return result;
 
         } catch (Exception e) {
@@ -161,163 +178,78 @@ public class AiswebFullService {
         }
     }
 
-    private RotaerDto buscarRotaer(String icao) {
-        try {
-            LOG.infof("🔍 [ROTAER] Buscando ROTAER para: %s", icao);
-            WebTarget target = httpClient.target("http://localhost:" + serverPort + "/api/aisweb/rotaer/" + icao);
-            Response response = target.request().get();
-            
-            if (response.getStatus() == 200) {
-                RotaerDto rotaer = response.readEntity(RotaerDto.class);
-                LOG.infof("✅ [ROTAER] Dados obtidos para: %s", icao);
-                return rotaer;
-            } else {
-                LOG.warnf("⚠️ [ROTAER] Status %d para: %s", response.getStatus(), icao);
-                return null;
+    /**
+     * Executa uma fonte como etapa assíncrona com timeout próprio.
+     * Falhas e timeouts são registrados em {@code fontes} e resultam em null;
+     * valores obsoletos servidos pelo cache ficam em {@code idadesStale}.
+     * No timeout a tarefa é cancelada (com interrupção), para não continuar
+     * ocupando a thread e a conexão com o AISWEB.
+     */
+    private <T> CompletableFuture<T> etapa(String fonte, String icao, Map<String, String> fontes,
+                                           Map<String, Long> idadesStale, Supplier<T> chamada) {
+        long timeoutMs = timeoutDaFonte(fonte);
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        Future<?> tarefa = executor.submit(() -> {
+            // A thread do pool pode ter sobra de uma etapa anterior
+            ConteudoObsoleto.consumir();
+            try {
+                resultado.complete(chamada.get());
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            } finally {
+                ConteudoObsoleto obsoleto = ConteudoObsoleto.consumir();
+                if (obsoleto != null) {
+                    idadesStale.put(fonte, obsoleto.idadeMillis());
+                }
             }
-        } catch (Exception e) {
-            LOG.errorf("❌ [ROTAER] Erro para %s: %s", icao, e.getMessage());
-            return null;
-        }
+        });
+        return resultado
+            .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+            .whenComplete((valor, erro) -> {
+                if (erro != null) {
+                    tarefa.cancel(true);
+                }
+            })
+            .handle((valor, erro) -> {
+                if (erro == null) {
+                    fontes.put(fonte, idadesStale.containsKey(fonte) ? STATUS_STALE : STATUS_OK);
+                    return valor;
+                }
+                Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+                if (causa instanceof TimeoutException) {
+                    LOG.warnf("⏱️ [%s] Timeout de %d ms para: %s", fonte.toUpperCase(), timeoutMs, icao);
+                    fontes.put(fonte, STATUS_TIMEOUT);
+                } else {
+                    LOG.errorf("❌ [%s] Erro para %s: %s", fonte.toUpperCase(), icao, causa.getMessage());
+                    fontes.put(fonte, STATUS_ERRO);
+                }
+                return null;
+            });
     }
 
-    private InfotempDto buscarInfotemp(String icao) {
-        try {
-            LOG.infof("🔍 [INFOTEMP] Buscando INFOTEMP para: %s", icao);
-            WebTarget target = httpClient.target("http://localhost:" + serverPort + "/api/aisweb/infotemp/" + icao);
-            Response response = target.request().get();
-            
-            if (response.getStatus() == 200) {
-                InfotempDto infotemp = response.readEntity(InfotempDto.class);
-                LOG.infof("✅ [INFOTEMP] Dados obtidos para: %s", icao);
-                return infotemp;
-            } else {
-                LOG.warnf("⚠️ [INFOTEMP] Status %d para: %s", response.getStatus(), icao);
-                return null;
-            }
-        } catch (Exception e) {
-            LOG.errorf("❌ [INFOTEMP] Erro para %s: %s", icao, e.getMessage());
-            return null;
-        }
+    private long timeoutDaFonte(String fonte) {
+        return config.getOptionalValue("aisweb.full.timeout." + fonte, Long.class).orElse(timeoutPadraoMs);
     }
 
     private Map<String, Object> buscarMeteo(String icao) {
+        MeteoDto meteo = meteoService.buscar(icao);
         Map<String, Object> meteoData = new HashMap<>();
-        
-        try {
-            LOG.infof("🔍 [METEO] Buscando METEO para: %s", icao);
-            WebTarget target = httpClient.target("http://localhost:" + serverPort + "/api/aisweb/meteo/" + icao);
-            Response response = target.request().get();
-            
-            if (response.getStatus() == 200) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> meteoResponse = response.readEntity(Map.class);
-                
-                // Extrair METAR e TAF da resposta
-                Object metarObj = meteoResponse.get("metar");
-                Object tafObj = meteoResponse.get("taf");
-                
-                meteoData.put("metar", metarObj);
-                meteoData.put("taf", tafObj);
-                
-                // Decodificar METAR se existir
-                if (metarObj != null) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> metarMap = (Map<String, Object>) metarObj;
-                    String metarRaw = (String) metarMap.get("raw");
-                    if (metarRaw != null && !metarRaw.trim().isEmpty()) {
-                        String metarDecoded = meteoDecoderService.decodeMetar(metarRaw);
-                        meteoData.put("metarDecoded", metarDecoded);
-                    }
-                }
-                
-                // Decodificar TAF se existir
-                if (tafObj != null) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> tafMap = (Map<String, Object>) tafObj;
-                    String tafRaw = (String) tafMap.get("raw");
-                    if (tafRaw != null && !tafRaw.trim().isEmpty()) {
-                        String tafDecoded = meteoDecoderService.decodeTaf(tafRaw);
-                        meteoData.put("tafDecoded", tafDecoded);
-                    }
-                }
-                
-                LOG.infof("✅ [METEO] Dados obtidos para: %s", icao);
-            } else {
-                LOG.warnf("⚠️ [METEO] Status %d para: %s", response.getStatus(), icao);
-                meteoData.put("metar", null);
-                meteoData.put("taf", null);
-                meteoData.put("metarDecoded", null);
-                meteoData.put("tafDecoded", null);
-            }
-        } catch (Exception e) {
-            LOG.errorf("❌ [METEO] Erro para %s: %s", icao, e.getMessage());
-            meteoData.put("metar", null);
-            meteoData.put("taf", null);
-            meteoData.put("metarDecoded", null);
-            meteoData.put("tafDecoded", null);
-        }
-        
-        return meteoData;
-    }
 
-    private CartasDto buscarCartas(String icao) {
-        try {
-            LOG.infof("🔍 [CARTAS] Buscando CARTAS para: %s", icao);
-            WebTarget target = httpClient.target("http://localhost:" + serverPort + "/api/aisweb/cartas/" + icao);
-            Response response = target.request().get();
-            
-            if (response.getStatus() == 200) {
-                CartasDto cartas = response.readEntity(CartasDto.class);
-                LOG.infof("✅ [CARTAS] Dados obtidos para: %s", icao);
-                return cartas;
-            } else {
-                LOG.warnf("⚠️ [CARTAS] Status %d para: %s", response.getStatus(), icao);
-                return null;
-            }
-        } catch (Exception e) {
-            LOG.errorf("❌ [CARTAS] Erro para %s: %s", icao, e.getMessage());
-            return null;
-        }
-    }
+        MetarDto metar = meteo.metar();
+        TafDto taf = meteo.taf();
+        meteoData.put("metar", metar);
+        meteoData.put("taf", taf);
 
-    private NotamDto buscarNotam(String icao) {
-        try {
-            LOG.infof("🔍 [NOTAM] Buscando NOTAM para: %s", icao);
-            WebTarget target = httpClient.target("http://localhost:" + serverPort + "/api/aisweb/notam/" + icao);
-            Response response = target.request().get();
-            
-            if (response.getStatus() == 200) {
-                NotamDto notam = response.readEntity(NotamDto.class);
-                LOG.infof("✅ [NOTAM] Dados obtidos para: %s", icao);
-                return notam;
-            } else {
-                LOG.warnf("⚠️ [NOTAM] Status %d para: %s", response.getStatus(), icao);
-                return null;
-            }
-        } catch (Exception e) {
-            LOG.errorf("❌ [NOTAM] Erro para %s: %s", icao, e.getMessage());
-            return null;
+        // Decodificar METAR se existir
+        if (metar != null && metar.raw() != null && !metar.raw().trim().isEmpty()) {
+            meteoData.put("metarDecoded", meteoDecoderService.decodeMetar(metar.raw()));
         }
-    }
 
-    private SunDto buscarSun(String icao) {
-        try {
-            LOG.infof("🔍 [SUN] Buscando SUN para: %s", icao);
-            WebTarget target = httpClient.target("http://localhost:" + serverPort + "/api/aisweb/sun/" + icao);
-            Response response = target.request().get();
-            
-            if (response.getStatus() == 200) {
-                SunDto sun = response.readEntity(SunDto.class);
-                LOG.infof("✅ [SUN] Dados obtidos para: %s", icao);
-                return sun;
-            } else {
-                LOG.warnf("⚠️ [SUN] Status %d para: %s", response.getStatus(), icao);
-                return null;
-            }
-        } catch (Exception e) {
-            LOG.errorf("❌ [SUN] Erro para %s: %s", icao, e.getMessage());
-            return null;
+        // Decodificar TAF se existir
+        if (taf != null && taf.raw() != null && !taf.raw().trim().isEmpty()) {
+            meteoData.put("tafDecoded", meteoDecoderService.decodeTaf(taf.raw()));
         }
+
+        return meteoData;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,273 @@
+package br.com.fplbr.pilot.aisweb.application.service;
+
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
+import br.com.fplbr.pilot.aisweb.domain.enums.AerodromoIcaoIataEnum;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
+import br.com.fplbr.pilot.aisweb.infrastructure.ratelimit.LocalRateLimiter;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pré-aquecimento do cache AISWEB para os aeródromos mais consultados.
+ *
+ * A cada ciclo monta o conjunto alvo (ICAOs configurados + top-N aprendido pelos
+ * acessos ao cache, completado com os aeródromos do {@link AerodromoIcaoIataEnum})
+ * e renova METAR/TAF, NOTAM, INFOTEMP e sol pouco antes de vencerem: quando o
+ * tempo restante cai abaixo de {@code lead} do TTL, mais um jitter aleatório de
+ * até {@code jitter} do TTL, para espalhar as renovações ao longo do tempo.
+ *
+ * O aquecimento nunca disputa a cota com os usuários: usa no máximo
+ * {@code aisweb.prefetch.quota-fraction} da cota do governador, pula áreas com
+ * circuito aberto e deixa para o próximo ciclo o que não couber.
+ */
+@ApplicationScoped
+public class AiswebPrefetchService {
+    private static final Logger LOG = Logger.getLogger(AiswebPrefetchService.class);
+
+    private static final String CHAVE_COTA = "aisweb:prefetch";
+    private static final List<AiswebCacheArea> AREAS = List.of(
+        AiswebCacheArea.MET, AiswebCacheArea.NOTAM, AiswebCacheArea.INFOTEMP, AiswebCacheArea.SOL);
+
+    @Inject
+    AiswebCache aiswebCache;
+
+    @Inject
+    AiswebGovernor governor;
+
+    @Inject
+    LocalRateLimiter rateLimiter;
+
+    @Inject
+    MeteoService meteoService;
+
+    @Inject
+    NotamService notamService;
+
+    @Inject
+    InfotempService infotempService;
+
+    @ConfigProperty(name = "aisweb.prefetch.enabled", defaultValue = "false")
+    boolean habilitado;
+
+    @ConfigProperty(name = "aisweb.prefetch.top-n", defaultValue = "100")
+    int topN;
+
+    @ConfigProperty(name = "aisweb.prefetch.icaos")
+    Optional<List<String>> icaosConfigurados;
+
+    @ConfigProperty(name = "aisweb.prefetch.seed-enum", defaultValue = "true")
+    boolean completarComEnum;
+
+    @ConfigProperty(name = "aisweb.prefetch.lead", defaultValue = "0.2")
+    double antecedencia;
+
+    @ConfigProperty(name = "aisweb.prefetch.jitter", defaultValue = "0.1")
+    double jitter;
+
+    @ConfigProperty(name = "aisweb.prefetch.concurrency", defaultValue = "4")
+    int concorrencia;
+
+    @ConfigProperty(name = "aisweb.prefetch.quota-fraction", defaultValue = "0.5")
+    double fracaoCota;
+
+    @ConfigProperty(name = "aisweb.governor.quota.requests", defaultValue = "600")
+    int cotaRequisicoes;
+
+    @ConfigProperty(name = "aisweb.governor.quota.period", defaultValue = "1m")
+    Duration cotaPeriodo;
+
+    private final LongAdder renovadas = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder adiadasPorCota = new LongAdder();
+    private final LongAdder puladasPorCircuito = new LongAdder();
+    private volatile int ultimoAlvo;
+
+    /**
+     * Ciclo de aquecimento. Ciclos não se sobrepõem: se um demorar, o próximo é pulado.
+     */
+    @Scheduled(every = "${aisweb.prefetch.interval:30s}",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void aquecer() {
+        if (!habilitado) {
+            return;
+        }
+
+        List<String> alvo = conjuntoAlvo();
+        ultimoAlvo = alvo.size();
+        List<Renovacao> pendentes = renovacoesPendentes(alvo);
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        int limiteCota = Math.max(1, (int) (cotaRequisicoes * fracaoCota));
+        Semaphore vagas = new Semaphore(Math.max(1, concorrencia));
+        AtomicInteger ok = new AtomicInteger();
+        int disparadas = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < pendentes.size(); i++) {
+                Renovacao renovacao = pendentes.get(i);
+                if (governor.circuitoAberto(renovacao.area().getChave())) {
+                    puladasPorCircuito.increment();
+                    continue;
+                }
+                if (rateLimiter.tryAcquire(CHAVE_COTA, limiteCota, cotaPeriodo.toMillis()) > 0) {
+                    contarAdiadas(pendentes.subList(i, pendentes.size()));
+                    break;
+                }
+                vagas.acquireUninterruptibly();
+                disparadas++;
+                executor.submit(() -> {
+                    try {
+                        if (renovar(renovacao)) {
+                            ok.incrementAndGet();
+                            renovadas.increment();
+                        } else {
+                            falhas.increment();
+                        }
+                    } finally {
+                        vagas.release();
+                    }
+                });
+            }
+        }
+
+        LOG.infof("🔥 Pré-aquecimento AISWEB: %d/%d renovações (%d pendentes, alvo de %d ICAOs)",
+            ok.get(), disparadas, pendentes.size(), alvo.size());
+    }
+
+    /**
+     * Renovações que ficaram para o próximo ciclo por falta de cota; as de área
+     * com circuito aberto não seriam disparadas de qualquer forma e contam à parte.
+     */
+    private void contarAdiadas(List<Renovacao> restantes) {
+        for (Renovacao renovacao : restantes) {
+            if (governor.circuitoAberto(renovacao.area().getChave())) {
+                puladasPorCircuito.increment();
+            } else {
+                adiadasPorCota.increment();
+            }
+        }
+    }
+
+    /**
+     * Decaimento periódico da popularidade, para o top-N seguir o tráfego recente.
+     */
+    @Scheduled(every = "${aisweb.prefetch.decay-interval:1h}")
+    void decairPopularidade() {
+        aiswebCache.decairAcessos();
+    }
+
+    /**
+     * Contadores do aquecimento.
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("habilitado", habilitado);
+        stats.put("alvo", ultimoAlvo);
+        stats.put("renovadas", renovadas.sum());
+        stats.put("falhas", falhas.sum());
+        stats.put("adiadasPorCota", adiadasPorCota.sum());
+        stats.put("puladasPorCircuito", puladasPorCircuito.sum());
+        return stats;
+    }
+
+    /**
+     * ICAOs configurados, depois os mais acessados e, se sobrar espaço, os do enum.
+     */
+    List<String> conjuntoAlvo() {
+        Set<String> alvo = new LinkedHashSet<>();
+        icaosConfigurados.ifPresent(icaos -> icaos.forEach(icao -> alvo.add(icao.trim().toUpperCase())));
+
+        Map<String, Long> popularidade = new HashMap<>();
+        for (AiswebCacheArea area : AREAS) {
+            aiswebCache.acessos(area).forEach((chave, acessos) -> {
+                // INFOTEMP usa "ICAO:status" como chave
+                int separador = chave.indexOf(':');
+                String icao = separador < 0 ? chave : chave.substring(0, separador);
+                popularidade.merge(icao, acessos, Long::sum);
+            });
+        }
+        popularidade.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(topN)
+            .forEach(e -> alvo.add(e.getKey()));
+
+        if (completarComEnum) {
+            for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+                if (alvo.size() >= topN) {
+                    break;
+                }
+                alvo.add(aerodromo.getIcao());
+            }
+        }
+        return new ArrayList<>(alvo);
+    }
+
+    /**
+     * Entradas do alvo ausentes ou dentro da janela de renovação, das mais urgentes
+     * (ausentes/vencidas) para as menos urgentes.
+     */
+    private List<Renovacao> renovacoesPendentes(List<String> alvo) {
+        List<Renovacao> pendentes = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (AiswebCacheArea area : AREAS) {
+            long ttlMillis = aiswebCache.ttl(area).toMillis();
+            for (String icao : alvo) {
+                Duration restante = aiswebCache.frescorRestante(area, chave(area, icao));
+                long restanteMillis = restante == null ? Long.MIN_VALUE : restante.toMillis();
+                long limiar = (long) (ttlMillis * antecedencia) + (long) (ttlMillis * jitter * random.nextDouble());
+                if (restanteMillis <= limiar) {
+                    pendentes.add(new Renovacao(area, icao, restanteMillis));
+                }
+            }
+        }
+        pendentes.sort(Comparator.comparingLong(Renovacao::restanteMillis));
+        return pendentes;
+    }
+
+    private boolean renovar(Renovacao renovacao) {
+        String icao = renovacao.icao();
+        Supplier<?> carregador = switch (renovacao.area()) {
+            case MET -> () -> meteoService.buscarMetTafNoAisweb(icao);
+            case SOL -> () -> meteoService.buscarSolNoAisweb(icao);
+            case NOTAM -> () -> notamService.buscarNoAisweb(icao);
+            case INFOTEMP -> () -> infotempService.buscarNoAisweb(icao);
+            default -> throw new IllegalArgumentException("Área sem pré-aquecimento: " + renovacao.area());
+        };
+        try {
+            return aiswebCache.renovar(renovacao.area(), chave(renovacao.area(), icao), carregador);
+        } catch (RuntimeException e) {
+            LOG.debugf("Pré-aquecimento de %s/%s falhou: %s", renovacao.area().getChave(), icao, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String chave(AiswebCacheArea area, String icao) {
+        return area == AiswebCacheArea.INFOTEMP ? icao + ":0" : icao;
+    }
+
+    private record Renovacao(AiswebCacheArea area, String icao, long restanteMillis) {}
+}
@@ -0,0 +1,209 @@
+package br.com.fplbr.pilot.aisweb.application.service;
+
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
+import br.com.fplbr.pilot.aisweb.application.client.AiswebReactiveClient;
+import br.com.fplbr.pilot.aisweb.application.dto.InfotempDto;
+import br.com.fplbr.pilot.aisweb.application.dto.MeteoDto;
+import br.com.fplbr.pilot.aisweb.application.dto.NotamDto;
+import br.com.fplbr.pilot.aisweb.application.dto.RotaerDto;
+import br.com.fplbr.pilot.aisweb.application.dto.SunDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.InfotempParser;
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.MetTafParser;
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.NotamParser;
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.RotaerParser;
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.SunParser;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.jboss.logging.Logger;
+
+/**
+ * Versão não bloqueante dos services AISWEB por aeródromo (ROTAER, METAR/TAF,
+ * sol, NOTAM e INFOTEMP).
+ *
+ * Usa o {@link AiswebReactiveClient} sob o {@link AiswebGovernor#chamarReativo} e o
+ * {@link AiswebCache#obterReativo}, com as mesmas áreas de cache e as mesmas regras
+ * de erro dos services bloqueantes. Nenhuma etapa bloqueia o event loop: as
+ * respostas pequenas são parseadas ali mesmo e o ROTAER, que é o maior XML, é
+ * parseado no pool de workers.
+ */
+@ApplicationScoped
+public class AiswebReactiveService {
+    private static final Logger LOG = Logger.getLogger(AiswebReactiveService.class);
+
+    @Inject
+    @RestClient
+    AiswebReactiveClient aiswebClient;
+
+    @Inject
+    AiswebGovernor governor;
+
+    @Inject
+    AiswebCache aiswebCache;
+
+    @ConfigProperty(name = "aisweb.api.key")
+    String apiKey;
+
+    @ConfigProperty(name = "aisweb.api.pass")
+    String apiPass;
+
+    @Inject
+    RotaerParser rotaerParser;
+
+    @Inject
+    MetTafParser metTafParser;
+
+    @Inject
+    SunParser sunParser;
+
+    @Inject
+    NotamParser notamParser;
+
+    @Inject
+    InfotempParser infotempParser;
+
+    /**
+     * Busca dados ROTAER para um aeródromo específico.
+     *
+     * @param icao Código ICAO do aeródromo (4 caracteres)
+     * @return Dados ROTAER do aeródromo
+     */
+    public Uni<RotaerDto> buscarRotaer(String icao) {
+        String icaoNormalizado = validarIcao(icao);
+        return aiswebCache.obterReativo(AiswebCacheArea.ROTAER, icaoNormalizado, RotaerDto.class,
+            () -> governor.chamarReativo("rotaer",
+                    () -> aiswebClient.getRotaerData(apiKey, apiPass, "rotaer", icaoNormalizado))
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .map(xml -> parsear("ROTAER", icaoNormalizado, () -> rotaerParser.parse(xml, icaoNormalizado))))
+            .onFailure().transform(e -> falha("ROTAER", icaoNormalizado, e));
+    }
+
+    /**
+     * Busca METAR/TAF e dados do sol em paralelo.
+     *
+     * Assim como no {@link MeteoService}, a falha de uma das partes não derruba a
+     * outra: METAR/TAF ou sol indisponíveis vêm como null.
+     *
+     * @param icao Código ICAO do aeródromo (4 caracteres)
+     * @return Dados meteorológicos do aeródromo
+     */
+    public Uni<MeteoDto> buscarMeteo(String icao) {
+        String icaoNormalizado = validarIcao(icao);
+        LOG.infof("Buscando dados meteorológicos (reativo) para o aeródromo: %s", icaoNormalizado);
+
+        Uni<MetTafParser.MetTaf> metTaf = buscarMetTaf(icaoNormalizado)
+            .onItem().ifNull().continueWith(() -> new MetTafParser.MetTaf(null, null))
+            .onFailure().recoverWithItem(e -> {
+                LOG.errorf("Erro ao buscar METAR/TAF para %s: %s", icaoNormalizado, e.getMessage());
+                return new MetTafParser.MetTaf(null, null);
+            });
+        Uni<SunDto> sol = buscarDadosSol(icaoNormalizado)
+            .onFailure().recoverWithItem(e -> {
+                LOG.errorf("Erro ao buscar dados do sol para %s: %s", icaoNormalizado, e.getMessage());
+                return null;
+            });
+
+        return Uni.combine().all().unis(metTaf, sol).asTuple()
+            .map(t -> new MeteoDto(icaoNormalizado, t.getItem2(), t.getItem1().metar(), t.getItem1().taf()));
+    }
+
+    /**
+     * Busca apenas os dados do sol (nascer e pôr do sol) para um aeródromo.
+     *
+     * @param icao Código ICAO do aeródromo (4 caracteres)
+     * @return Dados do sol ou null se indisponíveis
+     */
+    public Uni<SunDto> buscarSol(String icao) {
+        String icaoNormalizado = validarIcao(icao);
+        return buscarDadosSol(icaoNormalizado)
+            .onFailure().recoverWithItem(e -> {
+                LOG.errorf("Erro ao buscar dados do sol para %s: %s", icaoNormalizado, e.getMessage());
+                return null;
+            });
+    }
+
+    /**
+     * Busca dados NOTAM para um aeródromo específico.
+     *
+     * @param icao Código ICAO do aeródromo
+     * @return Dados NOTAM do aeródromo
+     */
+    public Uni<NotamDto> buscarNotam(String icao) {
+        String icaoNormalizado = validarIcao(icao);
+        return aiswebCache.obterReativo(AiswebCacheArea.NOTAM, icaoNormalizado, NotamDto.class,
+            () -> governor.chamarReativo("notam",
+                    () -> aiswebClient.getNotamData(apiKey, apiPass, "notam", icaoNormalizado))
+                .map(xml -> parsear("NOTAM", icaoNormalizado, () -> notamParser.parse(xml))))
+            .onFailure().transform(e -> falha("NOTAM", icaoNormalizado, e));
+    }
+
+    /**
+     * Busca dados INFOTEMP para um aeródromo específico.
+     *
+     * @param icao Código ICAO do aeródromo (4 caracteres)
+     * @return Dados INFOTEMP do aeródromo
+     */
+    public Uni<InfotempDto> buscarInfotemp(String icao) {
+        String icaoNormalizado = validarIcao(icao);
+        return aiswebCache.obterReativo(AiswebCacheArea.INFOTEMP, icaoNormalizado + ":0", InfotempDto.class,
+            () -> governor.chamarReativo("infotemp",
+                    () -> aiswebClient.getInfotempData(apiKey, apiPass, "infotemp", icaoNormalizado, "0"))
+                .map(xml -> parsear("INFOTEMP", icaoNormalizado, () -> infotempParser.parse(xml))))
+            .onFailure().transform(e -> falha("INFOTEMP", icaoNormalizado, e));
+    }
+
+    private Uni<MetTafParser.MetTaf> buscarMetTaf(String icao) {
+        return aiswebCache.obterReativo(AiswebCacheArea.MET, icao, MetTafParser.MetTaf.class,
+            () -> governor.chamarReativo("met",
+                    () -> aiswebClient.getMetarData(apiKey, apiPass, "met", icao))
+                .map(metTafParser::parseMetTaf));
+    }
+
+    private Uni<SunDto> buscarDadosSol(String icao) {
+        return aiswebCache.obterReativo(AiswebCacheArea.SOL, icao, SunDto.class,
+            () -> governor.chamarReativo("sol",
+                    () -> aiswebClient.getSunData(apiKey, apiPass, "sol", icao))
+                .map(xml -> parsear("sol", icao, () -> sunParser.parse(xml))));
+    }
+
+    private static String validarIcao(String icao) {
+        if (icao == null || icao.trim().length() != 4) {
+            throw new WebApplicationException("Código ICAO inválido. Deve conter 4 caracteres.",
+                Response.Status.BAD_REQUEST);
+        }
+        return icao.toUpperCase();
+    }
+
+    private static <T> T parsear(String area, String icao, Parse<T> parse) {
+        try {
+            return parse.executar();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(
+                String.format("Erro ao processar dados %s para %s: %s", area, icao, e.getMessage()), e);
+        }
+    }
+
+    private static Throwable falha(String area, String icao, Throwable e) {
+        if (e instanceof WebApplicationException) {
+            LOG.errorf("Erro na requisição %s: %s", area, e.getMessage());
+            return e;
+        }
+        String errorMsg = String.format("Erro inesperado ao buscar dados %s para %s: %s", area, icao, e.getMessage());
+        LOG.error(errorMsg, e);
+        return new WebApplicationException(errorMsg, Response.Status.INTERNAL_SERVER_ERROR);
+    }
+
+    @FunctionalInterface
+    private interface Parse<T> {
+        T executar() throws Exception;
+    }
+}
@@ -1,7 +1,10 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.client.AiswebClient;
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
 import br.com.fplbr.pilot.aisweb.application.dto.CartasDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
 import br.com.fplbr.pilot.aisweb.infrastructure.parser.CartasParser;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -24,6 +27,9 @@ public class CartasService {
     @RestClient
     AiswebClient aiswebClient;
 
+    @Inject
+    AiswebGovernor governor;
+
     @ConfigProperty(name = "aisweb.api.key")
     String apiKey;
 
@@ -33,6 +39,9 @@ public class CartasService {
     @Inject
     CartasParser cartasParser;
 
+    @Inject
+    AiswebCache aiswebCache;
+
     /**
      * Busca dados de cartas para um aeródromo específico.
      * 
@@ -56,11 +65,15 @@ public class CartasService {
             throw new WebApplicationException(errorMsg, Response.Status.BAD_REQUEST);
         }
         
-        icao = icao.toUpperCase().trim();
-        
+        String icaoNormalizado = icao.toUpperCase().trim();
+        return aiswebCache.obter(AiswebCacheArea.CARTAS, icaoNormalizado, CartasDto.class,
+            () -> buscarNoAisweb(icaoNormalizado));
+    }
+
+    private CartasDto buscarNoAisweb(String icao) {
         try {
             LOG.debugf("Solicitando dados de cartas para %s da API AISWEB", icao);
-            Response response = aiswebClient.getCartasData(apiKey, apiPass, "cartas", icao);
+            Response response = governor.chamar("cartas", () -> aiswebClient.getCartasData(apiKey, apiPass, "cartas", icao));
             
             if (response.getStatus() != Response.Status.OK.getStatusCode()) {
                 String errorMsg = String.format("Erro ao buscar dados de cartas. Status: %d - %s", 
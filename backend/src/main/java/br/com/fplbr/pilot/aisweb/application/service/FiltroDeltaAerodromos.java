@@ -0,0 +1,76 @@
+package br.com.fplbr.pilot.aisweb.application.service;
+
+import br.com.fplbr.pilot.aisweb.application.dto.SincronizacaoAerodromosDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AerodromoHashIndex;
+import br.com.fplbr.pilot.aisweb.infrastructure.persistence.entity.AerodromoIcaoIataEntity;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Estágio de detecção de mudanças da sincronização do catálogo ROTAER.
+ *
+ * Recebe todos os aeródromos lidos da AISWEB e repassa ao destino apenas os
+ * novos ou alterados segundo o {@link AerodromoHashIndex}. Ao final, os ICAOs
+ * indexados que não apareceram no catálogo são reportados como removidos.
+ */
+class FiltroDeltaAerodromos implements Consumer<AerodromoIcaoIataEntity> {
+
+    private final AerodromoHashIndex indice;
+    private final Consumer<AerodromoIcaoIataEntity> destino;
+    private final Set<String> vistos = new HashSet<>();
+    private final List<String> novos = new ArrayList<>();
+    private final List<String> alterados = new ArrayList<>();
+    private int inalterados;
+
+    FiltroDeltaAerodromos(AerodromoHashIndex indice, Consumer<AerodromoIcaoIataEntity> destino) {
+        this.indice = indice;
+        this.destino = destino;
+    }
+
+    @Override
+    public void accept(AerodromoIcaoIataEntity aerodromo) {
+        if (!vistos.add(aerodromo.getIcao())) {
+            // ICAO repetido no mesmo catálogo: a primeira ocorrência já foi tratada
+            return;
+        }
+        switch (indice.classificar(aerodromo)) {
+            case NOVO -> {
+                novos.add(aerodromo.getIcao());
+                destino.accept(aerodromo);
+            }
+            case ALTERADO -> {
+                alterados.add(aerodromo.getIcao());
+                destino.accept(aerodromo);
+            }
+            case INALTERADO -> inalterados++;
+        }
+    }
+
+    /**
+     * ICAOs indexados que não vieram no catálogo. Só faz sentido quando o
+     * catálogo foi lido por completo.
+     */
+    List<String> ausentes() {
+        List<String> ausentes = new ArrayList<>();
+        for (String icao : indice.icaos()) {
+            if (!vistos.contains(icao)) {
+                ausentes.add(icao);
+            }
+        }
+        ausentes.sort(null);
+        return ausentes;
+    }
+
+    SincronizacaoAerodromosDto relatorio(boolean catalogoCompleto, List<String> removidos) {
+        return relatorio(catalogoCompleto, removidos, List.of());
+    }
+
+    SincronizacaoAerodromosDto relatorio(boolean catalogoCompleto, List<String> removidos, List<String> rejeitados) {
+        return new SincronizacaoAerodromosDto(vistos.size(), inalterados, catalogoCompleto,
+            List.copyOf(novos), List.copyOf(alterados), List.copyOf(removidos), List.copyOf(rejeitados));
+    }
+}
@@ -1,7 +1,10 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.client.AiswebClient;
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
 import br.com.fplbr.pilot.aisweb.application.dto.InfotempDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
 import br.com.fplbr.pilot.aisweb.infrastructure.parser.InfotempParser;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -19,6 +22,9 @@ public class InfotempService {
     @RestClient
     AiswebClient aiswebClient;
 
+    @Inject
+    AiswebGovernor governor;
+
     @ConfigProperty(name = "aisweb.api.key")
     String apiKey;
 
@@ -28,6 +34,9 @@ public class InfotempService {
     @Inject
     InfotempParser infotempParser;
 
+    @Inject
+    AiswebCache aiswebCache;
+
     /**
      * Busca dados INFOTEMP para um aeródromo específico.
      * 
@@ -49,12 +58,17 @@ public class InfotempService {
             );
         }
 
-        icao = icao.toUpperCase();
+        String icaoNormalizado = icao.toUpperCase();
+        return aiswebCache.obter(AiswebCacheArea.INFOTEMP, icaoNormalizado + ":0", InfotempDto.class,
+            () -> buscarNoAisweb(icaoNormalizado));
+    }
+
+    InfotempDto buscarNoAisweb(String icao) {
         org.jboss.logging.Logger logger = org.jboss.logging.Logger.getLogger(getClass());
         logger.infof("Buscando dados INFOTEMP para o aeródromo: %s", icao);
 
         try {
-            Response response = aiswebClient.getInfotempData(apiKey, apiPass, "infotemp", icao, "0");
+            Response response = governor.chamar("infotemp", () -> aiswebClient.getInfotempData(apiKey, apiPass, "infotemp", icao, "0"));
             
             if (response.getStatus() != Response.Status.OK.getStatusCode()) {
                 String errorMsg = String.format("Erro ao buscar dados INFOTEMP para %s. Status: %d", 
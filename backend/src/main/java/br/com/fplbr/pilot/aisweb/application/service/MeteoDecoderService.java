@@ -1,19 +1,27 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.MetTafTokenizer;
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.MetTafTokenizer.Grupo;
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.MetTafTokenizer.TipoGrupo;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
 import java.util.*;
 
 /**
- * Serviço para decodificação de METAR e TAF
+ * Serviço para decodificação de METAR e TAF.
+ *
+ * A mensagem é quebrada em grupos pelo {@link MetTafTokenizer} (uma passada,
+ * sem regex) e cada grupo vira uma linha de texto legível.
  */
 @ApplicationScoped
 public class MeteoDecoderService {
     
     private static final Logger LOG = Logger.getLogger(MeteoDecoderService.class);
     
-    // Padrões para parsing (removidos por não serem utilizados na implementação atual)
+    @Inject
+    MetTafTokenizer tokenizer;
     
     // Dicionários de tradução
     private static final Map<String, String> WEATHER_CODES = new HashMap<>();
@@ -71,310 +79,153 @@ public class MeteoDecoderService {
         INTENSITY_CODES.put("FZ", "Congelamento");
     }
     
+    /**
+     * Decodifica um METAR/SPECI em texto legível, uma linha por grupo.
+     */
     public String decodeMetar(String rawMetar) {
         if (rawMetar == null || rawMetar.trim().isEmpty()) {
             return "METAR não disponível";
         }
         
         try {
-            LOG.infof("🔍 [METEO-DECODER] Iniciando decodificação do METAR: %s", rawMetar);
-            StringBuilder decoded = new StringBuilder();
-            String[] parts = rawMetar.trim().split("\\s+");
-            LOG.infof("🔍 [METEO-DECODER] Partes do METAR: %s", String.join(" | ", parts));
+            List<Grupo> grupos = tokenizer.tokenizarMetar(rawMetar);
+            StringBuilder decoded = new StringBuilder(256);
+            boolean tempoPresente = false;
+            boolean observacoes = false;
             
-            int index = 0;
-            
-            // 1. Tipo de observação
-            if (index < parts.length) {
-                String type = parts[index++];
-                if ("METAR".equals(type)) {
-                    decoded.append("📊 Observação meteorológica regular\n");
-                } else if ("SPECI".equals(type)) {
-                    decoded.append("📊 Observação meteorológica especial\n");
-                }
-            }
-            
-            // 2. Código ICAO
-            if (index < parts.length) {
-                String icao = parts[index++];
-                decoded.append("🏢 Aeródromo: ").append(icao).append("\n");
-            }
-            
-            // 3. Data e hora
-            if (index < parts.length) {
-                String dateTime = parts[index++];
-                if (dateTime.matches("\\d{6}Z")) {
-                    String day = dateTime.substring(0, 2);
-                    String hour = dateTime.substring(2, 4);
-                    String minute = dateTime.substring(4, 6);
-                    decoded.append("📅 Dia: ").append(day).append(" às ").append(hour).append(":").append(minute).append("Z\n");
-                }
-            }
-            
-            // 4. Modificadores
-            if (index < parts.length) {
-                String modifier = parts[index];
-                if ("AUTO".equals(modifier)) {
-                    decoded.append("🤖 Observação automática\n");
-                    index++;
-                } else if ("COR".equals(modifier)) {
-                    decoded.append("✏️ Correção\n");
-                    index++;
-                } else if ("NIL".equals(modifier)) {
-                    decoded.append("❌ Dados não disponíveis\n");
-                    index++;
-                }
-            }
-            
-            // 5. Vento
-            if (index < parts.length) {
-                String wind = parts[index];
-                if (wind.matches("\\d{3}\\d{2}G?\\d{0,2}KT")) {
-                    // Verificar se a próxima parte é uma variação de vento
-                    String windVariation = "";
-                    if (index + 1 < parts.length && parts[index + 1].matches("\\d{3}V\\d{3}")) {
-                        windVariation = parts[index + 1];
-                        index++; // Pular a variação
+            for (int i = 0; i < grupos.size(); i++) {
+                Grupo grupo = grupos.get(i);
+                String texto = grupo.texto();
+                switch (grupo.tipo()) {
+                    case METAR -> decoded.append("📊 Observação meteorológica regular\n");
+                    case SPECI -> decoded.append("📊 Observação meteorológica especial\n");
+                    case AERODROMO -> decoded.append("🏢 Aeródromo: ").append(texto).append("\n");
+                    case DATA_HORA -> decoded.append("📅 Dia: ").append(texto, 0, 2).append(" às ")
+                        .append(texto, 2, 4).append(":").append(texto, 4, 6).append("Z\n");
+                    case AUTO -> decoded.append("🤖 Observação automática\n");
+                    case COR -> decoded.append("✏️ Correção\n");
+                    case NIL -> decoded.append("❌ Dados não disponíveis\n");
+                    case VENTO -> decoded.append(decodeWind(texto, grupo.complemento())).append("\n");
+                    case VENTO_VARIAVEL -> decoded.append("💨 Vento: Variável ").append(texto, 3, 5).append(" nós\n");
+                    case VENTO_INDISPONIVEL -> decoded.append("💨 Vento: Não disponível\n");
+                    case VISIBILIDADE -> decoded.append(decodeVisibility(texto)).append("\n");
+                    case TEMPO_PRESENTE -> {
+                        decoded.append(decodeWeather(texto)).append(" ");
+                        tempoPresente = true;
+                    }
+                    case NUVEM -> decoded.append(decodeCloud(texto)).append("\n");
+                    case TEMPERATURA -> decoded.append(decodeTemperature(texto)).append("\n");
+                    case PRESSAO -> decoded.append(decodePressure(texto)).append("\n");
+                    case OBSERVACAO -> {
+                        if (!observacoes) {
+                            decoded.append("📝 Tendências e observações:\n");
+                            observacoes = true;
+                        }
+                        decoded.append("   ").append(texto).append(" ");
+                    }
+                    default -> {
+                        // Grupos exclusivos do TAF não aparecem no METAR
                     }
-                    decoded.append(decodeWind(wind + " " + windVariation)).append("\n");
-                    index++;
-                } else if ("00000KT".equals(wind)) {
-                    decoded.append("💨 Vento: Calmo\n");
-                    index++;
-                } else if (wind.startsWith("VRB")) {
-                    String speed = wind.substring(3, 5);
-                    decoded.append("💨 Vento: Variável ").append(speed).append(" nós\n");
-                    index++;
-                } else if ("/////KT".equals(wind)) {
-                    decoded.append("💨 Vento: Não disponível\n");
-                    index++;
-                }
-            }
-            
-            // 6. Visibilidade
-            if (index < parts.length) {
-                String visibility = parts[index];
-                if (visibility.matches("\\d{4}") || visibility.matches("\\d{2}SM") || "CAVOK".equals(visibility) || "////".equals(visibility)) {
-                    decoded.append(decodeVisibility(visibility)).append("\n");
-                    index++;
-                }
-            }
-            
-            // 7. Tempo presente
-            while (index < parts.length) {
-                String part = parts[index];
-                if (part.matches("[+-]?[A-Z]{2,3}")) {
-                    decoded.append(decodeWeather(part)).append(" ");
-                    index++;
-                } else {
-                    break;
-                }
-            }
-            if (decoded.toString().contains("Tempo presente:")) {
-                decoded.append("\n");
-            }
-            
-            // 8. Nuvens
-            while (index < parts.length) {
-                String part = parts[index];
-                if (part.matches("(FEW|SCT|BKN|OVC|SKC|CLR|NSC|NCD)\\d{0,3}(CB|TCU)?")) {
-                    decoded.append(decodeCloud(part)).append("\n");
-                    index++;
-                } else {
-                    break;
-                }
-            }
-            
-            // 9. Temperatura e ponto de orvalho
-            if (index < parts.length) {
-                String temp = parts[index];
-                if (temp.matches("\\d{2}/\\d{2}|M\\d{2}/M\\d{2}|\\d{2}/M\\d{2}|M\\d{2}/\\d{2}")) {
-                    decoded.append(decodeTemperature(temp)).append("\n");
-                    index++;
                 }
-            }
-            
-            // 10. Pressão
-            if (index < parts.length) {
-                String pressure = parts[index];
-                if (pressure.matches("[QA]\\d{4}")) {
-                    decoded.append(decodePressure(pressure)).append("\n");
-                    index++;
+                // Os grupos de tempo presente ficam na mesma linha
+                if (tempoPresente && (i + 1 == grupos.size()
+                        || grupos.get(i + 1).tipo() != TipoGrupo.TEMPO_PRESENTE)) {
+                    decoded.append("\n");
+                    tempoPresente = false;
                 }
             }
-            
-            // 11. Tendências e observações
-            if (index < parts.length) {
-                decoded.append("📝 Tendências e observações:\n");
-                for (int i = index; i < parts.length; i++) {
-                    decoded.append("   ").append(parts[i]).append(" ");
-                }
+            if (observacoes) {
                 decoded.append("\n");
             }
             
             String result = decoded.toString();
-            LOG.infof("🔍 [METEO-DECODER] Resultado da decodificação: %s", result);
+            LOG.debugf("[METEO-DECODER] METAR decodificado: %d grupos", grupos.size());
             return result;
             
         } catch (Exception e) {
-            LOG.error("Erro ao decodificar METAR: " + rawMetar, e);
+            LOG.errorf(e, "Erro ao decodificar METAR: %s", rawMetar);
             return "Erro na decodificação do METAR";
         }
     }
     
+    /**
+     * Decodifica um TAF em texto legível, uma linha por grupo; as condições de
+     * cada tendência vêm logo abaixo dela.
+     */
     public String decodeTaf(String rawTaf) {
         if (rawTaf == null || rawTaf.trim().isEmpty()) {
             return "TAF não disponível";
         }
         
         try {
-            StringBuilder decoded = new StringBuilder();
-            String[] parts = rawTaf.trim().split("\\s+");
-            
-            int index = 0;
-            
-            // 1. TAF
-            if (index < parts.length && "TAF".equals(parts[index])) {
-                decoded.append("📈 Previsão Terminal de Aeródromo\n");
-                index++;
-            }
-            
-            // 2. Código ICAO
-            if (index < parts.length) {
-                String icao = parts[index++];
-                decoded.append("🏢 Aeródromo: ").append(icao).append("\n");
-            }
-            
-            // 3. Data e hora de confecção
-            if (index < parts.length) {
-                String dateTime = parts[index++];
-                if (dateTime.matches("\\d{6}Z")) {
-                    String day = dateTime.substring(0, 2);
-                    String hour = dateTime.substring(2, 4);
-                    String minute = dateTime.substring(4, 6);
-                    decoded.append("📅 Confecção: Dia ").append(day).append(" às ").append(hour).append(":").append(minute).append("Z\n");
-                }
-            }
-            
-            // 4. Período de validade
-            if (index < parts.length) {
-                String validity = parts[index++];
-                if (validity.matches("\\d{4}/\\d{4}")) {
-                    String startDay = validity.substring(0, 2);
-                    String startHour = validity.substring(2, 4);
-                    String endDay = validity.substring(5, 7);
-                    String endHour = validity.substring(7, 9);
-                    decoded.append("⏰ Válido: Dia ").append(startDay).append(" ").append(startHour).append("Z até Dia ").append(endDay).append(" ").append(endHour).append("Z\n");
-                }
-            }
-            
-            // 5. Vento
-            if (index < parts.length) {
-                String wind = parts[index];
-                if (wind.matches("\\d{3}\\d{2}G?\\d{0,2}KT")) {
-                    decoded.append(decodeWind(wind)).append("\n");
-                    index++;
-                } else if ("00000KT".equals(wind)) {
-                    decoded.append("💨 Vento: Calmo\n");
-                    index++;
-                } else if (wind.startsWith("VRB")) {
-                    String speed = wind.substring(3, 5);
-                    decoded.append("💨 Vento: Variável ").append(speed).append(" nós\n");
-                    index++;
-                }
-            }
+            List<Grupo> grupos = tokenizer.tokenizarTaf(rawTaf);
+            StringBuilder decoded = new StringBuilder(512);
+            boolean emTendencia = false;
+            boolean tempoPresente = false;
+            boolean observacoes = false;
             
-            // 6. Visibilidade
-            if (index < parts.length) {
-                String visibility = parts[index];
-                if (visibility.matches("\\d{4}") || visibility.matches("\\d{2}SM") || "CAVOK".equals(visibility) || "////".equals(visibility)) {
-                    decoded.append(decodeVisibility(visibility)).append("\n");
-                    index++;
+            for (int i = 0; i < grupos.size(); i++) {
+                Grupo grupo = grupos.get(i);
+                String texto = grupo.texto();
+                switch (grupo.tipo()) {
+                    case TAF -> decoded.append("📈 Previsão Terminal de Aeródromo\n");
+                    case AERODROMO -> decoded.append("🏢 Aeródromo: ").append(texto).append("\n");
+                    case DATA_HORA -> decoded.append("📅 Confecção: Dia ").append(texto, 0, 2).append(" às ")
+                        .append(texto, 2, 4).append(":").append(texto, 4, 6).append("Z\n");
+                    case VALIDADE -> decoded.append("⏰ Válido: Dia ").append(texto, 0, 2).append(" ")
+                        .append(texto, 2, 4).append("Z até Dia ").append(texto, 5, 7).append(" ")
+                        .append(texto, 7, 9).append("Z\n");
+                    case VENTO -> decoded.append(decodeWind(texto, null)).append("\n");
+                    case VENTO_VARIAVEL -> decoded.append("💨 Vento: Variável ").append(texto, 3, 5).append(" nós\n");
+                    case VISIBILIDADE -> decoded.append(decodeVisibility(texto)).append("\n");
+                    case TEMPO_PRESENTE -> {
+                        // Nas condições iniciais os grupos ficam na mesma linha; nas tendências, um por linha
+                        decoded.append(decodeWeather(texto)).append(emTendencia ? "\n" : " ");
+                        tempoPresente = !emTendencia;
+                    }
+                    case NUVEM -> decoded.append(decodeCloud(texto)).append("\n");
+                    case TEMPERATURA_PREVISTA -> decoded.append(decodeTemperatureForecast(texto)).append("\n");
+                    case TENDENCIA -> {
+                        decoded.append(decodeTrend(texto, grupo.complemento())).append("\n");
+                        emTendencia = true;
+                    }
+                    case RMK -> {
+                        decoded.append("📝 Observações: ");
+                        observacoes = true;
+                    }
+                    case OBSERVACAO -> decoded.append(texto).append(" ");
+                    default -> {
+                        // Grupos exclusivos do METAR não aparecem no TAF
+                    }
                 }
-            }
-            
-            // 7. Tempo presente
-            while (index < parts.length) {
-                String part = parts[index];
-                if (part.matches("[+-]?[A-Z]{2,3}")) {
-                    decoded.append(decodeWeather(part)).append(" ");
-                    index++;
-                } else {
-                    break;
+                if (tempoPresente && (i + 1 == grupos.size()
+                        || grupos.get(i + 1).tipo() != TipoGrupo.TEMPO_PRESENTE)) {
+                    decoded.append("\n");
+                    tempoPresente = false;
                 }
             }
-            if (decoded.toString().contains("Tempo presente:")) {
+            if (observacoes) {
                 decoded.append("\n");
             }
             
-            // 8. Nuvens
-            while (index < parts.length) {
-                String part = parts[index];
-                if (part.matches("(FEW|SCT|BKN|OVC|SKC|CLR|NSC|NCD)\\d{0,3}(CB|TCU)?")) {
-                    decoded.append(decodeCloud(part)).append("\n");
-                    index++;
-                } else {
-                    break;
-                }
-            }
-            
-            // 9. Temperaturas máximas e mínimas
-            while (index < parts.length) {
-                String part = parts[index];
-                if (part.startsWith("TX") || part.startsWith("TN")) {
-                    decoded.append(decodeTemperatureForecast(part)).append("\n");
-                    index++;
-                } else {
-                    break;
-                }
-            }
-            
-            // 10. Tendências (BECMG, TEMPO, PROB) - processar todas as tendências
-            while (index < parts.length) {
-                String part = parts[index];
-                if (part.startsWith("BECMG") || part.startsWith("TEMPO") || part.startsWith("PROB") || 
-                    part.startsWith("FM") || part.startsWith("TL") || part.startsWith("AT")) {
-                    decoded.append(decodeTrend(parts, index)).append("\n");
-                    // Processar condições meteorológicas após a tendência
-                    index = processTrendConditions(parts, index + 1, decoded);
-                } else if (part.equals("RMK")) {
-                    // Processar observações
-                    decoded.append("📝 Observações: ");
-                    for (int i = index + 1; i < parts.length; i++) {
-                        decoded.append(parts[i]).append(" ");
-                    }
-                    decoded.append("\n");
-                    break;
-                } else {
-                    index++;
-                }
-            }
-            
             return decoded.toString();
             
         } catch (Exception e) {
-            LOG.error("Erro ao decodificar TAF: " + rawTaf, e);
+            LOG.errorf(e, "Erro ao decodificar TAF: %s", rawTaf);
             return "Erro na decodificação do TAF";
         }
     }
     
-    private String decodeWind(String wind) {
-        if (wind.length() < 7) return "💨 Vento: Dados incompletos";
-        
-        // Separar vento principal da variação se houver
-        String[] windParts = wind.split("\\s+");
-        String mainWind = windParts[0];
-        String variation = windParts.length > 1 ? windParts[1] : "";
+    private String decodeWind(String mainWind, String variation) {
+        if (mainWind.length() < 7) return "💨 Vento: Dados incompletos";
         
         String direction = mainWind.substring(0, 3);
         String speed = mainWind.substring(3, 5);
         String gust = "";
         
-        if (mainWind.contains("G")) {
-            int gIndex = mainWind.indexOf("G");
-            if (gIndex + 2 < mainWind.length()) {
-                gust = mainWind.substring(gIndex + 1, gIndex + 3);
-            }
+        int gIndex = mainWind.indexOf('G');
+        if (gIndex >= 0 && gIndex + 2 < mainWind.length()) {
+            gust = mainWind.substring(gIndex + 1, gIndex + 3);
         }
         
         StringBuilder result = new StringBuilder("💨 Vento: ");
@@ -393,8 +244,8 @@ public class MeteoDecoderService {
             result.append(" com rajadas de ").append(gust).append(" nós");
         }
         
-        if (!variation.isEmpty() && variation.length() >= 6) {
-            result.append(" variável de ").append(variation.substring(0, 3)).append("° a ").append(variation.substring(3, 6)).append("°");
+        if (variation != null && variation.length() >= 6) {
+            result.append(" variável de ").append(variation, 0, 3).append("° a ").append(variation, 3, 6).append("°");
         }
         
         return result.toString();
@@ -414,7 +265,7 @@ public class MeteoDecoderService {
             return "👁️ Visibilidade: " + miles + " milhas";
         }
         
-        if (visibility.matches("\\d{4}")) {
+        if (visibility.length() == 4 && MetTafTokenizer.digitos(visibility, 0, 4)) {
             int meters = Integer.parseInt(visibility);
             if (meters >= 10000) {
                 return "👁️ Visibilidade: > 10 km";
@@ -461,7 +312,7 @@ public class MeteoDecoderService {
     }
     
     private String decodeCloud(String cloud) {
-        if (cloud.matches("(SKC|CLR|NSC|NCD)")) {
+        if ("SKC".equals(cloud) || "CLR".equals(cloud) || "NSC".equals(cloud) || "NCD".equals(cloud)) {
             return "☁️ " + CLOUD_CODES.getOrDefault(cloud, cloud);
         }
         
@@ -484,7 +335,7 @@ public class MeteoDecoderService {
         StringBuilder result = new StringBuilder("☁️ ");
         result.append(CLOUD_CODES.getOrDefault(type, type));
         
-        if (height.matches("\\d{3}")) {
+        if (height.length() == 3 && MetTafTokenizer.digitos(height, 0, 3)) {
             int feet = Integer.parseInt(height) * 100;
             result.append(" a ").append(feet).append(" pés");
         } else if ("///".equals(height)) {
@@ -575,93 +426,32 @@ public class MeteoDecoderService {
         return "🌡️ " + temp;
     }
     
-    private String decodeTrend(String[] parts, int startIndex) {
-        if (startIndex >= parts.length) {
-            return "📈 Tendência: Dados incompletos";
-        }
-        
+    private String decodeTrend(String trend, String period) {
         StringBuilder result = new StringBuilder("📈 Tendência: ");
         
-        if (parts[startIndex].startsWith("BECMG")) {
+        if (trend.startsWith("BECMG")) {
             result.append("Mudança gradual definitiva ");
-            if (startIndex + 1 < parts.length) {
-                String time = parts[startIndex + 1];
-                if (time.matches("\\d{4}/\\d{4}")) {
-                    result.append("de ").append(time.substring(0, 4)).append("Z a ").append(time.substring(5, 9)).append("Z");
-                }
-            }
-        } else if (parts[startIndex].startsWith("TEMPO")) {
+            appendPeriod(result, period);
+        } else if (trend.startsWith("TEMPO")) {
             result.append("Mudança temporária ");
-            if (startIndex + 1 < parts.length) {
-                String time = parts[startIndex + 1];
-                if (time.matches("\\d{4}/\\d{4}")) {
-                    result.append("de ").append(time.substring(0, 4)).append("Z a ").append(time.substring(5, 9)).append("Z");
-                }
-            }
-        } else if (parts[startIndex].startsWith("PROB")) {
-            String prob = parts[startIndex].substring(4);
-            result.append("Probabilidade de ").append(prob).append("% ");
-            if (startIndex + 1 < parts.length) {
-                String time = parts[startIndex + 1];
-                if (time.matches("\\d{4}/\\d{4}")) {
-                    result.append("de ").append(time.substring(0, 4)).append("Z a ").append(time.substring(5, 9)).append("Z");
-                }
-            }
-        } else if (parts[startIndex].startsWith("FM")) {
-            result.append("A partir de ").append(parts[startIndex].substring(2)).append("Z");
-        } else if (parts[startIndex].startsWith("TL")) {
-            result.append("Até ").append(parts[startIndex].substring(2)).append("Z");
-        } else if (parts[startIndex].startsWith("AT")) {
-            result.append("Em ").append(parts[startIndex].substring(2)).append("Z");
+            appendPeriod(result, period);
+        } else if (trend.startsWith("PROB")) {
+            result.append("Probabilidade de ").append(trend, 4, trend.length()).append("% ");
+            appendPeriod(result, period);
+        } else if (trend.startsWith("FM")) {
+            result.append("A partir de ").append(trend, 2, trend.length()).append("Z");
+        } else if (trend.startsWith("TL")) {
+            result.append("Até ").append(trend, 2, trend.length()).append("Z");
+        } else if (trend.startsWith("AT")) {
+            result.append("Em ").append(trend, 2, trend.length()).append("Z");
         }
         
         return result.toString();
     }
     
-    private int processTrendConditions(String[] parts, int startIndex, StringBuilder decoded) {
-        int index = startIndex;
-        
-        // Processar condições meteorológicas até encontrar próxima tendência ou fim
-        while (index < parts.length) {
-            String part = parts[index];
-            
-            // Verificar se é uma nova tendência
-            if (part.startsWith("BECMG") || part.startsWith("TEMPO") || part.startsWith("PROB") || 
-                part.startsWith("FM") || part.startsWith("TL") || part.startsWith("AT") || 
-                part.equals("RMK")) {
-                break;
-            }
-            
-            // Processar vento
-            if (part.matches("\\d{3}\\d{2}G?\\d{0,2}KT")) {
-                decoded.append(decodeWind(part)).append("\n");
-                index++;
-            }
-            // Processar visibilidade
-            else if (part.matches("\\d{4}") || part.matches("\\d{2}SM") || "CAVOK".equals(part) || "////".equals(part)) {
-                decoded.append(decodeVisibility(part)).append("\n");
-                index++;
-            }
-            // Processar tempo presente
-            else if (part.matches("[+-]?[A-Z]{2,3}")) {
-                decoded.append(decodeWeather(part)).append("\n");
-                index++;
-            }
-            // Processar nuvens
-            else if (part.matches("(FEW|SCT|BKN|OVC|SKC|CLR|NSC|NCD)\\d{0,3}(CB|TCU)?")) {
-                decoded.append(decodeCloud(part)).append("\n");
-                index++;
-            }
-            // Processar temperaturas
-            else if (part.startsWith("TX") || part.startsWith("TN")) {
-                decoded.append(decodeTemperatureForecast(part)).append("\n");
-                index++;
-            }
-            else {
-                index++;
-            }
+    private static void appendPeriod(StringBuilder result, String period) {
+        if (period != null) {
+            result.append("de ").append(period, 0, 4).append("Z a ").append(period, 5, 9).append("Z");
         }
-        
-        return index;
     }
 }
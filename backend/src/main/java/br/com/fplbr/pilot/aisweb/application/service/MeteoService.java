@@ -1,12 +1,16 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.client.AiswebClient;
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
 import br.com.fplbr.pilot.aisweb.application.dto.MeteoDto;
-import br.com.fplbr.pilot.aisweb.application.dto.MetarDto;
-import br.com.fplbr.pilot.aisweb.application.dto.TafDto;
 import br.com.fplbr.pilot.aisweb.application.dto.SunDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebRequestCoalescer;
 import br.com.fplbr.pilot.aisweb.infrastructure.parser.MetTafParser;
 import br.com.fplbr.pilot.aisweb.infrastructure.parser.SunParser;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.WebApplicationException;
@@ -15,6 +19,10 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * Service para buscar dados meteorológicos do AISWEB.
  */
@@ -26,6 +34,9 @@ public class MeteoService {
     @RestClient
     AiswebClient aiswebClient;
 
+    @Inject
+    AiswebGovernor governor;
+
     @ConfigProperty(name = "aisweb.api.key")
     String apiKey;
 
@@ -38,6 +49,33 @@ public class MeteoService {
     @Inject
     SunParser sunParser;
 
+    @Inject
+    AiswebRequestCoalescer coalescer;
+
+    @Inject
+    AiswebCache aiswebCache;
+
+    @ConfigProperty(name = "aisweb.virtual-threads.enabled", defaultValue = "false")
+    boolean threadsVirtuais;
+
+    @ConfigProperty(name = "aisweb.meteo.pool-size", defaultValue = "8")
+    int poolSize;
+
+    // Executor para buscar o sol em paralelo com o METAR/TAF (virtual ou pool fixo)
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        executor = threadsVirtuais
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(poolSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
 
     /**
      * Busca dados meteorológicos para um aeródromo específico.
@@ -52,20 +90,25 @@ public class MeteoService {
                 Response.Status.BAD_REQUEST);
         }
 
-        icao = icao.toUpperCase();
+        String icaoNormalizado = icao.toUpperCase();
+        return coalescer.executar("met", icaoNormalizado, () -> buscarNoAisweb(icaoNormalizado));
+    }
+
+    private MeteoDto buscarNoAisweb(String icao) {
         LOG.infof("Buscando dados meteorológicos para o aeródromo: %s", icao);
 
         try {
-            // Buscar dados do sol (horário de nascer e pôr do sol)
-            SunDto sol = buscarDadosSol(icao);
+            // Buscar dados do sol em paralelo com o METAR/TAF
+            // (a marca de conteúdo obsoleto é por thread: o sol não a propaga)
+            CompletableFuture<SunDto> solFuture = CompletableFuture.supplyAsync(
+                () -> buscarDadosSol(icao), executor);
 
-            // Buscar METAR (condições meteorológicas atuais)
-            MetarDto metar = buscarMetar(icao);
+            // Buscar METAR e TAF com uma única chamada à área "met"
+            MetTafParser.MetTaf metTaf = buscarMetTaf(icao);
 
-            // Buscar TAF (previsão de tempo)
-            TafDto taf = buscarTaf(icao);
+            SunDto sol = solFuture.exceptionally(e -> null).join();
 
-            return new MeteoDto(icao, sol, metar, taf);
+            return new MeteoDto(icao, sol, metTaf.metar(), metTaf.taf());
 
         } catch (WebApplicationException e) {
             LOG.errorf("Erro na requisição de dados meteorológicos para %s: %s", icao, e.getMessage(), e);
@@ -79,23 +122,29 @@ public class MeteoService {
     }
 
     /**
-     * Busca dados do sol (horário de nascer e pôr do sol) para um aeródromo.
+     * Busca apenas os dados do sol (nascer e pôr do sol) para um aeródromo.
+     *
+     * @param icao Código ICAO do aeródromo (4 caracteres)
+     * @return Dados do sol ou null se indisponíveis
+     */
+    public SunDto buscarSol(String icao) {
+        if (icao == null || icao.trim().length() != 4) {
+            throw new WebApplicationException("Código ICAO inválido. Deve conter 4 caracteres.",
+                Response.Status.BAD_REQUEST);
+        }
+        return buscarDadosSol(icao.toUpperCase());
+    }
+
+    /**
+     * Busca dados do sol (horário de nascer e pôr do sol) para um aeródromo,
+     * passando pelo cache.
      *
      * @param icao Código ICAO do aeródromo
-     * @return Dados do sol
+     * @return Dados do sol ou null se indisponíveis
      */
     private SunDto buscarDadosSol(String icao) {
         try {
-            Response response = aiswebClient.getSunData(apiKey, apiPass, "sol", icao);
-
-            if (response.getStatus() == Response.Status.OK.getStatusCode()) {
-                String xml = response.readEntity(String.class);
-                return sunParser.parse(xml);
-            } else {
-                LOG.warnf("Não foi possível obter dados do sol para %s. Status: %d",
-                    icao, response.getStatus());
-                return null;
-            }
+            return aiswebCache.obter(AiswebCacheArea.SOL, icao, SunDto.class, () -> buscarSolNoAisweb(icao));
         } catch (Exception e) {
             LOG.errorf("Erro ao buscar dados do sol para %s: %s", icao, e.getMessage(), e);
             return null;
@@ -103,52 +152,48 @@ public class MeteoService {
     }
 
     /**
-     * Busca METAR (condições meteorológicas atuais) para um aeródromo.
-     *
-     * @param icao Código ICAO do aeródromo
-     * @return Dados METAR
+     * Consulta a área "sol". Falhas de rede/upstream propagam para que o cache
+     * possa servir o último valor bom.
      */
-    private MetarDto buscarMetar(String icao) {
-        try {
-            Response response = aiswebClient.getMetarData(apiKey, apiPass, "met", icao);
-
-            if (response.getStatus() == Response.Status.OK.getStatusCode()) {
-                String xml = response.readEntity(String.class);
-                return metTafParser.parseMetar(xml);
-            } else {
-                LOG.warnf("Não foi possível obter METAR para %s. Status: %d",
-                    icao, response.getStatus());
-                return null;
-            }
-        } catch (Exception e) {
-            LOG.errorf("Erro ao buscar METAR para %s: %s", icao, e.getMessage(), e);
-            return null;
+    SunDto buscarSolNoAisweb(String icao) {
+        Response response = governor.chamar("sol", () -> aiswebClient.getSunData(apiKey, apiPass, "sol", icao));
+
+        if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+            String xml = response.readEntity(String.class);
+            return sunParser.parse(xml);
         }
+        LOG.warnf("Não foi possível obter dados do sol para %s. Status: %d",
+            icao, response.getStatus());
+        return null;
     }
 
     /**
-     * Busca TAF (previsão de tempo) para um aeródromo.
+     * Busca METAR e TAF com uma única chamada à área "met", extraindo ambos
+     * da mesma resposta.
      *
      * @param icao Código ICAO do aeródromo
-     * @return Dados TAF
+     * @return METAR e TAF (cada um pode ser null)
      */
-    private TafDto buscarTaf(String icao) {
+    private MetTafParser.MetTaf buscarMetTaf(String icao) {
         try {
-            Response response = aiswebClient.getMetarData(apiKey, apiPass, "met", icao);
-
-            if (response.getStatus() == Response.Status.OK.getStatusCode()) {
-                String xml = response.readEntity(String.class);
-                return metTafParser.parseTaf(xml);
-            } else {
-                LOG.warnf("Não foi possível obter TAF para %s. Status: %d",
-                    icao, response.getStatus());
-                return null;
-            }
+            MetTafParser.MetTaf metTaf = aiswebCache.obter(AiswebCacheArea.MET, icao, MetTafParser.MetTaf.class,
+                () -> buscarMetTafNoAisweb(icao));
+            return metTaf != null ? metTaf : new MetTafParser.MetTaf(null, null);
         } catch (Exception e) {
-            LOG.errorf("Erro ao buscar TAF para %s: %s", icao, e.getMessage(), e);
-            return null;
+            LOG.errorf("Erro ao buscar METAR/TAF para %s: %s", icao, e.getMessage(), e);
+            return new MetTafParser.MetTaf(null, null);
         }
     }
 
+    MetTafParser.MetTaf buscarMetTafNoAisweb(String icao) {
+        Response response = governor.chamar("met", () -> aiswebClient.getMetarData(apiKey, apiPass, "met", icao));
 
+        if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+            String xml = response.readEntity(String.class);
+            return metTafParser.parseMetTaf(xml);
+        }
+        LOG.warnf("Não foi possível obter METAR/TAF para %s. Status: %d",
+            icao, response.getStatus());
+        return null;
+    }
 }
@@ -1,7 +1,10 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.client.AiswebClient;
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
 import br.com.fplbr.pilot.aisweb.application.dto.NotamDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
 import br.com.fplbr.pilot.aisweb.infrastructure.parser.NotamParser;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -18,9 +21,15 @@ public class NotamService {
     @Inject
     @RestClient
     AiswebClient aiswebClient;
+
+    @Inject
+    AiswebGovernor governor;
     
     @Inject
     NotamParser notamParser;
+
+    @Inject
+    AiswebCache aiswebCache;
     
     @ConfigProperty(name = "aisweb.api.key")
     String apiKey;
@@ -35,8 +44,13 @@ public class NotamService {
      * @return Dados NOTAM do aeródromo
      */
     public NotamDto buscar(String icao) {
+        return aiswebCache.obter(AiswebCacheArea.NOTAM, icao.toUpperCase(), NotamDto.class,
+            () -> buscarNoAisweb(icao));
+    }
+
+    NotamDto buscarNoAisweb(String icao) {
         try {
-            Response response = aiswebClient.getNotamData(apiKey, apiPass, "notam", icao);
+            Response response = governor.chamar("notam", () -> aiswebClient.getNotamData(apiKey, apiPass, "notam", icao));
             
             if (response.getStatus() != 200) {
                 throw new RuntimeException("Erro ao buscar dados NOTAM: " + response.getStatus());
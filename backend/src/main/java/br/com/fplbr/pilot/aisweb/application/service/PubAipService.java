@@ -1,7 +1,10 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.client.AiswebClient;
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
 import br.com.fplbr.pilot.aisweb.application.dto.PubAipDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
 import br.com.fplbr.pilot.aisweb.infrastructure.parser.PubAipParser;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -19,6 +22,9 @@ public class PubAipService {
     @RestClient
     AiswebClient aiswebClient;
 
+    @Inject
+    AiswebGovernor governor;
+
     @ConfigProperty(name = "aisweb.api.key")
     String apiKey;
 
@@ -28,14 +34,21 @@ public class PubAipService {
     @Inject
     PubAipParser pubAipParser;
 
+    @Inject
+    AiswebCache aiswebCache;
+
     /**
      * Lista dados AIP.
      * 
      * @return Dados AIP
      */
     public PubAipDto listar() {
+        return aiswebCache.obter(AiswebCacheArea.PUB_AIP, "todos", PubAipDto.class, this::buscarNoAisweb);
+    }
+
+    private PubAipDto buscarNoAisweb() {
         try {
-            Response response = aiswebClient.getPubAipData(apiKey, apiPass, "pub", "AIP");
+            Response response = governor.chamar("pub", () -> aiswebClient.getPubAipData(apiKey, apiPass, "pub", "AIP"));
             
             if (response.getStatus() != 200) {
                 throw new RuntimeException("Erro ao buscar dados AIP: " + response.getStatus());
@@ -1,7 +1,10 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.client.AiswebClient;
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
 import br.com.fplbr.pilot.aisweb.application.dto.PubAixmDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
 import br.com.fplbr.pilot.aisweb.infrastructure.parser.PubAixmParser;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -19,6 +22,9 @@ public class PubAixmService {
     @RestClient
     AiswebClient aiswebClient;
 
+    @Inject
+    AiswebGovernor governor;
+
     @ConfigProperty(name = "aisweb.api.key")
     String apiKey;
 
@@ -28,14 +34,21 @@ public class PubAixmService {
     @Inject
     PubAixmParser pubAixmParser;
 
+    @Inject
+    AiswebCache aiswebCache;
+
     /**
      * Lista dados AIXM.
      * 
      * @return Dados AIXM
      */
     public PubAixmDto listar() {
+        return aiswebCache.obter(AiswebCacheArea.PUB_AIXM, "todos", PubAixmDto.class, this::buscarNoAisweb);
+    }
+
+    private PubAixmDto buscarNoAisweb() {
         try {
-            Response response = aiswebClient.getPubAixmData(apiKey, apiPass, "pub", "AIXM");
+            Response response = governor.chamar("pub", () -> aiswebClient.getPubAixmData(apiKey, apiPass, "pub", "AIXM"));
             
             if (response.getStatus() != 200) {
                 throw new RuntimeException("Erro ao buscar dados AIXM: " + response.getStatus());
@@ -1,7 +1,10 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.client.AiswebClient;
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
 import br.com.fplbr.pilot.aisweb.application.dto.RotaerDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
 import br.com.fplbr.pilot.aisweb.infrastructure.parser.RotaerParser;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -23,6 +26,9 @@ public class RotaerService {
     @RestClient
     AiswebClient aiswebClient;
 
+    @Inject
+    AiswebGovernor governor;
+
     @ConfigProperty(name = "aisweb.api.key")
     String apiKey;
 
@@ -32,6 +38,9 @@ public class RotaerService {
     @Inject
     RotaerParser rotaerParser;
 
+    @Inject
+    AiswebCache aiswebCache;
+
     /**
      * Busca dados ROTAER para um aeródromo específico.
      * 
@@ -39,9 +48,14 @@ public class RotaerService {
      * @return Dados ROTAER do aeródromo
      */
     public RotaerDto buscar(String icao) {
+        return aiswebCache.obter(AiswebCacheArea.ROTAER, icao.toUpperCase(), RotaerDto.class,
+            () -> buscarNoAisweb(icao));
+    }
+
+    private RotaerDto buscarNoAisweb(String icao) {
         try {
             LOG.infof("Buscando dados ROTAER para o aeródromo: %s", icao);
-            Response response = aiswebClient.getRotaerData(apiKey, apiPass, "rotaer", icao);
+            Response response = governor.chamar("rotaer", () -> aiswebClient.getRotaerData(apiKey, apiPass, "rotaer", icao));
             
             if (response.getStatus() == Response.Status.OK.getStatusCode()) {
                 String xmlResponse = response.readEntity(String.class);
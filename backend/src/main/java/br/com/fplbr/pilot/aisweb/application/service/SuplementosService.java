@@ -1,7 +1,10 @@
 package br.com.fplbr.pilot.aisweb.application.service;
 
 import br.com.fplbr.pilot.aisweb.application.client.AiswebClient;
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
 import br.com.fplbr.pilot.aisweb.application.dto.SuplementosDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCacheArea;
 import br.com.fplbr.pilot.aisweb.infrastructure.parser.SuplementosParser;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -19,6 +22,9 @@ public class SuplementosService {
     @RestClient
     AiswebClient aiswebClient;
 
+    @Inject
+    AiswebGovernor governor;
+
     @ConfigProperty(name = "aisweb.api.key")
     String apiKey;
 
@@ -28,6 +34,9 @@ public class SuplementosService {
     @Inject
     SuplementosParser suplementosParser;
 
+    @Inject
+    AiswebCache aiswebCache;
+
     /**
      * Busca dados de suplementos para um aeródromo específico.
      * 
@@ -35,8 +44,13 @@ public class SuplementosService {
      * @return Dados de suplementos do aeródromo
      */
     public SuplementosDto buscar(String icao) {
+        return aiswebCache.obter(AiswebCacheArea.SUPLEMENTOS, icao.toUpperCase(), SuplementosDto.class,
+            () -> buscarNoAisweb(icao));
+    }
+
+    private SuplementosDto buscarNoAisweb(String icao) {
         try {
-            Response response = aiswebClient.getSuplementosData(apiKey, apiPass, "suplementos", icao);
+            Response response = governor.chamar("suplementos", () -> aiswebClient.getSuplementosData(apiKey, apiPass, "suplementos", icao));
             
             if (response.getStatus() != 200) {
                 throw new RuntimeException("Erro ao buscar dados de suplementos: " + response.getStatus());
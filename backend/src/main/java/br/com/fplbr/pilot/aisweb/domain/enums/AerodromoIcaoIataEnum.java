@@ -1,5 +1,11 @@
 package br.com.fplbr.pilot.aisweb.domain.enums;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
 /**
  * Enum com mapeamento de aeródromos brasileiros: UF, IATA e ICAO
  */
@@ -283,23 +289,189 @@ public enum AerodromoIcaoIataEnum {
      * Busca aeródromo por código ICAO
      */
     public static AerodromoIcaoIataEnum findByIcao(String icao) {
-        for (AerodromoIcaoIataEnum aerodromo : values()) {
-            if (aerodromo.getIcao().equals(icao)) {
-                return aerodromo;
-            }
-        }
-        return null;
+        AerodromoIcaoIataEnum aerodromo = Indice.POR_ICAO.buscar(icao, 4);
+        return aerodromo != null && aerodromo.icao.equals(icao) ? aerodromo : null;
     }
-    
+
     /**
      * Busca aeródromo por código IATA
      */
     public static AerodromoIcaoIataEnum findByIata(String iata) {
-        for (AerodromoIcaoIataEnum aerodromo : values()) {
-            if (aerodromo.getIata().equals(iata)) {
-                return aerodromo;
+        AerodromoIcaoIataEnum aerodromo = Indice.POR_IATA.buscar(iata, 3);
+        return aerodromo != null && aerodromo.iata.equals(iata) ? aerodromo : null;
+    }
+
+    /**
+     * Busca aeródromo por código ICAO ignorando maiúsculas/minúsculas
+     */
+    public static AerodromoIcaoIataEnum findByIcaoIgnoreCase(String icao) {
+        return Indice.POR_ICAO.buscar(icao, 4);
+    }
+
+    /**
+     * Busca aeródromo por código IATA ignorando maiúsculas/minúsculas
+     */
+    public static AerodromoIcaoIataEnum findByIataIgnoreCase(String iata) {
+        return Indice.POR_IATA.buscar(iata, 3);
+    }
+
+    /**
+     * Aeródromos cujo ICAO começa com o prefixo (sem diferenciar maiúsculas), em
+     * ordem alfabética de ICAO. Usado no autocomplete.
+     */
+    public static List<AerodromoIcaoIataEnum> findByIcaoPrefix(String prefixo) {
+        return Indice.ICAO_ORDENADO.comPrefixo(prefixo);
+    }
+
+    /**
+     * Aeródromos cujo IATA começa com o prefixo (sem diferenciar maiúsculas), em
+     * ordem alfabética de IATA. Usado no autocomplete.
+     */
+    public static List<AerodromoIcaoIataEnum> findByIataPrefix(String prefixo) {
+        return Indice.IATA_ORDENADO.comPrefixo(prefixo);
+    }
+
+    /**
+     * Índices imutáveis montados uma vez na carga da classe.
+     *
+     * Os códigos (A-Z, 0-9) são empacotados em um int de 6 bits por caractere e
+     * procurados em uma tabela de endereçamento aberto: a busca exata não aloca
+     * e não depende do número de constantes. Prefixos usam busca binária em
+     * arrays ordenados.
+     */
+    private static final class Indice {
+
+        static final TabelaCodigos POR_ICAO = new TabelaCodigos(4, AerodromoIcaoIataEnum::getIcao);
+        static final TabelaCodigos POR_IATA = new TabelaCodigos(3, AerodromoIcaoIataEnum::getIata);
+        static final Ordenado ICAO_ORDENADO = new Ordenado(AerodromoIcaoIataEnum::getIcao);
+        static final Ordenado IATA_ORDENADO = new Ordenado(AerodromoIcaoIataEnum::getIata);
+
+        /**
+         * Empacota o código em um int (0 se inválido). Cada caractere passa para
+         * maiúscula antes de empacotar, com a mesma regra de
+         * {@link String#equalsIgnoreCase} (ex.: o 's' longo vale 'S' e o sinal Kelvin vale 'K').
+         */
+        static int empacotar(String codigo, int tamanho) {
+            if (codigo == null || codigo.length() != tamanho) {
+                return 0;
+            }
+            int chave = 0;
+            for (int i = 0; i < tamanho; i++) {
+                char c = maiuscula(codigo.charAt(i));
+                int v;
+                if (c >= 'A' && c <= 'Z') {
+                    v = c - 'A' + 1;
+                } else if (c >= '0' && c <= '9') {
+                    v = c - '0' + 27;
+                } else {
+                    return 0;
+                }
+                chave = (chave << 6) | v;
+            }
+            return chave;
+        }
+
+        private static char maiuscula(char c) {
+            if (c >= 'a' && c <= 'z') {
+                return (char) (c - 'a' + 'A');
+            }
+            if (c < 128) {
+                return c;
+            }
+            char u = Character.toUpperCase(c);
+            return u < 128 ? u : Character.toUpperCase(Character.toLowerCase(u));
+        }
+    }
+
+    private static final class TabelaCodigos {
+
+        private final int tamanhoCodigo;
+        private final int[] chaves;
+        private final AerodromoIcaoIataEnum[] valores;
+        private final int mascara;
+
+        TabelaCodigos(int tamanhoCodigo, Function<AerodromoIcaoIataEnum, String> codigo) {
+            AerodromoIcaoIataEnum[] todos = values();
+            int capacidade = Integer.highestOneBit(Math.max(4, todos.length * 4) - 1) << 1;
+            this.tamanhoCodigo = tamanhoCodigo;
+            this.chaves = new int[capacidade];
+            this.valores = new AerodromoIcaoIataEnum[capacidade];
+            this.mascara = capacidade - 1;
+            for (AerodromoIcaoIataEnum aerodromo : todos) {
+                int chave = Indice.empacotar(codigo.apply(aerodromo), tamanhoCodigo);
+                if (chave == 0) {
+                    continue;
+                }
+                int i = posicao(chave);
+                while (chaves[i] != 0 && chaves[i] != chave) {
+                    i = (i + 1) & mascara;
+                }
+                // Código repetido: mantém a primeira constante, como a busca linear fazia
+                if (chaves[i] == 0) {
+                    chaves[i] = chave;
+                    valores[i] = aerodromo;
+                }
+            }
+        }
+
+        AerodromoIcaoIataEnum buscar(String codigo, int tamanho) {
+            int chave = Indice.empacotar(codigo, tamanho);
+            if (chave == 0 || tamanho != tamanhoCodigo) {
+                return null;
+            }
+            for (int i = posicao(chave); chaves[i] != 0; i = (i + 1) & mascara) {
+                if (chaves[i] == chave) {
+                    return valores[i];
+                }
+            }
+            return null;
+        }
+
+        private int posicao(int chave) {
+            return (chave * 0x9E3779B9 >>> 16) & mascara;
+        }
+    }
+
+    private static final class Ordenado {
+
+        private final String[] codigos;
+        private final AerodromoIcaoIataEnum[] aerodromos;
+
+        Ordenado(Function<AerodromoIcaoIataEnum, String> codigo) {
+            AerodromoIcaoIataEnum[] ordenados = values();
+            // Ordenação estável: códigos repetidos ficam na ordem de declaração
+            Arrays.sort(ordenados, Comparator.comparing(codigo));
+            this.aerodromos = ordenados;
+            this.codigos = new String[ordenados.length];
+            for (int i = 0; i < ordenados.length; i++) {
+                codigos[i] = codigo.apply(ordenados[i]);
+            }
+        }
+
+        List<AerodromoIcaoIataEnum> comPrefixo(String prefixo) {
+            if (prefixo == null || prefixo.isBlank()) {
+                return List.of();
+            }
+            String p = prefixo.trim().toUpperCase(Locale.ROOT);
+            int inicio = limiteInferior(p);
+            // Códigos são ASCII: todo código com o prefixo fica abaixo de p + Character.MAX_VALUE
+            int fim = limiteInferior(p + Character.MAX_VALUE);
+            return List.of(Arrays.copyOfRange(aerodromos, inicio, fim));
+        }
+
+        // Primeira posição com código >= chave
+        private int limiteInferior(String chave) {
+            int baixo = 0;
+            int alto = codigos.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (codigos[meio].compareTo(chave) < 0) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
             }
+            return baixo;
         }
-        return null;
     }
 }
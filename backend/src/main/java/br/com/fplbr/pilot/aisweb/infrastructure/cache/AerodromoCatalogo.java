@@ -0,0 +1,367 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.cache;
+
+import br.com.fplbr.pilot.aisweb.application.dto.AerodromoIcaoIataDto;
+import br.com.fplbr.pilot.aisweb.application.dto.AerodromoProximoDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.persistence.entity.AerodromoIcaoIataEntity;
+import br.com.fplbr.pilot.aisweb.infrastructure.persistence.repository.AerodromoIcaoIataRepository;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Catálogo de aeródromos em memória, otimizado para leitura.
+ *
+ * Um snapshot imutável com os DTOs já montados e os índices:
+ * - ICAO e IATA (hash);
+ * - partição por UF;
+ * - índice de prefixo das palavras de nome, cidade, ICAO e IATA (uma trie
+ *   achatada em array ordenado), para o autocomplete;
+ * - índice espacial ({@link AerodromoGeoIndice}) dos aeródromos com
+ *   coordenadas, para as buscas por proximidade, raio e corredor de rota.
+ *
+ * O snapshot é carregado na subida e trocado inteiro a cada recarga; as buscas
+ * não tocam o banco nem tomam lock. A sincronização do catálogo recarrega ao
+ * final. Para enxergar gravações feitas por outras réplicas (sincronização ou
+ * consumidor da fila rodando em outro nó), a cada
+ * {@code aerodromo.catalogo.refresh-interval} a versão do banco —
+ * {@code count(*)} e {@code max(data_atualizacao)}, uma consulta barata numa
+ * tabela de poucos milhares de linhas — é comparada com a do snapshot; se mudou,
+ * o catálogo é recarregado. Gravações locais também marcam o catálogo como
+ * desatualizado, o que força a recarga no próximo ciclo.
+ */
+@ApplicationScoped
+public class AerodromoCatalogo {
+
+    private static final Logger LOG = Logger.getLogger(AerodromoCatalogo.class);
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    @Inject
+    AerodromoIcaoIataRepository repository;
+
+    private volatile Snapshot snapshot;
+    private volatile Versao versaoCarregada;
+    private final AtomicBoolean desatualizado = new AtomicBoolean();
+
+    void onStart(@Observes StartupEvent evento) {
+        try {
+            recarregar();
+        } catch (Exception e) {
+            // Banco fora na subida: o primeiro acesso tenta de novo
+            LOG.warnf("Catálogo de aeródromos não carregado na subida: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Recarrega o snapshot a partir do banco.
+     */
+    @Transactional
+    public void recarregar() {
+        long inicio = System.nanoTime();
+        // Versão lida antes dos dados: uma gravação concorrente no máximo causa uma recarga a mais
+        Versao versao = consultarVersao();
+        List<AerodromoIcaoIataEntity> entidades = repository.listAll();
+        versaoCarregada = versao;
+        desatualizado.set(false);
+        snapshot = new Snapshot(entidades.stream().map(AerodromoCatalogo::paraDto).toList());
+        LOG.infof("Catálogo de aeródromos carregado: %d registros em %d ms",
+            entidades.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Marca o catálogo para recarga no próximo ciclo (gravações avulsas).
+     */
+    public void marcarDesatualizado() {
+        desatualizado.set(true);
+    }
+
+    @Scheduled(every = "${aerodromo.catalogo.refresh-interval:30s}",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @Transactional
+    void recarregarSeDesatualizado() {
+        if (desatualizado.get() || !consultarVersao().equals(versaoCarregada)) {
+            recarregar();
+        }
+    }
+
+    private Versao consultarVersao() {
+        Object[] linha = repository.getEntityManager()
+            .createQuery("select count(a), max(a.dataAtualizacao) from AerodromoIcaoIataEntity a", Object[].class)
+            .getSingleResult();
+        return new Versao(((Number) linha[0]).longValue(), (LocalDateTime) linha[1]);
+    }
+
+    /**
+     * Estado do catálogo no banco, compartilhado entre as réplicas.
+     */
+    record Versao(long total, LocalDateTime ultimaAtualizacao) {}
+
+    /**
+     * @return todos os aeródromos, ordenados por ICAO
+     */
+    public List<AerodromoIcaoIataDto> todos() {
+        return atual().todos;
+    }
+
+    public AerodromoIcaoIataDto porIcao(String icao) {
+        return icao == null ? null : atual().porIcao.get(icao.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public AerodromoIcaoIataDto porIata(String iata) {
+        return iata == null ? null : atual().porIata.get(iata.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public List<AerodromoIcaoIataDto> porUf(String uf) {
+        return uf == null ? List.of() : atual().porUf.getOrDefault(uf.trim().toUpperCase(Locale.ROOT), List.of());
+    }
+
+    /**
+     * Autocomplete: cada termo da consulta deve ser prefixo de alguma palavra do
+     * nome, da cidade, do ICAO ou do IATA (sem acentos, sem diferenciar
+     * maiúsculas). Correspondências exatas de ICAO/IATA e de palavras inteiras
+     * vêm primeiro.
+     *
+     * @param consulta texto digitado
+     * @param limite número máximo de resultados
+     */
+    public List<AerodromoIcaoIataDto> autocompletar(String consulta, int limite) {
+        List<String> termos = tokenizar(consulta);
+        if (termos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Snapshot s = atual();
+
+        int[] pontos = null;
+        for (String termo : termos) {
+            int[] doTermo = s.pontuarPrefixo(termo);
+            if (pontos == null) {
+                pontos = doTermo;
+            } else {
+                for (int i = 0; i < pontos.length; i++) {
+                    pontos[i] = pontos[i] > 0 && doTermo[i] > 0 ? pontos[i] + doTermo[i] : 0;
+                }
+            }
+        }
+
+        List<Integer> encontrados = new ArrayList<>();
+        for (int i = 0; i < pontos.length; i++) {
+            if (pontos[i] > 0) {
+                encontrados.add(i);
+            }
+        }
+        final int[] p = pontos;
+        // Índices já seguem a ordem de ICAO, então o desempate fica alfabético
+        encontrados.sort(Comparator.comparingInt((Integer i) -> -p[i]).thenComparingInt(i -> i));
+        List<AerodromoIcaoIataDto> resultado = new ArrayList<>(Math.min(limite, encontrados.size()));
+        for (int i = 0; i < encontrados.size() && i < limite; i++) {
+            resultado.add(s.todos.get(encontrados.get(i)));
+        }
+        return resultado;
+    }
+
+    /**
+     * Os {@code n} aeródromos mais próximos do ponto.
+     */
+    public List<AerodromoProximoDto> maisProximos(double lat, double lon, int n) {
+        return atual().geo.maisProximos(lat, lon, n);
+    }
+
+    /**
+     * Aeródromos a até {@code raioKm} do ponto.
+     */
+    public List<AerodromoProximoDto> noRaio(double lat, double lon, double raioKm) {
+        return atual().geo.noRaio(lat, lon, raioKm);
+    }
+
+    /**
+     * Aeródromos a até {@code larguraKm} da rota (pontos {lat, lon} na ordem do voo).
+     */
+    public List<AerodromoProximoDto> noCorredor(List<double[]> rota, double larguraKm) {
+        return atual().geo.noCorredor(rota, larguraKm);
+    }
+
+    public int tamanho() {
+        return atual().todos.size();
+    }
+
+    /**
+     * @return quantidade de aeródromos com coordenadas (presentes no índice espacial)
+     */
+    public int tamanhoGeo() {
+        return atual().geo.tamanho();
+    }
+
+    private Snapshot atual() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                s = snapshot;
+                if (s == null) {
+                    recarregar();
+                    s = snapshot;
+                }
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Converte entidade para DTO
+     */
+    public static AerodromoIcaoIataDto paraDto(AerodromoIcaoIataEntity entity) {
+        return new AerodromoIcaoIataDto(
+            entity.getId(),
+            entity.getCiadId(),
+            entity.getCiad(),
+            entity.getTipoAerodromo(),
+            entity.getIcao(),
+            entity.getIata(),
+            entity.getNomeAerodromo(),
+            entity.getCidadeAerodromo(),
+            entity.getUfAerodromo(),
+            entity.getLatitude(),
+            entity.getLongitude(),
+            entity.getDataAtualizacao(),
+            entity.getDataPublicacao()
+        );
+    }
+
+    /**
+     * Minúsculas sem acento, quebradas em palavras alfanuméricas.
+     */
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Estado imutável do catálogo e seus índices.
+     */
+    private static final class Snapshot {
+
+        // Pesos: palavra inteira vale mais que prefixo; ICAO/IATA exato vale mais que tudo
+        private static final int PESO_PREFIXO = 1;
+        private static final int PESO_PALAVRA = 2;
+        private static final int PESO_CODIGO = 8;
+
+        final List<AerodromoIcaoIataDto> todos;
+        final Map<String, AerodromoIcaoIataDto> porIcao;
+        final Map<String, AerodromoIcaoIataDto> porIata;
+        final Map<String, List<AerodromoIcaoIataDto>> porUf;
+        final AerodromoGeoIndice geo;
+
+        // Trie achatada: palavras ordenadas e, para cada uma, os aeródromos que a contêm
+        private final String[] palavras;
+        private final int[][] postings;
+        private final boolean[][] codigo;
+
+        Snapshot(List<AerodromoIcaoIataDto> aerodromos) {
+            List<AerodromoIcaoIataDto> ordenados = new ArrayList<>(aerodromos);
+            ordenados.sort(Comparator.comparing(AerodromoIcaoIataDto::icao,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+            this.todos = List.copyOf(ordenados);
+
+            Map<String, AerodromoIcaoIataDto> icao = new HashMap<>();
+            Map<String, AerodromoIcaoIataDto> iata = new HashMap<>();
+            Map<String, List<AerodromoIcaoIataDto>> uf = new TreeMap<>();
+            Map<String, Map<Integer, Boolean>> invertido = new TreeMap<>();
+
+            for (int i = 0; i < todos.size(); i++) {
+                AerodromoIcaoIataDto a = todos.get(i);
+                if (a.icao() != null) {
+                    icao.putIfAbsent(a.icao().toUpperCase(Locale.ROOT), a);
+                }
+                if (a.iata() != null && !a.iata().isBlank()) {
+                    iata.putIfAbsent(a.iata().toUpperCase(Locale.ROOT), a);
+                }
+                if (a.ufAerodromo() != null) {
+                    uf.computeIfAbsent(a.ufAerodromo().toUpperCase(Locale.ROOT), k -> new ArrayList<>()).add(a);
+                }
+                indexar(invertido, i, a.icao(), true);
+                indexar(invertido, i, a.iata(), true);
+                indexar(invertido, i, a.nomeAerodromo(), false);
+                indexar(invertido, i, a.cidadeAerodromo(), false);
+            }
+
+            this.porIcao = Map.copyOf(icao);
+            this.porIata = Map.copyOf(iata);
+            Map<String, List<AerodromoIcaoIataDto>> ufImutavel = new LinkedHashMap<>();
+            uf.forEach((k, v) -> ufImutavel.put(k, List.copyOf(v)));
+            this.porUf = Map.copyOf(ufImutavel);
+            this.geo = new AerodromoGeoIndice(todos);
+
+            this.palavras = invertido.keySet().toArray(new String[0]);
+            this.postings = new int[palavras.length][];
+            this.codigo = new boolean[palavras.length][];
+            int p = 0;
+            for (Map<Integer, Boolean> docs : invertido.values()) {
+                int[] ids = new int[docs.size()];
+                boolean[] eCodigo = new boolean[docs.size()];
+                int j = 0;
+                for (Map.Entry<Integer, Boolean> doc : docs.entrySet()) {
+                    ids[j] = doc.getKey();
+                    eCodigo[j] = doc.getValue();
+                    j++;
+                }
+                postings[p] = ids;
+                codigo[p] = eCodigo;
+                p++;
+            }
+        }
+
+        private static void indexar(Map<String, Map<Integer, Boolean>> invertido, int id, String texto, boolean eCodigo) {
+            for (String palavra : tokenizar(texto)) {
+                invertido.computeIfAbsent(palavra, k -> new LinkedHashMap<>()).merge(id, eCodigo, Boolean::logicalOr);
+            }
+        }
+
+        /**
+         * Pontuação de cada aeródromo para um termo (0 = não casa).
+         */
+        int[] pontuarPrefixo(String termo) {
+            int[] pontos = new int[todos.size()];
+            int inicio = Arrays.binarySearch(palavras, termo);
+            if (inicio < 0) {
+                inicio = -inicio - 1;
+            }
+            for (int p = inicio; p < palavras.length && palavras[p].startsWith(termo); p++) {
+                boolean inteira = palavras[p].length() == termo.length();
+                int[] ids = postings[p];
+                for (int j = 0; j < ids.length; j++) {
+                    int peso = !inteira ? PESO_PREFIXO : codigo[p][j] ? PESO_CODIGO : PESO_PALAVRA;
+                    pontos[ids[j]] = Math.max(pontos[ids[j]], peso);
+                }
+            }
+            return pontos;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.cache;
+
+import br.com.fplbr.pilot.aisweb.application.dto.AerodromoIcaoIataDto;
+import br.com.fplbr.pilot.aisweb.application.dto.AerodromoProximoDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.util.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Índice espacial imutável dos aeródromos com coordenadas.
+ *
+ * Cada aeródromo vira um ponto na esfera unitária (x, y, z) e os pontos ficam
+ * numa KD-tree implícita (array permutado, mediana no meio de cada faixa). A
+ * distância em linha reta (corda) cresce junto com a distância ortodrômica, então
+ * a poda da árvore é exata, sem os problemas de lat/lon perto do antimeridiano.
+ * As distâncias devolvidas são as de {@link GeoUtils#calculateDistance}.
+ *
+ * Montado junto com o snapshot do {@link AerodromoCatalogo} e trocado com ele.
+ */
+public final class AerodromoGeoIndice {
+
+    private static final double RAIO_TERRA_KM = 6371.0;
+
+    private final AerodromoIcaoIataDto[] aerodromos;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    // Eixo de corte de cada nó (0 = x, 1 = y, 2 = z)
+    private final byte[] eixo;
+
+    AerodromoGeoIndice(List<AerodromoIcaoIataDto> todos) {
+        List<AerodromoIcaoIataDto> comCoordenadas = new ArrayList<>();
+        for (AerodromoIcaoIataDto a : todos) {
+            if (a.latitude() != null && a.longitude() != null) {
+                comCoordenadas.add(a);
+            }
+        }
+        int n = comCoordenadas.size();
+        this.aerodromos = comCoordenadas.toArray(new AerodromoIcaoIataDto[0]);
+        this.x = new double[n];
+        this.y = new double[n];
+        this.z = new double[n];
+        this.eixo = new byte[n];
+        for (int i = 0; i < n; i++) {
+            double[] p = paraEsfera(aerodromos[i].latitude(), aerodromos[i].longitude());
+            x[i] = p[0];
+            y[i] = p[1];
+            z[i] = p[2];
+        }
+        construir(0, n);
+    }
+
+    /**
+     * @return quantidade de aeródromos indexados (os que têm coordenadas)
+     */
+    public int tamanho() {
+        return aerodromos.length;
+    }
+
+    /**
+     * Os {@code n} aeródromos mais próximos do ponto, do mais perto para o mais longe.
+     */
+    public List<AerodromoProximoDto> maisProximos(double lat, double lon, int n) {
+        if (n <= 0 || aerodromos.length == 0) {
+            return List.of();
+        }
+        double[] p = paraEsfera(lat, lon);
+        // Max-heap pela corda²: o topo é o pior dos n melhores até agora
+        PriorityQueue<double[]> melhores = new PriorityQueue<>(n + 1, (a, b) -> Double.compare(b[1], a[1]));
+        buscarProximos(0, aerodromos.length, p, n, melhores);
+
+        List<AerodromoProximoDto> resultado = new ArrayList<>(melhores.size());
+        for (double[] candidato : melhores) {
+            resultado.add(comDistancia((int) candidato[0], lat, lon));
+        }
+        resultado.sort(Comparator.comparingDouble(AerodromoProximoDto::distanciaKm));
+        return resultado;
+    }
+
+    /**
+     * Aeródromos a até {@code raioKm} do ponto, do mais perto para o mais longe.
+     */
+    public List<AerodromoProximoDto> noRaio(double lat, double lon, double raioKm) {
+        List<AerodromoProximoDto> resultado = new ArrayList<>();
+        List<Integer> encontrados = new ArrayList<>();
+        buscarNoRaio(0, aerodromos.length, paraEsfera(lat, lon), corda2(raioKm), encontrados);
+        for (int i : encontrados) {
+            resultado.add(comDistancia(i, lat, lon));
+        }
+        resultado.sort(Comparator.comparingDouble(AerodromoProximoDto::distanciaKm));
+        return resultado;
+    }
+
+    /**
+     * Aeródromos a até {@code larguraKm} da rota (sequência de pontos lat/lon
+     * ligados por ortodrômicas), ordenados pela distância à rota.
+     *
+     * Cada perna consulta o índice com um raio que cobre o corredor inteiro
+     * (metade da perna + largura, a partir do ponto médio) e só os candidatos
+     * dessa consulta têm a distância à perna calculada.
+     *
+     * @param rota pontos {lat, lon} na ordem do voo (ao menos um)
+     */
+    public List<AerodromoProximoDto> noCorredor(List<double[]> rota, double larguraKm) {
+        if (rota.isEmpty()) {
+            return List.of();
+        }
+        if (rota.size() == 1) {
+            return noRaio(rota.get(0)[0], rota.get(0)[1], larguraKm);
+        }
+
+        Map<Integer, Double> distancias = new HashMap<>();
+        List<Integer> candidatos = new ArrayList<>();
+        for (int perna = 0; perna + 1 < rota.size(); perna++) {
+            double[] a = paraEsfera(rota.get(perna)[0], rota.get(perna)[1]);
+            double[] b = paraEsfera(rota.get(perna + 1)[0], rota.get(perna + 1)[1]);
+            double[] medio = normalizar(new double[]{a[0] + b[0], a[1] + b[1], a[2] + b[2]});
+            if (medio == null) {
+                // Pontos antípodas: perna indefinida, cobre tudo
+                medio = a;
+            }
+            double meiaPernaKm = RAIO_TERRA_KM * angulo(a, b) / 2;
+
+            candidatos.clear();
+            buscarNoRaio(0, aerodromos.length, medio, corda2(meiaPernaKm + larguraKm), candidatos);
+            for (int i : candidatos) {
+                double d = distanciaAPerna(i, a, b, rota.get(perna), rota.get(perna + 1));
+                if (d <= larguraKm) {
+                    distancias.merge(i, d, Math::min);
+                }
+            }
+        }
+
+        List<AerodromoProximoDto> resultado = new ArrayList<>(distancias.size());
+        distancias.forEach((i, d) -> resultado.add(new AerodromoProximoDto(aerodromos[i], d)));
+        resultado.sort(Comparator.comparingDouble(AerodromoProximoDto::distanciaKm));
+        return resultado;
+    }
+
+    /**
+     * Distância (km) do aeródromo {@code i} à perna A→B: a distância cruzada quando
+     * a projeção cai dentro da perna; senão, a distância à extremidade mais próxima.
+     */
+    private double distanciaAPerna(int i, double[] a, double[] b, double[] latLonA, double[] latLonB) {
+        double[] p = {x[i], y[i], z[i]};
+        double[] normal = normalizar(vetorial(a, b));
+        if (normal != null && escalar(vetorial(a, p), normal) >= 0 && escalar(vetorial(p, b), normal) >= 0) {
+            return RAIO_TERRA_KM * Math.abs(Math.asin(Math.max(-1, Math.min(1, escalar(p, normal)))));
+        }
+        AerodromoIcaoIataDto ad = aerodromos[i];
+        return Math.min(
+            GeoUtils.calculateDistance(latLonA[0], latLonA[1], ad.latitude(), ad.longitude()),
+            GeoUtils.calculateDistance(latLonB[0], latLonB[1], ad.latitude(), ad.longitude()));
+    }
+
+    private AerodromoProximoDto comDistancia(int i, double lat, double lon) {
+        AerodromoIcaoIataDto a = aerodromos[i];
+        return new AerodromoProximoDto(a, GeoUtils.calculateDistance(lat, lon, a.latitude(), a.longitude()));
+    }
+
+    // --- KD-tree implícita -------------------------------------------------
+
+    private void construir(int inicio, int fim) {
+        if (fim - inicio <= 1) {
+            return;
+        }
+        byte e = eixoDeMaiorExtensao(inicio, fim);
+        int meio = (inicio + fim) >>> 1;
+        selecionar(inicio, fim - 1, meio, e);
+        eixo[meio] = e;
+        construir(inicio, meio);
+        construir(meio + 1, fim);
+    }
+
+    private byte eixoDeMaiorExtensao(int inicio, int fim) {
+        double[] min = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+        double[] max = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (int i = inicio; i < fim; i++) {
+            for (int e = 0; e < 3; e++) {
+                double v = coordenada(i, e);
+                min[e] = Math.min(min[e], v);
+                max[e] = Math.max(max[e], v);
+            }
+        }
+        byte melhor = 0;
+        for (byte e = 1; e < 3; e++) {
+            if (max[e] - min[e] > max[melhor] - min[melhor]) {
+                melhor = e;
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Quickselect: deixa em {@code k} o elemento que estaria ali com a faixa
+     * ordenada pelo eixo, menores à esquerda e maiores à direita.
+     */
+    private void selecionar(int esquerda, int direita, int k, int e) {
+        while (esquerda < direita) {
+            double pivo = coordenada((esquerda + direita) >>> 1, e);
+            int i = esquerda;
+            int j = direita;
+            while (i <= j) {
+                while (coordenada(i, e) < pivo) {
+                    i++;
+                }
+                while (coordenada(j, e) > pivo) {
+                    j--;
+                }
+                if (i <= j) {
+                    trocar(i++, j--);
+                }
+            }
+            if (k <= j) {
+                direita = j;
+            } else if (k >= i) {
+                esquerda = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void buscarProximos(int inicio, int fim, double[] p, int n, PriorityQueue<double[]> melhores) {
+        if (inicio >= fim) {
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        double d2 = distancia2(meio, p);
+        if (melhores.size() < n) {
+            melhores.add(new double[]{meio, d2});
+        } else if (d2 < melhores.peek()[1]) {
+            melhores.poll();
+            melhores.add(new double[]{meio, d2});
+        }
+        if (fim - inicio == 1) {
+            return;
+        }
+
+        double diferenca = p[eixo[meio]] - coordenada(meio, eixo[meio]);
+        boolean esquerdaPrimeiro = diferenca < 0;
+        if (esquerdaPrimeiro) {
+            buscarProximos(inicio, meio, p, n, melhores);
+        } else {
+            buscarProximos(meio + 1, fim, p, n, melhores);
+        }
+        if (melhores.size() < n || diferenca * diferenca < melhores.peek()[1]) {
+            if (esquerdaPrimeiro) {
+                buscarProximos(meio + 1, fim, p, n, melhores);
+            } else {
+                buscarProximos(inicio, meio, p, n, melhores);
+            }
+        }
+    }
+
+    private void buscarNoRaio(int inicio, int fim, double[] p, double limite2, List<Integer> encontrados) {
+        if (inicio >= fim) {
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        if (distancia2(meio, p) <= limite2) {
+            encontrados.add(meio);
+        }
+        if (fim - inicio == 1) {
+            return;
+        }
+        double diferenca = p[eixo[meio]] - coordenada(meio, eixo[meio]);
+        if (diferenca <= 0 || diferenca * diferenca <= limite2) {
+            buscarNoRaio(inicio, meio, p, limite2, encontrados);
+        }
+        if (diferenca >= 0 || diferenca * diferenca <= limite2) {
+            buscarNoRaio(meio + 1, fim, p, limite2, encontrados);
+        }
+    }
+
+    private double coordenada(int i, int e) {
+        return e == 0 ? x[i] : e == 1 ? y[i] : z[i];
+    }
+
+    private double distancia2(int i, double[] p) {
+        double dx = x[i] - p[0];
+        double dy = y[i] - p[1];
+        double dz = z[i] - p[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void trocar(int i, int j) {
+        AerodromoIcaoIataDto a = aerodromos[i];
+        aerodromos[i] = aerodromos[j];
+        aerodromos[j] = a;
+        double t = x[i];
+        x[i] = x[j];
+        x[j] = t;
+        t = y[i];
+        y[i] = y[j];
+        y[j] = t;
+        t = z[i];
+        z[i] = z[j];
+        z[j] = t;
+    }
+
+    // --- Geometria na esfera unitária ---------------------------------------
+
+    private static double[] paraEsfera(double lat, double lon) {
+        double latRad = GeoUtils.toRadians(lat);
+        double lonRad = GeoUtils.toRadians(lon);
+        double cosLat = Math.cos(latRad);
+        return new double[]{cosLat * Math.cos(lonRad), cosLat * Math.sin(lonRad), Math.sin(latRad)};
+    }
+
+    /**
+     * Corda² equivalente a uma distância ortodrômica (limitada ao diâmetro).
+     */
+    private static double corda2(double km) {
+        double anguloCentral = Math.min(Math.PI, Math.max(0, km) / RAIO_TERRA_KM);
+        double corda = 2 * Math.sin(anguloCentral / 2);
+        return corda * corda;
+    }
+
+    private static double angulo(double[] a, double[] b) {
+        return Math.atan2(norma(vetorial(a, b)), escalar(a, b));
+    }
+
+    private static double[] vetorial(double[] a, double[] b) {
+        return new double[]{
+            a[1] * b[2] - a[2] * b[1],
+            a[2] * b[0] - a[0] * b[2],
+            a[0] * b[1] - a[1] * b[0]
+        };
+    }
+
+    private static double escalar(double[] a, double[] b) {
+        return a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+    }
+
+    private static double norma(double[] v) {
+        return Math.sqrt(escalar(v, v));
+    }
+
+    private static double[] normalizar(double[] v) {
+        double n = norma(v);
+        return n < 1e-12 ? null : new double[]{v[0] / n, v[1] / n, v[2] / n};
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.cache;
+
+import br.com.fplbr.pilot.aisweb.infrastructure.persistence.entity.AerodromoIcaoIataEntity;
+import br.com.fplbr.pilot.aisweb.infrastructure.persistence.repository.AerodromoIcaoIataRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória ICAO → hash de conteúdo dos aeródromos gravados no banco.
+ *
+ * Usado pela sincronização do catálogo ROTAER para descobrir, sem ir ao banco,
+ * quais aeródromos são novos, alterados ou inalterados. O hash (FNV-1a 64 bits)
+ * cobre todos os campos vindos da AISWEB; id e dataAtualizacao ficam de fora.
+ *
+ * O índice é carregado do banco no primeiro uso e só deve ser atualizado
+ * depois que a gravação correspondente tiver sido confirmada, de modo que uma
+ * falha de gravação faça o aeródromo ser reenviado na próxima sincronização.
+ */
+@ApplicationScoped
+public class AerodromoHashIndex {
+
+    private static final Logger LOG = Logger.getLogger(AerodromoHashIndex.class);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public enum Alteracao { NOVO, ALTERADO, INALTERADO }
+
+    @Inject
+    AerodromoIcaoIataRepository repository;
+
+    private volatile Map<String, Long> hashes;
+
+    /**
+     * Classifica um aeródromo em relação ao que está gravado.
+     */
+    public Alteracao classificar(AerodromoIcaoIataEntity aerodromo) {
+        Long atual = indice().get(aerodromo.getIcao());
+        if (atual == null) {
+            return Alteracao.NOVO;
+        }
+        return atual == hash(aerodromo) ? Alteracao.INALTERADO : Alteracao.ALTERADO;
+    }
+
+    /**
+     * @return cópia dos ICAOs indexados
+     */
+    public Set<String> icaos() {
+        return new HashSet<>(indice().keySet());
+    }
+
+    /**
+     * Registra aeródromos cuja gravação já foi confirmada.
+     */
+    public void registrar(Collection<AerodromoIcaoIataEntity> aerodromos) {
+        Map<String, Long> indice = indice();
+        for (AerodromoIcaoIataEntity aerodromo : aerodromos) {
+            indice.put(aerodromo.getIcao(), hash(aerodromo));
+        }
+    }
+
+    /**
+     * Remove ICAOs cuja exclusão já foi confirmada.
+     */
+    public void remover(Collection<String> icaos) {
+        indice().keySet().removeAll(icaos);
+    }
+
+    /**
+     * Descarta o índice; a próxima consulta recarrega do banco.
+     */
+    public void invalidar() {
+        hashes = null;
+    }
+
+    public int tamanho() {
+        return indice().size();
+    }
+
+    /**
+     * Hash de conteúdo de um aeródromo (campos de negócio, sem id/dataAtualizacao).
+     */
+    public static long hash(AerodromoIcaoIataEntity a) {
+        long h = FNV_OFFSET;
+        h = misturar(h, a.getCiadId() != null ? a.getCiadId().toString() : null);
+        h = misturar(h, a.getCiad());
+        h = misturar(h, a.getTipoAerodromo());
+        h = misturar(h, a.getIcao());
+        h = misturar(h, a.getIata());
+        h = misturar(h, a.getNomeAerodromo());
+        h = misturar(h, a.getCidadeAerodromo());
+        h = misturar(h, a.getUfAerodromo());
+        h = misturar(h, a.getLatitude() != null ? a.getLatitude().toString() : null);
+        h = misturar(h, a.getLongitude() != null ? a.getLongitude().toString() : null);
+        LocalDateTime publicacao = a.getDataPublicacao();
+        h = misturar(h, publicacao != null ? publicacao.toString() : null);
+        return h;
+    }
+
+    private static long misturar(long h, String valor) {
+        if (valor == null) {
+            // Distingue null de string vazia
+            h ^= 0xff;
+            h *= FNV_PRIME;
+        } else {
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                h ^= c & 0xff;
+                h *= FNV_PRIME;
+                h ^= c >>> 8;
+                h *= FNV_PRIME;
+            }
+        }
+        // Separador de campo
+        h ^= 0x1f;
+        h *= FNV_PRIME;
+        return h;
+    }
+
+    private Map<String, Long> indice() {
+        Map<String, Long> atual = hashes;
+        if (atual == null) {
+            synchronized (this) {
+                atual = hashes;
+                if (atual == null) {
+                    atual = carregar();
+                    hashes = atual;
+                }
+            }
+        }
+        return atual;
+    }
+
+    @Transactional
+    Map<String, Long> carregar() {
+        Map<String, Long> indice = new ConcurrentHashMap<>();
+        for (AerodromoIcaoIataEntity aerodromo : repository.listAll()) {
+            indice.put(aerodromo.getIcao(), hash(aerodromo));
+        }
+        LOG.infof("🗂️ Índice de conteúdo dos aeródromos carregado: %d ICAOs", indice.size());
+        return indice;
+    }
+}
@@ -0,0 +1,651 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.redis.datasource.value.ReactiveValueCommands;
+import io.quarkus.redis.datasource.value.ValueCommands;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Cache em dois níveis para respostas já parseadas do AISWEB.
+ *
+ * L1: Caffeine em heap, limitado por tamanho, um por área.
+ * L2: Redis compartilhado entre réplicas, gravado como "carregadoEmMillis|json".
+ *
+ * Uma chave ausente ou vencida é buscada via {@link AiswebRequestCoalescer}, então
+ * no mesmo nó apenas uma busca ao AISWEB por (área, chave) fica em andamento; os
+ * demais chamadores aguardam o mesmo resultado. Valores null não são cacheados.
+ *
+ * Stale-while-revalidate: os valores ficam guardados por TTL + {@code aisweb.cache.stale.max-age}.
+ * Vencido o TTL, a origem é consultada de novo; se ela falhar (AISWEB fora do ar,
+ * circuito aberto), o último valor bom é servido, marcado via {@link ConteudoObsoleto},
+ * e uma revalidação em segundo plano é agendada para sondar a volta do AISWEB.
+ * A thread de agendamento só dispara as revalidações: as bloqueantes rodam num
+ * pool limitado ({@code aisweb.cache.stale.refresh-concurrency}) e as reativas
+ * são assinadas sem esperar, então uma chamada lenta não atrasa as outras.
+ *
+ * {@link #obterReativo} é a mesma política para carregadores não bloqueantes
+ * (Mutiny): L1 compartilhado, L2 via cliente Redis reativo e coalescência própria
+ * por {@code CompletableFuture}, sem bloquear o event loop.
+ */
+@ApplicationScoped
+public class AiswebCache {
+
+    private static final Logger LOG = Logger.getLogger(AiswebCache.class);
+    private static final String PREFIXO_REDIS = "aisweb:cache:";
+    // Revalidações aguardando thread livre; além disso são descartadas e reagendadas no próximo acesso
+    private static final int FILA_REVALIDACAO = 1_000;
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @Inject
+    ReactiveRedisDataSource reactiveRedisDataSource;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Config config;
+
+    @ConfigProperty(name = "aisweb.cache.l1.max-entries", defaultValue = "2000")
+    long maxEntradasL1;
+
+    @ConfigProperty(name = "aisweb.cache.l2.enabled", defaultValue = "true")
+    boolean l2Habilitado;
+
+    @ConfigProperty(name = "aisweb.cache.stale.max-age", defaultValue = "24h")
+    Duration obsolescenciaMaximaPadrao;
+
+    @ConfigProperty(name = "aisweb.cache.stale.refresh-delay", defaultValue = "10s")
+    Duration atrasoRevalidacao;
+
+    @ConfigProperty(name = "aisweb.cache.stale.refresh-concurrency", defaultValue = "4")
+    int concorrenciaRevalidacao;
+
+    @Inject
+    AiswebRequestCoalescer coalescer;
+
+    private final Map<AiswebCacheArea, Regiao> regioes = new EnumMap<>(AiswebCacheArea.class);
+    private final Set<String> revalidacoesAgendadas = ConcurrentHashMap.newKeySet();
+    private final Map<String, CompletableFuture<EntradaCache>> reativosEmAndamento = new ConcurrentHashMap<>();
+
+    private ValueCommands<String, String> valueCommands;
+    private ReactiveValueCommands<String, String> reactiveValueCommands;
+    private ScheduledExecutorService revalidador;
+    private ExecutorService execucaoRevalidacao;
+
+    @PostConstruct
+    void init() {
+        for (AiswebCacheArea area : AiswebCacheArea.values()) {
+            Duration ttl = config.getOptionalValue("aisweb.cache.ttl." + area.getChave(), Duration.class)
+                .orElse(area.getTtlPadrao());
+            Duration obsolescencia = config.getOptionalValue("aisweb.cache.stale.max-age." + area.getChave(), Duration.class)
+                .orElse(obsolescenciaMaximaPadrao);
+            regioes.put(area, new Regiao(area, ttl, obsolescencia, maxEntradasL1));
+            LOG.infof("Cache AISWEB área %s com TTL %s (+%s obsoleto)", area.getChave(), ttl, obsolescencia);
+        }
+        revalidador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "aisweb-cache-revalidacao");
+            t.setDaemon(true);
+            return t;
+        });
+        int threads = Math.max(1, concorrenciaRevalidacao);
+        AtomicInteger sequencia = new AtomicInteger();
+        execucaoRevalidacao = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(FILA_REVALIDACAO), r -> {
+                Thread t = new Thread(r, "aisweb-cache-revalidacao-" + sequencia.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        revalidador.shutdownNow();
+        execucaoRevalidacao.shutdownNow();
+    }
+
+    /**
+     * Obtém o valor da área/chave, buscando L1, depois L2 e por fim a origem.
+     *
+     * Se a origem falhar e houver um valor vencido dentro da janela de
+     * obsolescência, ele é devolvido e a thread é marcada com {@link ConteudoObsoleto}.
+     *
+     * @param area área do AISWEB
+     * @param chave chave dentro da área (normalmente o ICAO)
+     * @param tipo tipo do DTO, usado para desserializar o L2
+     * @param carregador busca na origem, chamado no máximo uma vez por chave em andamento
+     * @return o valor, ou null se a origem não retornou dados
+     */
+    public <T> T obter(AiswebCacheArea area, String chave, Class<T> tipo, Supplier<T> carregador) {
+        Regiao regiao = regioes.get(area);
+        regiao.registrarAcesso(chave);
+        EntradaCache entrada = regiao.l1.getIfPresent(chave);
+        if (entrada == null || !regiao.fresca(entrada)) {
+            entrada = coalescer.executar("cache:" + area.getChave(), chave,
+                () -> atualizar(regiao, chave, tipo, carregador));
+        }
+        if (entrada == null) {
+            return null;
+        }
+        if (!regiao.fresca(entrada)) {
+            ConteudoObsoleto.marcar(area.getChave(), entrada.idadeMillis(System.currentTimeMillis()));
+        }
+        return tipo.cast(entrada.valor());
+    }
+
+    /**
+     * Versão não bloqueante de {@link #obter}: mesmos níveis, TTL e fallback obsoleto.
+     *
+     * @param area área do AISWEB
+     * @param chave chave dentro da área (normalmente o ICAO)
+     * @param tipo tipo do DTO, usado para desserializar o L2
+     * @param carregador busca não bloqueante na origem
+     * @return o valor, ou null se a origem não retornou dados
+     */
+    public <T> Uni<T> obterReativo(AiswebCacheArea area, String chave, Class<T> tipo, Supplier<Uni<T>> carregador) {
+        return Uni.createFrom().deferred(() -> {
+            Regiao regiao = regioes.get(area);
+            regiao.registrarAcesso(chave);
+            EntradaCache emL1 = regiao.l1.getIfPresent(chave);
+            Uni<EntradaCache> entrada;
+            if (emL1 != null && regiao.fresca(emL1)) {
+                entrada = Uni.createFrom().item(emL1);
+            } else {
+                entrada = compartilharReativo(regiao, chave, () -> atualizarReativo(regiao, chave, tipo, carregador));
+            }
+            return entrada.map(e -> {
+                if (e == null) {
+                    return null;
+                }
+                if (!regiao.fresca(e)) {
+                    ConteudoObsoleto.marcar(area.getChave(), e.idadeMillis(System.currentTimeMillis()));
+                }
+                return tipo.cast(e.valor());
+            });
+        });
+    }
+
+    /**
+     * Remove uma chave dos dois níveis.
+     */
+    public void invalidar(AiswebCacheArea area, String chave) {
+        regioes.get(area).l1.invalidate(chave);
+        if (l2Habilitado) {
+            try {
+                redisDataSource.key(String.class).del(chaveRedis(area, chave));
+            } catch (Exception e) {
+                LOG.warnf("Falha ao invalidar L2 %s/%s: %s", area.getChave(), chave, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Recarrega a chave da origem mesmo que ainda esteja fresca (pré-aquecimento).
+     * Em caso de falha o valor atual é mantido.
+     *
+     * @return true se um valor novo foi gravado
+     */
+    public <T> boolean renovar(AiswebCacheArea area, String chave, Supplier<T> carregador) {
+        Regiao regiao = regioes.get(area);
+        EntradaCache entrada = coalescer.executar("cache:" + area.getChave(), chave, () -> {
+            long inicio = System.nanoTime();
+            try {
+                T valor = carregador.get();
+                regiao.cargasOrigem.increment();
+                if (valor == null) {
+                    return null;
+                }
+                EntradaCache nova = new EntradaCache(valor, System.currentTimeMillis());
+                regiao.l1.put(chave, nova);
+                gravarL2(regiao, chave, nova);
+                return nova;
+            } catch (RuntimeException e) {
+                regiao.falhasOrigem.increment();
+                LOG.debugf("Renovação de %s/%s falhou: %s", area.getChave(), chave, e.getMessage());
+                return null;
+            } finally {
+                regiao.tempoCargaNanos.add(System.nanoTime() - inicio);
+            }
+        });
+        return entrada != null && regiao.fresca(entrada);
+    }
+
+    /**
+     * Quanto falta para a chave vencer no L1, sem contar como acesso.
+     *
+     * @return tempo restante (negativo se já venceu), ou null se a chave não está no L1
+     */
+    public Duration frescorRestante(AiswebCacheArea area, String chave) {
+        Regiao regiao = regioes.get(area);
+        EntradaCache entrada = regiao.l1.policy().getIfPresentQuietly(chave);
+        if (entrada == null) {
+            return null;
+        }
+        return regiao.ttl.minusMillis(entrada.idadeMillis(System.currentTimeMillis()));
+    }
+
+    /**
+     * Contagem de acessos por chave na área, com decaimento (ver {@link #decairAcessos()}).
+     */
+    public Map<String, Long> acessos(AiswebCacheArea area) {
+        Map<String, Long> copia = new LinkedHashMap<>();
+        regioes.get(area).acessos.forEach((chave, contador) -> copia.put(chave, contador.get()));
+        return copia;
+    }
+
+    /**
+     * Divide todas as contagens de acesso por dois, para que a popularidade
+     * acompanhe o tráfego recente. Chaves zeradas saem do mapa.
+     */
+    public void decairAcessos() {
+        for (Regiao regiao : regioes.values()) {
+            regiao.acessos.entrySet().removeIf(e -> e.getValue().updateAndGet(v -> v / 2) == 0);
+        }
+    }
+
+    /**
+     * TTL efetivo configurado para a área.
+     */
+    public Duration ttl(AiswebCacheArea area) {
+        return regioes.get(area).ttl;
+    }
+
+    /**
+     * Métricas de acerto, falta e tempo de carga por área.
+     */
+    public Map<String, Map<String, Object>> estatisticas() {
+        Map<String, Map<String, Object>> resultado = new LinkedHashMap<>();
+        for (Regiao regiao : regioes.values()) {
+            CacheStats stats = regiao.l1.stats();
+            long cargasOrigem = regiao.cargasOrigem.sum();
+            Map<String, Object> area = new LinkedHashMap<>();
+            area.put("ttlSegundos", regiao.ttl.toSeconds());
+            area.put("tamanhoL1", regiao.l1.estimatedSize());
+            area.put("acertosL1", stats.hitCount());
+            area.put("faltasL1", stats.missCount());
+            area.put("taxaAcertoL1", stats.hitRate());
+            area.put("acertosL2", regiao.acertosL2.sum());
+            area.put("cargasOrigem", cargasOrigem);
+            area.put("falhasOrigem", regiao.falhasOrigem.sum());
+            area.put("servidosObsoletos", regiao.servidosObsoletos.sum());
+            area.put("tempoMedioCargaMs", cargasOrigem == 0 ? 0.0
+                : TimeUnit.NANOSECONDS.toMicros(regiao.tempoCargaNanos.sum()) / 1000.0 / cargasOrigem);
+            area.put("remocoes", stats.evictionCount());
+            resultado.put(regiao.area.getChave(), area);
+        }
+        return resultado;
+    }
+
+    /**
+     * Atualiza a chave a partir do L2 ou da origem. Com a origem fora, devolve o
+     * melhor valor vencido disponível e agenda uma revalidação.
+     */
+    private <T> EntradaCache atualizar(Regiao regiao, String chave, Class<T> tipo, Supplier<T> carregador) {
+        // Outro chamador pode ter acabado de atualizar
+        EntradaCache emL1 = regiao.l1.getIfPresent(chave);
+        if (emL1 != null && regiao.fresca(emL1)) {
+            return emL1;
+        }
+
+        EntradaCache doL2 = lerL2(regiao, chave, tipo);
+        if (doL2 != null && regiao.fresca(doL2)) {
+            regiao.acertosL2.increment();
+            regiao.l1.put(chave, doL2);
+            return doL2;
+        }
+        EntradaCache obsoleta = maisRecente(emL1, doL2);
+
+        long inicio = System.nanoTime();
+        T valor;
+        try {
+            valor = carregador.get();
+        } catch (RuntimeException e) {
+            regiao.falhasOrigem.increment();
+            if (obsoleta == null) {
+                throw e;
+            }
+            servirObsoleta(regiao, chave, obsoleta, e);
+            agendarRevalidacao(regiao, chave, tipo, carregador);
+            return obsoleta;
+        } finally {
+            regiao.tempoCargaNanos.add(System.nanoTime() - inicio);
+        }
+        regiao.cargasOrigem.increment();
+
+        if (valor == null) {
+            return null;
+        }
+        EntradaCache entrada = new EntradaCache(valor, System.currentTimeMillis());
+        regiao.l1.put(chave, entrada);
+        gravarL2(regiao, chave, entrada);
+        return entrada;
+    }
+
+    private <T> Uni<EntradaCache> atualizarReativo(Regiao regiao, String chave, Class<T> tipo,
+                                                   Supplier<Uni<T>> carregador) {
+        EntradaCache emL1 = regiao.l1.getIfPresent(chave);
+        if (emL1 != null && regiao.fresca(emL1)) {
+            return Uni.createFrom().item(emL1);
+        }
+
+        return lerL2Reativo(regiao, chave, tipo).chain(doL2 -> {
+            if (doL2 != null && regiao.fresca(doL2)) {
+                regiao.acertosL2.increment();
+                regiao.l1.put(chave, doL2);
+                return Uni.createFrom().item(doL2);
+            }
+            EntradaCache obsoleta = maisRecente(emL1, doL2);
+
+            long inicio = System.nanoTime();
+            return carregador.get()
+                .onItemOrFailure().invoke((valor, erro) -> regiao.tempoCargaNanos.add(System.nanoTime() - inicio))
+                .map(valor -> {
+                    regiao.cargasOrigem.increment();
+                    if (valor == null) {
+                        return null;
+                    }
+                    EntradaCache entrada = new EntradaCache(valor, System.currentTimeMillis());
+                    regiao.l1.put(chave, entrada);
+                    gravarL2Reativo(regiao, chave, entrada);
+                    return entrada;
+                })
+                .onFailure().recoverWithUni(e -> {
+                    regiao.falhasOrigem.increment();
+                    if (obsoleta == null) {
+                        return Uni.createFrom().failure(e);
+                    }
+                    servirObsoleta(regiao, chave, obsoleta, e);
+                    agendarRevalidacaoReativa(regiao, chave, tipo, carregador);
+                    return Uni.createFrom().item(obsoleta);
+                });
+        });
+    }
+
+    /**
+     * Coalescência do caminho reativo: o primeiro assinante dispara a carga e os
+     * demais recebem o mesmo resultado, de volta no seu próprio contexto Vert.x.
+     */
+    private Uni<EntradaCache> compartilharReativo(Regiao regiao, String chave, Supplier<Uni<EntradaCache>> carga) {
+        String id = regiao.area.getChave() + ":" + chave;
+        CompletableFuture<EntradaCache> nova = new CompletableFuture<>();
+        CompletableFuture<EntradaCache> existente = reativosEmAndamento.putIfAbsent(id, nova);
+        if (existente == null) {
+            existente = nova;
+            carga.get().subscribe().with(
+                entrada -> {
+                    reativosEmAndamento.remove(id, nova);
+                    nova.complete(entrada);
+                },
+                erro -> {
+                    reativosEmAndamento.remove(id, nova);
+                    nova.completeExceptionally(erro);
+                });
+        }
+        Uni<EntradaCache> resultado = Uni.createFrom().completionStage(existente);
+        Context contexto = Vertx.currentContext();
+        return contexto == null ? resultado
+            : resultado.emitOn(tarefa -> contexto.runOnContext(ignorado -> tarefa.run()));
+    }
+
+    private void servirObsoleta(Regiao regiao, String chave, EntradaCache obsoleta, Throwable erro) {
+        regiao.servidosObsoletos.increment();
+        LOG.warnf("AISWEB %s/%s indisponível (%s); servindo valor de %d s atrás",
+            regiao.area.getChave(), chave, erro.getMessage(),
+            TimeUnit.MILLISECONDS.toSeconds(obsoleta.idadeMillis(System.currentTimeMillis())));
+        regiao.l1.put(chave, obsoleta);
+    }
+
+    /**
+     * Agenda (uma vez por chave) uma nova tentativa em segundo plano. Se o
+     * circuito da área ainda estiver aberto a tentativa falha na hora e outra é
+     * agendada; quando ele entra em meio-aberto, esta é a chamada de prova.
+     * A carga bloqueante roda no pool de revalidação, não na thread do agendador.
+     */
+    private <T> void agendarRevalidacao(Regiao regiao, String chave, Class<T> tipo, Supplier<T> carregador) {
+        agendar(regiao, chave, id -> execucaoRevalidacao.execute(() -> {
+            try {
+                coalescer.executar("cache:" + regiao.area.getChave(), chave,
+                    () -> atualizar(regiao, chave, tipo, carregador));
+            } catch (Exception e) {
+                LOG.debugf("Revalidação de %s falhou: %s", id, e.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * Como {@link #agendarRevalidacao}, para carregadores reativos: a carga é
+     * assinada sem bloquear a thread do agendador.
+     */
+    private <T> void agendarRevalidacaoReativa(Regiao regiao, String chave, Class<T> tipo,
+                                               Supplier<Uni<T>> carregador) {
+        agendar(regiao, chave, id -> compartilharReativo(regiao, chave,
+                () -> atualizarReativo(regiao, chave, tipo, carregador))
+            .subscribe().with(
+                entrada -> { },
+                erro -> LOG.debugf("Revalidação de %s falhou: %s", id, erro.getMessage())));
+    }
+
+    private void agendar(Regiao regiao, String chave, Consumer<String> disparo) {
+        String id = regiao.area.getChave() + ":" + chave;
+        if (!revalidacoesAgendadas.add(id)) {
+            return;
+        }
+        try {
+            revalidador.schedule(() -> {
+                revalidacoesAgendadas.remove(id);
+                try {
+                    disparo.accept(id);
+                } catch (RejectedExecutionException e) {
+                    // Pool saturado: o próximo acesso ao valor vencido agenda de novo
+                    LOG.debugf("Revalidação de %s descartada: pool de revalidação cheio", id);
+                }
+            }, atrasoRevalidacao.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            revalidacoesAgendadas.remove(id);
+        }
+    }
+
+    private static EntradaCache maisRecente(EntradaCache a, EntradaCache b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.carregadoEmMillis() >= b.carregadoEmMillis() ? a : b;
+    }
+
+    private <T> EntradaCache lerL2(Regiao regiao, String chave, Class<T> tipo) {
+        if (!l2Habilitado) {
+            return null;
+        }
+        try {
+            return decodificarL2(regiao, valores().get(chaveRedis(regiao.area, chave)), tipo);
+        } catch (Exception e) {
+            LOG.warnf("Falha ao ler L2 %s/%s: %s", regiao.area.getChave(), chave, e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> Uni<EntradaCache> lerL2Reativo(Regiao regiao, String chave, Class<T> tipo) {
+        if (!l2Habilitado) {
+            return Uni.createFrom().nullItem();
+        }
+        return valoresReativos().get(chaveRedis(regiao.area, chave))
+            .map(bruto -> {
+                try {
+                    return decodificarL2(regiao, bruto, tipo);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            })
+            .onFailure().recoverWithItem(e -> {
+                LOG.warnf("Falha ao ler L2 %s/%s: %s", regiao.area.getChave(), chave, e.getMessage());
+                return null;
+            });
+    }
+
+    private <T> EntradaCache decodificarL2(Regiao regiao, String bruto, Class<T> tipo) throws Exception {
+        if (bruto == null) {
+            return null;
+        }
+        int separador = bruto.indexOf('|');
+        long carregadoEm = Long.parseLong(bruto.substring(0, separador));
+        if (carregadoEm + regiao.retencao.toMillis() <= System.currentTimeMillis()) {
+            return null;
+        }
+        T valor = objectMapper.readValue(bruto.substring(separador + 1), tipo);
+        return new EntradaCache(valor, carregadoEm);
+    }
+
+    private void gravarL2(Regiao regiao, String chave, EntradaCache entrada) {
+        if (!l2Habilitado) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(entrada.valor());
+            valores().setex(chaveRedis(regiao.area, chave), regiao.retencao.toSeconds(),
+                entrada.carregadoEmMillis() + "|" + json);
+        } catch (Exception e) {
+            LOG.warnf("Falha ao gravar L2 %s/%s: %s", regiao.area.getChave(), chave, e.getMessage());
+        }
+    }
+
+    private void gravarL2Reativo(Regiao regiao, String chave, EntradaCache entrada) {
+        if (!l2Habilitado) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(entrada.valor());
+        } catch (Exception e) {
+            LOG.warnf("Falha ao gravar L2 %s/%s: %s", regiao.area.getChave(), chave, e.getMessage());
+            return;
+        }
+        valoresReativos().setex(chaveRedis(regiao.area, chave), regiao.retencao.toSeconds(),
+                entrada.carregadoEmMillis() + "|" + json)
+            .subscribe().with(
+                ok -> { },
+                e -> LOG.warnf("Falha ao gravar L2 %s/%s: %s", regiao.area.getChave(), chave, e.getMessage()));
+    }
+
+    private ReactiveValueCommands<String, String> valoresReativos() {
+        if (reactiveValueCommands == null) {
+            reactiveValueCommands = reactiveRedisDataSource.value(String.class, String.class);
+        }
+        return reactiveValueCommands;
+    }
+
+    private ValueCommands<String, String> valores() {
+        if (valueCommands == null) {
+            valueCommands = redisDataSource.value(String.class, String.class);
+        }
+        return valueCommands;
+    }
+
+    private static String chaveRedis(AiswebCacheArea area, String chave) {
+        return PREFIXO_REDIS + area.getChave() + ":" + chave;
+    }
+
+    /**
+     * Cache L1 e contadores de uma área.
+     */
+    private static final class Regiao {
+        // Limite de chaves distintas com contagem de acesso (o catálogo tem poucos milhares de ICAOs)
+        private static final int MAX_CHAVES_ACESSO = 10_000;
+
+        final AiswebCacheArea area;
+        final Duration ttl;
+        final Duration retencao;
+        final Cache<String, EntradaCache> l1;
+        final LongAdder acertosL2 = new LongAdder();
+        final LongAdder cargasOrigem = new LongAdder();
+        final LongAdder falhasOrigem = new LongAdder();
+        final LongAdder servidosObsoletos = new LongAdder();
+        final LongAdder tempoCargaNanos = new LongAdder();
+        final Map<String, AtomicLong> acessos = new ConcurrentHashMap<>();
+
+        Regiao(AiswebCacheArea area, Duration ttl, Duration obsolescencia, long maxEntradas) {
+            this.area = area;
+            this.ttl = ttl;
+            this.retencao = ttl.plus(obsolescencia);
+            long retencaoMillis = retencao.toMillis();
+            this.l1 = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfter(new Expiry<String, EntradaCache>() {
+                    @Override
+                    public long expireAfterCreate(String chave, EntradaCache entrada, long agora) {
+                        return restanteNanos(entrada);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, EntradaCache entrada, long agora, long duracaoAtual) {
+                        return restanteNanos(entrada);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, EntradaCache entrada, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+
+                    private long restanteNanos(EntradaCache entrada) {
+                        long restante = entrada.carregadoEmMillis() + retencaoMillis - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restante));
+                    }
+                })
+                .recordStats()
+                .build();
+        }
+
+        void registrarAcesso(String chave) {
+            AtomicLong contador = acessos.get(chave);
+            if (contador == null) {
+                if (acessos.size() >= MAX_CHAVES_ACESSO) {
+                    return;
+                }
+                contador = acessos.computeIfAbsent(chave, c -> new AtomicLong());
+            }
+            contador.incrementAndGet();
+        }
+
+        boolean fresca(EntradaCache entrada) {
+            return entrada.idadeMillis(System.currentTimeMillis()) < ttl.toMillis();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.cache;
+
+import java.time.Duration;
+
+/**
+ * Áreas do AISWEB que possuem cache próprio, com TTL padrão de cada uma.
+ *
+ * O TTL pode ser sobrescrito por configuração em {@code aisweb.cache.ttl.<chave>}.
+ * Dados de ciclo AIRAC (ROTAER, cartas, AIP/AIXM) vivem dias; dados operacionais
+ * (METAR/TAF, NOTAM, INFOTEMP) vivem minutos.
+ */
+public enum AiswebCacheArea {
+
+    ROTAER("rotaer", Duration.ofDays(3)),
+    CARTAS("cartas", Duration.ofDays(3)),
+    SUPLEMENTOS("suplementos", Duration.ofHours(6)),
+    PUB_AIP("pub-aip", Duration.ofDays(3)),
+    PUB_AIXM("pub-aixm", Duration.ofDays(3)),
+    NOTAM("notam", Duration.ofMinutes(15)),
+    INFOTEMP("infotemp", Duration.ofMinutes(30)),
+    MET("met", Duration.ofMinutes(5)),
+    SOL("sol", Duration.ofHours(6));
+
+    private final String chave;
+    private final Duration ttlPadrao;
+
+    AiswebCacheArea(String chave, Duration ttlPadrao) {
+        this.chave = chave;
+        this.ttlPadrao = ttlPadrao;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public Duration getTtlPadrao() {
+        return ttlPadrao;
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas concorrentes ao AISWEB (single-flight).
+ *
+ * Chamadores simultâneos com a mesma chave (área, ICAO, parâmetros) compartilham
+ * uma única busca em andamento: o primeiro executa a chamada na própria thread e
+ * os demais aguardam o mesmo resultado ou a mesma exceção. Nada é guardado depois
+ * que a chamada termina; para reaproveitar resultados use {@link AiswebCache}.
+ *
+ * A chamada compartilhada é sempre concluída (inclusive com {@link Error}) e
+ * sai do mapa; quem aguarda espera no máximo {@code aisweb.coalescer.wait-timeout}.
+ */
+@ApplicationScoped
+public class AiswebRequestCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+    private final LongAdder executadas = new LongAdder();
+    private final LongAdder compartilhadas = new LongAdder();
+    private final LongAdder esperasEsgotadas = new LongAdder();
+
+    @ConfigProperty(name = "aisweb.coalescer.wait-timeout", defaultValue = "30s")
+    Duration tempoMaximoEspera;
+
+    /**
+     * Executa a chamada ou se junta a uma chamada idêntica já em andamento.
+     *
+     * @param area área do AISWEB (ex.: "met", "notam")
+     * @param chave ICAO e parâmetros que identificam a chamada
+     * @param chamada busca na origem
+     * @return resultado compartilhado
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String area, String chave, Supplier<T> chamada) {
+        String k = area + ":" + chave;
+        CompletableFuture<Object> nova = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emAndamento.putIfAbsent(k, nova);
+        if (existente != null) {
+            compartilhadas.increment();
+            return (T) aguardar(k, existente);
+        }
+
+        executadas.increment();
+        try {
+            T valor = chamada.get();
+            nova.complete(valor);
+            return valor;
+        } catch (Throwable e) {
+            // Error também: sem isso quem está aguardando ficaria preso
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(k, nova);
+        }
+    }
+
+    /**
+     * Contadores de chamadas executadas na origem e compartilhadas.
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("emAndamento", emAndamento.size());
+        stats.put("executadas", executadas.sum());
+        stats.put("compartilhadas", compartilhadas.sum());
+        stats.put("esperasEsgotadas", esperasEsgotadas.sum());
+        return stats;
+    }
+
+    private Object aguardar(String chave, CompletableFuture<Object> futuro) {
+        try {
+            return futuro.get(tempoMaximoEspera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(causa);
+        } catch (TimeoutException e) {
+            esperasEsgotadas.increment();
+            throw new IllegalStateException("Tempo esgotado aguardando chamada em andamento: " + chave, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando chamada em andamento: " + chave, e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.cache;
+
+import io.smallrye.common.vertx.ContextLocals;
+import io.smallrye.common.vertx.VertxContext;
+
+/**
+ * Marca, na requisição atual, que um valor servido pelo {@link AiswebCache} estava
+ * vencido (stale) porque o AISWEB não respondeu.
+ *
+ * O cache marca; quem monta a resposta consome a marca (ex.: filtro HTTP que
+ * adiciona os cabeçalhos de conteúdo obsoleto, ou as etapas do endpoint full).
+ * Se vários valores obsoletos forem servidos, fica a maior idade.
+ *
+ * Dentro de uma requisição HTTP a marca vive no contexto duplicado do Vert.x,
+ * que acompanha a requisição entre o event loop e o worker (endpoints
+ * reativos continuam em outra thread depois da chamada ao AISWEB). Fora dele
+ * (pools próprios, scheduler) fica em um ThreadLocal.
+ *
+ * @param area área do AISWEB de origem
+ * @param idadeMillis idade do valor servido
+ */
+public record ConteudoObsoleto(String area, long idadeMillis) {
+
+    private static final String CHAVE_CONTEXTO = ConteudoObsoleto.class.getName();
+    private static final ThreadLocal<ConteudoObsoleto> ATUAL = new ThreadLocal<>();
+
+    /**
+     * Registra que um valor obsoleto foi servido nesta requisição/thread.
+     */
+    public static void marcar(String area, long idadeMillis) {
+        ConteudoObsoleto atual = atual();
+        if (atual == null || idadeMillis > atual.idadeMillis()) {
+            ConteudoObsoleto nova = new ConteudoObsoleto(area, idadeMillis);
+            if (VertxContext.isOnDuplicatedContext()) {
+                ContextLocals.put(CHAVE_CONTEXTO, nova);
+            } else {
+                ATUAL.set(nova);
+            }
+        }
+    }
+
+    /**
+     * Devolve e limpa a marca desta requisição/thread.
+     *
+     * @return a marca, ou null se nada obsoleto foi servido
+     */
+    public static ConteudoObsoleto consumir() {
+        ConteudoObsoleto atual = atual();
+        ATUAL.remove();
+        if (VertxContext.isOnDuplicatedContext()) {
+            ContextLocals.remove(CHAVE_CONTEXTO);
+        }
+        return atual;
+    }
+
+    private static ConteudoObsoleto atual() {
+        ConteudoObsoleto local = ATUAL.get();
+        if (VertxContext.isOnDuplicatedContext()) {
+            ConteudoObsoleto doContexto = ContextLocals.<ConteudoObsoleto>get(CHAVE_CONTEXTO).orElse(null);
+            if (local == null || (doContexto != null && doContexto.idadeMillis() > local.idadeMillis())) {
+                return doContexto;
+            }
+        }
+        return local;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.cache;
+
+/**
+ * Valor em cache junto com o instante em que foi carregado do AISWEB.
+ *
+ * @param valor DTO já parseado
+ * @param carregadoEmMillis epoch millis do carregamento na origem
+ */
+public record EntradaCache(Object valor, long carregadoEmMillis) {
+
+    /**
+     * Idade da entrada em milissegundos.
+     */
+    public long idadeMillis(long agoraMillis) {
+        return Math.max(0, agoraMillis - carregadoEmMillis);
+    }
+}
@@ -45,6 +45,32 @@ public class MetTafParser {
     private static final Pattern PTN_TEMPO = Pattern.compile("\\bTEMPO\\s+(\\d{4})/(\\d{4})\\s+(.+?)(?=\\s+(?:BECMG|TEMPO|PROB|RMK|$))");
     private static final Pattern PTN_PROB = Pattern.compile("\\bPROB(\\d{2})\\s+(\\d{4})/(\\d{4})\\s+(.+?)(?=\\s+(?:BECMG|TEMPO|PROB|RMK|$))");
 
+    // Padrões para extrair as mensagens brutas do XML
+    private static final Pattern PTN_METAR_RAW = Pattern.compile("METAR[^=]+=");
+    private static final Pattern PTN_TAF_RAW = Pattern.compile("TAF[^=]+=");
+
+    /**
+     * METAR e TAF extraídos de uma mesma resposta da área "met".
+     */
+    public record MetTaf(MetarDto metar, TafDto taf) {}
+
+    /**
+     * Extrai METAR e TAF de uma única resposta XML, montando o DOM uma só vez.
+     *
+     * @param xml resposta da área "met" do AISWEB
+     * @return METAR e TAF (cada um pode ser null)
+     */
+    public MetTaf parseMetTaf(String xml) {
+        if (xml == null || xml.trim().isEmpty()) {
+            return new MetTaf(null, null);
+        }
+        Document doc = createDocumentQuietly(xml);
+        return new MetTaf(
+            metarFromText(extractMetarText(xml, doc)),
+            tafFromText(extractTafText(xml, doc))
+        );
+    }
+
     public MetarDto parseMetar(String xml) {
         if (xml == null || xml.trim().isEmpty()) {
             System.out.println("❌ [METAR-PARSER] XML é null ou vazio");
@@ -52,7 +78,10 @@ public class MetTafParser {
         }
 
         // Extrair texto METAR do XML
-        String metarText = extractMetarText(xml);
+        return metarFromText(extractMetarText(xml, null));
+    }
+
+    private MetarDto metarFromText(String metarText) {
         if (metarText == null || metarText.trim().isEmpty()) {
             return null;
         }
@@ -91,7 +120,10 @@ public class MetTafParser {
         }
 
         // Extrair texto TAF do XML
-        String tafText = extractTafText(xml);
+        return tafFromText(extractTafText(xml, createDocumentQuietly(xml)));
+    }
+
+    private TafDto tafFromText(String tafText) {
         if (tafText == null || tafText.trim().isEmpty()) {
             return null;
         }
@@ -112,22 +144,31 @@ public class MetTafParser {
     }
 
     // Métodos auxiliares para extrair textos do XML
-    private String extractMetarText(String xml) {
+    private Document createDocumentQuietly(String xml) {
+        try {
+            return XmlUtils.createDocument(xml);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String extractMetarText(String xml, Document doc) {
         if (xml == null || xml.trim().isEmpty()) {
             return null;
         }
         
         try {
             // Primeiro, tentar buscar por padrão METAR no texto (mais confiável)
-            Pattern metarPattern = Pattern.compile("METAR[^=]+=");
-            Matcher matcher = metarPattern.matcher(xml);
+            Matcher matcher = PTN_METAR_RAW.matcher(xml);
             if (matcher.find()) {
                 String metarText = matcher.group(0).replace("=", "").trim();
                 return metarText;
             }
             
-            // Fallback: tentar parsear XML
-            Document doc = XmlUtils.createDocument(xml);
+            // Fallback: usar o XML parseado
+            if (doc == null) {
+                doc = XmlUtils.createDocument(xml);
+            }
             NodeList metarNodes = doc.getElementsByTagName("metar");
             if (metarNodes.getLength() > 0) {
                 String metarText = metarNodes.item(0).getTextContent().trim();
@@ -152,20 +193,18 @@ public class MetTafParser {
         return null;
     }
 
-    private String extractTafText(String xml) {
-        try {
-            Document doc = XmlUtils.createDocument(xml);
+    private String extractTafText(String xml, Document doc) {
+        if (doc != null) {
             NodeList tafNodes = doc.getElementsByTagName("taf");
             if (tafNodes.getLength() > 0) {
                 return tafNodes.item(0).getTextContent();
             }
-        } catch (Exception e) {
-            // Fallback: buscar por padrão TAF no texto
-            Pattern tafPattern = Pattern.compile("TAF[^=]+=");
-            Matcher matcher = tafPattern.matcher(xml);
-            if (matcher.find()) {
-                return matcher.group(0).replace("=", "");
-            }
+            return null;
+        }
+        // Fallback: XML inválido, buscar por padrão TAF no texto
+        Matcher matcher = PTN_TAF_RAW.matcher(xml);
+        if (matcher.find()) {
+            return matcher.group(0).replace("=", "");
         }
         return null;
     }
@@ -0,0 +1,380 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.parser;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tokenizador de mensagens METAR/TAF brutas em grupos classificados.
+ *
+ * Uma única passada pela mensagem: o {@link Cursor} recorta os tokens sob
+ * demanda (sem split por regex) e uma máquina de estados segue a ordem dos
+ * grupos de cada mensagem, classificando cada token com verificações feitas à
+ * mão, caractere a caractere. Nenhuma regex é compilada ou executada.
+ *
+ * Tokens fora da posição esperada são descartados, como na decodificação
+ * anterior (ex.: um tempo presente depois das temperaturas do TAF).
+ */
+@ApplicationScoped
+public class MetTafTokenizer {
+
+    /**
+     * Tipos de grupo reconhecidos.
+     */
+    public enum TipoGrupo {
+        METAR, SPECI, TAF, AERODROMO, DATA_HORA, AUTO, COR, NIL,
+        VENTO, VENTO_VARIAVEL, VENTO_INDISPONIVEL, VISIBILIDADE, TEMPO_PRESENTE, NUVEM,
+        TEMPERATURA, PRESSAO, VALIDADE, TEMPERATURA_PREVISTA, TENDENCIA, RMK, OBSERVACAO
+    }
+
+    /**
+     * Grupo de uma mensagem. {@code complemento} é a variação de direção do
+     * vento (dddVddd) ou o período de uma tendência (ddhh/ddhh), quando houver.
+     */
+    public record Grupo(TipoGrupo tipo, String texto, String complemento) {
+
+        Grupo(TipoGrupo tipo, String texto) {
+            this(tipo, texto, null);
+        }
+    }
+
+    /**
+     * Grupos de um METAR/SPECI, na ordem da mensagem.
+     */
+    public List<Grupo> tokenizarMetar(String raw) {
+        List<Grupo> grupos = new ArrayList<>(24);
+        Cursor c = new Cursor(raw);
+
+        // Tipo e aeródromo ocupam sempre as duas primeiras posições
+        String token = c.proximo();
+        if ("METAR".equals(token)) {
+            grupos.add(new Grupo(TipoGrupo.METAR, token));
+        } else if ("SPECI".equals(token)) {
+            grupos.add(new Grupo(TipoGrupo.SPECI, token));
+        }
+        token = c.proximo();
+        if (token != null) {
+            grupos.add(new Grupo(TipoGrupo.AERODROMO, token));
+        }
+        token = c.proximo();
+        if (token != null && ehDataHora(token)) {
+            grupos.add(new Grupo(TipoGrupo.DATA_HORA, token));
+        }
+
+        token = c.espiar();
+        if ("AUTO".equals(token)) {
+            grupos.add(new Grupo(TipoGrupo.AUTO, c.proximo()));
+        } else if ("COR".equals(token)) {
+            grupos.add(new Grupo(TipoGrupo.COR, c.proximo()));
+        } else if ("NIL".equals(token)) {
+            grupos.add(new Grupo(TipoGrupo.NIL, c.proximo()));
+        }
+
+        token = c.espiar();
+        if (token != null) {
+            if (ehVento(token)) {
+                c.proximo();
+                String variacao = c.espiar();
+                if (variacao != null && ehVariacaoVento(variacao)) {
+                    c.proximo();
+                } else {
+                    variacao = null;
+                }
+                grupos.add(new Grupo(TipoGrupo.VENTO, token, variacao));
+            } else if (ehVentoVariavel(token)) {
+                grupos.add(new Grupo(TipoGrupo.VENTO_VARIAVEL, c.proximo()));
+            } else if ("/////KT".equals(token)) {
+                grupos.add(new Grupo(TipoGrupo.VENTO_INDISPONIVEL, c.proximo()));
+            }
+        }
+
+        token = c.espiar();
+        if (token != null && ehVisibilidade(token)) {
+            grupos.add(new Grupo(TipoGrupo.VISIBILIDADE, c.proximo()));
+        }
+        while ((token = c.espiar()) != null && ehTempoPresente(token)) {
+            grupos.add(new Grupo(TipoGrupo.TEMPO_PRESENTE, c.proximo()));
+        }
+        while ((token = c.espiar()) != null && ehNuvem(token)) {
+            grupos.add(new Grupo(TipoGrupo.NUVEM, c.proximo()));
+        }
+        token = c.espiar();
+        if (token != null && ehTemperatura(token)) {
+            grupos.add(new Grupo(TipoGrupo.TEMPERATURA, c.proximo()));
+        }
+        token = c.espiar();
+        if (token != null && ehPressao(token)) {
+            grupos.add(new Grupo(TipoGrupo.PRESSAO, c.proximo()));
+        }
+
+        // O restante (tendências, RMK etc.) segue como está
+        while ((token = c.proximo()) != null) {
+            grupos.add(new Grupo(TipoGrupo.OBSERVACAO, token));
+        }
+        return grupos;
+    }
+
+    /**
+     * Grupos de um TAF, na ordem da mensagem. Os grupos depois de cada
+     * {@link TipoGrupo#TENDENCIA} pertencem a ela, até a próxima tendência ou RMK.
+     */
+    public List<Grupo> tokenizarTaf(String raw) {
+        List<Grupo> grupos = new ArrayList<>(32);
+        Cursor c = new Cursor(raw);
+
+        String token = c.espiar();
+        if ("TAF".equals(token)) {
+            grupos.add(new Grupo(TipoGrupo.TAF, c.proximo()));
+        }
+        token = c.proximo();
+        if (token != null) {
+            grupos.add(new Grupo(TipoGrupo.AERODROMO, token));
+        }
+        token = c.proximo();
+        if (token != null && ehDataHora(token)) {
+            grupos.add(new Grupo(TipoGrupo.DATA_HORA, token));
+        }
+        token = c.proximo();
+        if (token != null && ehPeriodo(token)) {
+            grupos.add(new Grupo(TipoGrupo.VALIDADE, token));
+        }
+
+        token = c.espiar();
+        if (token != null) {
+            if (ehVento(token)) {
+                grupos.add(new Grupo(TipoGrupo.VENTO, c.proximo()));
+            } else if (ehVentoVariavel(token)) {
+                grupos.add(new Grupo(TipoGrupo.VENTO_VARIAVEL, c.proximo()));
+            }
+        }
+        token = c.espiar();
+        if (token != null && ehVisibilidade(token)) {
+            grupos.add(new Grupo(TipoGrupo.VISIBILIDADE, c.proximo()));
+        }
+        while ((token = c.espiar()) != null && ehTempoPresente(token)) {
+            grupos.add(new Grupo(TipoGrupo.TEMPO_PRESENTE, c.proximo()));
+        }
+        while ((token = c.espiar()) != null && ehNuvem(token)) {
+            grupos.add(new Grupo(TipoGrupo.NUVEM, c.proximo()));
+        }
+        while ((token = c.espiar()) != null && ehTemperaturaPrevista(token)) {
+            grupos.add(new Grupo(TipoGrupo.TEMPERATURA_PREVISTA, c.proximo()));
+        }
+
+        while ((token = c.proximo()) != null) {
+            if (ehTendencia(token)) {
+                tokenizarTendencia(token, c, grupos);
+            } else if ("RMK".equals(token)) {
+                grupos.add(new Grupo(TipoGrupo.RMK, token));
+                while ((token = c.proximo()) != null) {
+                    grupos.add(new Grupo(TipoGrupo.OBSERVACAO, token));
+                }
+            }
+            // Demais tokens fora de tendência são ignorados
+        }
+        return grupos;
+    }
+
+    /**
+     * Tendência e suas condições, até a próxima tendência ou RMK (que ficam no cursor).
+     */
+    private static void tokenizarTendencia(String tendencia, Cursor c, List<Grupo> grupos) {
+        String periodo = null;
+        if (tendencia.startsWith("BECMG") || tendencia.startsWith("TEMPO") || tendencia.startsWith("PROB")) {
+            String proximo = c.espiar();
+            if (proximo != null && ehPeriodo(proximo)) {
+                periodo = c.proximo();
+            }
+        }
+        grupos.add(new Grupo(TipoGrupo.TENDENCIA, tendencia, periodo));
+
+        String token;
+        while ((token = c.espiar()) != null && !ehTendencia(token) && !"RMK".equals(token)) {
+            c.proximo();
+            if (ehVento(token)) {
+                grupos.add(new Grupo(TipoGrupo.VENTO, token));
+            } else if (ehVisibilidade(token)) {
+                grupos.add(new Grupo(TipoGrupo.VISIBILIDADE, token));
+            } else if (ehTempoPresente(token)) {
+                grupos.add(new Grupo(TipoGrupo.TEMPO_PRESENTE, token));
+            } else if (ehNuvem(token)) {
+                grupos.add(new Grupo(TipoGrupo.NUVEM, token));
+            } else if (ehTemperaturaPrevista(token)) {
+                grupos.add(new Grupo(TipoGrupo.TEMPERATURA_PREVISTA, token));
+            }
+        }
+    }
+
+    // --- Classificação (equivalente às regex anteriores) ---------------------
+
+    /** {@code \d{6}Z} */
+    static boolean ehDataHora(String s) {
+        return s.length() == 7 && digitos(s, 0, 6) && s.charAt(6) == 'Z';
+    }
+
+    /** {@code \d{3}\d{2}G?\d{0,2}KT} */
+    static boolean ehVento(String s) {
+        int n = s.length();
+        if (n < 7 || !digitos(s, 0, 5) || s.charAt(n - 2) != 'K' || s.charAt(n - 1) != 'T') {
+            return false;
+        }
+        int i = 5;
+        if (s.charAt(i) == 'G') {
+            i++;
+        }
+        int rajada = n - 2 - i;
+        return rajada >= 0 && rajada <= 2 && digitos(s, i, n - 2);
+    }
+
+    /** VRB seguido da velocidade */
+    static boolean ehVentoVariavel(String s) {
+        return s.length() >= 5 && s.startsWith("VRB");
+    }
+
+    /** {@code \d{3}V\d{3}} */
+    static boolean ehVariacaoVento(String s) {
+        return s.length() == 7 && digitos(s, 0, 3) && s.charAt(3) == 'V' && digitos(s, 4, 7);
+    }
+
+    /** {@code \d{4}}, {@code \d{2}SM}, CAVOK ou //// */
+    static boolean ehVisibilidade(String s) {
+        return s.length() == 4 && (digitos(s, 0, 4) || "////".equals(s)
+                || (digitos(s, 0, 2) && s.charAt(2) == 'S' && s.charAt(3) == 'M'))
+            || "CAVOK".equals(s);
+    }
+
+    /** {@code [+-]?[A-Z]{2,3}} */
+    static boolean ehTempoPresente(String s) {
+        int inicio = !s.isEmpty() && (s.charAt(0) == '+' || s.charAt(0) == '-') ? 1 : 0;
+        int letras = s.length() - inicio;
+        return letras >= 2 && letras <= 3 && maiusculas(s, inicio, s.length());
+    }
+
+    /** {@code (FEW|SCT|BKN|OVC|SKC|CLR|NSC|NCD)\d{0,3}(CB|TCU)?} */
+    static boolean ehNuvem(String s) {
+        if (s.length() < 3 || !ehCobertura(s)) {
+            return false;
+        }
+        int i = 3;
+        while (i < s.length() && i < 6 && ehDigito(s.charAt(i))) {
+            i++;
+        }
+        String resto = s.substring(i);
+        return resto.isEmpty() || "CB".equals(resto) || "TCU".equals(resto);
+    }
+
+    /** {@code M?\d{2}/M?\d{2}} */
+    static boolean ehTemperatura(String s) {
+        int barra = s.indexOf('/');
+        return barra > 0 && temperatura(s, 0, barra) && temperatura(s, barra + 1, s.length());
+    }
+
+    /** {@code [QA]\d{4}} */
+    static boolean ehPressao(String s) {
+        return s.length() == 5 && (s.charAt(0) == 'Q' || s.charAt(0) == 'A') && digitos(s, 1, 5);
+    }
+
+    /** {@code \d{4}/\d{4}} */
+    static boolean ehPeriodo(String s) {
+        return s.length() == 9 && digitos(s, 0, 4) && s.charAt(4) == '/' && digitos(s, 5, 9);
+    }
+
+    static boolean ehTemperaturaPrevista(String s) {
+        return s.startsWith("TX") || s.startsWith("TN");
+    }
+
+    static boolean ehTendencia(String s) {
+        return s.startsWith("BECMG") || s.startsWith("TEMPO") || s.startsWith("PROB")
+            || s.startsWith("FM") || s.startsWith("TL") || s.startsWith("AT");
+    }
+
+    private static boolean ehCobertura(String s) {
+        return s.startsWith("FEW") || s.startsWith("SCT") || s.startsWith("BKN") || s.startsWith("OVC")
+            || s.startsWith("SKC") || s.startsWith("CLR") || s.startsWith("NSC") || s.startsWith("NCD");
+    }
+
+    private static boolean temperatura(String s, int inicio, int fim) {
+        if (inicio < fim && s.charAt(inicio) == 'M') {
+            inicio++;
+        }
+        return fim - inicio == 2 && digitos(s, inicio, fim);
+    }
+
+    /**
+     * @return true se {@code s[inicio, fim)} só tem dígitos ASCII
+     */
+    public static boolean digitos(String s, int inicio, int fim) {
+        if (fim > s.length()) {
+            return false;
+        }
+        for (int i = inicio; i < fim; i++) {
+            if (!ehDigito(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean maiusculas(String s, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            char ch = s.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean ehDigito(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    /**
+     * Recorta os tokens separados por espaço em branco sob demanda, com um
+     * token de antecipação.
+     */
+    private static final class Cursor {
+
+        private final String texto;
+        private int posicao;
+        private String espiado;
+
+        Cursor(String texto) {
+            this.texto = texto;
+        }
+
+        String espiar() {
+            if (espiado == null) {
+                espiado = ler();
+            }
+            return espiado;
+        }
+
+        String proximo() {
+            String token = espiar();
+            espiado = null;
+            return token;
+        }
+
+        private String ler() {
+            int n = texto.length();
+            while (posicao < n && ehEspaco(texto.charAt(posicao))) {
+                posicao++;
+            }
+            if (posicao >= n) {
+                return null;
+            }
+            int inicio = posicao;
+            while (posicao < n && !ehEspaco(texto.charAt(posicao))) {
+                posicao++;
+            }
+            return texto.substring(inicio, posicao);
+        }
+
+        // Mesmo conjunto do \s das regex
+        private static boolean ehEspaco(char ch) {
+            return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r' || ch == '\f' || ch == '\u000B';
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.parser;
+
+import br.com.fplbr.pilot.aisweb.domain.enums.AerodromoIcaoIataEnum;
+import br.com.fplbr.pilot.aisweb.infrastructure.persistence.entity.AerodromoIcaoIataEntity;
+import br.com.fplbr.pilot.aisweb.infrastructure.util.GeoUtils;
+import br.com.fplbr.pilot.aisweb.infrastructure.util.TagStrippingReader;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Parser StAX para o catálogo completo do ROTAER (área "rotaer" sem ICAO).
+ *
+ * Lê o XML em streaming e entrega um {@link AerodromoIcaoIataEntity} por vez ao
+ * consumidor, sem montar DOM nem manter o payload inteiro em memória. Tags HTML
+ * soltas (hr/br/img) são removidas durante a leitura por {@link TagStrippingReader}.
+ *
+ * Regras de cada item iguais às do parsing DOM anterior:
+ * - ciad_id vem do atributo do item (ou do elemento filho, se existir)
+ * - itens sem ICAO ou sem ciad_id são ignorados
+ * - IATA é buscado no {@link AerodromoIcaoIataEnum}
+ * - lat/lng, quando presentes e válidos, viram as coordenadas do aeródromo
+ */
+@ApplicationScoped
+public class RotaerCatalogoStreamParser {
+
+    private static final Logger LOG = Logger.getLogger(RotaerCatalogoStreamParser.class);
+
+    private static final Set<String> CAMPOS = Set.of("ciad_id", "ciad", "type", "AeroCode", "name", "city", "uf", "dt",
+        "lat", "lng");
+
+    private static final XMLInputFactory FACTORY = criarFactory();
+
+    /**
+     * Faz o parsing de um stream UTF-8 emitindo cada aeródromo válido.
+     *
+     * @param xml stream com o XML do catálogo (não é fechado aqui)
+     * @param destino consumidor que recebe cada aeródromo
+     * @return quantidade de aeródromos emitidos
+     */
+    public int parse(InputStream xml, Consumer<AerodromoIcaoIataEntity> destino) throws XMLStreamException {
+        return parse(new InputStreamReader(xml, StandardCharsets.UTF_8), destino);
+    }
+
+    /**
+     * Faz o parsing de um reader emitindo cada aeródromo válido.
+     *
+     * @param xml reader com o XML do catálogo (não é fechado aqui)
+     * @param destino consumidor que recebe cada aeródromo
+     * @return quantidade de aeródromos emitidos
+     */
+    public int parse(Reader xml, Consumer<AerodromoIcaoIataEntity> destino) throws XMLStreamException {
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(new TagStrippingReader(xml));
+        int emitidos = 0;
+        int lidos = 0;
+        try {
+            Map<String, String> campos = null;
+            StringBuilder texto = new StringBuilder();
+            String campoAtual = null;
+            int profundidadeItem = 0;
+            int profundidadeCampo = 0;
+            int profundidade = 0;
+
+            while (reader.hasNext()) {
+                int evento = reader.next();
+                switch (evento) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        profundidade++;
+                        String nome = reader.getLocalName();
+                        if (campos == null && "item".equals(nome)) {
+                            campos = new HashMap<>();
+                            profundidadeItem = profundidade;
+                            String ciadIdAttr = reader.getAttributeValue(null, "ciad_id");
+                            if (ciadIdAttr != null) {
+                                campos.put("ciad_id", ciadIdAttr);
+                            }
+                        } else if (campos != null && campoAtual == null
+                                && CAMPOS.contains(nome) && !campos.containsKey(nome)) {
+                            // Primeira ocorrência do campo dentro do item (como getElementsByTagName)
+                            campoAtual = nome;
+                            profundidadeCampo = profundidade;
+                            texto.setLength(0);
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (campoAtual != null) {
+                            texto.append(reader.getText());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (campoAtual != null && profundidade == profundidadeCampo) {
+                            campos.put(campoAtual, texto.toString());
+                            campoAtual = null;
+                        } else if (campos != null && profundidade == profundidadeItem) {
+                            lidos++;
+                            AerodromoIcaoIataEntity aerodromo = criarAerodromo(campos, lidos);
+                            if (aerodromo != null) {
+                                destino.accept(aerodromo);
+                                emitidos++;
+                            }
+                            campos = null;
+                        }
+                        profundidade--;
+                    }
+                    default -> {
+                        // Demais eventos não são relevantes
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        LOG.infof("📦 Catálogo ROTAER: %d itens lidos, %d aeródromos emitidos", lidos, emitidos);
+        return emitidos;
+    }
+
+    private AerodromoIcaoIataEntity criarAerodromo(Map<String, String> campos, int indice) {
+        String icao = campos.get("AeroCode");
+        Long ciadId = parseLongSafely(campos.get("ciad_id"));
+
+        // Validar dados obrigatórios
+        if (icao == null || icao.trim().isEmpty()) {
+            LOG.warnf("⚠️ Item %d ignorado: ICAO vazio", indice);
+            return null;
+        }
+        if (ciadId == null) {
+            LOG.warnf("⚠️ Item %d (%s) ignorado: CIAD_ID vazio", indice, icao);
+            return null;
+        }
+
+        // Buscar IATA no enum
+        AerodromoIcaoIataEnum aerodromoEnum = AerodromoIcaoIataEnum.findByIcao(icao);
+        String iata = aerodromoEnum != null ? aerodromoEnum.getIata() : null;
+
+        AerodromoIcaoIataEntity aerodromo = new AerodromoIcaoIataEntity(
+            ciadId, campos.get("ciad"), campos.get("type"), icao, iata,
+            campos.get("name"), campos.get("city"), campos.get("uf"), parseDateTime(campos.get("dt"))
+        );
+
+        // Coordenadas só entram em par e dentro da faixa; senão o aeródromo fica fora do índice espacial
+        Double lat = parseDoubleSafely(campos.get("lat"));
+        Double lng = parseDoubleSafely(campos.get("lng"));
+        if (lat != null && lng != null && GeoUtils.isValidLatitude(lat) && GeoUtils.isValidLongitude(lng)) {
+            aerodromo.setLatitude(lat);
+            aerodromo.setLongitude(lng);
+        }
+        return aerodromo;
+    }
+
+    private static Double parseDoubleSafely(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim().replace(",", "."));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Long parseLongSafely(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String dateTimeStr) {
+        if (dateTimeStr == null || dateTimeStr.isEmpty()) {
+            return null;
+        }
+        try {
+            // Assumindo formato ISO 8601
+            return LocalDateTime.parse(dateTimeStr.replace("Z", ""));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static XMLInputFactory criarFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -8,10 +8,7 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,7 +27,19 @@ import java.util.List;
 @ApplicationScoped
 public class RotaerParser {
 
-    private static final XPath XPATH = XPathFactory.newInstance().newXPath();
+    // Expressões pré-compiladas (thread-safe) para os caminhos estruturais
+    private static final CompiledXPath X_AERODROMOS = CompiledXPath.of("//aisweb");
+    private static final CompiledXPath X_AEROCODE = CompiledXPath.of("AeroCode");
+    private static final CompiledXPath X_TIMESHEETS = CompiledXPath.of("timesheets/timesheet");
+    private static final CompiledXPath X_LIGHTS = CompiledXPath.of("lights/light");
+    private static final CompiledXPath X_RUNWAYS = CompiledXPath.of("runways/runway");
+    private static final CompiledXPath X_THR = CompiledXPath.of("thr");
+    private static final CompiledXPath X_SERVICES = CompiledXPath.of("services");
+    private static final CompiledXPath X_SERVICE_COM = CompiledXPath.of("service[@type='COM']");
+    private static final CompiledXPath X_FREQS = CompiledXPath.of("freqs/freq");
+    private static final CompiledXPath X_RMK = CompiledXPath.of("rmk/rmkText");
+    private static final CompiledXPath X_RMK_DIST = CompiledXPath.of("rmkDistDeclared/rmkDist");
+    private static final CompiledXPath X_COMPLS = CompiledXPath.of("compls/compl");
 
     public RotaerDto parse(String xml, String requestedIcao) throws Exception {
         Document doc = XmlUtils.createDocument(xml);
@@ -38,7 +47,7 @@ public class RotaerParser {
         root.normalize();
         
         // Filtrar pelo ICAO solicitado
-        Element ad = selectOne(root, "//aisweb[AeroCode = '" + requestedIcao + "']");
+        Element ad = selecionarAerodromo(root, requestedIcao);
         if (ad == null) {
             // Retornar DTO vazio mas consistente
             return createEmptyRotaerDto(requestedIcao);
@@ -90,20 +99,30 @@ public class RotaerParser {
         return (n != null && n.getNodeType() == Node.ELEMENT_NODE) ? (Element) n : null;
     }
 
-    private static NodeList select(Element base, String expr) throws XPathExpressionException {
-        return (NodeList) XPATH.evaluate(expr, base, XPathConstants.NODESET);
+    private static NodeList select(Element base, CompiledXPath expr) throws XPathExpressionException {
+        return expr.nodes(base);
     }
 
-    private static Element selectOne(Element base, String expr) throws XPathExpressionException {
-        Node n = (Node) XPATH.evaluate(expr, base, XPathConstants.NODE);
-        return asElement(n);
+    private static Element selectOne(Element base, CompiledXPath expr) throws XPathExpressionException {
+        return asElement(expr.node(base));
     }
 
     private static String text(Element base, String expr) throws XPathExpressionException {
-        String v = (String) XPATH.evaluate(expr, base, XPathConstants.STRING);
+        String v = CompiledXPath.of(expr).string(base);
         return (v != null && !v.isBlank()) ? v.trim() : null;
     }
 
+    private static Element selecionarAerodromo(Element root, String icao) throws XPathExpressionException {
+        NodeList aerodromos = select(root, X_AERODROMOS);
+        for (int i = 0; i < aerodromos.getLength(); i++) {
+            Element ad = asElement(aerodromos.item(i));
+            if (ad != null && X_AEROCODE.string(ad).trim().equals(icao)) {
+                return ad;
+            }
+        }
+        return null;
+    }
+
     // Conversores
     private static Double toDouble(String s) {
         try {
@@ -125,7 +144,7 @@ public class RotaerParser {
     private Boolean parseFrequenciaOperacao(Element ad) {
         try {
             // Verificar se há timesheets com horários específicos
-            NodeList timesheets = select(ad, "timesheets/timesheet");
+            NodeList timesheets = select(ad, X_TIMESHEETS);
             if (timesheets.getLength() > 0) {
                 // Se há timesheets, verificar se opera 24h
                 for (int i = 0; i < timesheets.getLength(); i++) {
@@ -151,7 +170,7 @@ public class RotaerParser {
     private List<IluminacaoAerodromoDto> parseIluminacao(Element ad) {
         List<IluminacaoAerodromoDto> iluminacoes = new ArrayList<>();
         try {
-            NodeList lights = select(ad, "lights/light");
+            NodeList lights = select(ad, X_LIGHTS);
             for (int i = 0; i < lights.getLength(); i++) {
                 Element light = asElement(lights.item(i));
                 if (light == null) continue;
@@ -175,7 +194,7 @@ public class RotaerParser {
     private List<PistaDto> parsePistas(Element ad) {
         List<PistaDto> pistas = new ArrayList<>();
         try {
-            NodeList runways = select(ad, "runways/runway");
+            NodeList runways = select(ad, X_RUNWAYS);
             for (int i = 0; i < runways.getLength(); i++) {
                 Element runway = asElement(runways.item(i));
                 if (runway == null) continue;
@@ -200,7 +219,7 @@ public class RotaerParser {
     private List<IluminacaoAerodromoDto> parseLuzesPista(Element runway) {
         List<IluminacaoAerodromoDto> luzes = new ArrayList<>();
         try {
-            NodeList lights = select(runway, "lights/light");
+            NodeList lights = select(runway, X_LIGHTS);
             for (int i = 0; i < lights.getLength(); i++) {
                 Element light = asElement(lights.item(i));
                 if (light == null) continue;
@@ -224,7 +243,7 @@ public class RotaerParser {
     private List<CabeceiraDto> parseCabeceiras(Element runway) {
         List<CabeceiraDto> cabeceiras = new ArrayList<>();
         try {
-            NodeList thresholds = select(runway, "thr");
+            NodeList thresholds = select(runway, X_THR);
             for (int i = 0; i < thresholds.getLength(); i++) {
                 Element thr = asElement(thresholds.item(i));
                 if (thr == null) continue;
@@ -242,7 +261,7 @@ public class RotaerParser {
 
     private ServicosDto parseServicos(Element ad) {
         try {
-            Element serv = selectOne(ad, "services");
+            Element serv = selectOne(ad, X_SERVICES);
             if (serv == null) {
                 return new ServicosDto(new ArrayList<>(), null, null, null, null, null, null);
             }
@@ -264,7 +283,7 @@ public class RotaerParser {
     private List<ComunicacaoDto> parseComunicacoes(Element serv) {
         List<ComunicacaoDto> comunicacoes = new ArrayList<>();
         try {
-            NodeList coms = select(serv, "service[@type='COM']");
+            NodeList coms = select(serv, X_SERVICE_COM);
             for (int i = 0; i < coms.getLength(); i++) {
                 Element com = asElement(coms.item(i));
                 if (com == null) continue;
@@ -284,7 +303,7 @@ public class RotaerParser {
     private List<String> parseFrequencias(Element com) {
         List<String> frequencias = new ArrayList<>();
         try {
-            NodeList freqs = select(com, "freqs/freq");
+            NodeList freqs = select(com, X_FREQS);
             for (int i = 0; i < freqs.getLength(); i++) {
                 Element freq = asElement(freqs.item(i));
                 if (freq == null) continue;
@@ -351,7 +370,7 @@ public class RotaerParser {
     private List<ObservacaoDto> parseObservacoes(Element ad) {
         List<ObservacaoDto> observacoes = new ArrayList<>();
         try {
-            NodeList obs = select(ad, "rmk/rmkText");
+            NodeList obs = select(ad, X_RMK);
             for (int i = 0; i < obs.getLength(); i++) {
                 Element ob = asElement(obs.item(i));
                 if (ob == null) continue;
@@ -403,7 +422,7 @@ public class RotaerParser {
     private List<DistanciaDeclaradaDto> parseDistanciasDeclaradas(Element ad) {
         List<DistanciaDeclaradaDto> distancias = new ArrayList<>();
         try {
-            NodeList rwys = select(ad, "rmkDistDeclared/rmkDist");
+            NodeList rwys = select(ad, X_RMK_DIST);
             for (int i = 0; i < rwys.getLength(); i++) {
                 Element rwy = asElement(rwys.item(i));
                 if (rwy == null) continue;
@@ -427,7 +446,7 @@ public class RotaerParser {
     private List<ComplementoDto> parseComplementos(Element ad) {
         List<ComplementoDto> complementos = new ArrayList<>();
         try {
-            NodeList compls = select(ad, "compls/compl");
+            NodeList compls = select(ad, X_COMPLS);
             for (int i = 0; i < compls.getLength(); i++) {
                 Element compl = asElement(compls.item(i));
                 if (compl == null) continue;
@@ -483,7 +502,7 @@ public class RotaerParser {
 
     private Integer parseQtdePistas(Element ad) {
         try {
-            NodeList runways = select(ad, "runways/runway");
+            NodeList runways = select(ad, X_RUNWAYS);
             return runways.getLength();
         } catch (Exception e) {
             return 0;
@@ -492,7 +511,7 @@ public class RotaerParser {
 
     private Integer parseQtdeObservacoes(Element ad) {
         try {
-            NodeList obs = select(ad, "rmk/rmkText");
+            NodeList obs = select(ad, X_RMK);
             return obs.getLength();
         } catch (Exception e) {
             return 0;
@@ -506,10 +525,10 @@ public class RotaerParser {
         
         try {
             // Buscar complemento por código
-            NodeList compls = select(context, "compls/compl[@cod='" + complRef + "']");
-            if (compls.getLength() > 0) {
-                Element compl = asElement(compls.item(0));
-                if (compl != null) {
+            NodeList compls = select(context, X_COMPLS);
+            for (int i = 0; i < compls.getLength(); i++) {
+                Element compl = asElement(compls.item(i));
+                if (compl != null && complRef.equals(compl.getAttribute("cod"))) {
                     String texto = compl.getTextContent();
                     return texto != null ? texto.trim() : null;
                 }
@@ -38,6 +38,12 @@ public class AerodromoIcaoIataEntity {
     @Column(name = "uf_aerodromo", length = 2)
     private String ufAerodromo;
     
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
     
@@ -136,6 +142,22 @@ public class AerodromoIcaoIataEntity {
         this.ufAerodromo = ufAerodromo;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public LocalDateTime getDataAtualizacao() {
         return dataAtualizacao;
     }
@@ -3,38 +3,213 @@ package br.com.fplbr.pilot.aisweb.infrastructure.persistence.repository;
 import br.com.fplbr.pilot.aisweb.infrastructure.persistence.entity.AerodromoIcaoIataEntity;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Repositório para operações de banco de dados da entidade AerodromoIcaoIata
  */
 @ApplicationScoped
 public class AerodromoIcaoIataRepository implements PanacheRepository<AerodromoIcaoIataEntity> {
-    
+
+    /**
+     * Linhas por comando de upsert (12 parâmetros por linha, bem abaixo do limite de 32767 do PostgreSQL).
+     */
+    private static final int LINHAS_POR_COMANDO = 500;
+
+    private static final String UPSERT_PREFIXO =
+        "INSERT INTO aerodromo_icao_iata AS a (ciad_id, ciad, tipo_aerodromo, icao, iata, nome_aerodromo, "
+            + "cidade_aerodromo, uf_aerodromo, latitude, longitude, data_atualizacao, data_publicacao) VALUES ";
+
+    private static final String UPSERT_LINHA = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Só atualiza (e só mexe em data_atualizacao) quando algum campo de fato mudou
+    private static final String UPSERT_SUFIXO =
+        " ON CONFLICT (icao) DO UPDATE SET ciad_id = EXCLUDED.ciad_id, ciad = EXCLUDED.ciad, "
+            + "tipo_aerodromo = EXCLUDED.tipo_aerodromo, iata = EXCLUDED.iata, nome_aerodromo = EXCLUDED.nome_aerodromo, "
+            + "cidade_aerodromo = EXCLUDED.cidade_aerodromo, uf_aerodromo = EXCLUDED.uf_aerodromo, "
+            + "latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude, "
+            + "data_publicacao = EXCLUDED.data_publicacao, data_atualizacao = EXCLUDED.data_atualizacao "
+            + "WHERE (a.ciad_id, a.ciad, a.tipo_aerodromo, a.iata, a.nome_aerodromo, a.cidade_aerodromo, "
+            + "a.uf_aerodromo, a.latitude, a.longitude, a.data_publicacao) IS DISTINCT FROM (EXCLUDED.ciad_id, "
+            + "EXCLUDED.ciad, EXCLUDED.tipo_aerodromo, EXCLUDED.iata, EXCLUDED.nome_aerodromo, "
+            + "EXCLUDED.cidade_aerodromo, EXCLUDED.uf_aerodromo, EXCLUDED.latitude, EXCLUDED.longitude, "
+            + "EXCLUDED.data_publicacao) "
+            + "RETURNING (xmax = 0) AS inserido";
+
+    /**
+     * Contagem de um upsert em lote.
+     */
+    public record ResultadoUpsert(int inseridos, int atualizados, int inalterados) {
+
+        public static final ResultadoUpsert VAZIO = new ResultadoUpsert(0, 0, 0);
+
+        public ResultadoUpsert somar(ResultadoUpsert outro) {
+            return new ResultadoUpsert(inseridos + outro.inseridos,
+                atualizados + outro.atualizados, inalterados + outro.inalterados);
+        }
+
+        public int total() {
+            return inseridos + atualizados + inalterados;
+        }
+    }
+
     /**
      * Busca aeródromo por código ICAO
      */
     public AerodromoIcaoIataEntity findByIcao(String icao) {
         return find("icao", icao).firstResult();
     }
-    
+
     /**
      * Busca aeródromo por código IATA
      */
     public AerodromoIcaoIataEntity findByIata(String iata) {
         return find("iata", iata).firstResult();
     }
-    
+
     /**
      * Verifica se existe aeródromo com o ICAO informado
      */
     public boolean existsByIcao(String icao) {
         return count("icao", icao) > 0;
     }
-    
+
     /**
      * Busca todos os aeródromos de uma UF
      */
     public java.util.List<AerodromoIcaoIataEntity> findByUf(String uf) {
         return find("ufAerodromo", uf).list();
     }
+
+    /**
+     * Remove os aeródromos com os ICAOs informados
+     */
+    public long deleteByIcaoIn(Collection<String> icaos) {
+        if (icaos == null || icaos.isEmpty()) {
+            return 0;
+        }
+        return delete("icao in ?1", icaos);
+    }
+
+    /**
+     * Insere ou atualiza um lote de aeródromos com INSERT ... ON CONFLICT (icao) DO UPDATE,
+     * usando um único comando multi-linha por bloco em vez de SELECT + merge/persist por linha.
+     *
+     * Linhas idênticas ao que já está no banco não são reescritas (nem têm data_atualizacao
+     * alterada). Deve ser chamado dentro de uma transação. ICAOs repetidos no lote
+     * prevalecem na última ocorrência.
+     *
+     * @param lote aeródromos a gravar
+     * @return quantidade de inseridos, atualizados e inalterados
+     */
+    public ResultadoUpsert upsertEmLote(List<AerodromoIcaoIataEntity> lote) {
+        if (lote == null || lote.isEmpty()) {
+            return ResultadoUpsert.VAZIO;
+        }
+
+        // ON CONFLICT não aceita a mesma chave duas vezes no mesmo comando
+        Map<String, AerodromoIcaoIataEntity> porIcao = new LinkedHashMap<>();
+        for (AerodromoIcaoIataEntity aerodromo : lote) {
+            porIcao.put(aerodromo.getIcao(), aerodromo);
+        }
+        List<AerodromoIcaoIataEntity> unicos = new ArrayList<>(porIcao.values());
+
+        return getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            ResultadoUpsert resultado = ResultadoUpsert.VAZIO;
+            for (int i = 0; i < unicos.size(); i += LINHAS_POR_COMANDO) {
+                List<AerodromoIcaoIataEntity> bloco = unicos.subList(i, Math.min(i + LINHAS_POR_COMANDO, unicos.size()));
+                resultado = resultado.somar(upsertBloco(connection, bloco));
+            }
+            return resultado;
+        });
+    }
+
+    private ResultadoUpsert upsertBloco(Connection connection, List<AerodromoIcaoIataEntity> bloco) throws SQLException {
+        StringBuilder sql = new StringBuilder(UPSERT_PREFIXO.length() + bloco.size() * (UPSERT_LINHA.length() + 2)
+            + UPSERT_SUFIXO.length());
+        sql.append(UPSERT_PREFIXO);
+        for (int i = 0; i < bloco.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(UPSERT_LINHA);
+        }
+        sql.append(UPSERT_SUFIXO);
+
+        LocalDateTime agora = LocalDateTime.now();
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            int p = 1;
+            for (AerodromoIcaoIataEntity a : bloco) {
+                setLong(ps, p++, a.getCiadId());
+                setString(ps, p++, a.getCiad());
+                setString(ps, p++, a.getTipoAerodromo());
+                setString(ps, p++, a.getIcao());
+                setString(ps, p++, a.getIata());
+                setString(ps, p++, a.getNomeAerodromo());
+                setString(ps, p++, a.getCidadeAerodromo());
+                setString(ps, p++, a.getUfAerodromo());
+                setDouble(ps, p++, a.getLatitude());
+                setDouble(ps, p++, a.getLongitude());
+                ps.setObject(p++, agora, Types.TIMESTAMP);
+                setTimestamp(ps, p++, a.getDataPublicacao());
+            }
+
+            int inseridos = 0;
+            int atualizados = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getBoolean("inserido")) {
+                        inseridos++;
+                    } else {
+                        atualizados++;
+                    }
+                }
+            }
+            return new ResultadoUpsert(inseridos, atualizados, bloco.size() - inseridos - atualizados);
+        }
+    }
+
+    private static void setString(PreparedStatement ps, int indice, String valor) throws SQLException {
+        if (valor == null) {
+            ps.setNull(indice, Types.VARCHAR);
+        } else {
+            ps.setString(indice, valor);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int indice, Long valor) throws SQLException {
+        if (valor == null) {
+            ps.setNull(indice, Types.BIGINT);
+        } else {
+            ps.setLong(indice, valor);
+        }
+    }
+
+    private static void setDouble(PreparedStatement ps, int indice, Double valor) throws SQLException {
+        if (valor == null) {
+            ps.setNull(indice, Types.DOUBLE);
+        } else {
+            ps.setDouble(indice, valor);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int indice, LocalDateTime valor) throws SQLException {
+        if (valor == null) {
+            ps.setNull(indice, Types.TIMESTAMP);
+        } else {
+            ps.setObject(indice, valor, Types.TIMESTAMP);
+        }
+    }
 }
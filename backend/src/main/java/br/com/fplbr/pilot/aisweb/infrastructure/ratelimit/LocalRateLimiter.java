@@ -0,0 +1,80 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.ratelimit;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process, lock-free GCRA rate limiter.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival
+ * time (TAT) in {@link System#nanoTime()} units, updated with a CAS loop.
+ * A bucket whose TAT is in the past is full again and carries no information,
+ * so it is evicted by a periodic sweep (and eagerly when the map grows past
+ * {@code aisweb.rate-limit.max-buckets}).
+ */
+@ApplicationScoped
+public class LocalRateLimiter implements RateLimiter {
+
+    private static final Logger LOG = Logger.getLogger(LocalRateLimiter.class);
+
+    @ConfigProperty(name = "aisweb.rate-limit.max-buckets", defaultValue = "100000")
+    int maxBuckets;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryAcquire(String key, int limit, long windowMillis) {
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        long interval = Math.max(1, windowNanos / Math.max(1, limit));
+
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxBuckets) {
+                evictIdle();
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+        }
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long base = current - now > 0 ? current : now;
+            // Allowed while TAT stays within one window ahead of now
+            long allowAt = base + interval - windowNanos;
+            if (allowAt - now > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(allowAt - now));
+            }
+            if (tat.compareAndSet(current, base + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that are full again (TAT in the past).
+     */
+    @Scheduled(every = "${aisweb.rate-limit.eviction-interval:1m}")
+    void evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            LOG.debugf("Evicted %d idle rate limit buckets (%d active)", evicted, buckets.size());
+        }
+    }
+
+    /**
+     * @return number of buckets currently held in memory
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
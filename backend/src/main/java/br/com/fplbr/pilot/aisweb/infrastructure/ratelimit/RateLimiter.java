@@ -0,0 +1,22 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.ratelimit;
+
+/**
+ * Rate limiting engine used by the {@code @RateLimited} interceptor.
+ *
+ * Implementations use GCRA (generic cell rate algorithm), which is equivalent
+ * to a token bucket of capacity {@code limit} refilled at {@code limit / window}
+ * but needs a single timestamp of state per key.
+ */
+public interface RateLimiter {
+
+    /**
+     * Tries to consume one request for the given key.
+     *
+     * @param key bucket key (endpoint + client)
+     * @param limit maximum number of requests per window (also the burst size)
+     * @param windowMillis window length in milliseconds
+     * @return 0 if the request is allowed, otherwise the number of milliseconds
+     *         until the next request would be allowed
+     */
+    long tryAcquire(String key, int limit, long windowMillis);
+}
@@ -0,0 +1,80 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.ratelimit;
+
+import io.quarkus.redis.datasource.RedisDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+/**
+ * Cluster-wide GCRA rate limiter backed by Redis.
+ *
+ * The check-and-update runs as one Lua script, so it is atomic across
+ * replicas. Time comes from the Redis server ({@code TIME}) to avoid clock
+ * skew between nodes, and each key expires as soon as its bucket is full
+ * again, so idle clients cost nothing. If Redis is unavailable the request
+ * falls back to the {@link LocalRateLimiter}.
+ */
+@ApplicationScoped
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final Logger LOG = Logger.getLogger(RedisRateLimiter.class);
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // ARGV[1] = emission interval (µs), ARGV[2] = window (µs); returns 0 or µs to wait
+    private static final String SCRIPT = """
+        local t = redis.call('TIME')
+        local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+        local interval = tonumber(ARGV[1])
+        local window = tonumber(ARGV[2])
+        local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+        if tat < now then tat = now end
+        local allow_at = tat + interval - window
+        if now < allow_at then return allow_at - now end
+        local new_tat = tat + interval
+        redis.call('SET', KEYS[1], string.format('%.0f', new_tat), 'PX', math.ceil((new_tat - now) / 1000) + 1)
+        return 0
+        """;
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @Inject
+    LocalRateLimiter fallback;
+
+    private volatile String sha;
+
+    @Override
+    public long tryAcquire(String key, int limit, long windowMillis) {
+        long windowMicros = windowMillis * 1000;
+        long interval = Math.max(1, windowMicros / Math.max(1, limit));
+        String redisKey = KEY_PREFIX + key;
+        try {
+            long waitMicros = eval(redisKey, interval, windowMicros);
+            return waitMicros <= 0 ? 0 : Math.max(1, waitMicros / 1000);
+        } catch (Exception e) {
+            LOG.warnf("Redis rate limiter unavailable (%s), using local limiter", e.getMessage());
+            return fallback.tryAcquire(key, limit, windowMillis);
+        }
+    }
+
+    private long eval(String key, long interval, long window) {
+        String current = sha;
+        if (current == null) {
+            current = redisDataSource.execute("SCRIPT", "LOAD", SCRIPT).toString();
+            sha = current;
+        }
+        try {
+            return redisDataSource.execute("EVALSHA", current, "1", key,
+                Long.toString(interval), Long.toString(window)).toLong();
+        } catch (Exception e) {
+            if (e.getMessage() == null || !e.getMessage().contains("NOSCRIPT")) {
+                throw e;
+            }
+            // Script cache flushed (restart/failover): reload on next call
+            sha = null;
+            return redisDataSource.execute("EVAL", SCRIPT, "1", key,
+                Long.toString(interval), Long.toString(window)).toLong();
+        }
+    }
+}
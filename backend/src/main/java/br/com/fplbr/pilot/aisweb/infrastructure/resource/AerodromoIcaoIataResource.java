@@ -1,9 +1,168 @@
 package br.com.fplbr.pilot.aisweb.infrastructure.resource;
 
+import br.com.fplbr.pilot.aisweb.application.dto.AerodromoIcaoIataDto;
+import br.com.fplbr.pilot.aisweb.application.service.AerodromoIcaoIataService;
+import br.com.fplbr.pilot.aisweb.infrastructure.util.GeoUtils;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Arrays;
+import java.util.List;
+
 /**
- * REMOVIDO - Este recurso não é mais utilizado.
- * O sistema agora usa apenas o enum AerodromoIcaoIataEnum para buscar dados IATA.
+ * Consulta de aeródromos ICAO/IATA.
+ *
+ * Somente leitura: as buscas são respondidas pelo catálogo em memória
+ * ({@link br.com.fplbr.pilot.aisweb.infrastructure.cache.AerodromoCatalogo}),
+ * sem ir ao banco, inclusive as espaciais (proximidade, raio e corredor de
+ * rota). A sincronização com a AISWEB continua interna.
  */
+@Path("/api/aisweb/aerodromos")
+@Produces(MediaType.APPLICATION_JSON)
 public class AerodromoIcaoIataResource {
-    // Classe removida - endpoints não são mais necessários
-}
\ No newline at end of file
+
+    private static final int LIMITE_MAXIMO_AUTOCOMPLETE = 50;
+    private static final int LIMITE_MAXIMO_PROXIMOS = 50;
+    private static final double RAIO_MAXIMO_KM = 1000;
+    private static final double LARGURA_MAXIMA_CORREDOR_KM = 200;
+
+    @Inject
+    AerodromoIcaoIataService aerodromoService;
+
+    /**
+     * Busca aeródromos por ICAO, IATA ou UF; sem filtros lista todos.
+     *
+     * @param icao Código ICAO (opcional)
+     * @param iata Código IATA (opcional)
+     * @param uf Sigla da UF (opcional)
+     * @return Aeródromos encontrados
+     */
+    @GET
+    public List<AerodromoIcaoIataDto> buscar(@QueryParam("icao") String icao,
+                                             @QueryParam("iata") String iata,
+                                             @QueryParam("uf") String uf) {
+        return aerodromoService.buscarAerodromos(icao, iata, uf);
+    }
+
+    /**
+     * Autocomplete por nome, cidade, ICAO ou IATA.
+     *
+     * @param q Texto digitado
+     * @param limite Número máximo de resultados (até 50)
+     * @return Aeródromos mais relevantes
+     */
+    @GET
+    @Path("/autocomplete")
+    public Response autocompletar(@QueryParam("q") String q,
+                                  @QueryParam("limite") @DefaultValue("10") int limite) {
+        if (q == null || q.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Parâmetro q é obrigatório.")
+                .build();
+        }
+        int limiteEfetivo = Math.max(1, Math.min(limite, LIMITE_MAXIMO_AUTOCOMPLETE));
+        return Response.ok(aerodromoService.autocompletar(q, limiteEfetivo)).build();
+    }
+
+    /**
+     * Aeródromos mais próximos de um ponto (lat/lon) ou de um aeródromo (icao),
+     * para sugestão de alternativas.
+     *
+     * @param icao Aeródromo de referência, que fica fora do resultado (opcional)
+     * @param lat Latitude em graus decimais (se não houver icao)
+     * @param lon Longitude em graus decimais (se não houver icao)
+     * @param n Número de aeródromos (até 50)
+     * @return Aeródromos com a distância em km, do mais perto para o mais longe
+     */
+    @GET
+    @Path("/proximos")
+    public Response proximos(@QueryParam("icao") String icao,
+                             @QueryParam("lat") Double lat,
+                             @QueryParam("lon") Double lon,
+                             @QueryParam("n") @DefaultValue("5") int n) {
+        int nEfetivo = Math.max(1, Math.min(n, LIMITE_MAXIMO_PROXIMOS));
+        try {
+            if (icao != null && !icao.isBlank()) {
+                return Response.ok(aerodromoService.maisProximos(icao, nEfetivo)).build();
+            }
+            validarCoordenadas(lat, lon);
+            return Response.ok(aerodromoService.maisProximos(lat, lon, nEfetivo)).build();
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    /**
+     * Aeródromos dentro de um raio a partir de um ponto (lat/lon) ou de um aeródromo (icao).
+     *
+     * @param icao Aeródromo de referência, que fica fora do resultado (opcional)
+     * @param lat Latitude em graus decimais (se não houver icao)
+     * @param lon Longitude em graus decimais (se não houver icao)
+     * @param km Raio em km (até 1000)
+     * @return Aeródromos com a distância em km, do mais perto para o mais longe
+     */
+    @GET
+    @Path("/raio")
+    public Response raio(@QueryParam("icao") String icao,
+                         @QueryParam("lat") Double lat,
+                         @QueryParam("lon") Double lon,
+                         @QueryParam("km") @DefaultValue("50") double km) {
+        if (km <= 0 || km > RAIO_MAXIMO_KM) {
+            return badRequest("Parâmetro km deve estar entre 0 e " + (int) RAIO_MAXIMO_KM + ".");
+        }
+        try {
+            if (icao != null && !icao.isBlank()) {
+                return Response.ok(aerodromoService.noRaio(icao, km)).build();
+            }
+            validarCoordenadas(lat, lon);
+            return Response.ok(aerodromoService.noRaio(lat, lon, km)).build();
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    /**
+     * Aeródromos ao longo de uma rota (corredor), para alternativas em rota.
+     *
+     * @param rota ICAOs separados por vírgula, na ordem do voo (ex.: SBSP,SBKP,SBBR)
+     * @param km Meia largura do corredor em km (até 200)
+     * @return Aeródromos com a distância em km até a rota, do mais perto para o mais longe
+     */
+    @GET
+    @Path("/corredor")
+    public Response corredor(@QueryParam("rota") String rota,
+                             @QueryParam("km") @DefaultValue("50") double km) {
+        if (rota == null || rota.isBlank()) {
+            return badRequest("Parâmetro rota é obrigatório.");
+        }
+        if (km <= 0 || km > LARGURA_MAXIMA_CORREDOR_KM) {
+            return badRequest("Parâmetro km deve estar entre 0 e " + (int) LARGURA_MAXIMA_CORREDOR_KM + ".");
+        }
+        List<String> icaos = Arrays.stream(rota.split(","))
+            .map(String::trim)
+            .filter(icao -> !icao.isEmpty())
+            .toList();
+        try {
+            return Response.ok(aerodromoService.noCorredor(icaos, km)).build();
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    private static void validarCoordenadas(Double lat, Double lon) {
+        if (lat == null || lon == null) {
+            throw new IllegalArgumentException("Informe icao ou lat e lon.");
+        }
+        if (!GeoUtils.isValidLatitude(lat) || !GeoUtils.isValidLongitude(lon)) {
+            throw new IllegalArgumentException("Coordenadas inválidas.");
+        }
+    }
+
+    private static Response badRequest(String mensagem) {
+        return Response.status(Response.Status.BAD_REQUEST)
+            .entity(mensagem)
+            .build();
+    }
+}
@@ -1,7 +1,12 @@
 package br.com.fplbr.pilot.aisweb.infrastructure.resource;
 
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor;
 import br.com.fplbr.pilot.aisweb.application.dto.*;
 import br.com.fplbr.pilot.aisweb.application.service.*;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebCache;
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.AiswebRequestCoalescer;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
@@ -12,6 +17,13 @@ import java.util.Map;
 
 /**
  * Resource para endpoints AISWEB.
+ *
+ * ROTAER, INFOTEMP, meteo e NOTAM são atendidos pelo {@link AiswebReactiveService}
+ * e devolvem {@link Uni}: rodam no event loop e não ocupam worker enquanto o
+ * AISWEB responde. Os demais endpoints são bloqueantes e rodam em threads
+ * virtuais ({@link RunOnVirtualThread}), então uma espera longa do AISWEB não
+ * esgota o worker pool. Isso só vale com {@code aisweb.virtual-threads.enabled};
+ * desligado (padrão), o Quarkus roda esses métodos no worker pool, como antes.
  */
 @Path("/api/aisweb")
 @Produces(MediaType.APPLICATION_JSON)
@@ -20,31 +32,34 @@ public class AiswebResource {
     private static final Logger LOG = Logger.getLogger(AiswebResource.class);
 
     @Inject
-    RotaerService rotaerService;
+    CartasService cartasService;
 
     @Inject
-    MeteoService meteoService;
+    PubAipService pubAipService;
 
     @Inject
-    CartasService cartasService;
+    PubAixmService pubAixmService;
 
     @Inject
-    InfotempService infotempService;
+    SuplementosService suplementosService;
 
     @Inject
-    PubAipService pubAipService;
+    AiswebFullService aiswebFullService;
 
     @Inject
-    PubAixmService pubAixmService;
+    AiswebReactiveService aiswebReactiveService;
 
     @Inject
-    SuplementosService suplementosService;
+    AiswebCache aiswebCache;
 
     @Inject
-    NotamService notamService;
+    AiswebRequestCoalescer coalescer;
 
     @Inject
-    AiswebFullService aiswebFullService;
+    AiswebGovernor governor;
+
+    @Inject
+    AiswebPrefetchService prefetchService;
 
     @GET
     @Path("/test-logs")
@@ -64,70 +79,42 @@ public class AiswebResource {
      */
     @GET
     @Path("/rotaer/{icao}")
-    public Response buscarRotaer(@PathParam("icao") String icao) {
-        try {
-            if (icao == null || icao.trim().length() != 4) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("Código ICAO inválido. Deve conter 4 caracteres.")
-                    .build();
-            }
+    public Uni<Response> buscarRotaer(@PathParam("icao") String icao) {
+        if (icao == null || icao.trim().length() != 4) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("Código ICAO inválido. Deve conter 4 caracteres.")
+                .build());
+        }
 
-            RotaerDto rotaer = rotaerService.buscar(icao.toUpperCase());
-            if (rotaer == null) {
-                return Response.status(Response.Status.NOT_FOUND)
+        return aiswebReactiveService.buscarRotaer(icao)
+            .map(rotaer -> rotaer == null
+                ? Response.status(Response.Status.NOT_FOUND)
                     .entity("Dados ROTAER não encontrados para o aeródromo: " + icao)
-                    .build();
-            }
-
-            return Response.ok(rotaer).build();
-
-        } catch (WebApplicationException e) {
-            throw e;
-        } catch (Exception e) {
-            String errorMsg = String.format("Erro ao processar requisição ROTAER para %s: %s",
-                icao, e.getMessage());
-            throw new WebApplicationException(errorMsg, Response.Status.INTERNAL_SERVER_ERROR);
-        }
+                    .build()
+                : Response.ok(rotaer).build());
     }
 
     /**
-     * Endpoint para buscar dados INFOTEMP de um aeródromo.
-     *
-     * @param icao Código ICAO do aeródromo
-     * @return Dados INFOTEMP do aeródromo
-     */
-    /**
-     * Endpoint para buscar informações de temperatura de um aeródromo.
+     * Endpoint para buscar informações temporárias (INFOTEMP) de um aeródromo.
      *
      * @param icao Código ICAO do aeródromo (4 caracteres)
-     * @return Informações de temperatura do aeródromo
+     * @return Dados INFOTEMP do aeródromo
      */
     @GET
     @Path("/infotemp/{icao}")
-    public Response buscarInfotemp(@PathParam("icao") String icao) {
-        try {
-            if (icao == null || icao.trim().length() != 4) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("Código ICAO inválido. Deve conter 4 caracteres.")
-                    .build();
-            }
+    public Uni<Response> buscarInfotemp(@PathParam("icao") String icao) {
+        if (icao == null || icao.trim().length() != 4) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity("Código ICAO inválido. Deve conter 4 caracteres.")
+                .build());
+        }
 
-            InfotempDto infotemp = infotempService.buscar(icao.toUpperCase());
-            if (infotemp == null) {
-                return Response.status(Response.Status.NOT_FOUND)
+        return aiswebReactiveService.buscarInfotemp(icao)
+            .map(infotemp -> infotemp == null
+                ? Response.status(Response.Status.NOT_FOUND)
                     .entity("Dados de temperatura não encontrados para o aeródromo: " + icao)
-                    .build();
-            }
-
-            return Response.ok(infotemp).build();
-
-        } catch (WebApplicationException e) {
-            throw e;
-        } catch (Exception e) {
-            String errorMsg = String.format("Erro ao processar requisição INFOTEMP para %s: %s",
-                icao, e.getMessage());
-            throw new WebApplicationException(errorMsg, Response.Status.INTERNAL_SERVER_ERROR);
-        }
+                    .build()
+                : Response.ok(infotemp).build());
     }
 
     /**
@@ -138,8 +125,8 @@ public class AiswebResource {
      */
     @GET
     @Path("/meteo/{icao}")
-    public MeteoDto buscarMeteo(@PathParam("icao") String icao) {
-        return meteoService.buscar(icao);
+    public Uni<MeteoDto> buscarMeteo(@PathParam("icao") String icao) {
+        return aiswebReactiveService.buscarMeteo(icao);
     }
 
     /**
@@ -150,6 +137,7 @@ public class AiswebResource {
      */
     @GET
     @Path("/cartas/{icao}")
+    @RunOnVirtualThread
     public CartasDto buscarCartas(@PathParam("icao") String icao) {
         return cartasService.buscar(icao);
     }
@@ -161,6 +149,7 @@ public class AiswebResource {
      */
     @GET
     @Path("/pub/aip")
+    @RunOnVirtualThread
     public PubAipDto listarAip() {
         return pubAipService.listar();
     }
@@ -172,6 +161,7 @@ public class AiswebResource {
      */
     @GET
     @Path("/pub/aixm")
+    @RunOnVirtualThread
     public PubAixmDto listarAixm() {
         return pubAixmService.listar();
     }
@@ -184,6 +174,7 @@ public class AiswebResource {
      */
     @GET
     @Path("/suplementos/{icao}")
+    @RunOnVirtualThread
     public SuplementosDto buscarSuplementos(@PathParam("icao") String icao) {
         return suplementosService.buscar(icao);
     }
@@ -196,8 +187,23 @@ public class AiswebResource {
      */
     @GET
     @Path("/notam/{icao}")
-    public NotamDto buscarNotam(@PathParam("icao") String icao) {
-        return notamService.buscar(icao);
+    public Uni<NotamDto> buscarNotam(@PathParam("icao") String icao) {
+        return aiswebReactiveService.buscarNotam(icao);
+    }
+
+    /**
+     * Endpoint com métricas de acerto, falta e tempo de carga do cache AISWEB.
+     *
+     * @return Estatísticas por área
+     */
+    @GET
+    @Path("/cache/stats")
+    public Map<String, Map<String, Object>> estatisticasCache() {
+        Map<String, Map<String, Object>> stats = new java.util.LinkedHashMap<>(aiswebCache.estatisticas());
+        stats.put("coalescencia", coalescer.estatisticas());
+        stats.put("governador", governor.estatisticas());
+        stats.put("preAquecimento", prefetchService.estatisticas());
+        return stats;
     }
 
     /**
@@ -208,6 +214,7 @@ public class AiswebResource {
      */
     @GET
     @Path("/full/{icao}")
+    @RunOnVirtualThread
     public Response buscarCompleto(@PathParam("icao") String icao) {
         try {
             if (icao == null || icao.trim().length() != 4) {
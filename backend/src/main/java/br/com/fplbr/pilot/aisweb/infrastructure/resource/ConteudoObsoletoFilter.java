@@ -0,0 +1,35 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.resource;
+
+import br.com.fplbr.pilot.aisweb.infrastructure.cache.ConteudoObsoleto;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sinaliza ao cliente quando a resposta foi montada com dados vencidos do cache
+ * porque o AISWEB estava indisponível.
+ *
+ * Os DTOs são records compartilhados com o frontend, então a indicação vai nos
+ * cabeçalhos: {@code X-Aisweb-Stale}, {@code Age} (segundos) e o
+ * {@code Warning: 110} do HTTP/1.1. O filtro sempre consome a marca, para que
+ * ela não vaze para a próxima requisição atendida pela mesma thread.
+ */
+@Provider
+public class ConteudoObsoletoFilter implements ContainerResponseFilter {
+
+    static final String HEADER_STALE = "X-Aisweb-Stale";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        ConteudoObsoleto obsoleto = ConteudoObsoleto.consumir();
+        if (obsoleto == null) {
+            return;
+        }
+        responseContext.getHeaders().putSingle(HEADER_STALE, "true");
+        responseContext.getHeaders().putSingle("Age", TimeUnit.MILLISECONDS.toSeconds(obsoleto.idadeMillis()));
+        responseContext.getHeaders().add("Warning", "110 - \"Response is Stale\"");
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Consumer that groups items into fixed-size batches and hands each full batch
+ * to a downstream consumer. At most one batch is held in memory at a time.
+ *
+ * Closing flushes the last (possibly partial) batch.
+ *
+ * @param <T> item type
+ */
+public class BatchingConsumer<T> implements Consumer<T>, AutoCloseable {
+
+    private final int batchSize;
+    private final Consumer<List<T>> downstream;
+    private List<T> current;
+    private int batches;
+
+    public BatchingConsumer(int batchSize, Consumer<List<T>> downstream) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        this.downstream = downstream;
+        this.current = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void accept(T item) {
+        current.add(item);
+        if (current.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends the pending items downstream, if any.
+     */
+    public void flush() {
+        if (current.isEmpty()) {
+            return;
+        }
+        List<T> batch = current;
+        current = new ArrayList<>(batchSize);
+        batches++;
+        downstream.accept(batch);
+    }
+
+    /**
+     * @return number of batches sent downstream so far
+     */
+    public int getBatches() {
+        return batches;
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
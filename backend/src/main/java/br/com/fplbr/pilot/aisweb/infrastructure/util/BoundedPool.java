@@ -0,0 +1,34 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Small bounded pool of non-thread-safe helpers (parsers, compiled expressions).
+ *
+ * Unlike a ThreadLocal, reuse does not depend on the caller's thread living on:
+ * virtual threads are created per request, so a per-thread cache would be
+ * rebuilt every time. Borrowing never blocks; when the pool is empty a new
+ * instance is created, and instances returned to a full pool are dropped.
+ */
+final class BoundedPool<T> {
+
+    static final int DEFAULT_CAPACITY = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+
+    BoundedPool(int capacity, Supplier<T> factory) {
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.factory = factory;
+    }
+
+    T borrow() {
+        T instance = idle.poll();
+        return instance != null ? instance : factory.get();
+    }
+
+    void release(T instance) {
+        idle.offer(instance);
+    }
+}
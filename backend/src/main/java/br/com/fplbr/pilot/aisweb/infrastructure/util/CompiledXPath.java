@@ -0,0 +1,109 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.util;
+
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe precompiled XPath expression.
+ *
+ * {@link XPath} and {@link XPathExpression} are not thread-safe, so each
+ * instance keeps a small pool of compiled copies of the expression, compiled
+ * from one shared {@link XPathFactory}. The expression is validated once at
+ * creation; instances are memoized by their source string and can be shared
+ * freely between request threads (including per-request virtual threads).
+ */
+public final class CompiledXPath {
+
+    private static final XPathFactory FACTORY = XPathFactory.newInstance();
+
+    private static final Map<String, CompiledXPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String expression;
+    private final BoundedPool<XPathExpression> compiled;
+
+    private CompiledXPath(String expression) {
+        this.expression = expression;
+        this.compiled = new BoundedPool<>(BoundedPool.DEFAULT_CAPACITY, () -> compile(expression));
+        // Fail fast on syntax errors instead of on first use
+        this.compiled.release(compile(expression));
+    }
+
+    /**
+     * Returns the shared compiled expression for the given XPath.
+     *
+     * @param expression the XPath expression
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public static CompiledXPath of(String expression) {
+        return CACHE.computeIfAbsent(expression, CompiledXPath::new);
+    }
+
+    /**
+     * Evaluates the expression as a node set.
+     *
+     * @param context the context node
+     * @return the matching nodes
+     */
+    public NodeList nodes(Object context) throws XPathExpressionException {
+        return (NodeList) evaluate(context, XPathConstants.NODESET);
+    }
+
+    /**
+     * Evaluates the expression as a single node.
+     *
+     * @param context the context node
+     * @return the first matching node, or null
+     */
+    public Node node(Object context) throws XPathExpressionException {
+        return (Node) evaluate(context, XPathConstants.NODE);
+    }
+
+    /**
+     * Evaluates the expression as a string.
+     *
+     * @param context the context node
+     * @return the string value (empty when nothing matches)
+     */
+    public String string(Object context) throws XPathExpressionException {
+        return (String) evaluate(context, XPathConstants.STRING);
+    }
+
+    /**
+     * @return the source XPath expression
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    private Object evaluate(Object context, QName returnType) throws XPathExpressionException {
+        XPathExpression expr = compiled.borrow();
+        try {
+            return expr.evaluate(context, returnType);
+        } finally {
+            compiled.release(expr);
+        }
+    }
+
+    private static XPathExpression compile(String expression) {
+        XPath xpath;
+        // XPathFactory is not thread-safe; XPath instances are cheap once the factory exists
+        synchronized (FACTORY) {
+            xpath = FACTORY.newXPath();
+        }
+        try {
+            return xpath.compile(expression);
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("Invalid XPath expression: " + expression, e);
+        }
+    }
+}
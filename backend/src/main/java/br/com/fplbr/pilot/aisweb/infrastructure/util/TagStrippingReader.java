@@ -0,0 +1,127 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.util;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+
+/**
+ * Reader that drops unclosed HTML tags ({@code <hr ...>}, {@code <br ...>},
+ * {@code <img ...>}) while streaming, so that AISWEB payloads can be fed to a
+ * StAX parser without first loading the whole document into a String.
+ *
+ * Equivalent to applying {@code replaceAll("<hr[^>]*>", "")} (and the same for
+ * br/img) on the full text, but with constant memory.
+ */
+public class TagStrippingReader extends FilterReader {
+
+    private static final String[] STRIPPED_TAGS = {"hr", "br", "img"};
+    private static final int LOOKAHEAD = 3;
+
+    private final PushbackReader pushback;
+    private final char[] lookahead = new char[LOOKAHEAD];
+
+    public TagStrippingReader(Reader in) {
+        this(new PushbackReader(in, LOOKAHEAD));
+    }
+
+    private TagStrippingReader(PushbackReader pushback) {
+        super(pushback);
+        this.pushback = pushback;
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (true) {
+            int c = pushback.read();
+            if (c != '<') {
+                return c;
+            }
+            int n = fillLookahead();
+            if (!isStrippedTag(n)) {
+                if (n > 0) {
+                    pushback.unread(lookahead, 0, n);
+                }
+                return c;
+            }
+            skipUntilTagEnd();
+        }
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < len) {
+            int c = read();
+            if (c == -1) {
+                break;
+            }
+            cbuf[off + count++] = (char) c;
+            // Return what we have instead of blocking for more input
+            if (!pushback.ready()) {
+                break;
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && read() != -1) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private int fillLookahead() throws IOException {
+        int n = 0;
+        while (n < LOOKAHEAD) {
+            int r = pushback.read(lookahead, n, LOOKAHEAD - n);
+            if (r == -1) {
+                break;
+            }
+            n += r;
+        }
+        return n;
+    }
+
+    private boolean isStrippedTag(int available) throws IOException {
+        for (String tag : STRIPPED_TAGS) {
+            if (available < tag.length()) {
+                continue;
+            }
+            boolean match = true;
+            for (int i = 0; i < tag.length(); i++) {
+                if (lookahead[i] != tag.charAt(i)) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) {
+                // Give back the characters after the tag name; they are skipped with the rest of the tag
+                int extra = available - tag.length();
+                if (extra > 0) {
+                    pushback.unread(lookahead, tag.length(), extra);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skipUntilTagEnd() throws IOException {
+        int c;
+        do {
+            c = pushback.read();
+        } while (c != -1 && c != '>');
+    }
+}
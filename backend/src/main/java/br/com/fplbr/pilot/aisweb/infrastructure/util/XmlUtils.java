@@ -8,12 +8,38 @@ import org.xml.sax.InputSource;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.StringReader;
 
 /**
  * Utility class for XML parsing operations.
  */
 public class XmlUtils {
+
+    /**
+     * DocumentBuilderFactory lookup is expensive, so there is a single shared
+     * factory. DocumentBuilder is not thread-safe but can be reset and reused, so
+     * builders are pooled.
+     */
+    private static final DocumentBuilderFactory FACTORY = DocumentBuilderFactory.newInstance();
+
+    static {
+        FACTORY.setNamespaceAware(true);
+    }
+
+    private static final BoundedPool<DocumentBuilder> BUILDERS =
+        new BoundedPool<>(BoundedPool.DEFAULT_CAPACITY, XmlUtils::newBuilder);
+
+    private static DocumentBuilder newBuilder() {
+        // The factory itself is not guaranteed to be thread-safe
+        synchronized (FACTORY) {
+            try {
+                return FACTORY.newDocumentBuilder();
+            } catch (ParserConfigurationException e) {
+                throw new IllegalStateException("Unable to create DocumentBuilder", e);
+            }
+        }
+    }
     
     /**
      * Parses an XML string into a Document object.
@@ -27,10 +53,13 @@ public class XmlUtils {
             throw new IllegalArgumentException("XML string cannot be null or empty");
         }
         
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        return builder.parse(new InputSource(new StringReader(xmlString)));
+        DocumentBuilder builder = BUILDERS.borrow();
+        try {
+            return builder.parse(new InputSource(new StringReader(xmlString)));
+        } finally {
+            builder.reset();
+            BUILDERS.release(builder);
+        }
     }
     
     /**
@@ -0,0 +1,68 @@
+package br.com.fplbr.pilot.common.infrastructure.persistence;
+
+import org.hibernate.exception.JDBCConnectionException;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.Locale;
+
+/**
+ * Classifica falhas de gravação: banco indisponível (conexão, pool, transação)
+ * ou erro do próprio dado (constraint, valor inválido).
+ *
+ * Consumidores de fila usam a distinção para não tratar uma queda do banco
+ * como mensagem ruim: com o banco fora, o lote inteiro fica pendente e a
+ * tentativa não conta para o dead-letter.
+ */
+public final class FalhaDeBanco {
+
+    // Limite da cadeia de causas, contra ciclos
+    private static final int PROFUNDIDADE_MAXIMA = 20;
+
+    private FalhaDeBanco() {
+    }
+
+    /**
+     * @return {@code true} se a falha (ou alguma causa) indica banco
+     *         indisponível, e não um problema com os dados gravados
+     */
+    public static boolean indisponivel(Throwable erro) {
+        Throwable atual = erro;
+        for (int i = 0; atual != null && i < PROFUNDIDADE_MAXIMA; i++) {
+            if (atual instanceof JDBCConnectionException
+                || atual instanceof SQLTransientException
+                || atual instanceof SQLNonTransientConnectionException
+                || atual instanceof SQLRecoverableException
+                || atual instanceof jakarta.transaction.SystemException) {
+                return true;
+            }
+            if (atual instanceof SQLException sql && (estadoDeIndisponibilidade(sql.getSQLState())
+                || tempoEsgotadoNoPool(sql.getMessage()))) {
+                return true;
+            }
+            if (atual.getCause() == atual) {
+                break;
+            }
+            atual = atual.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * Classes de SQLState do PostgreSQL: 08 (conexão), 53 (recursos
+     * insuficientes, ex.: conexões esgotadas) e 57P (servidor desligando).
+     */
+    private static boolean estadoDeIndisponibilidade(String sqlState) {
+        return sqlState != null
+            && (sqlState.startsWith("08") || sqlState.startsWith("53") || sqlState.startsWith("57P"));
+    }
+
+    /**
+     * O Agroal sinaliza o pool esgotado com uma SQLException sem SQLState.
+     */
+    private static boolean tempoEsgotadoNoPool(String mensagem) {
+        return mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains("acquisition timeout");
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.fplbr.pilot.common.infrastructure.redis;
+
+import io.quarkus.redis.datasource.stream.PendingMessage;
+import io.quarkus.redis.datasource.stream.StreamCommands;
+import io.quarkus.redis.datasource.stream.StreamRange;
+import io.quarkus.redis.datasource.stream.XAddArgs;
+import io.quarkus.redis.datasource.stream.XClaimArgs;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dead-letter para consumidores de Redis Streams com consumer group.
+ *
+ * Uma mensagem que falha fica pendente e volta pelo XAUTOCLAIM; a cada nova
+ * entrega o Redis incrementa o contador de entregas (visto no XPENDING).
+ * Passado o limite, a mensagem é copiada para {@code <stream>:dead}, com o
+ * erro e o id original, e confirmada no stream de origem — assim uma mensagem
+ * ruim não trava as demais para sempre.
+ *
+ * Falhas que não são da mensagem (ex.: banco fora) não devem contar: nesse
+ * caso {@link #devolver} desfaz o incremento da entrega.
+ */
+public final class StreamDeadLetter {
+
+    private static final Logger LOG = Logger.getLogger(StreamDeadLetter.class);
+
+    private static final String SUFIXO = ":dead";
+
+    // O dead-letter é para inspeção manual; não precisa crescer sem limite
+    private static final long TAMANHO_MAXIMO = 100_000;
+
+    private final StreamCommands<String, String, String> streamCommands;
+    private final String stream;
+    private final String grupo;
+    private final int maxEntregas;
+
+    public StreamDeadLetter(StreamCommands<String, String, String> streamCommands, String stream, String grupo,
+                            int maxEntregas) {
+        this.streamCommands = streamCommands;
+        this.stream = stream;
+        this.grupo = grupo;
+        this.maxEntregas = Math.max(1, maxEntregas);
+    }
+
+    public String nome() {
+        return stream + SUFIXO;
+    }
+
+    /**
+     * Quantas vezes a mensagem já foi entregue ao grupo (1 na primeira leitura).
+     * Se não estiver mais pendente, devolve 0.
+     */
+    public long entregas(String id) {
+        List<PendingMessage> pendentes = streamCommands.xpending(stream, grupo, StreamRange.of(id, id), 1);
+        return pendentes == null || pendentes.isEmpty() ? 0 : pendentes.get(0).getDeliveryCount();
+    }
+
+    /**
+     * Trata uma mensagem que falhou: se já atingiu o limite de entregas, vai
+     * para o dead-letter e é confirmada; senão fica pendente para nova tentativa.
+     *
+     * @return {@code true} se a mensagem foi para o dead-letter
+     */
+    public boolean falhou(String id, Map<String, String> payload, String erro) {
+        long entregas = entregas(id);
+        if (entregas < maxEntregas) {
+            LOG.warnf("⚠️ Mensagem %s de %s falhou (entrega %d de %d): %s", id, stream, entregas, maxEntregas, erro);
+            return false;
+        }
+        descartar(id, payload, erro, entregas);
+        return true;
+    }
+
+    /**
+     * Devolve mensagens que não puderam ser tentadas de verdade (ex.: banco
+     * indisponível): continuam pendentes, com o contador de entregas de antes
+     * desta entrega (XCLAIM JUSTID RETRYCOUNT), e voltam pelo XAUTOCLAIM
+     * depois do tempo de ociosidade — que o XCLAIM zera, espaçando as novas
+     * tentativas enquanto a falha durar.
+     *
+     * @param consumer consumidor que está com as mensagens
+     * @param ids      ids das mensagens, em ordem crescente (como vêm do
+     *                 XREADGROUP e do XAUTOCLAIM)
+     */
+    public void devolver(String consumer, List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<String> restantes = new LinkedHashSet<>(ids);
+        Map<Long, List<String>> porEntregas = new HashMap<>();
+        // Uma ida só para a faixa do lote; o que ficar de fora é consultado um a um
+        List<PendingMessage> pendentes = streamCommands.xpending(stream, grupo,
+            StreamRange.of(ids.get(0), ids.get(ids.size() - 1)), ids.size());
+        if (pendentes != null) {
+            for (PendingMessage pendente : pendentes) {
+                if (restantes.remove(pendente.getMessageId())) {
+                    porEntregas.computeIfAbsent(pendente.getDeliveryCount(), k -> new ArrayList<>())
+                        .add(pendente.getMessageId());
+                }
+            }
+        }
+        for (String id : restantes) {
+            porEntregas.computeIfAbsent(entregas(id), k -> new ArrayList<>()).add(id);
+        }
+        porEntregas.forEach((entregas, doGrupo) -> {
+            if (entregas > 0) {
+                streamCommands.xclaim(stream, grupo, consumer, Duration.ZERO,
+                    new XClaimArgs().justId().retryCount((int) (entregas - 1)), doGrupo.toArray(String[]::new));
+            }
+        });
+    }
+
+    /**
+     * Move a mensagem para o dead-letter sem esperar novas entregas (ex.:
+     * payload ilegível, que nunca vai ser processado).
+     */
+    public void descartar(String id, Map<String, String> payload, String erro, long entregas) {
+        Map<String, String> campos = new HashMap<>(payload != null ? payload : Map.of());
+        campos.put("_origem", stream);
+        campos.put("_id", id);
+        campos.put("_entregas", Long.toString(entregas));
+        campos.put("_erro", erro != null ? erro : "");
+        campos.put("_em", OffsetDateTime.now().toString());
+        streamCommands.xadd(nome(), new XAddArgs().maxlen(TAMANHO_MAXIMO).nearlyExactTrimming(), campos);
+        streamCommands.xack(stream, grupo, id);
+        streamCommands.xdel(stream, id);
+        LOG.errorf("☠️ Mensagem %s movida de %s para %s após %d entregas: %s", id, stream, nome(), entregas, erro);
+    }
+}
@@ -29,6 +29,8 @@ public class CorsFilter implements ContainerResponseFilter {
         responseContext.getHeaders().add("Access-Control-Allow-Headers", "origin, content-type, accept, authorization, x-requested-with");
         responseContext.getHeaders().add("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS, PATCH");
         responseContext.getHeaders().add("Access-Control-Max-Age", "1209600");
+        // Paginação por cursor da listagem de envios
+        responseContext.getHeaders().add("Access-Control-Expose-Headers", "X-Next-Cursor, Link");
         
         // Handle preflight requests
         if (requestContext.getMethod().equals("OPTIONS")) {
@@ -4,93 +4,161 @@ import br.com.fplbr.pilot.flightplan.application.dto.PlanoDeVooDTO;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Codifica o plano de voo na mensagem ICAO FPL.
+ *
+ * A mensagem é montada num único {@link StringBuilder} já dimensionado, sem
+ * regex, {@code String.format} ou formatadores de data: hora, POB e a limpeza
+ * de espaços da rota e do RMK são escritos à mão. Em lote, o mesmo buffer é
+ * reaproveitado entre os planos e cada mensagem vai direto para o
+ * {@link Appendable} de destino.
+ */
 @ApplicationScoped
 public class FplEncoderService {
-    
+
     private static final Logger LOG = Logger.getLogger(FplEncoderService.class);
-    
+
+    static final String MENSAGEM_ERRO = "(FPL-ERRO-Ao gerar mensagem FPL)";
+
+    // Cabe uma mensagem típica sem realocar; rota e RMK somam à parte
+    private static final int CAPACIDADE_BASE = 256;
+
     public String encode(PlanoDeVooDTO fp) {
+        StringBuilder fpl = new StringBuilder(capacidade(fp));
+        if (!encode(fp, fpl)) {
+            return MENSAGEM_ERRO;
+        }
+        String result = fpl.toString();
+        if (LOG.isDebugEnabled()) {
+            LOG.debugf("FPL gerado: %s", result);
+        }
+        return result;
+    }
+
+    /**
+     * Codifica vários planos, na ordem da lista.
+     */
+    public List<String> encodeAll(List<PlanoDeVooDTO> planos) {
+        List<String> mensagens = new ArrayList<>(planos.size());
+        StringBuilder fpl = new StringBuilder(CAPACIDADE_BASE);
+        for (PlanoDeVooDTO fp : planos) {
+            fpl.setLength(0);
+            mensagens.add(encode(fp, fpl) ? fpl.toString() : MENSAGEM_ERRO);
+        }
+        return mensagens;
+    }
+
+    /**
+     * Codifica vários planos direto no destino (um {@code Writer}, por exemplo),
+     * uma mensagem por linha. O buffer de montagem é um só para o lote; um
+     * plano que não puder ser codificado sai como mensagem de erro, sem
+     * interromper os demais.
+     *
+     * @return quantidade de mensagens escritas
+     * @throws IOException se o destino falhar
+     */
+    public int encodeAll(List<PlanoDeVooDTO> planos, Appendable destino) throws IOException {
+        StringBuilder fpl = new StringBuilder(CAPACIDADE_BASE);
+        int escritas = 0;
+        for (PlanoDeVooDTO fp : planos) {
+            fpl.setLength(0);
+            if (escritas > 0) {
+                destino.append('\n');
+            }
+            destino.append(encode(fp, fpl) ? fpl : MENSAGEM_ERRO);
+            escritas++;
+        }
+        return escritas;
+    }
+
+    /**
+     * Monta a mensagem em {@code fpl}.
+     *
+     * @return {@code false} se o plano não pôde ser codificado (o conteúdo de
+     *         {@code fpl} deve ser descartado)
+     */
+    private boolean encode(PlanoDeVooDTO fp, StringBuilder fpl) {
         try {
-            StringBuilder fpl = new StringBuilder();
-            
             // Campo 7/8: FPL-REG-IFR/VFR
             fpl.append("(FPL-").append(fp.getIdentificacaoDaAeronave());
-            fpl.append("-").append(fp.getRegraDeVooEnum());
-            fpl.append("\n");
-            
+            fpl.append('-').append(fp.getRegraDeVooEnum());
+            fpl.append('\n');
+
             // Campo 9: TYPE/W
             fpl.append(" -TYPE/").append(fp.getTipoDeAeronave());
-            fpl.append("/").append(fp.getCategoriaEsteiraTurbulenciaEnum());
-            fpl.append("\n");
-            
+            fpl.append('/').append(fp.getCategoriaEsteiraTurbulenciaEnum());
+            fpl.append('\n');
+
             // Campo 10: Equipamento e Vigilância
             fpl.append(" -SURV/");
-            if (fp.getVigilancia() != null && !fp.getVigilancia().isEmpty()) {
-                fpl.append(String.join("", fp.getVigilancia()));
-            }
+            appendAll(fpl, fp.getVigilancia());
             fpl.append(" EQPT/");
-            if (fp.getEquipamentoCapacidadeDaAeronave() != null && !fp.getEquipamentoCapacidadeDaAeronave().isEmpty()) {
-                fpl.append(String.join("", fp.getEquipamentoCapacidadeDaAeronave()));
-            }
-            fpl.append("\n");
-            
+            appendAll(fpl, fp.getEquipamentoCapacidadeDaAeronave());
+            fpl.append('\n');
+
             // Campo 13: Partida + hora
             if (fp.getAerodromoDePartida() != null && fp.getHoraPartida() != null) {
-                String horaPartida = formatHoraPartida(fp.getHoraPartida());
-                fpl.append(" -").append(fp.getAerodromoDePartida()).append(horaPartida);
-                fpl.append("\n");
+                fpl.append(" -").append(fp.getAerodromoDePartida());
+                appendHoraPartida(fpl, fp.getHoraPartida());
+                fpl.append('\n');
             }
-            
+
             // Campo 15: Velocidade/Nível/Rota
             if (fp.getVelocidadeDeCruzeiro() != null && fp.getNivelDeVoo() != null) {
                 fpl.append(" -").append(fp.getVelocidadeDeCruzeiro());
                 fpl.append(fp.getNivelDeVoo());
-                if (fp.getRota() != null && !fp.getRota().trim().isEmpty()) {
-                    fpl.append(" ").append(sanitizeRota(fp.getRota()));
+                if (!isBlank(fp.getRota())) {
+                    fpl.append(' ');
+                    appendSanitized(fpl, fp.getRota());
                 }
-                fpl.append("\n");
+                fpl.append('\n');
             }
-            
+
             // Campo 16: Destino + EET
             if (fp.getAerodromoDeDestino() != null) {
                 fpl.append(" -").append(fp.getAerodromoDeDestino());
-                String eet = fp.getTempoDeVooPrevisto() != null ? fp.getTempoDeVooPrevisto() : "0000";
-                fpl.append(eet);
-                fpl.append("\n");
+                fpl.append(fp.getTempoDeVooPrevisto() != null ? fp.getTempoDeVooPrevisto() : "0000");
+                fpl.append('\n');
             }
-            
+
             // Campo 19: Informações Suplementares
             if (fp.getInformacaoSuplementar() != null) {
                 PlanoDeVooDTO.InformacaoSuplementar info = fp.getInformacaoSuplementar();
-                
+
                 // E/ - Autonomia
-                if (info.getAutonomia() != null && !info.getAutonomia().trim().isEmpty()) {
+                if (!isBlank(info.getAutonomia())) {
                     fpl.append(" -E/").append(info.getAutonomia());
                 }
-                
+
                 // P/ - Pessoas a bordo
                 if (info.getPob() != null) {
-                    fpl.append(" P/").append(String.format("%03d", info.getPob()));
+                    fpl.append(" P/");
+                    appendPob(fpl, info.getPob());
                 }
-                
+
                 // R/ - Rádio emergência
                 if (info.getRadioEmergencia() != null && !info.getRadioEmergencia().isEmpty()) {
-                    fpl.append(" R/").append(String.join("", info.getRadioEmergencia()));
+                    fpl.append(" R/");
+                    appendAll(fpl, info.getRadioEmergencia());
                 }
-                
+
                 // S/ - Sobrevivência
                 if (info.getSobrevivencia() != null && !info.getSobrevivencia().isEmpty()) {
-                    fpl.append(" S/").append(String.join("", info.getSobrevivencia()));
+                    fpl.append(" S/");
+                    appendAll(fpl, info.getSobrevivencia());
                 }
-                
+
                 // J/ - Coletes
                 if (info.getColetes() != null && !info.getColetes().isEmpty()) {
-                    fpl.append(" J/").append(String.join("", info.getColetes()));
+                    fpl.append(" J/");
+                    appendAll(fpl, info.getColetes());
                 }
-                
+
                 // D/ - Botes
                 if (info.getBotes() != null && Boolean.TRUE.equals(info.getBotes().getPossui())) {
                     fpl.append(" D/");
@@ -98,92 +166,173 @@ public class FplEncoderService {
                         fpl.append(info.getBotes().getNumero());
                     }
                     if (info.getBotes().getCapacidade() != null) {
-                        fpl.append("/").append(info.getBotes().getCapacidade());
+                        fpl.append('/').append(info.getBotes().getCapacidade());
                     }
                     if (Boolean.TRUE.equals(info.getBotes().getC())) {
                         fpl.append("/C");
                     }
                 }
-                
+
                 // A/ - Cor e marca
-                if (info.getCorEMarcaAeronave() != null && !info.getCorEMarcaAeronave().trim().isEmpty()) {
+                if (!isBlank(info.getCorEMarcaAeronave())) {
                     fpl.append(" A/").append(info.getCorEMarcaAeronave());
                 }
-                
+
                 // C/ - Telefone (frequência de emergência)
-                if (info.getTelefone() != null && !info.getTelefone().trim().isEmpty()) {
+                if (!isBlank(info.getTelefone())) {
                     fpl.append(" C/").append(info.getTelefone());
                 }
-                
-                fpl.append("\n");
+
+                fpl.append('\n');
             }
-            
+
             // Campo 18: Outras informações
             if (fp.getOutrasInformacoes() != null) {
                 PlanoDeVooDTO.OutrasInformacoes outras = fp.getOutrasInformacoes();
-                
+
                 // DOF/ - Data de voo
-                if (outras.getDof() != null && !outras.getDof().trim().isEmpty()) {
+                if (!isBlank(outras.getDof())) {
                     fpl.append(" -DOF/").append(outras.getDof());
                 }
-                
+
                 // PBN/ - Performance Based Navigation (se aplicável)
                 // NAV/ - Navegação (se aplicável)
                 // COM/ - Comunicação (se aplicável)
                 // REG/ - Registro (se aplicável)
                 // EET/ - Estimated Elapsed Time (se aplicável)
-                if (outras.getEet() != null && !outras.getEet().trim().isEmpty()) {
+                if (!isBlank(outras.getEet())) {
                     fpl.append(" EET/").append(outras.getEet());
                 }
-                
+
                 // OPR/ - Operador
-                if (outras.getOpr() != null && !outras.getOpr().trim().isEmpty()) {
+                if (!isBlank(outras.getOpr())) {
                     fpl.append(" OPR/").append(outras.getOpr());
                 }
-                
+
                 // ALTN/ - Aeródromo de alternativa
-                if (fp.getAerodromoDeAlternativa() != null && !fp.getAerodromoDeAlternativa().trim().isEmpty()) {
+                if (!isBlank(fp.getAerodromoDeAlternativa())) {
                     fpl.append(" ALTN/").append(fp.getAerodromoDeAlternativa());
                 }
-                
+
                 // DEP/ - Aeródromo de partida (se diferente do campo 13)
-                if (outras.getFrom() != null && !outras.getFrom().trim().isEmpty() && 
-                    !outras.getFrom().equals(fp.getAerodromoDePartida())) {
+                if (!isBlank(outras.getFrom()) && !outras.getFrom().equals(fp.getAerodromoDePartida())) {
                     fpl.append(" DEP/").append(outras.getFrom());
                 }
-                
+
                 // RMK/ - Observações (por último)
-                if (outras.getRmk() != null && !outras.getRmk().trim().isEmpty()) {
-                    fpl.append(" RMK/").append(sanitizeRmk(outras.getRmk()));
+                if (!isBlank(outras.getRmk())) {
+                    fpl.append(" RMK/");
+                    appendSanitized(fpl, outras.getRmk());
                 }
-                
-                fpl.append("\n");
+
+                fpl.append('\n');
             }
-            
-            fpl.append(")");
-            
-            String result = fpl.toString();
-            LOG.debug("FPL gerado: " + result);
-            return result;
-            
+
+            fpl.append(')');
+            return true;
+
         } catch (Exception e) {
             LOG.error("Erro ao gerar FPL: " + e.getMessage(), e);
-            return "(FPL-ERRO-Ao gerar mensagem FPL)";
+            return false;
+        }
+    }
+
+    private static int capacidade(PlanoDeVooDTO fp) {
+        int capacidade = CAPACIDADE_BASE;
+        if (fp != null) {
+            if (fp.getRota() != null) {
+                capacidade += fp.getRota().length();
+            }
+            if (fp.getOutrasInformacoes() != null && fp.getOutrasInformacoes().getRmk() != null) {
+                capacidade += fp.getOutrasInformacoes().getRmk().length();
+            }
         }
+        return capacidade;
     }
-    
-    private String formatHoraPartida(OffsetDateTime horaPartida) {
-        if (horaPartida == null) return "";
-        return horaPartida.format(DateTimeFormatter.ofPattern("HHmm"));
+
+    /**
+     * HHmm no offset do próprio horário, como {@code DateTimeFormatter.ofPattern("HHmm")}.
+     */
+    private static void appendHoraPartida(StringBuilder fpl, OffsetDateTime horaPartida) {
+        appendDoisDigitos(fpl, horaPartida.getHour());
+        appendDoisDigitos(fpl, horaPartida.getMinute());
+    }
+
+    private static void appendDoisDigitos(StringBuilder fpl, int valor) {
+        fpl.append((char) ('0' + valor / 10)).append((char) ('0' + valor % 10));
     }
-    
-    private String sanitizeRota(String rota) {
-        if (rota == null) return "";
-        return rota.trim().replaceAll("\\s+", " ");
+
+    /**
+     * Equivalente a {@code String.format("%03d", pob)}.
+     */
+    private static void appendPob(StringBuilder fpl, int pob) {
+        if (pob < 0) {
+            // Fora do domínio; mantém exatamente a saída anterior
+            fpl.append(String.format("%03d", pob));
+            return;
+        }
+        if (pob < 100) {
+            fpl.append('0');
+        }
+        if (pob < 10) {
+            fpl.append('0');
+        }
+        fpl.append(pob);
     }
-    
-    private String sanitizeRmk(String rmk) {
-        if (rmk == null) return "";
-        return rmk.trim().replaceAll("\\s+", " ");
+
+    /**
+     * Equivalente a {@code String.join("", valores)}, tolerando lista nula.
+     */
+    private static void appendAll(StringBuilder fpl, List<String> valores) {
+        if (valores == null) {
+            return;
+        }
+        for (int i = 0; i < valores.size(); i++) {
+            fpl.append(valores.get(i));
+        }
+    }
+
+    /**
+     * Equivalente a {@code texto.trim().replaceAll("\\s+", " ")}, em uma passada.
+     */
+    private static void appendSanitized(StringBuilder fpl, String texto) {
+        int inicio = 0;
+        int fim = texto.length();
+        while (inicio < fim && texto.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && texto.charAt(fim - 1) <= ' ') {
+            fim--;
+        }
+        boolean emEspaco = false;
+        for (int i = inicio; i < fim; i++) {
+            char c = texto.charAt(i);
+            if (isRegexSpace(c)) {
+                if (!emEspaco) {
+                    fpl.append(' ');
+                    emEspaco = true;
+                }
+            } else {
+                fpl.append(c);
+                emEspaco = false;
+            }
+        }
+    }
+
+    // Classe \s do java.util.regex: [ \t\n\x0B\f\r]
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isBlank(String valor) {
+        if (valor == null) {
+            return true;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            if (valor.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,416 @@
+package br.com.fplbr.pilot.flightplan.application.service;
+
+import br.com.fplbr.pilot.common.infrastructure.persistence.FalhaDeBanco;
+import br.com.fplbr.pilot.common.infrastructure.redis.StreamDeadLetter;
+import br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission;
+import br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmissionRepository;
+import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.redis.datasource.stream.ClaimedMessages;
+import io.quarkus.redis.datasource.stream.StreamCommands;
+import io.quarkus.redis.datasource.stream.StreamMessage;
+import io.quarkus.redis.datasource.stream.StreamRange;
+import io.quarkus.redis.datasource.stream.XAddArgs;
+import io.quarkus.redis.datasource.stream.XGroupCreateArgs;
+import io.quarkus.redis.datasource.stream.XReadGroupArgs;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gravação assíncrona (write-behind) dos envios de plano de voo sobre Redis Streams.
+ *
+ * Com {@code fpl.submission.write-behind.enabled}, o envio validado recebe um id
+ * reservado da sequência da tabela (em blocos, sem round trip ao banco por envio),
+ * vai para o stream com XADD e é confirmado na hora. Cada réplica lê o stream no
+ * mesmo consumer group, grava os envios em insert multi-linha e só então faz
+ * XACK + XDEL (at-least-once; o insert ignora ids repetidos). Pendentes de
+ * réplicas que caíram são reivindicados com XAUTOCLAIM, como na fila de aeródromos.
+ * Se o insert do lote falhar por causa dos dados, os envios são gravados um a
+ * um; o que continuar falhando depois de
+ * {@code fpl.submission.write-behind.max-deliveries} entregas vai para
+ * {@code fpl_submissions_stream:dead} e é logado como erro, já que o cliente
+ * recebeu 202. Se o banco estiver indisponível ({@link FalhaDeBanco}), o lote
+ * inteiro fica pendente sem contar a entrega e a drenagem para até o próximo
+ * ciclo: uma queda do banco não leva envios aceitos ao dead-letter.
+ *
+ * A durabilidade do envio confirmado é a do Redis (use AOF em produção). Se o
+ * Redis estiver fora, {@link #enfileirar} devolve vazio e o envio é gravado na
+ * própria requisição.
+ */
+@ApplicationScoped
+public class FplSubmissionQueueService {
+
+    private static final Logger LOG = Logger.getLogger(FplSubmissionQueueService.class);
+
+    private static final String STREAM_NAME = "fpl_submissions_stream";
+    private static final String GROUP_NAME = "fpl_submissions_writer";
+    // Mensagens lidas, no máximo, ao procurar um envio aceito que ainda não foi gravado
+    private static final int MAX_VARREDURA_PENDENTES = 10_000;
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @Inject
+    FplSubmissionRepository repository;
+
+    @ConfigProperty(name = "fpl.submission.write-behind.enabled", defaultValue = "false")
+    boolean habilitado;
+
+    @ConfigProperty(name = "fpl.submission.write-behind.batch.size", defaultValue = "500")
+    int tamanhoLote;
+
+    @ConfigProperty(name = "fpl.submission.write-behind.id-block", defaultValue = "50")
+    int tamanhoBlocoIds;
+
+    @ConfigProperty(name = "fpl.submission.write-behind.max-len", defaultValue = "1000000")
+    long tamanhoMaximoStream;
+
+    @ConfigProperty(name = "fpl.submission.write-behind.drain.max", defaultValue = "4s")
+    Duration tempoMaximoDrenagem;
+
+    @ConfigProperty(name = "fpl.submission.write-behind.reclaim.idle", defaultValue = "60s")
+    Duration ociosidadeParaReivindicar;
+
+    @ConfigProperty(name = "fpl.submission.write-behind.max-deliveries", defaultValue = "5")
+    int maxEntregas;
+
+    @ConfigProperty(name = "fpl.submission.write-behind.consumer")
+    Optional<String> consumerConfigurado;
+
+    private final ConcurrentLinkedQueue<Long> idsReservados = new ConcurrentLinkedQueue<>();
+    private final LongAdder descartados = new LongAdder();
+    // ReentrantLock e não synchronized: os blocos fazem I/O (Redis, JDBC) e são
+    // chamados de virtual threads, que ficariam presas ao carrier dentro de um monitor
+    private final ReentrantLock travaInit = new ReentrantLock();
+    private final ReentrantLock travaIds = new ReentrantLock();
+    private volatile StreamCommands<String, String, String> streamCommands;
+    private StreamDeadLetter deadLetter;
+    private volatile boolean grupoCriado;
+    private String consumer;
+
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Envios aceitos (202) que esta réplica moveu para o dead-letter desde a subida.
+     */
+    public long descartados() {
+        return descartados.sum();
+    }
+
+    void init() {
+        if (streamCommands != null && grupoCriado) {
+            return;
+        }
+        travaInit.lock();
+        try {
+            if (this.streamCommands == null) {
+                StreamCommands<String, String, String> comandos =
+                    redisDataSource.stream(String.class, String.class, String.class);
+                // pid@host identifica a réplica dentro do consumer group
+                this.consumer = consumerConfigurado.orElseGet(() -> ManagementFactory.getRuntimeMXBean().getName());
+                this.deadLetter = new StreamDeadLetter(comandos, STREAM_NAME, GROUP_NAME, maxEntregas);
+                this.streamCommands = comandos;
+            }
+            if (!grupoCriado) {
+                try {
+                    streamCommands.xgroupCreate(STREAM_NAME, GROUP_NAME, "0", new XGroupCreateArgs().mkstream());
+                    LOG.infof("🧵 Consumer group %s criado no stream %s", GROUP_NAME, STREAM_NAME);
+                } catch (Exception e) {
+                    if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) {
+                        throw e;
+                    }
+                    // Grupo já existe
+                }
+                grupoCriado = true;
+            }
+        } finally {
+            travaInit.unlock();
+        }
+    }
+
+    /**
+     * Atribui o id definitivo ao envio e o coloca no stream.
+     *
+     * @param envio envio validado, sem id
+     * @return o id atribuído, ou vazio se o stream estiver indisponível (o
+     *         chamador grava de forma síncrona)
+     */
+    public Optional<Long> enfileirar(FplSubmission envio) {
+        try {
+            init();
+            envio.setId(proximoId());
+            streamCommands.xadd(STREAM_NAME, new XAddArgs().maxlen(tamanhoMaximoStream).nearlyExactTrimming(),
+                paraCampos(envio));
+            return Optional.of(envio.getId());
+        } catch (Exception e) {
+            LOG.warnf("Stream de envios indisponível (%s); gravando de forma síncrona", e.getMessage());
+            envio.setId(null);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Envio aceito que ainda está no stream, à espera do insert em lote.
+     *
+     * Percorre o stream do mais antigo para o mais novo (XRANGE em páginas do
+     * tamanho do lote), até {@value #MAX_VARREDURA_PENDENTES} mensagens. Para o
+     * caso em que o envio não está no banco nem no cache desta réplica.
+     *
+     * @return o envio, ou vazio se não estiver no stream ou o Redis estiver fora
+     */
+    public Optional<FplSubmission> buscarPendente(Long id) {
+        if (!habilitado || id == null) {
+            return Optional.empty();
+        }
+        try {
+            init();
+            String alvo = id.toString();
+            String inicio = "-";
+            int lidas = 0;
+            while (lidas < MAX_VARREDURA_PENDENTES) {
+                List<StreamMessage<String, String, String>> pagina =
+                    streamCommands.xrange(STREAM_NAME, StreamRange.of(inicio, "+"), tamanhoLote);
+                for (StreamMessage<String, String, String> mensagem : pagina) {
+                    if (alvo.equals(mensagem.payload().get("id"))) {
+                        return Optional.of(deCampos(mensagem.payload()));
+                    }
+                }
+                lidas += pagina.size();
+                if (pagina.size() < tamanhoLote) {
+                    break;
+                }
+                // Intervalo exclusivo: continua depois da última mensagem lida
+                inicio = "(" + pagina.get(pagina.size() - 1).id();
+            }
+        } catch (Exception e) {
+            LOG.debugf("Stream de envios indisponível na busca do envio %d (%s)", id, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Drena o stream: primeiro reivindica pendentes abandonados, depois lê
+     * envios novos até esvaziar ou o tempo de drenagem acabar.
+     */
+    @Scheduled(every = "${fpl.submission.write-behind.interval:1s}",
+               concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void drenar() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            init();
+            long limite = System.nanoTime() + tempoMaximoDrenagem.toNanos();
+            int gravados = reivindicarPendentes();
+            while (System.nanoTime() < limite) {
+                List<StreamMessage<String, String, String>> mensagens = streamCommands.xreadgroup(
+                    GROUP_NAME, consumer, STREAM_NAME, ">", new XReadGroupArgs().count(tamanhoLote));
+                if (mensagens == null || mensagens.isEmpty()) {
+                    break;
+                }
+                gravados += gravarMensagens(mensagens);
+            }
+            if (gravados > 0) {
+                LOG.infof("💾 %d envios de FPL gravados por %s", gravados, consumer);
+            }
+        } catch (Exception e) {
+            if (FalhaDeBanco.indisponivel(e)) {
+                LOG.warnf("⚠️ Banco indisponível; envios de FPL ficam pendentes no stream (%s)", e.getMessage());
+                return;
+            }
+            LOG.errorf("❌ Erro ao drenar envios de FPL: %s", e.getMessage());
+            if (e.getMessage() != null && e.getMessage().contains("NOGROUP")) {
+                grupoCriado = false;
+            }
+        }
+    }
+
+    private int reivindicarPendentes() {
+        int gravados = 0;
+        String inicio = "0-0";
+        do {
+            ClaimedMessages<String, String, String> reivindicadas = streamCommands.xautoclaim(
+                STREAM_NAME, GROUP_NAME, consumer, ociosidadeParaReivindicar, inicio, tamanhoLote);
+            List<StreamMessage<String, String, String>> mensagens = reivindicadas.getMessages();
+            if (!mensagens.isEmpty()) {
+                LOG.infof("♻️ %d envios pendentes reivindicados por %s", mensagens.size(), consumer);
+                gravados += gravarMensagens(mensagens);
+            }
+            inicio = reivindicadas.getId();
+        } while (inicio != null && !"0-0".equals(inicio));
+        return gravados;
+    }
+
+    /**
+     * Grava as mensagens e confirma (XACK + XDEL) as gravadas. Se o lote
+     * falhar por causa dos dados, grava um a um; as que falharem de novo ficam
+     * pendentes para nova tentativa, até o limite de entregas. Com o banco
+     * indisponível, as não gravadas são devolvidas sem contar a entrega e a
+     * falha sobe para interromper a drenagem.
+     */
+    private int gravarMensagens(List<StreamMessage<String, String, String>> mensagens) {
+        List<FplSubmission> lote = new ArrayList<>(mensagens.size());
+        List<StreamMessage<String, String, String>> validas = new ArrayList<>(mensagens.size());
+        for (StreamMessage<String, String, String> mensagem : mensagens) {
+            try {
+                lote.add(deCampos(mensagem.payload()));
+                validas.add(mensagem);
+            } catch (Exception e) {
+                // Mensagem inválida nunca vai ser gravada
+                moverParaDeadLetter(mensagem, "Campos inválidos: " + e.getMessage(), true);
+            }
+        }
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        int inseridos = 0;
+        List<String> gravadas = new ArrayList<>(lote.size());
+        try {
+            inseridos = gravarLote(lote);
+            validas.forEach(m -> gravadas.add(m.id()));
+        } catch (Exception e) {
+            if (FalhaDeBanco.indisponivel(e)) {
+                devolver(validas, 0);
+                throw e;
+            }
+            LOG.warnf("⚠️ Lote de %d envios falhou (%s); gravando um a um", lote.size(), e.getMessage());
+            for (int i = 0; i < lote.size(); i++) {
+                StreamMessage<String, String, String> mensagem = validas.get(i);
+                try {
+                    inseridos += gravarLote(List.of(lote.get(i)));
+                    gravadas.add(mensagem.id());
+                } catch (Exception erroLinha) {
+                    if (FalhaDeBanco.indisponivel(erroLinha)) {
+                        // O banco caiu no meio: confirma o que gravou e devolve o resto
+                        confirmar(gravadas);
+                        devolver(validas, i);
+                        throw erroLinha;
+                    }
+                    moverParaDeadLetter(mensagem, erroLinha.getMessage(), false);
+                }
+            }
+        }
+        confirmar(gravadas);
+        return inseridos;
+    }
+
+    private void confirmar(List<String> gravadas) {
+        if (!gravadas.isEmpty()) {
+            String[] ids = gravadas.toArray(String[]::new);
+            streamCommands.xack(STREAM_NAME, GROUP_NAME, ids);
+            streamCommands.xdel(STREAM_NAME, ids);
+        }
+    }
+
+    /**
+     * Devolve ao stream, sem contar a entrega, as mensagens a partir de {@code inicio}.
+     */
+    private void devolver(List<StreamMessage<String, String, String>> mensagens, int inicio) {
+        List<String> ids = new ArrayList<>(mensagens.size() - inicio);
+        for (int i = inicio; i < mensagens.size(); i++) {
+            ids.add(mensagens.get(i).id());
+        }
+        deadLetter.devolver(consumer, ids);
+    }
+
+    private void moverParaDeadLetter(StreamMessage<String, String, String> mensagem, String erro, boolean imediato) {
+        boolean movida;
+        if (imediato) {
+            deadLetter.descartar(mensagem.id(), mensagem.payload(), erro, deadLetter.entregas(mensagem.id()));
+            movida = true;
+        } else {
+            movida = deadLetter.falhou(mensagem.id(), mensagem.payload(), erro);
+        }
+        if (movida) {
+            descartados.increment();
+            // O cliente já recebeu 202 com este id: precisa de ação manual
+            LOG.errorf("❌ Envio de FPL %s (%s) aceito e não gravado; movido para %s (%d descartados desde a subida)",
+                mensagem.payload().get("id"), mensagem.payload().get("identificacao"), deadLetter.nome(),
+                descartados.sum());
+        }
+    }
+
+    @Transactional
+    int gravarLote(List<FplSubmission> lote) {
+        return repository.inserirEmLote(lote);
+    }
+
+    @Transactional
+    List<Long> reservarIds() {
+        return repository.reservarIds(Math.max(1, tamanhoBlocoIds));
+    }
+
+    private Long proximoId() {
+        Long id = idsReservados.poll();
+        while (id == null) {
+            travaIds.lock();
+            try {
+                // Só uma thread reserva o próximo bloco; as outras esperam e consomem dele
+                if (idsReservados.isEmpty()) {
+                    idsReservados.addAll(reservarIds());
+                }
+            } finally {
+                travaIds.unlock();
+            }
+            id = idsReservados.poll();
+        }
+        return id;
+    }
+
+    private static Map<String, String> paraCampos(FplSubmission f) {
+        Map<String, String> campos = new HashMap<>();
+        campos.put("id", f.getId().toString());
+        campos.put("createdAt", f.getCreatedAt().toString());
+        colocar(campos, "modo", f.getModo());
+        colocar(campos, "identificacao", f.getIdentificacao());
+        colocar(campos, "aerodromoDePartida", f.getAerodromoDePartida());
+        colocar(campos, "aerodromoDeDestino", f.getAerodromoDeDestino());
+        colocar(campos, "tipoDeVoo", f.getTipoDeVoo());
+        colocar(campos, "regraDeVoo", f.getRegraDeVoo());
+        colocar(campos, "horaPartida", f.getHoraPartida() != null ? f.getHoraPartida().toString() : null);
+        campos.put("payloadJson", f.getPayloadJson());
+        colocar(campos, "plnCodificado", f.getPlnCodificado());
+        return campos;
+    }
+
+    private static void colocar(Map<String, String> campos, String campo, String valor) {
+        if (valor != null) {
+            campos.put(campo, valor);
+        }
+    }
+
+    private static FplSubmission deCampos(Map<String, String> campos) {
+        String horaPartida = campos.get("horaPartida");
+        return FplSubmission.builder()
+            .id(Long.valueOf(campos.get("id")))
+            .createdAt(OffsetDateTime.parse(campos.get("createdAt")))
+            .modo(campos.get("modo"))
+            .identificacao(campos.get("identificacao"))
+            .aerodromoDePartida(campos.get("aerodromoDePartida"))
+            .aerodromoDeDestino(campos.get("aerodromoDeDestino"))
+            .tipoDeVoo(campos.get("tipoDeVoo"))
+            .regraDeVoo(campos.get("regraDeVoo"))
+            .horaPartida(horaPartida != null ? OffsetDateTime.parse(horaPartida) : null)
+            .payloadJson(campos.get("payloadJson"))
+            .plnCodificado(campos.get("plnCodificado"))
+            .build();
+    }
+}
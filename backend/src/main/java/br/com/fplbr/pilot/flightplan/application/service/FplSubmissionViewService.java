@@ -0,0 +1,169 @@
+package br.com.fplbr.pilot.flightplan.application.service;
+
+import br.com.fplbr.pilot.flightplan.application.dto.PlanoDeVooDTO;
+import br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Visualização dos envios de plano de voo com o PLN codificado.
+ *
+ * O envio não muda depois de criado, então a mensagem ICAO é codificada uma vez
+ * no envio ({@code pln_codificado}) e a visualização é o {@code payload_json}
+ * gravado com o campo {@code plnCodificado} acrescentado no fim — o mesmo JSON
+ * que o {@code PlanoDeVooViewDTO} produzia, sem desserializar nem codificar de
+ * novo. Na frente fica um LRU com o corpo pronto (em UTF-8) dos envios vistos
+ * ou criados recentemente nesta réplica.
+ *
+ * Envios gravados antes da coluna existir são codificados na primeira
+ * visualização e a coluna é preenchida nessa hora.
+ */
+@ApplicationScoped
+public class FplSubmissionViewService {
+
+    private static final Logger LOG = Logger.getLogger(FplSubmissionViewService.class);
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    ObjectMapper mapper;
+
+    @Inject
+    FplEncoderService fplEncoderService;
+
+    @ConfigProperty(name = "fpl.submission.view-cache.size", defaultValue = "1000")
+    long tamanhoCache;
+
+    private Cache<Long, byte[]> cache;
+    // Envios criados nesta réplica, para ler um envio aceito (202) antes do insert em lote
+    private Cache<Long, FplSubmission> recentes;
+
+    @PostConstruct
+    void init() {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(Math.max(1, tamanhoCache))
+            .build();
+        this.recentes = Caffeine.newBuilder()
+            .maximumSize(Math.max(1, tamanhoCache))
+            .build();
+    }
+
+    /**
+     * Codifica a mensagem ICAO de um envio novo.
+     *
+     * @return o PLN codificado, ou {@code null} se o plano não puder ser
+     *         codificado (fica para a primeira visualização, como antes)
+     */
+    public String codificar(PlanoDeVooDTO dto) {
+        try {
+            return fplEncoderService.encode(dto);
+        } catch (RuntimeException e) {
+            LOG.warnf("⚠️ PLN não codificado no envio (%s): %s", dto.getIdentificacaoDaAeronave(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Coloca no LRU a visualização de um envio recém-criado (inclusive os que
+     * ainda estão no stream de write-behind) e guarda o envio para {@link #recente}.
+     */
+    public void registrar(FplSubmission envio) {
+        if (envio == null || envio.getId() == null) {
+            return;
+        }
+        recentes.put(envio.getId(), envio);
+        if (envio.getPlnCodificado() != null) {
+            cache.put(envio.getId(), montarView(envio.getPayloadJson(), envio.getPlnCodificado()));
+        }
+    }
+
+    /**
+     * Envio criado recentemente nesta réplica, gravado ou não.
+     */
+    public Optional<FplSubmission> recente(Long id) {
+        return id != null ? Optional.ofNullable(recentes.getIfPresent(id)) : Optional.empty();
+    }
+
+    /**
+     * Corpo JSON da visualização do envio.
+     *
+     * @return o corpo em UTF-8, ou vazio se o envio não existir
+     */
+    public Optional<byte[]> buscar(Long id) {
+        byte[] view = cache.getIfPresent(id);
+        if (view != null) {
+            return Optional.of(view);
+        }
+        List<Object[]> linhas = em.createQuery(
+                "select f.payloadJson, f.plnCodificado from FplSubmission f where f.id = :id", Object[].class)
+            .setParameter("id", id)
+            .getResultList();
+        if (linhas.isEmpty()) {
+            return Optional.empty();
+        }
+        String payloadJson = (String) linhas.get(0)[0];
+        String plnCodificado = (String) linhas.get(0)[1];
+        if (plnCodificado == null) {
+            plnCodificado = codificarLegado(id, payloadJson);
+        }
+        view = montarView(payloadJson, plnCodificado);
+        cache.put(id, view);
+        return Optional.of(view);
+    }
+
+    /**
+     * Codifica um envio antigo e grava o resultado na linha.
+     */
+    @Transactional
+    String codificarLegado(Long id, String payloadJson) {
+        PlanoDeVooDTO planoDeVoo;
+        try {
+            planoDeVoo = mapper.readValue(payloadJson, PlanoDeVooDTO.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        String plnCodificado = fplEncoderService.encode(planoDeVoo);
+        em.createQuery("update FplSubmission f set f.plnCodificado = :pln where f.id = :id")
+            .setParameter("pln", plnCodificado)
+            .setParameter("id", id)
+            .executeUpdate();
+        LOG.debugf("PLN do envio %d codificado na visualização", id);
+        return plnCodificado;
+    }
+
+    /**
+     * Acrescenta {@code "plnCodificado"} ao objeto JSON do payload, sem parseá-lo.
+     */
+    static byte[] montarView(String payloadJson, String plnCodificado) {
+        int fim = payloadJson.lastIndexOf('}');
+        if (fim < 0) {
+            throw new IllegalStateException("payload_json não é um objeto JSON");
+        }
+        int anterior = fim - 1;
+        while (anterior >= 0 && Character.isWhitespace(payloadJson.charAt(anterior))) {
+            anterior--;
+        }
+        char[] pln = JsonStringEncoder.getInstance().quoteAsString(plnCodificado);
+        StringBuilder sb = new StringBuilder(payloadJson.length() + pln.length + 20);
+        sb.append(payloadJson, 0, fim);
+        if (anterior >= 0 && payloadJson.charAt(anterior) != '{') {
+            sb.append(',');
+        }
+        sb.append("\"plnCodificado\":\"").append(pln).append("\"}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -3,8 +3,23 @@ package br.com.fplbr.pilot.flightplan.infrastructure.persistence;
 import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 
+/**
+ * Envio de plano de voo. O payload completo fica em {@code payload_json}; os
+ * campos usados em listagens e filtros são gravados também em colunas próprias
+ * e indexadas, para que a listagem não precise ler nem parsear o JSON. A
+ * mensagem ICAO codificada é gerada uma vez no envio e fica em
+ * {@code pln_codificado}, já que o envio não muda depois de criado.
+ */
 @Entity
-@Table(name = "fpl_submissions")
+@Table(name = "fpl_submissions", indexes = {
+    // Chave da paginação por cursor (created_at, id), sozinha e após cada filtro de igualdade
+    @Index(name = "idx_fpl_submissions_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_fpl_submissions_ident_created_at_id", columnList = "identificacao, created_at, id"),
+    @Index(name = "idx_fpl_submissions_modo_created_at_id", columnList = "modo, created_at, id"),
+    @Index(name = "idx_fpl_submissions_partida_created_at_id", columnList = "aerodromo_partida, created_at, id"),
+    @Index(name = "idx_fpl_submissions_destino_created_at_id", columnList = "aerodromo_destino, created_at, id"),
+    @Index(name = "idx_fpl_submissions_hora_partida", columnList = "hora_partida")
+})
 public class FplSubmission {
 
     @Id
@@ -20,8 +35,26 @@ public class FplSubmission {
     @Column(name = "identificacao", length = 16)
     private String identificacao;
 
+    @Column(name = "aerodromo_partida", length = 4)
+    private String aerodromoDePartida;
+
+    @Column(name = "aerodromo_destino", length = 4)
+    private String aerodromoDeDestino;
+
+    @Column(name = "tipo_de_voo", length = 1)
+    private String tipoDeVoo;
+
+    @Column(name = "regra_de_voo", length = 1)
+    private String regraDeVoo;
+
+    @Column(name = "hora_partida")
+    private OffsetDateTime horaPartida;
+
     @Column(name = "payload_json", nullable = false, columnDefinition = "TEXT")
     private String payloadJson;
+
+    @Column(name = "pln_codificado", columnDefinition = "TEXT")
+    private String plnCodificado;
     
     // Construtor padrão
     public FplSubmission() {}
@@ -48,6 +81,19 @@ public class FplSubmission {
     public String getModo() { return modo; }
     public void setModo(String modo) { this.modo = modo; }
     
+    public String getAerodromoDePartida() { return aerodromoDePartida; }
+    public void setAerodromoDePartida(String aerodromoDePartida) { this.aerodromoDePartida = aerodromoDePartida; }
+    public String getAerodromoDeDestino() { return aerodromoDeDestino; }
+    public void setAerodromoDeDestino(String aerodromoDeDestino) { this.aerodromoDeDestino = aerodromoDeDestino; }
+    public String getTipoDeVoo() { return tipoDeVoo; }
+    public void setTipoDeVoo(String tipoDeVoo) { this.tipoDeVoo = tipoDeVoo; }
+    public String getRegraDeVoo() { return regraDeVoo; }
+    public void setRegraDeVoo(String regraDeVoo) { this.regraDeVoo = regraDeVoo; }
+    public OffsetDateTime getHoraPartida() { return horaPartida; }
+    public void setHoraPartida(OffsetDateTime horaPartida) { this.horaPartida = horaPartida; }
+    public String getPlnCodificado() { return plnCodificado; }
+    public void setPlnCodificado(String plnCodificado) { this.plnCodificado = plnCodificado; }
+    
     // Builder
     public static FplSubmissionBuilder builder() {
         return new FplSubmissionBuilder();
@@ -59,12 +105,24 @@ public class FplSubmission {
         private String payloadJson;
         private OffsetDateTime createdAt;
         private String modo;
+        private String aerodromoDePartida;
+        private String aerodromoDeDestino;
+        private String tipoDeVoo;
+        private String regraDeVoo;
+        private OffsetDateTime horaPartida;
+        private String plnCodificado;
         
         public FplSubmissionBuilder id(Long id) { this.id = id; return this; }
         public FplSubmissionBuilder identificacao(String identificacao) { this.identificacao = identificacao; return this; }
         public FplSubmissionBuilder payloadJson(String payloadJson) { this.payloadJson = payloadJson; return this; }
         public FplSubmissionBuilder createdAt(OffsetDateTime createdAt) { this.createdAt = createdAt; return this; }
         public FplSubmissionBuilder modo(String modo) { this.modo = modo; return this; }
+        public FplSubmissionBuilder aerodromoDePartida(String aerodromoDePartida) { this.aerodromoDePartida = aerodromoDePartida; return this; }
+        public FplSubmissionBuilder aerodromoDeDestino(String aerodromoDeDestino) { this.aerodromoDeDestino = aerodromoDeDestino; return this; }
+        public FplSubmissionBuilder tipoDeVoo(String tipoDeVoo) { this.tipoDeVoo = tipoDeVoo; return this; }
+        public FplSubmissionBuilder regraDeVoo(String regraDeVoo) { this.regraDeVoo = regraDeVoo; return this; }
+        public FplSubmissionBuilder horaPartida(OffsetDateTime horaPartida) { this.horaPartida = horaPartida; return this; }
+        public FplSubmissionBuilder plnCodificado(String plnCodificado) { this.plnCodificado = plnCodificado; return this; }
         
         public FplSubmission build() {
             FplSubmission entity = new FplSubmission();
@@ -73,6 +131,12 @@ public class FplSubmission {
             entity.setPayloadJson(payloadJson);
             entity.setCreatedAt(createdAt);
             entity.setModo(modo);
+            entity.setAerodromoDePartida(aerodromoDePartida);
+            entity.setAerodromoDeDestino(aerodromoDeDestino);
+            entity.setTipoDeVoo(tipoDeVoo);
+            entity.setRegraDeVoo(regraDeVoo);
+            entity.setHoraPartida(horaPartida);
+            entity.setPlnCodificado(plnCodificado);
             return entity;
         }
     }
@@ -0,0 +1,89 @@
+package br.com.fplbr.pilot.flightplan.infrastructure.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Preenche as colunas de listagem dos envios gravados antes delas existirem.
+ *
+ * Roda uma vez na subida, em lotes, parseando o {@code payload_json} só das
+ * linhas ainda sem {@code aerodromo_partida}. Envios novos já nascem com as
+ * colunas preenchidas em {@code createFlightPlan}.
+ */
+@ApplicationScoped
+public class FplSubmissionBackfill {
+
+    private static final Logger LOG = Logger.getLogger(FplSubmissionBackfill.class);
+
+    private static final int TAMANHO_LOTE = 500;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    ObjectMapper mapper;
+
+    void onStart(@Observes StartupEvent evento) {
+        try {
+            int total = 0;
+            int lote;
+            long ultimoId = 0;
+            do {
+                Resultado resultado = preencherLote(ultimoId);
+                lote = resultado.processados();
+                ultimoId = resultado.ultimoId();
+                total += resultado.preenchidos();
+            } while (lote == TAMANHO_LOTE);
+            if (total > 0) {
+                LOG.infof("Envios de FPL indexados: %d", total);
+            }
+        } catch (Exception e) {
+            LOG.warnf("Indexação dos envios de FPL antigos não concluída: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Preenche um lote de envios sem colunas de listagem, a partir do id informado.
+     */
+    @Transactional
+    Resultado preencherLote(long aposId) {
+        List<FplSubmission> pendentes = em.createQuery(
+                "select f from FplSubmission f where f.aerodromoDePartida is null and f.id > :id order by f.id",
+                FplSubmission.class)
+            .setParameter("id", aposId)
+            .setMaxResults(TAMANHO_LOTE)
+            .getResultList();
+
+        int preenchidos = 0;
+        long ultimoId = aposId;
+        for (FplSubmission f : pendentes) {
+            ultimoId = f.getId();
+            try {
+                JsonNode tree = mapper.readTree(f.getPayloadJson());
+                f.setAerodromoDePartida(tree.path("aerodromoDePartida").asText(null));
+                f.setAerodromoDeDestino(tree.path("aerodromoDeDestino").asText(null));
+                f.setTipoDeVoo(tree.path("tipoDeVooEnum").asText(null));
+                f.setRegraDeVoo(tree.path("regraDeVooEnum").asText(null));
+                String horaPartida = tree.path("horaPartida").asText(null);
+                f.setHoraPartida(horaPartida != null ? OffsetDateTime.parse(horaPartida) : null);
+                preenchidos++;
+            } catch (Exception e) {
+                // Payload ilegível: fica sem colunas de listagem, como antes
+                LOG.debugf("Envio %d sem campos de listagem: %s", f.getId(), e.getMessage());
+            }
+        }
+        return new Resultado(pendentes.size(), preenchidos, ultimoId);
+    }
+
+    record Resultado(int processados, int preenchidos, long ultimoId) {}
+}
@@ -0,0 +1,101 @@
+package br.com.fplbr.pilot.flightplan.infrastructure.persistence;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Repositório dos envios de plano de voo
+ */
+@ApplicationScoped
+public class FplSubmissionRepository implements PanacheRepository<FplSubmission> {
+
+    /**
+     * Linhas por comando de insert (11 parâmetros por linha).
+     */
+    private static final int LINHAS_POR_COMANDO = 500;
+
+    private static final String INSERT_PREFIXO =
+        "INSERT INTO fpl_submissions (id, created_at, modo, identificacao, aerodromo_partida, aerodromo_destino, "
+            + "tipo_de_voo, regra_de_voo, hora_partida, payload_json, pln_codificado) VALUES ";
+
+    private static final String INSERT_LINHA = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Reentrega do stream não duplica o envio
+    private static final String INSERT_SUFIXO = " ON CONFLICT (id) DO NOTHING";
+
+    /**
+     * Reserva {@code quantidade} ids da sequência da coluna identity, para envios
+     * gravados depois (write-behind) já saírem com o id definitivo.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> reservarIds(int quantidade) {
+        List<Number> ids = getEntityManager()
+            .createNativeQuery("SELECT nextval(pg_get_serial_sequence('fpl_submissions', 'id')) "
+                + "FROM generate_series(1, :quantidade)")
+            .setParameter("quantidade", quantidade)
+            .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    /**
+     * Insere envios com id já reservado, em comandos multi-linha. Ids que já
+     * existem são ignorados. Deve ser chamado dentro de uma transação.
+     *
+     * @return quantidade de linhas inseridas
+     */
+    public int inserirEmLote(List<FplSubmission> lote) {
+        if (lote == null || lote.isEmpty()) {
+            return 0;
+        }
+        return getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            int inseridos = 0;
+            for (int i = 0; i < lote.size(); i += LINHAS_POR_COMANDO) {
+                List<FplSubmission> bloco = lote.subList(i, Math.min(i + LINHAS_POR_COMANDO, lote.size()));
+                StringBuilder sql = new StringBuilder(INSERT_PREFIXO.length()
+                    + bloco.size() * (INSERT_LINHA.length() + 2) + INSERT_SUFIXO.length());
+                sql.append(INSERT_PREFIXO);
+                for (int j = 0; j < bloco.size(); j++) {
+                    if (j > 0) {
+                        sql.append(", ");
+                    }
+                    sql.append(INSERT_LINHA);
+                }
+                sql.append(INSERT_SUFIXO);
+
+                try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+                    int p = 1;
+                    for (FplSubmission f : bloco) {
+                        ps.setLong(p++, f.getId());
+                        setTimestamp(ps, p++, f.getCreatedAt());
+                        ps.setString(p++, f.getModo());
+                        ps.setString(p++, f.getIdentificacao());
+                        ps.setString(p++, f.getAerodromoDePartida());
+                        ps.setString(p++, f.getAerodromoDeDestino());
+                        ps.setString(p++, f.getTipoDeVoo());
+                        ps.setString(p++, f.getRegraDeVoo());
+                        setTimestamp(ps, p++, f.getHoraPartida());
+                        ps.setString(p++, f.getPayloadJson());
+                        ps.setString(p++, f.getPlnCodificado());
+                    }
+                    inseridos += ps.executeUpdate();
+                }
+            }
+            return inseridos;
+        });
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int indice, OffsetDateTime valor) throws SQLException {
+        if (valor == null) {
+            ps.setNull(indice, Types.TIMESTAMP_WITH_TIMEZONE);
+        } else {
+            ps.setObject(indice, valor, Types.TIMESTAMP_WITH_TIMEZONE);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package br.com.fplbr.pilot.flightplan.infrastructure.resource;
 
 import br.com.fplbr.pilot.flightplan.application.dto.PlanoDeVooDTO;
 import br.com.fplbr.pilot.flightplan.application.dto.PlanoDeVooViewDTO;
-import br.com.fplbr.pilot.flightplan.application.service.FplEncoderService;
+import br.com.fplbr.pilot.flightplan.application.service.FplSubmissionQueueService;
+import br.com.fplbr.pilot.flightplan.application.service.FplSubmissionViewService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.persistence.EntityManager;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
@@ -17,17 +19,21 @@ import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
 
 import java.net.URI;
 import java.util.List;
 
 @ApplicationScoped
+@RunOnVirtualThread
 @Path("/api/v1/flightplans")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Plano de Voo", description = "Operações relacionadas a planos de voo")
 public class FlightPlanResource {
 
+    private static final Logger LOG = Logger.getLogger(FlightPlanResource.class);
+
     // private final FlightPlanService flightPlanService;
 
     @Inject
@@ -37,7 +43,13 @@ public class FlightPlanResource {
     EntityManager em;
     
     @Inject
-    FplEncoderService fplEncoderService;
+    FplSubmissionQueueService submissionQueue;
+    
+    @Inject
+    FplSubmissionViewService submissionView;
+    
+    @jakarta.ws.rs.core.Context
+    jakarta.ws.rs.core.UriInfo uriInfo;
     
     @Inject
     br.com.fplbr.pilot.aisweb.application.service.RotaerService rotaerService;
@@ -52,6 +64,9 @@ public class FlightPlanResource {
     @POST
     @Operation(summary = "Cria um novo plano de voo", description = "Recebe PlanoDeVooDTO e aplica as regras de validação")
     @APIResponse(responseCode = "201", description = "Plano de voo criado com sucesso", content = @Content(schema = @Schema(implementation = PlanoDeVooDTO.class)))
+    @APIResponse(responseCode = "202", description = "Plano de voo aceito para gravação assíncrona (write-behind habilitado). "
+            + "O Location já pode ser lido: até o insert em lote, GET /submissions/{id} responde com o envio guardado "
+            + "na réplica ou ainda no stream (read-after-accept)")
     @APIResponse(responseCode = "400", description = "Entrada inválida")
     @Transactional
     public Response createFlightPlan(@Valid PlanoDeVooDTO dto) {
@@ -84,34 +99,49 @@ public class FlightPlanResource {
         }
         br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission entity = null;
         try {
-            System.out.println("EntityManager: " + (em != null ? "OK" : "NULL"));
             String json = mapper.writeValueAsString(dto);
-            System.out.println("JSON gerado: " + json);
             entity = br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission.builder()
                     .createdAt(java.time.OffsetDateTime.now())
                     .modo(dto.getModo())
                     .identificacao(dto.getIdentificacaoDaAeronave())
+                    .aerodromoDePartida(dto.getAerodromoDePartida())
+                    .aerodromoDeDestino(dto.getAerodromoDeDestino())
+                    .tipoDeVoo(dto.getTipoDeVooEnum())
+                    .regraDeVoo(dto.getRegraDeVooEnum())
+                    .horaPartida(dto.getHoraPartida())
                     .payloadJson(json)
+                    // Codificado uma vez aqui; a visualização só lê a coluna
+                    .plnCodificado(submissionView.codificar(dto))
                     .build();
-            System.out.println("Entity criada: " + entity);
+            // Write-behind: confirma assim que o envio está no stream; o insert vem em lote depois
+            if (submissionQueue.habilitado() && submissionQueue.enfileirar(entity).isPresent()) {
+                LOG.debugf("Envio %d enfileirado (%s)", entity.getId(), entity.getIdentificacao());
+                submissionView.registrar(entity);
+                return Response.accepted(submissionBody(entity, dto))
+                        .location(URI.create("/api/v1/flightplans/submissions/" + entity.getId()))
+                        .build();
+            }
             em.persist(entity);
-            System.out.println("Entity persistida");
             em.flush(); // Força a persistência imediata
-            System.out.println("Flush executado");
-            System.out.println("ID após persist: " + entity.getId());
+            LOG.debugf("Envio %d persistido (%s)", entity.getId(), entity.getIdentificacao());
+            submissionView.registrar(entity);
         } catch (Exception e) {
-            System.err.println("Erro ao persistir FplSubmission: " + e.getMessage());
-            e.printStackTrace();
+            LOG.errorf(e, "Erro ao persistir FplSubmission: %s", e.getMessage());
         }
         URI location = entity != null && entity.getId() != null
                 ? URI.create("/api/v1/flightplans/submissions/" + entity.getId())
                 : URI.create("/api/v1/flightplans/submissions");
+        return Response.created(location).entity(submissionBody(entity, dto)).build();
+    }
+
+    private static java.util.Map<String, Object> submissionBody(
+            br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission entity, PlanoDeVooDTO dto) {
         var body = new java.util.HashMap<String, Object>();
         body.put("id", entity != null ? entity.getId() : null);
         body.put("createdAt", entity != null ? entity.getCreatedAt() : null);
         body.put("modo", dto.getModo());
         body.put("identificacao", dto.getIdentificacaoDaAeronave());
-        return Response.created(location).entity(body).build();
+        return body;
     }
 
     private static int hhmmToMinutes(String hhmm) {
@@ -132,43 +162,131 @@ public class FlightPlanResource {
                 .build();
     }
 
+    /**
+     * Lista envios do mais recente para o mais antigo, com paginação por cursor.
+     *
+     * O corpo continua sendo a lista da página; quando há mais envios, o cursor
+     * da próxima página vem em {@code X-Next-Cursor} (e em {@code Link; rel="next"}).
+     * O cursor é o par (createdAt, id) do último item, então qualquer página custa
+     * o mesmo que a primeira: uma varredura de índice a partir da chave.
+     */
     @GET
     @Path("/submissions")
-    @Operation(summary = "Lista envios recebidos", description = "Lista FPLs recebidos (tabela FplSubmission)")
-    public Response listSubmissions(@QueryParam("ident") String ident, @QueryParam("limit") @DefaultValue("10") int limit) {
-        String jpql = "select f from FplSubmission f" + (ident != null && !ident.isBlank() ? " where f.identificacao = :ident" : "") + " order by f.createdAt desc";
-        var q = em.createQuery(jpql, br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission.class);
-        if (ident != null && !ident.isBlank()) q.setParameter("ident", ident);
-        q.setMaxResults(Math.max(1, Math.min(limit, 100)));
-        var list = q.getResultList();
-        var out = list.stream().map(f -> {
-            String dep = null, dest = null, tipo = null, regra = null;
+    @Operation(summary = "Lista envios recebidos", description = "Lista FPLs recebidos (tabela FplSubmission), com filtros por identificação, modo, partida, destino e data de envio (UTC) e paginação por cursor (cabeçalho X-Next-Cursor)")
+    public Response listSubmissions(@QueryParam("ident") String ident,
+                                    @QueryParam("modo") String modo,
+                                    @QueryParam("dep") String dep,
+                                    @QueryParam("dest") String dest,
+                                    @QueryParam("desde") java.time.LocalDate desde,
+                                    @QueryParam("ate") java.time.LocalDate ate,
+                                    @QueryParam("cursor") String cursor,
+                                    @QueryParam("limit") @DefaultValue("10") int limit) {
+        // Só as colunas de listagem (indexadas); o payload_json não é lido
+        StringBuilder jpql = new StringBuilder("select f.id, f.createdAt, f.modo, f.identificacao, f.aerodromoDePartida, "
+                + "f.aerodromoDeDestino, f.tipoDeVoo, f.regraDeVoo from FplSubmission f where 1 = 1");
+        var params = new java.util.HashMap<String, Object>();
+        if (ident != null && !ident.isBlank()) {
+            jpql.append(" and f.identificacao = :ident");
+            params.put("ident", ident);
+        }
+        if (modo != null && !modo.isBlank()) {
+            jpql.append(" and f.modo = :modo");
+            params.put("modo", modo.trim().toUpperCase());
+        }
+        if (dep != null && !dep.isBlank()) {
+            jpql.append(" and f.aerodromoDePartida = :dep");
+            params.put("dep", dep.trim().toUpperCase());
+        }
+        if (dest != null && !dest.isBlank()) {
+            jpql.append(" and f.aerodromoDeDestino = :dest");
+            params.put("dest", dest.trim().toUpperCase());
+        }
+        if (desde != null) {
+            jpql.append(" and f.createdAt >= :desde");
+            params.put("desde", desde.atStartOfDay().atOffset(java.time.ZoneOffset.UTC));
+        }
+        if (ate != null) {
+            jpql.append(" and f.createdAt < :ate");
+            params.put("ate", ate.plusDays(1).atStartOfDay().atOffset(java.time.ZoneOffset.UTC));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            CursorEnvio c = CursorEnvio.decodificar(cursor);
+            if (c == null) {
+                return badRequest("cursor", "Cursor inválido");
+            }
+            // Comparação de tupla: vira (created_at, id) < (?, ?) e usa o índice como chave de início
+            jpql.append(" and (f.createdAt, f.id) < (:cursorCreatedAt, :cursorId)");
+            params.put("cursorCreatedAt", c.createdAt());
+            params.put("cursorId", c.id());
+        }
+        jpql.append(" order by f.createdAt desc, f.id desc");
+
+        int tamanho = Math.max(1, Math.min(limit, 100));
+        var q = em.createQuery(jpql.toString(), Object[].class);
+        params.forEach(q::setParameter);
+        // Um a mais para saber se existe próxima página
+        q.setMaxResults(tamanho + 1);
+        var rows = q.getResultList();
+        boolean temProxima = rows.size() > tamanho;
+        if (temProxima) {
+            rows = rows.subList(0, tamanho);
+        }
+        var out = rows.stream().map(r -> java.util.Map.of(
+                "id", r[0],
+                "createdAt", r[1],
+                "modo", r[2] != null ? r[2] : "",
+                "identificacao", r[3] != null ? r[3] : "",
+                "aerodromoDePartida", r[4] != null ? r[4] : "",
+                "aerodromoDeDestino", r[5] != null ? r[5] : "",
+                "tipoDeVooEnum", r[6] != null ? r[6] : "",
+                "regraDeVooEnum", r[7] != null ? r[7] : ""
+        )).toList();
+
+        Response.ResponseBuilder response = Response.ok(out);
+        if (temProxima) {
+            Object[] ultimo = rows.get(rows.size() - 1);
+            String proximo = new CursorEnvio((java.time.OffsetDateTime) ultimo[1], (Long) ultimo[0]).codificar();
+            response.header("X-Next-Cursor", proximo)
+                    .link(uriInfo.getRequestUriBuilder().replaceQueryParam("cursor", proximo).build(), "next");
+        }
+        return response.build();
+    }
+
+    /**
+     * Posição na listagem de envios: o (createdAt, id) do último item entregue,
+     * serializado em base64url para ser opaco ao cliente.
+     */
+    record CursorEnvio(java.time.OffsetDateTime createdAt, Long id) {
+
+        String codificar() {
+            String bruto = createdAt + "|" + id;
+            return java.util.Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(bruto.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        }
+
+        static CursorEnvio decodificar(String cursor) {
             try {
-                var tree = mapper.readTree(f.getPayloadJson());
-                dep = tree.path("aerodromoDePartida").asText(null);
-                dest = tree.path("aerodromoDeDestino").asText(null);
-                tipo = tree.path("tipoDeVooEnum").asText(null);
-                regra = tree.path("regraDeVooEnum").asText(null);
-            } catch (Exception ignore) {}
-            return java.util.Map.of(
-                    "id", f.getId(),
-                    "createdAt", f.getCreatedAt(),
-                    "modo", f.getModo() != null ? f.getModo() : "",
-                    "identificacao", f.getIdentificacao() != null ? f.getIdentificacao() : "",
-                    "aerodromoDePartida", dep != null ? dep : "",
-                    "aerodromoDeDestino", dest != null ? dest : "",
-                    "tipoDeVooEnum", tipo != null ? tipo : "",
-                    "regraDeVooEnum", regra != null ? regra : ""
-            );
-        }).toList();
-        return Response.ok(out).build();
+                String bruto = new String(java.util.Base64.getUrlDecoder().decode(cursor.trim()),
+                        java.nio.charset.StandardCharsets.UTF_8);
+                int separador = bruto.lastIndexOf('|');
+                if (separador < 0) {
+                    return null;
+                }
+                return new CursorEnvio(java.time.OffsetDateTime.parse(bruto.substring(0, separador)),
+                        Long.valueOf(bruto.substring(separador + 1)));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
     }
 
     @GET
     @Path("/submissions/{id}")
-    @Operation(summary = "Obtém um envio por ID", description = "Retorna o envio com payload original")
+    @Operation(summary = "Obtém um envio por ID", description = "Retorna o envio com payload original, inclusive envios aceitos (202) ainda não gravados")
+    @APIResponse(responseCode = "200", description = "Envio encontrado (no banco ou ainda na fila de write-behind)")
+    @APIResponse(responseCode = "404", description = "Envio não encontrado")
     public Response getSubmissionById(@PathParam("id") Long id) {
-        var f = em.find(br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission.class, id);
+        var f = buscarEnvio(id);
         if (f == null) return Response.status(Response.Status.NOT_FOUND).build();
         Object payload;
         try {
@@ -186,6 +304,21 @@ public class FlightPlanResource {
         return Response.ok(out).build();
     }
 
+    /**
+     * Envio por id: banco, depois os envios aceitos que ainda aguardam o insert
+     * em lote (cache desta réplica e stream). Se o envio sair do stream entre as
+     * duas leituras, a segunda consulta ao banco o encontra.
+     */
+    private br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission buscarEnvio(Long id) {
+        var f = em.find(br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission.class, id);
+        if (f != null || !submissionQueue.habilitado()) {
+            return f;
+        }
+        return submissionView.recente(id)
+                .or(() -> submissionQueue.buscarPendente(id))
+                .orElseGet(() -> em.find(br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission.class, id));
+    }
+
     @GET
     @Path("/submissions/{id}/view")
     @Operation(summary = "Obtém um envio por ID com PLN codificado", description = "Retorna o envio com payload original e PLN codificado")
@@ -199,22 +332,11 @@ public class FlightPlanResource {
         description = "Plano de voo não encontrado"
     )
     public Response getSubmissionView(@PathParam("id") Long id) {
-        var f = em.find(br.com.fplbr.pilot.flightplan.infrastructure.persistence.FplSubmission.class, id);
-        if (f == null) return Response.status(Response.Status.NOT_FOUND).build();
-        
         try {
-            // Converter JSON para PlanoDeVooDTO
-            PlanoDeVooDTO planoDeVoo = mapper.readValue(f.getPayloadJson(), PlanoDeVooDTO.class);
-            
-            // Criar DTO de visualização
-            PlanoDeVooViewDTO viewDTO = new PlanoDeVooViewDTO(planoDeVoo);
-            
-            // Gerar PLN codificado
-            String plnCodificado = fplEncoderService.encode(planoDeVoo);
-            viewDTO.setPlnCodificado(plnCodificado);
-            
-            return Response.ok(viewDTO).build();
-            
+            // LRU ou uma leitura por chave primária; o PLN já vem codificado do envio
+            return submissionView.buscar(id)
+                    .map(view -> Response.ok(view, MediaType.APPLICATION_JSON).build())
+                    .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(java.util.Map.of("error", "Erro ao processar plano de voo: " + e.getMessage()))
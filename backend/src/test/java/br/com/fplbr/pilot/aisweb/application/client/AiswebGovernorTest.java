@@ -0,0 +1,85 @@
+package br.com.fplbr.pilot.aisweb.application.client;
+
+import br.com.fplbr.pilot.aisweb.application.client.AiswebGovernor.LimiteAdaptativo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fila de espera reativa do bulkhead: vagas entregues na ordem de chegada e
+ * nunca perdidas por esperas que desistem ou são canceladas.
+ */
+class AiswebGovernorTest {
+
+    @Test
+    void liberarEntregaAVagaAsEsperasEmOrdem() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(2, 2);
+        assertNull(limite.reservar());
+        assertNull(limite.reservar());
+        LimiteAdaptativo.Espera primeira = limite.reservar();
+        LimiteAdaptativo.Espera segunda = limite.reservar();
+        assertNotNull(primeira);
+        assertNotNull(segunda);
+        assertEquals(2, limite.estatisticas().get("aguardando"));
+
+        limite.liberar(-1, false);
+        assertTrue(primeira.isDone());
+        assertFalse(segunda.isDone());
+        assertEquals(2, limite.estatisticas().get("emAndamento"));
+
+        limite.liberar(-1, false);
+        assertTrue(segunda.isDone());
+        assertEquals(2, limite.estatisticas().get("emAndamento"));
+        assertEquals(0, limite.estatisticas().get("aguardando"));
+    }
+
+    @Test
+    void esperaQueDesisteNaoFicaComAVaga() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(1, 1);
+        assertNull(limite.reservar());
+        LimiteAdaptativo.Espera desistente = limite.reservar();
+        LimiteAdaptativo.Espera seguinte = limite.reservar();
+
+        limite.desistir(desistente);
+        assertTrue(desistente.isCancelled());
+
+        limite.liberar(-1, false);
+        assertTrue(seguinte.isDone());
+        assertFalse(seguinte.isCancelled());
+        assertEquals(1, limite.estatisticas().get("emAndamento"));
+
+        limite.liberar(-1, false);
+        assertEquals(0, limite.estatisticas().get("emAndamento"));
+        assertNull(limite.reservar());
+    }
+
+    @Test
+    void esperaCanceladaAntesDaEntregaDevolveAVaga() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(1, 1);
+        assertNull(limite.reservar());
+        LimiteAdaptativo.Espera cancelada = limite.reservar();
+        // Cancelada pelo assinante sem sair da fila (corrida com liberar)
+        cancelada.cancel(false);
+
+        limite.liberar(-1, false);
+        assertEquals(0, limite.estatisticas().get("emAndamento"));
+        assertNull(limite.reservar());
+    }
+
+    @Test
+    void desistirDepoisDaEntregaMantemAVaga() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(1, 1);
+        assertNull(limite.reservar());
+        LimiteAdaptativo.Espera espera = limite.reservar();
+        limite.liberar(-1, false);
+
+        // Prazo e entrega no mesmo instante: a vaga fica com quem esperava
+        limite.desistir(espera);
+        assertFalse(espera.isCancelled());
+        assertEquals(1, limite.estatisticas().get("emAndamento"));
+    }
+}
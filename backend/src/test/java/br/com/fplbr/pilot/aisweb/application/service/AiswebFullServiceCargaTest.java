@@ -0,0 +1,183 @@
+package br.com.fplbr.pilot.aisweb.application.service;
+
+import br.com.fplbr.pilot.aisweb.application.dto.CartasDto;
+import br.com.fplbr.pilot.aisweb.application.dto.InfotempDto;
+import br.com.fplbr.pilot.aisweb.application.dto.MeteoDto;
+import br.com.fplbr.pilot.aisweb.application.dto.NotamDto;
+import br.com.fplbr.pilot.aisweb.application.dto.RotaerDto;
+import br.com.fplbr.pilot.aisweb.application.dto.SunDto;
+import org.eclipse.microprofile.config.Config;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga do /full: {@value #REQUISICOES} requisições simultâneas com as fontes
+ * simulando {@value #LATENCIA_AISWEB_MS} ms de AISWEB, com threads virtuais e
+ * com os pools fixos ({@code aisweb.virtual-threads.enabled=false}).
+ *
+ * As fontes são stubs dos services, sem o {@code AiswebGovernor}: mede só o
+ * efeito do executor das etapas e das threads das requisições. Não roda no
+ * build normal:
+ *
+ * <pre>./mvnw test -Dtest=AiswebFullServiceCargaTest -Daisweb.carga=true</pre>
+ */
+@EnabledIfSystemProperty(named = "aisweb.carga", matches = "true")
+class AiswebFullServiceCargaTest {
+
+    private static final Logger LOG = Logger.getLogger(AiswebFullServiceCargaTest.class);
+
+    private static final int REQUISICOES = 500;
+    private static final long LATENCIA_AISWEB_MS = 150;
+    // Padrões de aisweb.full.pool-size e do worker pool do Quarkus (max(8 * núcleos, 200))
+    private static final int POOL_ETAPAS = 24;
+    private static final int POOL_REQUISICOES = Math.max(8 * Runtime.getRuntime().availableProcessors(), 200);
+
+    @Test
+    void threadsVirtuaisReduzemOP99DoFull() throws Exception {
+        Resultado fixo = medir(false);
+        Resultado virtual = medir(true);
+        LOG.infof("/full com %d requisições e AISWEB de %d ms: pool fixo %s | threads virtuais %s",
+            REQUISICOES, LATENCIA_AISWEB_MS, fixo, virtual);
+
+        assertEquals(0, virtual.parciais(), virtual.toString());
+        assertTrue(virtual.p99Ms() < fixo.p99Ms(), "virtual " + virtual + " / fixo " + fixo);
+    }
+
+    private static Resultado medir(boolean threadsVirtuais) throws Exception {
+        AiswebFullService service = novoService(threadsVirtuais);
+        // Requisições: @RunOnVirtualThread com a flag ligada, worker pool com ela desligada
+        ExecutorService requisicoes = threadsVirtuais
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(POOL_REQUISICOES);
+        try {
+            // Aquecimento: carrega classes e sobe as threads do pool
+            service.buscarDadosCompletos("SBSP");
+
+            // Latência vista pelo cliente: desde a largada comum, inclusive a espera por uma thread de requisição
+            CountDownLatch largada = new CountDownLatch(1);
+            AtomicLong inicio = new AtomicLong();
+            List<Future<long[]>> chamadas = new ArrayList<>(REQUISICOES);
+            for (int i = 0; i < REQUISICOES; i++) {
+                chamadas.add(requisicoes.submit(() -> {
+                    largada.await();
+                    Map<String, Object> resposta = service.buscarDadosCompletos("SBGR");
+                    long duracao = System.nanoTime() - inicio.get();
+                    return new long[]{duracao, Boolean.TRUE.equals(resposta.get("parcial")) ? 1 : 0};
+                }));
+            }
+            inicio.set(System.nanoTime());
+            largada.countDown();
+
+            long[] duracoes = new long[REQUISICOES];
+            int parciais = 0;
+            for (int i = 0; i < REQUISICOES; i++) {
+                long[] r = chamadas.get(i).get(2, TimeUnit.MINUTES);
+                duracoes[i] = r[0];
+                parciais += (int) r[1];
+            }
+            Arrays.sort(duracoes);
+            return new Resultado(percentilMs(duracoes, 0.50), percentilMs(duracoes, 0.99),
+                duracoes[duracoes.length - 1] / 1_000_000, parciais);
+        } finally {
+            requisicoes.shutdownNow();
+            service.shutdown();
+        }
+    }
+
+    private static long percentilMs(long[] ordenadas, double percentil) {
+        int i = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, i)] / 1_000_000;
+    }
+
+    private static AiswebFullService novoService(boolean threadsVirtuais) {
+        AiswebFullService service = new AiswebFullService();
+        service.threadsVirtuais = threadsVirtuais;
+        service.poolSize = POOL_ETAPAS;
+        service.timeoutPadraoMs = 8000;
+        service.config = semTimeoutsPorFonte();
+        service.meteoDecoderService = new MeteoDecoderService();
+        service.rotaerService = new RotaerService() {
+            @Override
+            public RotaerDto buscar(String icao) {
+                return aisweb(null);
+            }
+        };
+        service.infotempService = new InfotempService() {
+            @Override
+            public InfotempDto buscar(String icao) {
+                return aisweb(null);
+            }
+        };
+        service.cartasService = new CartasService() {
+            @Override
+            public CartasDto buscar(String icao) {
+                return aisweb(null);
+            }
+        };
+        service.notamService = new NotamService() {
+            @Override
+            public NotamDto buscar(String icao) {
+                return aisweb(null);
+            }
+        };
+        service.meteoService = new MeteoService() {
+            @Override
+            public MeteoDto buscar(String icao) {
+                return aisweb(new MeteoDto(icao, null, null, null));
+            }
+
+            @Override
+            public SunDto buscarSol(String icao) {
+                return aisweb(null);
+            }
+        };
+        service.init();
+        return service;
+    }
+
+    // Chamada bloqueante ao AISWEB simulada
+    private static <T> T aisweb(T valor) {
+        try {
+            Thread.sleep(LATENCIA_AISWEB_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("etapa cancelada", e);
+        }
+        return valor;
+    }
+
+    // Só getOptionalValue é usado (aisweb.full.timeout.<fonte>): sempre o timeout padrão
+    private static Config semTimeoutsPorFonte() {
+        return (Config) Proxy.newProxyInstance(Config.class.getClassLoader(), new Class<?>[]{Config.class},
+            (proxy, metodo, args) -> {
+                if ("getOptionalValue".equals(metodo.getName())) {
+                    return Optional.empty();
+                }
+                throw new UnsupportedOperationException(metodo.getName());
+            });
+    }
+
+    record Resultado(long p50Ms, long p99Ms, long maxMs, int parciais) {
+        @Override
+        public String toString() {
+            return "p50=" + p50Ms + "ms p99=" + p99Ms + "ms max=" + maxMs + "ms parciais=" + parciais;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.fplbr.pilot.aisweb.application.service;
+
+import br.com.fplbr.pilot.aisweb.infrastructure.parser.MetTafTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a decodificação pelo {@link MetTafTokenizer} com a implementação
+ * anterior ({@link MeteoDecoderLegado}) em mensagens METAR/TAF reais.
+ */
+class MeteoDecoderServiceTest {
+
+    static final List<String> METARS = List.of(
+        "METAR SBSP 171200Z 14008KT 9999 FEW030 22/15 Q1018=",
+        "METAR SBGR 171200Z 15012G22KT 120V180 8000 -RA BKN015 OVC080 19/17 Q1016=",
+        "METAR SBGL 171300Z 18010KT CAVOK 28/20 Q1012=",
+        "SPECI SBRJ 171315Z 20015G28KT 3000 +TSRA SCT010 FEW025CB BKN040 24/22 Q1010=",
+        "METAR SBKP 171200Z AUTO 00000KT 0800 FG VV002 15/15 Q1020=",
+        "METAR SBCT 171200Z COR VRB03KT 5000 BR OVC006 12/11 Q1021 RMK VIS MNM 3000 NE=",
+        "METAR SBPA 171200Z NIL=",
+        "METAR SBBR 171200Z 09005KT 9999 SCT040 BKN100 M01/M05 Q1022",
+        "METAR SBEG 171200Z /////KT 9999 NSC 27/24 Q1011=",
+        "METAR SBFL 171200Z 36015KT 9999 -SHRA FEW020TCU 23/19 Q1014 BECMG 1714/1716 VRB05KT=",
+        "METAR SBSV 171200Z 12010KT 9999 SCT020 28/23 Q1013 NOSIG=",
+        "METAR SBCF 171200Z 10006KT 060V140 9999 VCSH BKN025 21/14 Q1019 TEMPO 1712/1714 4000 RA=",
+        "METAR SBRF 171200Z 13012KT 9999 FEW018 SCT100 29/23 Q1012 RMK PGZ=",
+        "METAR  SBMT   171200Z  16004KT 6000 HZ SKC 25/12 Q1017=  "
+    );
+
+    static final List<String> TAFS = List.of(
+        "TAF SBGR 171100Z 1712/1818 15008KT 9999 SCT025 TX27/1718Z TN17/1809Z "
+            + "BECMG 1720/1722 34005KT TEMPO 1800/1806 4000 BR BKN008 RMK PGY=",
+        "TAF SBSP 171000Z 1712/1812 14010KT CAVOK TX26/1717Z TN16/1809Z "
+            + "PROB30 1718/1722 3000 TSRA BKN030 FEW040CB=",
+        "TAF AMD SBRJ 171400Z 1714/1812 18012G25KT 8000 -RA SCT015 BKN030 TX30/1716Z TN21/1808Z "
+            + "FM180000 22008KT 9999 NSC=",
+        "TAF COR SBCF 171100Z 1712/1812 09008KT 9999 FEW030 TX28/1718Z TN15/1809Z "
+            + "BECMG 1722/1724 VRB02KT 5000 BR BECMG 1809/1811 10010KT 9999 NSC RMK PEL=",
+        "TAF SBKP 171100Z 1712/1812 NIL=",
+        "TAF SBPA 171100Z 1712/1812 VRB03KT 2000 BCFG BKN004 TX22/1718Z TN12/1809Z "
+            + "PROB40 TEMPO 1806/1810 0300 FG VV001=",
+        "TAF SBEG 171100Z 1712/1818 00000KT 9999 SCT015 FEW030CB TN24/1810Z TX33/1718Z "
+            + "TEMPO 1716/1720 3000 +TSRA BKN012="
+    );
+
+    private final MeteoDecoderService decoder = novoDecoder();
+    private final MeteoDecoderLegado legado = new MeteoDecoderLegado();
+
+    @Test
+    void metarIgualAImplementacaoAnterior() {
+        for (String metar : METARS) {
+            assertEquals(legado.decodeMetar(metar), decoder.decodeMetar(metar), metar);
+        }
+    }
+
+    @Test
+    void tafIgualAImplementacaoAnterior() {
+        for (String taf : TAFS) {
+            assertEquals(legado.decodeTaf(taf), decoder.decodeTaf(taf), taf);
+        }
+    }
+
+    @Test
+    void mensagensVaziasIguaisAImplementacaoAnterior() {
+        for (String vazia : new String[]{null, "", "   "}) {
+            assertEquals(legado.decodeMetar(vazia), decoder.decodeMetar(vazia));
+            assertEquals(legado.decodeTaf(vazia), decoder.decodeTaf(vazia));
+        }
+    }
+
+    @Test
+    void metarDecodificado() {
+        String decodificado = decoder.decodeMetar(METARS.get(1));
+        assertTrue(decodificado.contains("Aeródromo: SBGR"), decodificado);
+        assertTrue(decodificado.contains("Dia: 17 às 12:00Z"), decodificado);
+        assertFalse(decodificado.contains("Erro"), decodificado);
+    }
+
+    static MeteoDecoderService novoDecoder() {
+        MeteoDecoderService decoder = new MeteoDecoderService();
+        decoder.tokenizer = new MetTafTokenizer();
+        return decoder;
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.fplbr.pilot.aisweb.domain.enums;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara as buscas indexadas do enum com a busca linear que elas substituíram.
+ */
+class AerodromoIcaoIataEnumTest {
+
+    @Test
+    void findByIcaoIgualABuscaLinearParaTodasAsConstantes() {
+        for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+            assertSame(buscaLinearIcao(aerodromo.getIcao()), AerodromoIcaoIataEnum.findByIcao(aerodromo.getIcao()),
+                aerodromo.getIcao());
+        }
+    }
+
+    @Test
+    void findByIataIgualABuscaLinearParaTodasAsConstantes() {
+        for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+            assertSame(buscaLinearIata(aerodromo.getIata()), AerodromoIcaoIataEnum.findByIata(aerodromo.getIata()),
+                aerodromo.getIata());
+        }
+    }
+
+    @Test
+    void aeroportosConhecidos() {
+        assertEquals("GRU", AerodromoIcaoIataEnum.findByIcao("SBGR").getIata());
+        assertEquals("CGH", AerodromoIcaoIataEnum.findByIcao("SBSP").getIata());
+        assertEquals("SBGL", AerodromoIcaoIataEnum.findByIata("GIG").getIcao());
+        assertEquals("SBBR", AerodromoIcaoIataEnum.findByIata("BSB").getIcao());
+    }
+
+    @Test
+    void codigosInexistentesOuMalFormadosIgualABuscaLinear() {
+        String[] codigos = {null, "", "SB", "SBS", "SBSPX", "ZZZZ", "ZZZ", "SB P", "SB-P", "sbsp", "Sbgr", "gru", "1234"};
+        for (String codigo : codigos) {
+            assertSame(buscaLinearIcao(codigo), AerodromoIcaoIataEnum.findByIcao(codigo), codigo);
+            assertSame(buscaLinearIata(codigo), AerodromoIcaoIataEnum.findByIata(codigo), codigo);
+        }
+        // Como antes, a busca diferencia maiúsculas de minúsculas
+        assertNull(AerodromoIcaoIataEnum.findByIcao("sbsp"));
+        assertNull(AerodromoIcaoIataEnum.findByIata("gru"));
+    }
+
+    @Test
+    void ignoreCaseIgualABuscaLinearParaTodasAsConstantes() {
+        for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+            for (String icao : variacoesDeCaixa(aerodromo.getIcao())) {
+                assertSame(buscaLinearIcaoIgnoreCase(icao), AerodromoIcaoIataEnum.findByIcaoIgnoreCase(icao), icao);
+            }
+            for (String iata : variacoesDeCaixa(aerodromo.getIata())) {
+                assertSame(buscaLinearIataIgnoreCase(iata), AerodromoIcaoIataEnum.findByIataIgnoreCase(iata), iata);
+            }
+        }
+        assertEquals("SBGR", AerodromoIcaoIataEnum.findByIcaoIgnoreCase("sbgr").getIcao());
+        assertEquals("SBGL", AerodromoIcaoIataEnum.findByIataIgnoreCase("Gig").getIcao());
+    }
+
+    @Test
+    void ignoreCaseComQualquerCaractereIgualABuscaLinear() {
+        // Inclui caracteres fora do ASCII que equalsIgnoreCase aceita (ex.: sinal Kelvin)
+        for (char c = 0; c < Character.MAX_VALUE; c++) {
+            String icao = "SBG" + c;
+            String iata = "GR" + c;
+            assertSame(buscaLinearIcaoIgnoreCase(icao), AerodromoIcaoIataEnum.findByIcaoIgnoreCase(icao), icao);
+            assertSame(buscaLinearIataIgnoreCase(iata), AerodromoIcaoIataEnum.findByIataIgnoreCase(iata), iata);
+        }
+        String[] codigos = {null, "", "SB", "SBSPX", "ZZZZ", "SB P", "ſbsp", "\u212Anz"};
+        for (String codigo : codigos) {
+            assertSame(buscaLinearIcaoIgnoreCase(codigo), AerodromoIcaoIataEnum.findByIcaoIgnoreCase(codigo), codigo);
+            assertSame(buscaLinearIataIgnoreCase(codigo), AerodromoIcaoIataEnum.findByIataIgnoreCase(codigo), codigo);
+        }
+    }
+
+    @Test
+    void prefixoIgualABuscaLinear() {
+        List<String> prefixos = new ArrayList<>(List.of("", " ", "S", "SB", " sb ", "sbs", "Z", "G", "gr", "1", "SBSPX"));
+        for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+            for (String codigo : List.of(aerodromo.getIcao(), aerodromo.getIata())) {
+                for (int tamanho = 1; tamanho <= codigo.length(); tamanho++) {
+                    prefixos.addAll(variacoesDeCaixa(codigo.substring(0, tamanho)));
+                }
+            }
+        }
+        prefixos.add(null);
+        for (String prefixo : prefixos) {
+            assertEquals(buscaLinearPrefixo(prefixo, AerodromoIcaoIataEnum::getIcao),
+                AerodromoIcaoIataEnum.findByIcaoPrefix(prefixo), prefixo);
+            assertEquals(buscaLinearPrefixo(prefixo, AerodromoIcaoIataEnum::getIata),
+                AerodromoIcaoIataEnum.findByIataPrefix(prefixo), prefixo);
+        }
+        assertTrue(AerodromoIcaoIataEnum.findByIcaoPrefix("sbg").stream()
+            .map(AerodromoIcaoIataEnum::getIcao).toList().containsAll(List.of("SBGR", "SBGL")));
+    }
+
+    private static List<String> variacoesDeCaixa(String codigo) {
+        String minusculas = codigo.toLowerCase(Locale.ROOT);
+        String alternadas = minusculas.substring(0, 1) + codigo.substring(1);
+        return List.of(codigo, minusculas, alternadas);
+    }
+
+    // Referências lineares para as buscas sem diferenciar maiúsculas
+    private static AerodromoIcaoIataEnum buscaLinearIcaoIgnoreCase(String icao) {
+        for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+            if (aerodromo.getIcao().equalsIgnoreCase(icao)) {
+                return aerodromo;
+            }
+        }
+        return null;
+    }
+
+    private static AerodromoIcaoIataEnum buscaLinearIataIgnoreCase(String iata) {
+        for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+            if (aerodromo.getIata().equalsIgnoreCase(iata)) {
+                return aerodromo;
+            }
+        }
+        return null;
+    }
+
+    private static List<AerodromoIcaoIataEnum> buscaLinearPrefixo(String prefixo,
+                                                                 Function<AerodromoIcaoIataEnum, String> codigo) {
+        if (prefixo == null || prefixo.isBlank()) {
+            return List.of();
+        }
+        String p = prefixo.trim().toUpperCase(Locale.ROOT);
+        List<AerodromoIcaoIataEnum> encontrados = new ArrayList<>();
+        for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+            if (codigo.apply(aerodromo).toUpperCase(Locale.ROOT).startsWith(p)) {
+                encontrados.add(aerodromo);
+            }
+        }
+        encontrados.sort(Comparator.comparing(codigo));
+        return encontrados;
+    }
+
+    // Implementação anterior de findByIcao/findByIata
+    private static AerodromoIcaoIataEnum buscaLinearIcao(String icao) {
+        for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+            if (aerodromo.getIcao().equals(icao)) {
+                return aerodromo;
+            }
+        }
+        return null;
+    }
+
+    private static AerodromoIcaoIataEnum buscaLinearIata(String iata) {
+        for (AerodromoIcaoIataEnum aerodromo : AerodromoIcaoIataEnum.values()) {
+            if (aerodromo.getIata().equals(iata)) {
+                return aerodromo;
+            }
+        }
+        return null;
+    }
+}
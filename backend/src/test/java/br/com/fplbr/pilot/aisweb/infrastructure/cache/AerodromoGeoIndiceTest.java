@@ -0,0 +1,224 @@
+package br.com.fplbr.pilot.aisweb.infrastructure.cache;
+
+import br.com.fplbr.pilot.aisweb.application.dto.AerodromoIcaoIataDto;
+import br.com.fplbr.pilot.aisweb.application.dto.AerodromoProximoDto;
+import br.com.fplbr.pilot.aisweb.infrastructure.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara as consultas da KD-tree com a varredura completa por
+ * {@link GeoUtils#calculateDistance}, em aeródromos reais e em pontos sorteados.
+ */
+class AerodromoGeoIndiceTest {
+
+    private static final List<AerodromoIcaoIataDto> AERODROMOS = List.of(
+        aerodromo("SBSP", -23.6261, -46.6564),
+        aerodromo("SBMT", -23.5092, -46.6378),
+        aerodromo("SBGR", -23.4356, -46.4731),
+        aerodromo("SBKP", -23.0074, -47.1345),
+        aerodromo("SBJD", -23.1817, -46.9436),
+        aerodromo("SBRJ", -22.9105, -43.1631),
+        aerodromo("SBGL", -22.8100, -43.2506),
+        aerodromo("SBBR", -15.8711, -47.9186),
+        aerodromo("SBCF", -19.6244, -43.9719),
+        aerodromo("SBCT", -25.5285, -49.1758),
+        aerodromo("SBFL", -27.6703, -48.5525),
+        aerodromo("SBPA", -29.9939, -51.1714),
+        aerodromo("SBSV", -12.9086, -38.3225),
+        aerodromo("SBRF", -8.1265, -34.9236),
+        aerodromo("SBFZ", -3.7763, -38.5326),
+        aerodromo("SBBE", -1.3792, -48.4763),
+        aerodromo("SBEG", -3.0386, -60.0497),
+        // Sem coordenadas: fica fora do índice
+        new AerodromoIcaoIataDto(null, null, null, null, "SDXX", null, null, null, null, null, null, null, null)
+    );
+
+    @Test
+    void ignoraAerodromosSemCoordenadas() {
+        assertEquals(AERODROMOS.size() - 1, new AerodromoGeoIndice(AERODROMOS).tamanho());
+    }
+
+    @Test
+    void maisProximosDeConsultasConhecidas() {
+        AerodromoGeoIndice indice = new AerodromoGeoIndice(AERODROMOS);
+
+        // Avenida Paulista
+        assertEquals(List.of("SBMT", "SBSP", "SBGR"), icaos(indice.maisProximos(-23.5614, -46.6559, 3)));
+        // Centro do Rio
+        assertEquals(List.of("SBRJ", "SBGL"), icaos(indice.maisProximos(-22.9068, -43.1729, 2)));
+        // Esplanada dos Ministérios
+        assertEquals(List.of("SBBR"), icaos(indice.maisProximos(-15.7998, -47.8645, 1)));
+
+        List<AerodromoProximoDto> deCongonhas = indice.maisProximos(-23.6261, -46.6564, 1);
+        assertEquals("SBSP", deCongonhas.get(0).aerodromo().icao());
+        assertEquals(0.0, deCongonhas.get(0).distanciaKm(), 1e-9);
+    }
+
+    @Test
+    void noRaioDeConsultasConhecidas() {
+        AerodromoGeoIndice indice = new AerodromoGeoIndice(AERODROMOS);
+
+        assertEquals(List.of("SBSP", "SBMT", "SBGR", "SBJD", "SBKP"), icaos(indice.noRaio(-23.6261, -46.6564, 100)));
+        assertEquals(List.of("SBRJ", "SBGL"), icaos(indice.noRaio(-22.9105, -43.1631, 50)));
+        assertTrue(indice.noRaio(-10.0, -55.0, 100).isEmpty());
+    }
+
+    @Test
+    void maisProximosIgualAVarreduraCompleta() {
+        List<AerodromoIcaoIataDto> sorteados = sortearAerodromos(3000, 42);
+        AerodromoGeoIndice indice = new AerodromoGeoIndice(sorteados);
+        Random random = new Random(7);
+        for (int consulta = 0; consulta < 500; consulta++) {
+            double lat = -34 + random.nextDouble() * 40;
+            double lon = -74 + random.nextDouble() * 40;
+            int n = 1 + random.nextInt(10);
+            List<AerodromoProximoDto> esperado = varredura(sorteados, lat, lon).subList(0, n);
+            assertMesmoResultado(esperado, indice.maisProximos(lat, lon, n));
+        }
+    }
+
+    @Test
+    void noRaioIgualAVarreduraCompleta() {
+        List<AerodromoIcaoIataDto> sorteados = sortearAerodromos(3000, 43);
+        AerodromoGeoIndice indice = new AerodromoGeoIndice(sorteados);
+        Random random = new Random(8);
+        for (int consulta = 0; consulta < 500; consulta++) {
+            double lat = -34 + random.nextDouble() * 40;
+            double lon = -74 + random.nextDouble() * 40;
+            double raioKm = random.nextDouble() * 300;
+            List<AerodromoProximoDto> esperado = varredura(sorteados, lat, lon).stream()
+                .filter(p -> p.distanciaKm() <= raioKm)
+                .collect(Collectors.toList());
+            assertMesmoResultado(esperado, indice.noRaio(lat, lon, raioKm));
+        }
+    }
+
+    @Test
+    void consultaAtravessaOAntimeridiano() {
+        List<AerodromoIcaoIataDto> ilhas = List.of(
+            aerodromo("NFFN", -17.7554, 177.4434),
+            aerodromo("NFTF", -21.2412, -175.1496),
+            aerodromo("NSFA", -13.8300, -172.0083),
+            aerodromo("NZAA", -37.0081, 174.7917)
+        );
+        AerodromoGeoIndice indice = new AerodromoGeoIndice(ilhas);
+        double lat = -18.0;
+        double lon = -179.9;
+        assertMesmoResultado(varredura(ilhas, lat, lon), indice.maisProximos(lat, lon, ilhas.size()));
+        assertEquals("NFFN", indice.maisProximos(lat, lon, 1).get(0).aerodromo().icao());
+    }
+
+    @Test
+    void corredorIgualAAmostragemDaRota() {
+        AerodromoGeoIndice indice = new AerodromoGeoIndice(AERODROMOS);
+        List<double[]> rota = List.of(
+            new double[]{-23.6261, -46.6564},   // SBSP
+            new double[]{-22.9105, -43.1631},   // SBRJ
+            new double[]{-19.6244, -43.9719}    // SBCF
+        );
+        double larguraKm = 30;
+        List<AerodromoProximoDto> corredor = indice.noCorredor(rota, larguraKm);
+        Set<String> encontrados = corredor.stream().map(p -> p.aerodromo().icao()).collect(Collectors.toSet());
+
+        assertTrue(encontrados.containsAll(List.of("SBSP", "SBMT", "SBRJ", "SBGL", "SBCF")), encontrados.toString());
+        assertFalse(encontrados.contains("SBBR"));
+        assertFalse(encontrados.contains("SBKP"));
+
+        // Distância à rota amostrando as pernas a cada ~0,5 km
+        for (AerodromoIcaoIataDto a : AERODROMOS) {
+            if (a.latitude() == null) {
+                continue;
+            }
+            double referencia = distanciaAmostrada(rota, a);
+            if (referencia < larguraKm - 1) {
+                assertTrue(encontrados.contains(a.icao()), a.icao());
+            } else if (referencia > larguraKm + 1) {
+                assertFalse(encontrados.contains(a.icao()), a.icao());
+            }
+        }
+        for (AerodromoProximoDto p : corredor) {
+            assertEquals(distanciaAmostrada(rota, p.aerodromo()), p.distanciaKm(), 0.5, p.aerodromo().icao());
+        }
+    }
+
+    private static void assertMesmoResultado(List<AerodromoProximoDto> esperado, List<AerodromoProximoDto> obtido) {
+        assertEquals(icaos(esperado), icaos(obtido));
+        for (int i = 0; i < esperado.size(); i++) {
+            assertEquals(esperado.get(i).distanciaKm(), obtido.get(i).distanciaKm(), 1e-9);
+        }
+    }
+
+    private static List<AerodromoProximoDto> varredura(List<AerodromoIcaoIataDto> todos, double lat, double lon) {
+        List<AerodromoProximoDto> resultado = new ArrayList<>();
+        for (AerodromoIcaoIataDto a : todos) {
+            if (a.latitude() != null && a.longitude() != null) {
+                resultado.add(new AerodromoProximoDto(a,
+                    GeoUtils.calculateDistance(lat, lon, a.latitude(), a.longitude())));
+            }
+        }
+        resultado.sort(Comparator.comparingDouble(AerodromoProximoDto::distanciaKm));
+        return resultado;
+    }
+
+    private static double distanciaAmostrada(List<double[]> rota, AerodromoIcaoIataDto a) {
+        double menor = Double.MAX_VALUE;
+        for (int perna = 0; perna + 1 < rota.size(); perna++) {
+            double[] origem = rota.get(perna);
+            double[] destino = rota.get(perna + 1);
+            double extensao = GeoUtils.calculateDistance(origem[0], origem[1], destino[0], destino[1]);
+            int passos = (int) Math.ceil(extensao / 0.5);
+            for (int i = 0; i <= passos; i++) {
+                double[] ponto = interpolar(origem, destino, (double) i / passos);
+                menor = Math.min(menor, GeoUtils.calculateDistance(ponto[0], ponto[1], a.latitude(), a.longitude()));
+            }
+        }
+        return menor;
+    }
+
+    // Ponto na ortodrômica origem→destino, na fração f do caminho
+    private static double[] interpolar(double[] origem, double[] destino, double f) {
+        double lat1 = Math.toRadians(origem[0]);
+        double lon1 = Math.toRadians(origem[1]);
+        double lat2 = Math.toRadians(destino[0]);
+        double lon2 = Math.toRadians(destino[1]);
+        double[] a = {Math.cos(lat1) * Math.cos(lon1), Math.cos(lat1) * Math.sin(lon1), Math.sin(lat1)};
+        double[] b = {Math.cos(lat2) * Math.cos(lon2), Math.cos(lat2) * Math.sin(lon2), Math.sin(lat2)};
+        double angulo = Math.acos(Math.min(1, a[0] * b[0] + a[1] * b[1] + a[2] * b[2]));
+        double pa = Math.sin((1 - f) * angulo) / Math.sin(angulo);
+        double pb = Math.sin(f * angulo) / Math.sin(angulo);
+        double x = pa * a[0] + pb * b[0];
+        double y = pa * a[1] + pb * b[1];
+        double z = pa * a[2] + pb * b[2];
+        return new double[]{Math.toDegrees(Math.atan2(z, Math.hypot(x, y))), Math.toDegrees(Math.atan2(y, x))};
+    }
+
+    private static List<AerodromoIcaoIataDto> sortearAerodromos(int quantidade, long semente) {
+        Random random = new Random(semente);
+        List<AerodromoIcaoIataDto> sorteados = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            sorteados.add(aerodromo(String.format("X%05d", i),
+                -34 + random.nextDouble() * 40, -74 + random.nextDouble() * 40));
+        }
+        return sorteados;
+    }
+
+    private static List<String> icaos(List<AerodromoProximoDto> proximos) {
+        return proximos.stream().map(p -> p.aerodromo().icao()).collect(Collectors.toList());
+    }
+
+    private static AerodromoIcaoIataDto aerodromo(String icao, double latitude, double longitude) {
+        return new AerodromoIcaoIataDto(null, null, null, null, icao, null, null, null, null,
+            latitude, longitude, null, null);
+    }
+}
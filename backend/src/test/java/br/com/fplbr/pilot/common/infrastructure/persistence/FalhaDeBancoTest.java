@@ -0,0 +1,36 @@
+package br.com.fplbr.pilot.common.infrastructure.persistence;
+
+import org.hibernate.exception.JDBCConnectionException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Falhas que deixam o lote pendente (banco fora) versus erros de dados.
+ */
+class FalhaDeBancoTest {
+
+    @Test
+    void conexaoPoolETransacaoSaoIndisponibilidade() {
+        assertTrue(FalhaDeBanco.indisponivel(new JDBCConnectionException("sem conexão", new SQLException("x"))));
+        assertTrue(FalhaDeBanco.indisponivel(new SQLTransientConnectionException("reset")));
+        assertTrue(FalhaDeBanco.indisponivel(new SQLException("connection refused", "08001")));
+        assertTrue(FalhaDeBanco.indisponivel(new SQLException("too many clients", "53300")));
+        assertTrue(FalhaDeBanco.indisponivel(new SQLException("admin shutdown", "57P01")));
+        assertTrue(FalhaDeBanco.indisponivel(new IllegalStateException(new SQLException("Sorry, acquisition timeout!"))));
+        assertTrue(FalhaDeBanco.indisponivel(new RuntimeException(new jakarta.transaction.SystemException())));
+    }
+
+    @Test
+    void errosDeDadosNaoSaoIndisponibilidade() {
+        assertFalse(FalhaDeBanco.indisponivel(new SQLException("duplicate key", "23505")));
+        assertFalse(FalhaDeBanco.indisponivel(new RuntimeException(new BatchUpdateException("value too long", "22001", new int[0]))));
+        assertFalse(FalhaDeBanco.indisponivel(new IllegalArgumentException("id nulo")));
+        assertFalse(FalhaDeBanco.indisponivel(null));
+    }
+}
@@ -0,0 +1,321 @@
+package br.com.fplbr.pilot.flightplan.application.service;
+
+import br.com.fplbr.pilot.flightplan.application.dto.PlanoDeVooDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara o {@link FplEncoderService} com a implementação anterior
+ * ({@link FplEncoderLegado}) em planos reais, casos de borda e planos sorteados.
+ */
+class FplEncoderServiceTest {
+
+    private final FplEncoderService encoder = new FplEncoderService();
+    private final FplEncoderLegado legado = new FplEncoderLegado();
+
+    @Test
+    void planosReaisIguaisAImplementacaoAnterior() {
+        for (PlanoDeVooDTO plano : planosReais()) {
+            assertEquals(legado.encode(plano), encoder.encode(plano), plano.getIdentificacaoDaAeronave());
+        }
+    }
+
+    @Test
+    void casosDeBordaIguaisAImplementacaoAnterior() {
+        for (PlanoDeVooDTO plano : casosDeBorda()) {
+            assertEquals(legado.encode(plano), encoder.encode(plano), plano.getIdentificacaoDaAeronave());
+        }
+    }
+
+    @Test
+    void planosSorteadosIguaisAImplementacaoAnterior() {
+        for (PlanoDeVooDTO plano : planosSorteados(20_000, 25)) {
+            assertEquals(legado.encode(plano), encoder.encode(plano));
+        }
+    }
+
+    @Test
+    void planoQueNaoPodeSerCodificadoViraMensagemDeErro() {
+        assertEquals(legado.encode(null), encoder.encode(null));
+        assertEquals(FplEncoderService.MENSAGEM_ERRO, encoder.encode(null));
+        assertEquals(legado.encode(planoComErro()), encoder.encode(planoComErro()));
+        assertEquals(FplEncoderService.MENSAGEM_ERRO, encoder.encode(planoComErro()));
+    }
+
+    @Test
+    void encodeAllIgualAEncodeDeCadaPlano() {
+        List<PlanoDeVooDTO> planos = loteComErros();
+        List<String> esperado = new ArrayList<>();
+        for (PlanoDeVooDTO plano : planos) {
+            esperado.add(legado.encode(plano));
+        }
+        assertEquals(esperado, encoder.encodeAll(planos));
+        assertEquals(List.of(), encoder.encodeAll(List.of()));
+    }
+
+    @Test
+    void encodeAllNoDestinoEscreveUmaMensagemPorLinha() throws IOException {
+        List<PlanoDeVooDTO> planos = loteComErros();
+        List<String> esperado = new ArrayList<>();
+        for (PlanoDeVooDTO plano : planos) {
+            esperado.add(legado.encode(plano));
+        }
+        StringBuilder destino = new StringBuilder();
+        assertEquals(planos.size(), encoder.encodeAll(planos, destino));
+        assertEquals(String.join("\n", esperado), destino.toString());
+
+        StringBuilder vazio = new StringBuilder();
+        assertEquals(0, encoder.encodeAll(List.of(), vazio));
+        assertEquals("", vazio.toString());
+    }
+
+    // Planos com erro no meio do lote não interrompem os demais
+    private static List<PlanoDeVooDTO> loteComErros() {
+        List<PlanoDeVooDTO> planos = new ArrayList<>(planosReais());
+        planos.add(1, null);
+        planos.add(3, planoComErro());
+        planos.addAll(casosDeBorda());
+        planos.add(null);
+        return planos;
+    }
+
+    /**
+     * Planos como os enviados pelo frontend (VFR, IFR e misto).
+     */
+    static List<PlanoDeVooDTO> planosReais() {
+        PlanoDeVooDTO vfr = plano("PTABC", "V", "C172", "L", "SBMT", "SBJD", "0035");
+        vfr.setHoraPartida(OffsetDateTime.of(2026, 10, 17, 13, 30, 0, 0, ZoneOffset.UTC));
+        vfr.setVelocidadeDeCruzeiro("N0100");
+        vfr.setNivelDeVoo("VFR");
+        vfr.setRota("DCT PAULISTA DCT JUNDIAI");
+        vfr.setAerodromoDeAlternativa("SBKP");
+        vfr.setEquipamentoCapacidadeDaAeronave(List.of("V"));
+        vfr.setVigilancia(List.of("C"));
+        vfr.getInformacaoSuplementar().setAutonomia("0400");
+        vfr.getInformacaoSuplementar().setPob(2);
+        vfr.getInformacaoSuplementar().setCorEMarcaAeronave("BRANCA FAIXA AZUL");
+        vfr.getInformacaoSuplementar().setTelefone("11999990000");
+        vfr.getOutrasInformacoes().setDof("171026");
+        vfr.getOutrasInformacoes().setOpr("AEROCLUBE SP");
+        vfr.getOutrasInformacoes().setFrom("SBMT");
+        vfr.getOutrasInformacoes().setRmk("REA VOO DE INSTRUCAO");
+
+        PlanoDeVooDTO ifr = plano("PRXYZ", "I", "B738", "M", "SBGR", "SBBR", "0125");
+        ifr.setHoraPartida(OffsetDateTime.of(2026, 10, 17, 22, 5, 0, 0, ZoneOffset.UTC));
+        ifr.setVelocidadeDeCruzeiro("N0450");
+        ifr.setNivelDeVoo("F370");
+        ifr.setRota("PULUN UZ6 BGC UZ37 BSI");
+        ifr.setAerodromoDeAlternativa("SBGO");
+        ifr.setEquipamentoCapacidadeDaAeronave(List.of("S", "D", "F", "G", "R", "W", "Y"));
+        ifr.setVigilancia(List.of("S", "B1"));
+        PlanoDeVooDTO.InformacaoSuplementar info = ifr.getInformacaoSuplementar();
+        info.setAutonomia("0330");
+        info.setPob(186);
+        info.setRadioEmergencia(List.of("U", "V", "E"));
+        info.setSobrevivencia(List.of("J"));
+        info.setColetes(List.of("L", "F"));
+        PlanoDeVooDTO.BotesInfo botes = new PlanoDeVooDTO.BotesInfo();
+        botes.setPossui(true);
+        botes.setNumero(4);
+        botes.setCapacidade(50);
+        botes.setC(true);
+        info.setBotes(botes);
+        info.setCorEMarcaAeronave("BRANCA AZUL");
+        ifr.getOutrasInformacoes().setDof("171026");
+        ifr.getOutrasInformacoes().setEet("SBBS0048");
+        ifr.getOutrasInformacoes().setOpr("GLO");
+        ifr.getOutrasInformacoes().setFrom("SBGR");
+
+        PlanoDeVooDTO misto = plano("PPTRE", "Y", "PA34", "L", "SBPA", "SBFL", "0140");
+        misto.setHoraPartida(OffsetDateTime.of(2026, 10, 18, 9, 0, 0, 0, ZoneOffset.UTC));
+        misto.setVelocidadeDeCruzeiro("N0160");
+        misto.setNivelDeVoo("A065");
+        misto.setRota("DCT POA W4 ANIMA VFR DCT");
+        misto.setAerodromoDeAlternativa("SBNF");
+        misto.setEquipamentoCapacidadeDaAeronave(List.of("S", "G"));
+        misto.setVigilancia(List.of("C"));
+        misto.getInformacaoSuplementar().setAutonomia("0500");
+        misto.getInformacaoSuplementar().setPob(4);
+        misto.getOutrasInformacoes().setDof("181026");
+        misto.getOutrasInformacoes().setOpr("PARTICULAR");
+        misto.getOutrasInformacoes().setFrom("SBCO");
+        return List.of(vfr, ifr, misto);
+    }
+
+    /**
+     * Listas nulas e vazias, POB negativo e de vários dígitos, espaços
+     * estranhos na rota e no RMK, horário fora de UTC e campos ausentes.
+     */
+    static List<PlanoDeVooDTO> casosDeBorda() {
+        List<PlanoDeVooDTO> casos = new ArrayList<>();
+
+        PlanoDeVooDTO listasNulas = planosReais().get(0);
+        listasNulas.setIdentificacaoDaAeronave("NULAS");
+        listasNulas.setVigilancia(null);
+        listasNulas.setEquipamentoCapacidadeDaAeronave(null);
+        listasNulas.getInformacaoSuplementar().setRadioEmergencia(null);
+        listasNulas.getInformacaoSuplementar().setSobrevivencia(List.of());
+        listasNulas.getInformacaoSuplementar().setColetes(null);
+        casos.add(listasNulas);
+
+        PlanoDeVooDTO elementoNulo = planosReais().get(1);
+        elementoNulo.setIdentificacaoDaAeronave("ELNULO");
+        elementoNulo.setVigilancia(Arrays.asList("S", null));
+        casos.add(elementoNulo);
+
+        for (int pob : new int[]{-123, -5, 0, 7, 42, 100, 1234}) {
+            PlanoDeVooDTO comPob = planosReais().get(2);
+            comPob.setIdentificacaoDaAeronave("POB" + pob);
+            comPob.getInformacaoSuplementar().setPob(pob);
+            casos.add(comPob);
+        }
+
+        String[] rotas = {"  DCT \t POA\n\nW4   ANIMA  ", " \u000B\f ", "\tDCT POA\r\n", "A\u0001 B", ""};
+        for (int i = 0; i < rotas.length; i++) {
+            PlanoDeVooDTO espacos = planosReais().get(0);
+            espacos.setIdentificacaoDaAeronave("ROTA" + i);
+            espacos.setRota(rotas[i]);
+            espacos.getOutrasInformacoes().setRmk(rotas[rotas.length - 1 - i]);
+            casos.add(espacos);
+        }
+
+        ZoneOffset[] offsets = {ZoneOffset.ofHours(-3), ZoneOffset.ofHoursMinutes(5, 30), ZoneOffset.ofHours(14)};
+        for (ZoneOffset offset : offsets) {
+            PlanoDeVooDTO foraDeUtc = planosReais().get(1);
+            foraDeUtc.setIdentificacaoDaAeronave("TZ" + offset.getTotalSeconds());
+            foraDeUtc.setHoraPartida(OffsetDateTime.of(2026, 10, 17, 0, 9, 59, 999, offset));
+            casos.add(foraDeUtc);
+        }
+
+        PlanoDeVooDTO semCampos = new PlanoDeVooDTO();
+        casos.add(semCampos);
+
+        PlanoDeVooDTO depIgual = planosReais().get(2);
+        depIgual.setIdentificacaoDaAeronave("DEPIGUAL");
+        depIgual.getOutrasInformacoes().setFrom(depIgual.getAerodromoDePartida());
+        depIgual.setAerodromoDeAlternativa("   ");
+        depIgual.setTempoDeVooPrevisto(null);
+        PlanoDeVooDTO.BotesInfo botesParciais = new PlanoDeVooDTO.BotesInfo();
+        botesParciais.setPossui(true);
+        botesParciais.setCapacidade(6);
+        depIgual.getInformacaoSuplementar().setBotes(botesParciais);
+        casos.add(depIgual);
+
+        PlanoDeVooDTO brancos = planosReais().get(0);
+        brancos.setIdentificacaoDaAeronave("BRANCOS");
+        brancos.getInformacaoSuplementar().setAutonomia(" ");
+        brancos.getInformacaoSuplementar().setCorEMarcaAeronave("\t");
+        brancos.getInformacaoSuplementar().setTelefone("");
+        brancos.getOutrasInformacoes().setDof(" ");
+        brancos.getOutrasInformacoes().setEet("  ");
+        brancos.getOutrasInformacoes().setOpr("\n");
+        brancos.getOutrasInformacoes().setFrom(" ");
+        casos.add(brancos);
+        return casos;
+    }
+
+    /**
+     * Planos sorteados (semente fixa) combinando campos reais, ausentes e com
+     * espaços estranhos.
+     */
+    static List<PlanoDeVooDTO> planosSorteados(int quantidade, long semente) {
+        Random random = new Random(semente);
+        String[] aerodromos = {"SBSP", "SBGR", "SBKP", "SBRJ", "SBGL", "SBBR", "SBPA", "SBCF", null};
+        String[] rotas = {"DCT", "PULUN UZ6 BGC UZ37 BSI", "  DCT\t\tPOA  W4 ", "\n", null, "REA  SUL \u000B DCT"};
+        String[] textos = {"REA", " voo  local ", "", "\t", null, "OPERADOR \f TESTE"};
+        String[][] listas = {{"S", "D", "G"}, {}, {"C"}, null};
+        List<PlanoDeVooDTO> planos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            PlanoDeVooDTO p = plano("PT" + i, random.nextBoolean() ? "I" : "V", "C172", "L",
+                escolher(random, aerodromos), escolher(random, aerodromos), random.nextBoolean() ? "0130" : null);
+            if (random.nextInt(5) > 0) {
+                p.setHoraPartida(OffsetDateTime.of(2026, 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), 0, 0, ZoneOffset.ofHours(random.nextInt(27) - 12)));
+            }
+            if (random.nextInt(5) > 0) {
+                p.setVelocidadeDeCruzeiro("N0" + (100 + random.nextInt(400)));
+                p.setNivelDeVoo(random.nextBoolean() ? "VFR" : "F" + (100 + random.nextInt(300)));
+            }
+            p.setRota(escolher(random, rotas));
+            p.setAerodromoDeAlternativa(escolher(random, aerodromos));
+            p.setVigilancia(lista(escolher(random, listas)));
+            p.setEquipamentoCapacidadeDaAeronave(lista(escolher(random, listas)));
+            if (random.nextInt(4) == 0) {
+                p.setInformacaoSuplementar(null);
+            } else {
+                PlanoDeVooDTO.InformacaoSuplementar info = p.getInformacaoSuplementar();
+                info.setAutonomia(escolher(random, textos));
+                info.setPob(random.nextInt(4) == 0 ? null : random.nextInt(2000) - 100);
+                info.setRadioEmergencia(lista(escolher(random, listas)));
+                info.setSobrevivencia(lista(escolher(random, listas)));
+                info.setColetes(lista(escolher(random, listas)));
+                if (random.nextBoolean()) {
+                    PlanoDeVooDTO.BotesInfo botes = new PlanoDeVooDTO.BotesInfo();
+                    botes.setPossui(random.nextInt(3) > 0);
+                    botes.setNumero(random.nextBoolean() ? random.nextInt(10) : null);
+                    botes.setCapacidade(random.nextBoolean() ? random.nextInt(100) : null);
+                    botes.setC(random.nextBoolean());
+                    info.setBotes(botes);
+                }
+                info.setCorEMarcaAeronave(escolher(random, textos));
+                info.setTelefone(escolher(random, textos));
+            }
+            if (random.nextInt(4) == 0) {
+                p.setOutrasInformacoes(null);
+            } else {
+                PlanoDeVooDTO.OutrasInformacoes outras = p.getOutrasInformacoes();
+                outras.setDof(random.nextBoolean() ? "171026" : escolher(random, textos));
+                outras.setEet(escolher(random, textos));
+                outras.setOpr(escolher(random, textos));
+                outras.setFrom(random.nextBoolean() ? p.getAerodromoDePartida() : escolher(random, aerodromos));
+                outras.setRmk(escolher(random, textos) == null ? null : escolher(random, rotas));
+            }
+            planos.add(p);
+        }
+        return planos;
+    }
+
+    private static PlanoDeVooDTO plano(String ident, String regra, String tipo, String esteira,
+                                       String partida, String destino, String eet) {
+        PlanoDeVooDTO p = new PlanoDeVooDTO();
+        p.setIdentificacaoDaAeronave(ident);
+        p.setRegraDeVooEnum(regra);
+        p.setTipoDeAeronave(tipo);
+        p.setCategoriaEsteiraTurbulenciaEnum(esteira);
+        p.setAerodromoDePartida(partida);
+        p.setAerodromoDeDestino(destino);
+        p.setTempoDeVooPrevisto(eet);
+        p.setInformacaoSuplementar(new PlanoDeVooDTO.InformacaoSuplementar());
+        p.setOutrasInformacoes(new PlanoDeVooDTO.OutrasInformacoes());
+        return p;
+    }
+
+    // Getter que falha no meio da codificação (os dois codificadores caem no catch)
+    private static PlanoDeVooDTO planoComErro() {
+        PlanoDeVooDTO plano = new PlanoDeVooDTO() {
+            @Override
+            public String getTipoDeAeronave() {
+                throw new IllegalStateException("tipo indisponível");
+            }
+        };
+        plano.setIdentificacaoDaAeronave("ERRO");
+        return plano;
+    }
+
+    private static <T> T escolher(Random random, T[] opcoes) {
+        return opcoes[random.nextInt(opcoes.length)];
+    }
+
+    private static List<String> lista(String[] valores) {
+        return valores == null ? null : List.of(valores);
+    }
+}
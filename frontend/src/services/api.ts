@@ -24,7 +24,7 @@ export const FlightplanAPI = {
   getById: (id: string | number) => api.get(`/api/v1/flightplans/${id}`),
   getSubmissionById: (id: string | number) => api.get(`/api/v1/flightplans/submissions/${id}`),
   getSubmissionView: (id: string | number) => api.get(`/api/v1/flightplans/submissions/${id}/view`),
-  listSubmissions: (params?: { ident?: string; limit?: number }) => api.get(`/api/v1/flightplans/submissions`, { params }),
+  listSubmissions: (params?: { ident?: string; modo?: string; dep?: string; dest?: string; desde?: string; ate?: string; cursor?: string; limit?: number }) => api.get(`/api/v1/flightplans/submissions`, { params }),
   getRotaerData: (icao: string) => api.get(`/api/v1/flightplans/rotaer/${icao}`),
   getAiswebFull: (icao: string) => api.get(`/api/aisweb/full/${icao}`)
 };
@@ -0,0 +1,62 @@
+-- =============================================
+-- ATUALIZAÇÃO DE SCHEMA (bancos criados antes destas colunas)
+-- FPL BR Pilot - Banco de Dados
+-- =============================================
+--
+-- Fora do perfil dev o Hibernate só valida o schema
+-- (quarkus.hibernate-orm.database.generation=validate), então as colunas e
+-- índices abaixo precisam existir antes de subir a versão que os usa.
+-- O script é idempotente e pode ser executado mais de uma vez:
+--
+--   psql -U fpl_user -d fpl -f atualizar-schema.sql
+--
+-- Os índices são criados com CONCURRENTLY para não bloquear gravações em
+-- tabelas grandes; por isso o script não pode rodar dentro de uma transação
+-- (não use psql --single-transaction). Se um CREATE INDEX CONCURRENTLY falhar,
+-- o índice fica inválido: remova-o com DROP INDEX e execute o script de novo.
+
+-- 1. fpl_submissions: campos de listagem em colunas próprias
+--    (preenchidas para envios antigos pelo FplSubmissionBackfill)
+ALTER TABLE fpl_submissions ADD COLUMN IF NOT EXISTS aerodromo_partida VARCHAR(4);
+ALTER TABLE fpl_submissions ADD COLUMN IF NOT EXISTS aerodromo_destino VARCHAR(4);
+ALTER TABLE fpl_submissions ADD COLUMN IF NOT EXISTS tipo_de_voo VARCHAR(1);
+ALTER TABLE fpl_submissions ADD COLUMN IF NOT EXISTS regra_de_voo VARCHAR(1);
+ALTER TABLE fpl_submissions ADD COLUMN IF NOT EXISTS hora_partida TIMESTAMP(6) WITH TIME ZONE;
+
+-- 2. fpl_submissions: índices da paginação por cursor (created_at, id) e dos filtros
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fpl_submissions_created_at_id
+    ON fpl_submissions (created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fpl_submissions_ident_created_at_id
+    ON fpl_submissions (identificacao, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fpl_submissions_modo_created_at_id
+    ON fpl_submissions (modo, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fpl_submissions_partida_created_at_id
+    ON fpl_submissions (aerodromo_partida, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fpl_submissions_destino_created_at_id
+    ON fpl_submissions (aerodromo_destino, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fpl_submissions_hora_partida
+    ON fpl_submissions (hora_partida);
+
+-- 3. fpl_submissions: mensagem ICAO codificada no envio
+--    (envios antigos são codificados na primeira visualização)
+ALTER TABLE fpl_submissions ADD COLUMN IF NOT EXISTS pln_codificado TEXT;
+
+-- 4. aerodromo_icao_iata: coordenadas para o índice espacial
+ALTER TABLE aerodromo_icao_iata ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE aerodromo_icao_iata ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+
+-- 5. Verificar colunas
+SELECT table_name, column_name, data_type
+FROM information_schema.columns
+WHERE (table_name = 'fpl_submissions'
+       AND column_name IN ('aerodromo_partida', 'aerodromo_destino', 'tipo_de_voo',
+                           'regra_de_voo', 'hora_partida', 'pln_codificado'))
+   OR (table_name = 'aerodromo_icao_iata' AND column_name IN ('latitude', 'longitude'))
+ORDER BY table_name, column_name;
+
+-- 6. Verificar índices (indisvalid = false indica CREATE INDEX CONCURRENTLY interrompido)
+SELECT c.relname AS index_name, i.indisvalid AS is_valid
+FROM pg_index i
+JOIN pg_class c ON c.oid = i.indexrelid
+WHERE c.relname LIKE 'idx_fpl_submissions_%'
+ORDER BY c.relname;